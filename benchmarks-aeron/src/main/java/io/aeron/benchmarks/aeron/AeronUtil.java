@@ -27,14 +27,20 @@ import io.aeron.archive.client.AeronArchive;
 import io.aeron.archive.client.ArchiveException;
 import io.aeron.archive.client.RecordingDescriptorConsumer;
 import io.aeron.benchmarks.Configuration;
+import io.aeron.benchmarks.JfrEvents;
+import io.aeron.benchmarks.MappedPersistedHistogram;
+import io.aeron.benchmarks.PersistedHistogram;
+import io.aeron.benchmarks.ThreadAffinity;
 import io.aeron.cluster.service.ClusterMarkFile;
 import io.aeron.driver.MediaDriver;
 import io.aeron.driver.reports.LossReportReader;
 import io.aeron.driver.reports.LossReportUtil;
 import io.aeron.exceptions.AeronException;
 import io.aeron.logbuffer.FragmentHandler;
+import org.agrona.DirectBuffer;
 import org.agrona.ErrorHandler;
 import org.agrona.IoUtil;
+import org.agrona.MutableDirectBuffer;
 import org.agrona.SemanticVersion;
 import org.agrona.collections.MutableLong;
 import org.agrona.concurrent.AtomicBuffer;
@@ -73,10 +79,12 @@ import static java.lang.Boolean.getBoolean;
 import static java.lang.Integer.getInteger;
 import static java.lang.Long.MAX_VALUE;
 import static java.lang.System.getProperty;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import static java.nio.charset.StandardCharsets.US_ASCII;
 import static java.nio.file.StandardOpenOption.CREATE;
 import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
 import static java.nio.file.StandardOpenOption.WRITE;
+import static org.agrona.BitUtil.SIZE_OF_INT;
 import static org.agrona.BitUtil.SIZE_OF_LONG;
 import static org.agrona.Strings.isEmpty;
 import static org.agrona.SystemUtil.parseDuration;
@@ -86,7 +94,23 @@ public final class AeronUtil
 {
     public static final int TIMESTAMP_OFFSET = 0;
     public static final int RECEIVER_INDEX_OFFSET = TIMESTAMP_OFFSET + SIZE_OF_LONG;
+    public static final int SEQUENCE_OFFSET = RECEIVER_INDEX_OFFSET + SIZE_OF_INT;
     public static final int MIN_MESSAGE_LENGTH = RECEIVER_INDEX_OFFSET + SIZE_OF_LONG + SIZE_OF_LONG;
+    public static final int SERVER_RECEIVE_TIMESTAMP_OFFSET = SEQUENCE_OFFSET + SIZE_OF_INT;
+    public static final int SERVER_SEND_TIMESTAMP_OFFSET = SERVER_RECEIVE_TIMESTAMP_OFFSET + SIZE_OF_LONG;
+    public static final int HOP_TIMESTAMPS_MESSAGE_LENGTH = SERVER_SEND_TIMESTAMP_OFFSET + SIZE_OF_LONG + SIZE_OF_LONG;
+
+    /**
+     * Control messages carry a negative type instead of the receiver index, so that the servers do not echo them, and
+     * the index of the receiver they are addressed to instead of the sequence.
+     */
+    public static final int CONTROL_TYPE_OFFSET = RECEIVER_INDEX_OFFSET;
+    public static final int CONTROL_RECEIVER_INDEX_OFFSET = SEQUENCE_OFFSET;
+    public static final int CONTROL_VALUE_OFFSET = CONTROL_RECEIVER_INDEX_OFFSET + SIZE_OF_INT;
+    public static final int CLOCK_PING_TYPE = -1;
+    public static final int ONE_WAY_START_TYPE = -2;
+    public static final int ONE_WAY_RESULT_TYPE = -3;
+    public static final int ONE_WAY_HISTOGRAM_OFFSET = CONTROL_VALUE_OFFSET + SIZE_OF_LONG;
 
     public static final String RECEIVER_INDEX_PROP_NAME = "io.aeron.benchmarks.aeron.receiver.index";
     public static final String NUMBER_OF_RECEIVERS_PROP_NAME =
@@ -121,6 +145,7 @@ public final class AeronUtil
     public static final String USE_TRY_CLAIM_PROP_NAME = "io.aeron.benchmarks.aeron.use.try.claim";
     public static final int SEND_ATTEMPTS = 3;
 
+    private static final String SERVICE_TIME_NAME = "service-time";
     private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSSZ");
 
     private AeronUtil()
@@ -150,6 +175,70 @@ public final class AeronUtil
         }
     }
 
+    public static void validateHopTimestampsMessageLength(final int messageLength)
+    {
+        if (messageLength < HOP_TIMESTAMPS_MESSAGE_LENGTH)
+        {
+            throw new IllegalArgumentException("Message length must be at least " + HOP_TIMESTAMPS_MESSAGE_LENGTH +
+                " with '" + Configuration.HOP_TIMESTAMPS_PROP_NAME + "'");
+        }
+    }
+
+    /**
+     * Copy a received message into the reply buffer and stamp the time at which it was received and replied to, e.g.
+     * for a clock ping which is replied to immediately. The message must be at least
+     * {@link #HOP_TIMESTAMPS_MESSAGE_LENGTH} long.
+     *
+     * @param buffer      containing the received message.
+     * @param offset      of the message in the buffer.
+     * @param length      of the message.
+     * @param replyBuffer to copy the message into at offset {@code 0}.
+     * @see Configuration#HOP_TIMESTAMPS_PROP_NAME
+     */
+    public static void copyWithHopTimestamps(
+        final DirectBuffer buffer, final int offset, final int length, final MutableDirectBuffer replyBuffer)
+    {
+        copyWithReceiveTimestamp(buffer, offset, length, replyBuffer, System.nanoTime());
+        stampSendTimestamp(replyBuffer);
+    }
+
+    /**
+     * Copy a received message into the reply buffer and stamp the time at which it was received, so that the client
+     * can break the round trip down into hops. The send timestamp must be stamped with {@link #stampSendTimestamp}
+     * immediately before every attempt to offer the reply, so that the server processing segment covers the time from
+     * the receipt of the message until the reply was published, including any back pressure. The message must be at
+     * least {@link #HOP_TIMESTAMPS_MESSAGE_LENGTH} long.
+     *
+     * @param buffer           containing the received message.
+     * @param offset           of the message in the buffer.
+     * @param length           of the message.
+     * @param replyBuffer      to copy the message into at offset {@code 0}.
+     * @param receiveTimestamp taken when the message was handed to the fragment handler.
+     * @see Configuration#HOP_TIMESTAMPS_PROP_NAME
+     */
+    public static void copyWithReceiveTimestamp(
+        final DirectBuffer buffer,
+        final int offset,
+        final int length,
+        final MutableDirectBuffer replyBuffer,
+        final long receiveTimestamp)
+    {
+        replyBuffer.putBytes(0, buffer, offset, length);
+        replyBuffer.putLong(SERVER_RECEIVE_TIMESTAMP_OFFSET, receiveTimestamp, LITTLE_ENDIAN);
+    }
+
+    /**
+     * Stamp the current time as the time at which a reply copied by {@link #copyWithReceiveTimestamp} is sent.
+     *
+     * @param replyBuffer containing the reply at offset {@code 0}.
+     * @return the reply buffer.
+     */
+    public static MutableDirectBuffer stampSendTimestamp(final MutableDirectBuffer replyBuffer)
+    {
+        replyBuffer.putLong(SERVER_SEND_TIMESTAMP_OFFSET, System.nanoTime(), LITTLE_ENDIAN);
+        return replyBuffer;
+    }
+
     public static long connectionTimeoutNs()
     {
         final String value = getProperty(CONNECTION_TIMEOUT_PROP_NAME);
@@ -261,14 +350,112 @@ public final class AeronUtil
     {
         if (embeddedMediaDriver())
         {
-            return MediaDriver.launch(new MediaDriver.Context()
+            return MediaDriver.launch(pinDriverThreads(new MediaDriver.Context()
                 .dirDeleteOnStart(true)
-                .spiesSimulateConnection(true));
+                .spiesSimulateConnection(true)));
+        }
+
+        return null;
+    }
+
+    /**
+     * Pin the agent threads of an embedded media driver as configured by {@link ThreadAffinity#AFFINITY_PROP_NAME}.
+     * With {@code SHARED} threading the single agent thread takes the role of the conductor.
+     *
+     * @param context of the embedded media driver.
+     * @return the context.
+     */
+    static MediaDriver.Context pinDriverThreads(final MediaDriver.Context context)
+    {
+        if (ThreadAffinity.isConfigured())
+        {
+            context
+                .conductorThreadFactory(ThreadAffinity.threadFactory(ThreadAffinity.DRIVER_CONDUCTOR_ROLE))
+                .senderThreadFactory(ThreadAffinity.threadFactory(ThreadAffinity.SENDER_ROLE))
+                .receiverThreadFactory(ThreadAffinity.threadFactory(ThreadAffinity.RECEIVER_ROLE))
+                .sharedThreadFactory(ThreadAffinity.threadFactory(ThreadAffinity.DRIVER_CONDUCTOR_ROLE));
+        }
+
+        return context;
+    }
+
+    /**
+     * Name the current thread and pin it as configured by {@link ThreadAffinity#AFFINITY_PROP_NAME}, using the name
+     * as the role, e.g. {@code echo-0}.
+     *
+     * @param name of the current thread.
+     */
+    static void nameAndPinCurrentThread(final String name)
+    {
+        Thread.currentThread().setName(name);
+        ThreadAffinity.pinCurrentThread(name);
+    }
+
+    /**
+     * Create the histogram of the service time of a server node in the logs directory if
+     * {@link Configuration#SERVICE_TIME_PROP_NAME} is enabled. The histogram is memory-mapped so that its values
+     * survive a crash of the node and can be collected by another local process while the node runs.
+     *
+     * @param outputDir logs directory of the node.
+     * @param prefix    of the files of the node, e.g. {@code echo-node-0-}.
+     * @return the histogram or {@code null} if disabled.
+     */
+    static MappedPersistedHistogram newServiceTimeHistogramIfConfigured(final Path outputDir, final String prefix)
+    {
+        if (Configuration.resolveServiceTime())
+        {
+            return MappedPersistedHistogram.create(
+                outputDir.resolve(prefix + SERVICE_TIME_NAME + MappedPersistedHistogram.MAPPED_FILE_EXTENSION),
+                TimeUnit.HOURS.toNanos(1),
+                3);
         }
 
         return null;
     }
 
+    /**
+     * Save the service time of a server node as a regular histogram file next to its memory-mapped file.
+     *
+     * @param serviceTime histogram of the node or {@code null} if disabled.
+     * @param outputDir   logs directory of the node.
+     * @param prefix      of the files of the node, e.g. {@code echo-node-0-}.
+     */
+    static void saveServiceTime(final MappedPersistedHistogram serviceTime, final Path outputDir, final String prefix)
+    {
+        if (null != serviceTime)
+        {
+            try
+            {
+                serviceTime.saveToFile(outputDir, prefix + SERVICE_TIME_NAME, PersistedHistogram.Status.OK);
+            }
+            catch (final IOException ex)
+            {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
+    /**
+     * Save the thread affinity layout applied within this process if any thread was pinned.
+     *
+     * @param file to save the layout to.
+     */
+    public static void dumpThreadAffinity(final Path file)
+    {
+        final String appliedLayout = ThreadAffinity.appliedLayout();
+        if (!appliedLayout.isEmpty())
+        {
+            try
+            {
+                Files.write(file, appliedLayout.getBytes(US_ASCII));
+            }
+            catch (final IOException ex)
+            {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
     public static ArchivingMediaDriver launchArchivingMediaDriver()
     {
         return embeddedMediaDriver() ? launchArchiveWithEmbeddedDriver() : launchArchiveWithStandaloneDriver();
@@ -324,6 +511,7 @@ public final class AeronUtil
         final Subscription subscription, final ExclusivePublication publication, final AtomicBoolean running)
     {
         final IdleStrategy idleStrategy = idleStrategy();
+        final JfrEvents.BackPressureEpisode backPressure = new JfrEvents.BackPressureEpisode();
         final FragmentHandler fragmentHandler = new ImageFragmentAssembler(
             (buffer, offset, length, header) ->
             {
@@ -331,8 +519,9 @@ public final class AeronUtil
                 long result;
                 while ((result = publication.offer(buffer, offset, length)) < 0)
                 {
-                    checkPublicationResult(result, idleStrategy);
+                    checkPublicationResult(result, idleStrategy, backPressure);
                 }
+                backPressure.onPublished();
             });
 
         final Image image = subscription.imageAtIndex(0);
@@ -410,6 +599,26 @@ public final class AeronUtil
         return true;
     }
 
+    /**
+     * Check the result of a failed publication attempt, the same as {@link #checkPublicationResult(long, IdleStrategy)}
+     * but also tracking the back-pressure episode of the publisher for the {@link JfrEvents}.
+     *
+     * @param result       of the failed publication attempt.
+     * @param idleStrategy to idle with when back pressured.
+     * @param backPressure episode of the publisher, which must be ended via
+     *                     {@link JfrEvents.BackPressureEpisode#onPublished()} after a successful attempt.
+     * @return {@code true} if the attempt should be retried immediately.
+     */
+    public static boolean checkPublicationResult(
+        final long result, final IdleStrategy idleStrategy, final JfrEvents.BackPressureEpisode backPressure)
+    {
+        if (BACK_PRESSURED == result)
+        {
+            backPressure.onBackPressured();
+        }
+        return checkPublicationResult(result, idleStrategy);
+    }
+
     public static ErrorHandler printingErrorHandler(final String context)
     {
         return (Throwable throwable) ->
@@ -20,6 +20,7 @@ import io.aeron.ExclusivePublication;
 import io.aeron.Subscription;
 import io.aeron.archive.client.AeronArchive;
 import io.aeron.benchmarks.Configuration;
+import io.aeron.benchmarks.HiccupMeter;
 import org.agrona.concurrent.ShutdownSignalBarrier;
 import org.agrona.concurrent.SystemNanoClock;
 
@@ -116,14 +117,16 @@ public final class ArchiveNode implements AutoCloseable, Runnable
 
         final AtomicBoolean running = new AtomicBoolean(true);
         try (ShutdownSignalBarrier shutdownSignalBarrier = new ShutdownSignalBarrier(() -> running.set(false));
+            HiccupMeter hiccupMeter = HiccupMeter.launchIfConfigured(outputDir, "archive-node");
             ArchiveNode server = new ArchiveNode(running))
         {
             // wait for all background threads to be started before pinning the main thread to a dedicated core
-            Thread.currentThread().setName("archive-node");
+            AeronUtil.nameAndPinCurrentThread("archive-node");
 
             server.run();
 
             final String prefix = "archive-node-";
+            AeronUtil.dumpThreadAffinity(outputDir.resolve(prefix + "affinity.txt"));
             AeronUtil.dumpArchiveErrors(
                 server.archivingMediaDriver.archive.context().archiveDir(),
                 outputDir.resolve(prefix + "archive-errors.txt"));
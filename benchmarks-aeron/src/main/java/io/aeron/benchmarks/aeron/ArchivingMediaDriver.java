@@ -49,10 +49,10 @@ public final class ArchivingMediaDriver implements AutoCloseable
         Archive archive = null;
         try
         {
-            final MediaDriver.Context driverCtx = new MediaDriver.Context()
+            final MediaDriver.Context driverCtx = AeronUtil.pinDriverThreads(new MediaDriver.Context()
                 .dirDeleteOnStart(true)
                 .dirDeleteOnShutdown(true)
-                .spiesSimulateConnection(true);
+                .spiesSimulateConnection(true));
 
             driver = MediaDriver.launch(driverCtx);
 
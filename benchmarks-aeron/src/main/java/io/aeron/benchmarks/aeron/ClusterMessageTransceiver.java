@@ -17,6 +17,8 @@ package io.aeron.benchmarks.aeron;
 
 import io.aeron.Publication;
 import io.aeron.benchmarks.Configuration;
+import io.aeron.benchmarks.JfrEvents;
+import io.aeron.benchmarks.MessageSizeDistribution;
 import io.aeron.benchmarks.MessageTransceiver;
 import io.aeron.cluster.client.AeronCluster;
 import io.aeron.cluster.client.EgressListener;
@@ -35,11 +37,15 @@ import org.agrona.concurrent.NanoClock;
 
 import java.nio.file.Path;
 
+import static io.aeron.benchmarks.aeron.AeronUtil.HOP_TIMESTAMPS_MESSAGE_LENGTH;
 import static io.aeron.benchmarks.aeron.AeronUtil.SEND_ATTEMPTS;
+import static io.aeron.benchmarks.aeron.AeronUtil.SERVER_RECEIVE_TIMESTAMP_OFFSET;
+import static io.aeron.benchmarks.aeron.AeronUtil.SERVER_SEND_TIMESTAMP_OFFSET;
 import static io.aeron.benchmarks.aeron.AeronUtil.checkPublicationResult;
 import static io.aeron.benchmarks.aeron.AeronUtil.dumpAeronStats;
 import static io.aeron.benchmarks.aeron.AeronUtil.launchEmbeddedMediaDriverIfConfigured;
 import static io.aeron.benchmarks.aeron.AeronUtil.useTryClaim;
+import static io.aeron.benchmarks.aeron.AeronUtil.validateHopTimestampsMessageLength;
 import static io.aeron.benchmarks.aeron.AeronUtil.yieldUninterruptedly;
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import static org.agrona.BitUtil.SIZE_OF_LONG;
@@ -49,6 +55,7 @@ public class ClusterMessageTransceiver extends MessageTransceiver implements Egr
     private static final boolean USE_TRY_CLAIM = useTryClaim();
     private final BufferClaim bufferClaim = new BufferClaim();
     private final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer(1024);
+    private final JfrEvents.BackPressureEpisode backPressure = new JfrEvents.BackPressureEpisode();
 
     private final MediaDriver mediaDriver;
     private final AeronCluster.Context aeronClusterContext;
@@ -75,6 +82,12 @@ public class ClusterMessageTransceiver extends MessageTransceiver implements Egr
     public void init(final Configuration configuration) throws Exception
     {
         logsDir = configuration.logsDir();
+        if (configuration.hopTimestamps())
+        {
+            final MessageSizeDistribution messageSizes = configuration.messageSizes();
+            validateHopTimestampsMessageLength(
+                null != messageSizes ? messageSizes.sizes()[0] : configuration.messageLength());
+        }
         aeronCluster = AeronCluster.connect(aeronClusterContext);
         idleStrategy = configuration.idleStrategy();
 
@@ -133,7 +146,14 @@ public class ClusterMessageTransceiver extends MessageTransceiver implements Egr
     {
         final long msgTimestamp = buffer.getLong(offset, LITTLE_ENDIAN);
         final long checksum = buffer.getLong(offset + length - SIZE_OF_LONG, LITTLE_ENDIAN);
-        onMessageReceived(msgTimestamp, checksum);
+        onMessageReceived(msgTimestamp, checksum, length);
+        if (length >= HOP_TIMESTAMPS_MESSAGE_LENGTH)
+        {
+            onMessageHopTimestamps(
+                msgTimestamp,
+                buffer.getLong(offset + SERVER_RECEIVE_TIMESTAMP_OFFSET, LITTLE_ENDIAN),
+                buffer.getLong(offset + SERVER_SEND_TIMESTAMP_OFFSET, LITTLE_ENDIAN));
+        }
     }
 
     public void onSessionEvent(
@@ -166,7 +186,7 @@ public class ClusterMessageTransceiver extends MessageTransceiver implements Egr
                 result = aeronCluster.tryClaim(messageLength, bufferClaim);
                 if (result < 0)
                 {
-                    if (checkPublicationResult(result, idleStrategy))
+                    if (checkPublicationResult(result, idleStrategy, backPressure))
                     {
                         continue;
                     }
@@ -182,6 +202,7 @@ public class ClusterMessageTransceiver extends MessageTransceiver implements Egr
                     buffer.putLong(msgOffset, timestamp, LITTLE_ENDIAN);
                     buffer.putLong(msgOffset + messageLength - SIZE_OF_LONG, checksum, LITTLE_ENDIAN);
                     bufferClaim.commit();
+                    backPressure.onPublished();
                     count++;
                     break;
                 }
@@ -209,7 +230,7 @@ public class ClusterMessageTransceiver extends MessageTransceiver implements Egr
                 result = aeronCluster.offer(buffer, 0, messageLength);
                 if (result < 0)
                 {
-                    if (checkPublicationResult(result, idleStrategy))
+                    if (checkPublicationResult(result, idleStrategy, backPressure))
                     {
                         continue;
                     }
@@ -220,6 +241,7 @@ public class ClusterMessageTransceiver extends MessageTransceiver implements Egr
                 }
                 else
                 {
+                    backPressure.onPublished();
                     count++;
                     break;
                 }
@@ -17,6 +17,8 @@ package io.aeron.benchmarks.aeron;
 
 import io.aeron.archive.Archive;
 import io.aeron.benchmarks.Configuration;
+import io.aeron.benchmarks.HiccupMeter;
+import io.aeron.benchmarks.MappedPersistedHistogram;
 import io.aeron.cluster.ConsensusModule;
 import io.aeron.cluster.service.Cluster;
 import io.aeron.cluster.service.ClusterMarkFile;
@@ -71,7 +73,10 @@ public final class ClusterNode
         final int memberId = ConsensusModule.Configuration.clusterMemberId();
         final Supplier<IdleStrategy> idleStrategySupplier = () -> BusySpinIdleStrategy.INSTANCE;
 
-        try (ShutdownSignalBarrier signalBarrier = new ShutdownSignalBarrier())
+        final String prefix = "cluster-node-" + memberId + "-";
+        try (ShutdownSignalBarrier signalBarrier = new ShutdownSignalBarrier();
+            HiccupMeter hiccupMeter = HiccupMeter.launchIfConfigured(logsDir, "cluster-node-" + memberId);
+            MappedPersistedHistogram serviceTime = AeronUtil.newServiceTimeHistogramIfConfigured(logsDir, prefix))
         {
             final Component<ConsensusModule> consensusModule = new Component<>(() ->
             {
@@ -102,7 +107,7 @@ public final class ClusterNode
                 else
                 {
                     final long snapshotSize = getSizeAsLong(SNAPSHOT_SIZE_PROP_NAME, DEFAULT_SNAPSHOT_SIZE);
-                    clusteredService = new EchoClusteredService(snapshotSize);
+                    clusteredService = new EchoClusteredService(snapshotSize, serviceTime);
                 }
 
                 final ClusteredServiceContainer.Context ctx = new ClusteredServiceContainer.Context()
@@ -133,7 +138,7 @@ public final class ClusterNode
             {
                 signalBarrier.await();
 
-                final String prefix = "cluster-node-" + memberId + "-";
+                AeronUtil.saveServiceTime(serviceTime, logsDir, prefix);
                 AeronUtil.dumpClusterErrors(
                     logsDir.resolve(prefix + "clustered-service-errors.txt"),
                     clusterDir,
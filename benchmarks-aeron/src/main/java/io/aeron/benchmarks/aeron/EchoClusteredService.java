@@ -17,26 +17,50 @@ package io.aeron.benchmarks.aeron;
 
 import io.aeron.ExclusivePublication;
 import io.aeron.Image;
+import io.aeron.benchmarks.Configuration;
+import io.aeron.benchmarks.JfrEvents;
 import io.aeron.cluster.codecs.CloseReason;
 import io.aeron.cluster.service.ClientSession;
 import io.aeron.cluster.service.Cluster;
 import io.aeron.cluster.service.ClusteredService;
 import io.aeron.logbuffer.Header;
+import org.HdrHistogram.ValueRecorder;
 import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
 import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.IdleStrategy;
 import org.agrona.concurrent.UnsafeBuffer;
 
+import static io.aeron.benchmarks.aeron.AeronUtil.HOP_TIMESTAMPS_MESSAGE_LENGTH;
 import static io.aeron.benchmarks.aeron.AeronUtil.checkPublicationResult;
+import static io.aeron.benchmarks.aeron.AeronUtil.copyWithReceiveTimestamp;
+import static io.aeron.benchmarks.aeron.AeronUtil.stampSendTimestamp;
 
 public final class EchoClusteredService implements ClusteredService
 {
     private IdleStrategy idleStrategy;
     private final long snapshotSize;
+    private final ValueRecorder serviceTime;
+    private final JfrEvents.BackPressureEpisode backPressure = new JfrEvents.BackPressureEpisode();
+    private final ExpandableArrayBuffer replyBuffer =
+        Configuration.resolveHopTimestamps() ? new ExpandableArrayBuffer(1024) : null;
 
     public EchoClusteredService(final long snapshotSize)
+    {
+        this(snapshotSize, null);
+    }
+
+    /**
+     * Create the service and record its service time, i.e. from the receipt of a message until its reply is
+     * published.
+     *
+     * @param snapshotSize size of the snapshot to take.
+     * @param serviceTime  recorder of the service time or {@code null} to not record it.
+     */
+    public EchoClusteredService(final long snapshotSize, final ValueRecorder serviceTime)
     {
         this.snapshotSize = snapshotSize;
+        this.serviceTime = serviceTime;
     }
 
     public void onStart(final Cluster cluster, final Image snapshotImage)
@@ -65,12 +89,44 @@ public final class EchoClusteredService implements ClusteredService
             return;
         }
 
+        final long receivedNs = null != serviceTime || null != replyBuffer ? System.nanoTime() : 0;
+        if (null != replyBuffer && length >= HOP_TIMESTAMPS_MESSAGE_LENGTH)
+        {
+            copyWithReceiveTimestamp(buffer, offset, length, replyBuffer, receivedNs);
+            echoWithSendTimestamp(session, replyBuffer, length);
+        }
+        else
+        {
+            echo(session, buffer, offset, length);
+        }
+
+        if (null != serviceTime)
+        {
+            serviceTime.recordValue(System.nanoTime() - receivedNs);
+        }
+    }
+
+    private void echo(final ClientSession session, final DirectBuffer buffer, final int offset, final int length)
+    {
         idleStrategy.reset();
         long result;
         while ((result = session.offer(buffer, offset, length)) < 0)
         {
-            checkPublicationResult(result, idleStrategy);
+            checkPublicationResult(result, idleStrategy, backPressure);
+        }
+        backPressure.onPublished();
+    }
+
+    private void echoWithSendTimestamp(
+        final ClientSession session, final MutableDirectBuffer replyBuffer, final int length)
+    {
+        idleStrategy.reset();
+        long result;
+        while ((result = session.offer(stampSendTimestamp(replyBuffer), 0, length)) < 0)
+        {
+            checkPublicationResult(result, idleStrategy, backPressure);
         }
+        backPressure.onPublished();
     }
 
     public void onTimerEvent(final long correlationId, final long timestamp)
@@ -20,16 +20,22 @@ import io.aeron.ExclusivePublication;
 import io.aeron.FragmentAssembler;
 import io.aeron.Subscription;
 import io.aeron.benchmarks.Configuration;
+import io.aeron.benchmarks.MessageSizeDistribution;
 import io.aeron.benchmarks.MessageTransceiver;
 import io.aeron.driver.MediaDriver;
 import org.HdrHistogram.ValueRecorder;
 import org.agrona.concurrent.NanoClock;
 import org.agrona.concurrent.SystemNanoClock;
 
+import java.io.IOException;
 import java.nio.file.Path;
 
 import static io.aeron.Aeron.connect;
 import static io.aeron.benchmarks.aeron.AeronUtil.FRAGMENT_LIMIT;
+import static io.aeron.benchmarks.aeron.AeronUtil.HOP_TIMESTAMPS_MESSAGE_LENGTH;
+import static io.aeron.benchmarks.aeron.AeronUtil.SEQUENCE_OFFSET;
+import static io.aeron.benchmarks.aeron.AeronUtil.SERVER_RECEIVE_TIMESTAMP_OFFSET;
+import static io.aeron.benchmarks.aeron.AeronUtil.SERVER_SEND_TIMESTAMP_OFFSET;
 import static io.aeron.benchmarks.aeron.AeronUtil.awaitConnected;
 import static io.aeron.benchmarks.aeron.AeronUtil.connectionTimeoutNs;
 import static io.aeron.benchmarks.aeron.AeronUtil.destinationChannel;
@@ -38,6 +44,7 @@ import static io.aeron.benchmarks.aeron.AeronUtil.launchEmbeddedMediaDriverIfCon
 import static io.aeron.benchmarks.aeron.AeronUtil.receiverCount;
 import static io.aeron.benchmarks.aeron.AeronUtil.sourceChannel;
 import static io.aeron.benchmarks.aeron.AeronUtil.sourceStreamId;
+import static io.aeron.benchmarks.aeron.AeronUtil.validateHopTimestampsMessageLength;
 import static io.aeron.benchmarks.aeron.AeronUtil.validateMessageLength;
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import static org.agrona.BitUtil.SIZE_OF_LONG;
@@ -48,15 +55,32 @@ public final class EchoMessageTransceiver extends MessageTransceiver
     private final FragmentAssembler dataHandler = new FragmentAssembler(
         (buffer, offset, length, header) ->
         {
+            if (OneWayLatencyClient.isControlMessage(buffer, offset))
+            {
+                this.oneWayLatencyClient.onControlMessage(buffer, offset, length);
+                return;
+            }
+
             final long timestamp = buffer.getLong(offset, LITTLE_ENDIAN);
             final long checksum = buffer.getLong(offset + length - SIZE_OF_LONG, LITTLE_ENDIAN);
-            onMessageReceived(timestamp, checksum);
+            onMessageReceived(timestamp, checksum, length);
+            onMessageSequence(buffer.getInt(offset + SEQUENCE_OFFSET, LITTLE_ENDIAN));
+            if (length >= HOP_TIMESTAMPS_MESSAGE_LENGTH)
+            {
+                onMessageHopTimestamps(
+                    timestamp,
+                    buffer.getLong(offset + SERVER_RECEIVE_TIMESTAMP_OFFSET, LITTLE_ENDIAN),
+                    buffer.getLong(offset + SERVER_SEND_TIMESTAMP_OFFSET, LITTLE_ENDIAN));
+            }
         });
 
     private final MediaDriver mediaDriver;
     private final Aeron aeron;
     private final boolean ownsAeronClient;
     private Path logsDir;
+    private Path outputDirectory;
+    private String outputFileNamePrefix;
+    private OneWayLatencyClient oneWayLatencyClient;
     ExclusivePublication publication;
     private Subscription subscription;
     private int receiverCount;
@@ -84,7 +108,13 @@ public final class EchoMessageTransceiver extends MessageTransceiver
     {
         logsDir = configuration.logsDir();
         receiverCount = receiverCount();
-        validateMessageLength(configuration.messageLength());
+        final MessageSizeDistribution messageSizes = configuration.messageSizes();
+        final int minMessageLength = null != messageSizes ? messageSizes.sizes()[0] : configuration.messageLength();
+        validateMessageLength(minMessageLength);
+        if (configuration.hopTimestamps())
+        {
+            validateHopTimestampsMessageLength(minMessageLength);
+        }
         publication = aeron.addExclusivePublication(destinationChannel(), destinationStreamId());
         subscription = aeron.addSubscription(sourceChannel(), sourceStreamId());
 
@@ -97,9 +127,33 @@ public final class EchoMessageTransceiver extends MessageTransceiver
             publication.availableWindow() > 0,
             connectionTimeoutNs(),
             SystemNanoClock.INSTANCE);
+
+        if (configuration.oneWayLatency())
+        {
+            outputDirectory = configuration.outputDirectory();
+            outputFileNamePrefix = configuration.outputFileNamePrefix();
+            oneWayLatencyClient = new OneWayLatencyClient(
+                publication, subscription, dataHandler, configuration.idleStrategy(), receiverCount);
+            oneWayLatencyClient.start();
+        }
+    }
+
+    public void destroy() throws IOException
+    {
+        try
+        {
+            if (null != oneWayLatencyClient)
+            {
+                oneWayLatencyClient.finish(outputDirectory, outputFileNamePrefix, System.out);
+            }
+        }
+        finally
+        {
+            close();
+        }
     }
 
-    public void destroy()
+    private void close()
     {
         final String prefix = "echo-client-";
         AeronUtil.dumpAeronStats(
@@ -123,4 +177,12 @@ public final class EchoMessageTransceiver extends MessageTransceiver
     {
         subscription.poll(dataHandler, FRAGMENT_LIMIT);
     }
+
+    protected void onReset()
+    {
+        if (null != oneWayLatencyClient)
+        {
+            oneWayLatencyClient.reset();
+        }
+    }
 }
@@ -21,8 +21,15 @@ import io.aeron.Image;
 import io.aeron.ImageFragmentAssembler;
 import io.aeron.Subscription;
 import io.aeron.benchmarks.Configuration;
+import io.aeron.benchmarks.HiccupMeter;
+import io.aeron.benchmarks.JfrEvents;
+import io.aeron.benchmarks.MappedPersistedHistogram;
 import io.aeron.driver.MediaDriver;
 import io.aeron.logbuffer.FragmentHandler;
+import org.HdrHistogram.ValueRecorder;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.IdleStrategy;
 import org.agrona.concurrent.ShutdownSignalBarrier;
 import org.agrona.concurrent.SystemNanoClock;
@@ -35,10 +42,12 @@ import static io.aeron.Aeron.connect;
 import static io.aeron.benchmarks.PropertiesUtil.loadPropertiesFiles;
 import static io.aeron.benchmarks.PropertiesUtil.mergeWithSystemProperties;
 import static io.aeron.benchmarks.aeron.AeronUtil.FRAGMENT_LIMIT;
+import static io.aeron.benchmarks.aeron.AeronUtil.HOP_TIMESTAMPS_MESSAGE_LENGTH;
 import static io.aeron.benchmarks.aeron.AeronUtil.RECEIVER_INDEX_OFFSET;
 import static io.aeron.benchmarks.aeron.AeronUtil.awaitConnected;
 import static io.aeron.benchmarks.aeron.AeronUtil.checkPublicationResult;
 import static io.aeron.benchmarks.aeron.AeronUtil.connectionTimeoutNs;
+import static io.aeron.benchmarks.aeron.AeronUtil.copyWithReceiveTimestamp;
 import static io.aeron.benchmarks.aeron.AeronUtil.destinationChannel;
 import static io.aeron.benchmarks.aeron.AeronUtil.destinationStreamId;
 import static io.aeron.benchmarks.aeron.AeronUtil.dumpAeronStats;
@@ -47,6 +56,7 @@ import static io.aeron.benchmarks.aeron.AeronUtil.launchEmbeddedMediaDriverIfCon
 import static io.aeron.benchmarks.aeron.AeronUtil.receiverIndex;
 import static io.aeron.benchmarks.aeron.AeronUtil.sourceChannel;
 import static io.aeron.benchmarks.aeron.AeronUtil.sourceStreamId;
+import static io.aeron.benchmarks.aeron.AeronUtil.stampSendTimestamp;
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import static org.agrona.CloseHelper.closeAll;
 import static org.agrona.PropertyAction.PRESERVE;
@@ -58,6 +68,7 @@ import static org.agrona.PropertyAction.REPLACE;
 public final class EchoNode implements AutoCloseable, Runnable
 {
     private final FragmentHandler fragmentHandler;
+    private final JfrEvents.BackPressureEpisode backPressure = new JfrEvents.BackPressureEpisode();
     private final ExclusivePublication publication;
     private final Subscription subscription;
     private final AtomicBoolean running;
@@ -65,10 +76,12 @@ public final class EchoNode implements AutoCloseable, Runnable
     private final Aeron aeron;
     private final boolean ownsAeronClient;
     private final IdleStrategy idleStrategy;
+    private final ExpandableArrayBuffer replyBuffer;
+    private final OneWayLatencyRecorder oneWayLatency;
 
-    EchoNode(final AtomicBoolean running)
+    EchoNode(final AtomicBoolean running, final ValueRecorder serviceTime)
     {
-        this(running, launchEmbeddedMediaDriverIfConfigured(), connect(), true, receiverIndex());
+        this(running, launchEmbeddedMediaDriverIfConfigured(), connect(), true, receiverIndex(), serviceTime);
     }
 
     EchoNode(
@@ -77,6 +90,17 @@ public final class EchoNode implements AutoCloseable, Runnable
         final Aeron aeron,
         final boolean ownsAeronClient,
         final int receiverIndex)
+    {
+        this(running, mediaDriver, aeron, ownsAeronClient, receiverIndex, null);
+    }
+
+    EchoNode(
+        final AtomicBoolean running,
+        final MediaDriver mediaDriver,
+        final Aeron aeron,
+        final boolean ownsAeronClient,
+        final int receiverIndex,
+        final ValueRecorder serviceTime)
     {
         this.running = running;
         this.mediaDriver = mediaDriver;
@@ -86,21 +110,64 @@ public final class EchoNode implements AutoCloseable, Runnable
         publication = aeron.addExclusivePublication(sourceChannel(), sourceStreamId());
         subscription = aeron.addSubscription(destinationChannel(), destinationStreamId());
         idleStrategy = idleStrategy();
+        replyBuffer = Configuration.resolveHopTimestamps() ? new ExpandableArrayBuffer(1024) : null;
+        oneWayLatency = new OneWayLatencyRecorder(receiverIndex);
 
         fragmentHandler = new ImageFragmentAssembler((buffer, offset, length, header) ->
         {
-            if (buffer.getInt(offset + RECEIVER_INDEX_OFFSET, LITTLE_ENDIAN) == receiverIndex)
+            final int messageReceiverIndex = buffer.getInt(offset + RECEIVER_INDEX_OFFSET, LITTLE_ENDIAN);
+            if (messageReceiverIndex == receiverIndex)
+            {
+                final long receivedNs = null != serviceTime || null != replyBuffer ? System.nanoTime() : 0;
+                oneWayLatency.onMessage(buffer, offset);
+                if (null != replyBuffer && length >= HOP_TIMESTAMPS_MESSAGE_LENGTH)
+                {
+                    copyWithReceiveTimestamp(buffer, offset, length, replyBuffer, receivedNs);
+                    echoWithSendTimestamp(replyBuffer, length);
+                }
+                else
+                {
+                    echo(buffer, offset, length);
+                }
+
+                if (null != serviceTime)
+                {
+                    serviceTime.recordValue(System.nanoTime() - receivedNs);
+                }
+            }
+            else if (messageReceiverIndex < 0)
             {
-                long result;
-                idleStrategy.reset();
-                while ((result = publication.offer(buffer, offset, length)) < 0)
+                final int replyLength = oneWayLatency.onControlMessage(buffer, offset, length);
+                if (replyLength > 0)
                 {
-                    checkPublicationResult(result, idleStrategy);
+                    echo(oneWayLatency.replyBuffer(), 0, replyLength);
                 }
             }
         });
     }
 
+    private void echo(final DirectBuffer buffer, final int offset, final int length)
+    {
+        long result;
+        idleStrategy.reset();
+        while ((result = publication.offer(buffer, offset, length)) < 0)
+        {
+            checkPublicationResult(result, idleStrategy, backPressure);
+        }
+        backPressure.onPublished();
+    }
+
+    private void echoWithSendTimestamp(final MutableDirectBuffer replyBuffer, final int length)
+    {
+        long result;
+        idleStrategy.reset();
+        while ((result = publication.offer(stampSendTimestamp(replyBuffer), 0, length)) < 0)
+        {
+            checkPublicationResult(result, idleStrategy, backPressure);
+        }
+        backPressure.onPublished();
+    }
+
     public void run()
     {
         awaitConnected(
@@ -149,15 +216,20 @@ public final class EchoNode implements AutoCloseable, Runnable
         final Path outputDir = Configuration.resolveLogsDir();
         final int receiverIndex = receiverIndex();
 
+        final String prefix = "echo-node-" + receiverIndex + "-";
+
         final AtomicBoolean running = new AtomicBoolean(true);
         try (ShutdownSignalBarrier shutdownSignalBarrier = new ShutdownSignalBarrier(() -> running.set(false));
-            EchoNode node = new EchoNode(running))
+            HiccupMeter hiccupMeter = HiccupMeter.launchIfConfigured(outputDir, "echo-node-" + receiverIndex);
+            MappedPersistedHistogram serviceTime = AeronUtil.newServiceTimeHistogramIfConfigured(outputDir, prefix);
+            EchoNode node = new EchoNode(running, serviceTime))
         {
-            Thread.currentThread().setName("echo-" + receiverIndex);
+            AeronUtil.nameAndPinCurrentThread("echo-" + receiverIndex);
 
             node.run();
 
-            final String prefix = "echo-node-" + receiverIndex + "-";
+            AeronUtil.saveServiceTime(serviceTime, outputDir, prefix);
+            AeronUtil.dumpThreadAffinity(outputDir.resolve(prefix + "affinity.txt"));
             dumpAeronStats(
                 node.aeron.context().cncFile(),
                 outputDir.resolve(prefix + "aeron-stat.txt"),
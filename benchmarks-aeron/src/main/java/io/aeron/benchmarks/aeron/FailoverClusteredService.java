@@ -17,6 +17,7 @@ package io.aeron.benchmarks.aeron;
 
 import io.aeron.ExclusivePublication;
 import io.aeron.Image;
+import io.aeron.benchmarks.JfrEvents;
 import io.aeron.cluster.codecs.CloseReason;
 import io.aeron.cluster.service.ClientSession;
 import io.aeron.cluster.service.Cluster;
@@ -38,6 +39,7 @@ public final class FailoverClusteredService implements ClusteredService
 {
     private final Long2LongCounterMap expectedSequenceBySessionId = new Long2LongCounterMap(-1);
     private final BufferClaim bufferClaim = new BufferClaim();
+    private final JfrEvents.BackPressureEpisode backPressure = new JfrEvents.BackPressureEpisode();
     private final AtomicReference<Cluster.Role> roleRef;
     private Cluster cluster;
 
@@ -100,8 +102,9 @@ public final class FailoverClusteredService implements ClusteredService
         long result;
         while ((result = session.offer(buffer, offset, length)) < 0)
         {
-            checkPublicationResult(result, idleStrategy);
+            checkPublicationResult(result, idleStrategy, backPressure);
         }
+        backPressure.onPublished();
     }
 
     private void onSyncMessage(final ClientSession session, final DirectBuffer buffer, final int offset)
@@ -130,8 +133,9 @@ public final class FailoverClusteredService implements ClusteredService
         long result;
         while ((result = session.tryClaim(SYNC_MESSAGE_LENGTH, bufferClaim)) < 0)
         {
-            checkPublicationResult(result, idleStrategy);
+            checkPublicationResult(result, idleStrategy, backPressure);
         }
+        backPressure.onPublished();
 
         final MutableDirectBuffer dstBuffer = bufferClaim.buffer();
         final int dstOffset = bufferClaim.offset() + SESSION_HEADER_LENGTH;
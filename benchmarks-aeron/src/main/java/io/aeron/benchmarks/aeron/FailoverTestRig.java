@@ -22,6 +22,7 @@ import org.agrona.concurrent.NanoClock;
 import org.agrona.concurrent.SystemNanoClock;
 import io.aeron.benchmarks.Configuration;
 import io.aeron.benchmarks.PersistedHistogram;
+import io.aeron.benchmarks.RigCounters;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
@@ -54,6 +55,8 @@ public final class FailoverTestRig implements FailoverListener
     private final PersistedHistogram persistedHistogram;
     private final ValueRecorder valueRecorder;
     private final FailoverControlClient controlClient;
+    private final RigCounters rigCounters;
+    private final RigCounters.SenderCounters counters;
 
     private final long[] generationTimestamps;
     private final long[] ackTimestamps;
@@ -113,6 +116,8 @@ public final class FailoverTestRig implements FailoverListener
         ackTimestamps = new long[totalMessages];
 
         controlClient = new FailoverControlClient(failoverConfiguration.controlEndpoints());
+        rigCounters = RigCounters.newInstance(configuration.countersFile());
+        counters = rigCounters.newSenderCounters("failover-client");
 
         followerRestartAt = failoverAt = restartAt = clock.nanoTime() + TimeUnit.DAYS.toNanos(1);
     }
@@ -142,6 +147,7 @@ public final class FailoverTestRig implements FailoverListener
 
             if (configuration.warmupIterations() > 0)
             {
+                rigCounters.phase(RigCounters.Phase.WARMUP);
                 out.printf(
                     "%n%s Running warmup for %,d iterations of %,d messages each, with %,d bytes payload and" +
                     " a burst size of %,d...%n",
@@ -153,8 +159,11 @@ public final class FailoverTestRig implements FailoverListener
                 runTest(configuration.warmupIterations(), configuration.warmupMessageRate());
 
                 persistedHistogram.reset();
+                counters.reset();
             }
 
+            rigCounters.phase(RigCounters.Phase.MEASUREMENT);
+
             out.printf(
                 "%n%s Running measurement for %,d iterations of %,d messages each, with %,d bytes payload and" +
                 " a burst size of %,d...%n",
@@ -182,7 +191,8 @@ public final class FailoverTestRig implements FailoverListener
         }
         finally
         {
-            CloseHelper.closeAll(transceiver, persistedHistogram, controlClient);
+            rigCounters.phase(RigCounters.Phase.COMPLETED);
+            CloseHelper.closeAll(transceiver, persistedHistogram, controlClient, rigCounters);
         }
     }
 
@@ -257,6 +267,7 @@ public final class FailoverTestRig implements FailoverListener
                 if (now - nextMessageAt >= 0)
                 {
                     fallingBehindCount++;
+                    counters.fallingBehindCount.incrementRelease();
                 }
             }
 
@@ -313,10 +324,13 @@ public final class FailoverTestRig implements FailoverListener
         if (transceiver.trySendEcho(sequence, timestamp))
         {
             sendPosition++;
+            counters.sentMessages.incrementRelease();
 
             return 1;
         }
 
+        counters.backPressureEvents.incrementRelease();
+
         return 0;
     }
 
@@ -339,6 +353,7 @@ public final class FailoverTestRig implements FailoverListener
         ackTimestamps[ackPosition] = now;
 
         ackPosition++;
+        counters.receivedMessages.incrementRelease();
 
         final long latencyNs = now - timestamp;
         valueRecorder.recordValue(latencyNs);
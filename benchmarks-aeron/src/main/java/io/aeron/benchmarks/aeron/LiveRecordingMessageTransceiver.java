@@ -39,6 +39,7 @@ import static io.aeron.archive.client.AeronArchive.NULL_POSITION;
 import static io.aeron.archive.client.AeronArchive.connect;
 import static io.aeron.archive.codecs.SourceLocation.LOCAL;
 import static io.aeron.benchmarks.aeron.AeronUtil.FRAGMENT_LIMIT;
+import static io.aeron.benchmarks.aeron.AeronUtil.SEQUENCE_OFFSET;
 import static io.aeron.benchmarks.aeron.AeronUtil.awaitConnected;
 import static io.aeron.benchmarks.aeron.AeronUtil.awaitRecordingStart;
 import static io.aeron.benchmarks.aeron.AeronUtil.connectionTimeoutNs;
@@ -183,7 +184,8 @@ public final class LiveRecordingMessageTransceiver extends MessageTransceiver im
 
         final long timestamp = buffer.getLong(offset, LITTLE_ENDIAN);
         final long checksum = buffer.getLong(offset + length - SIZE_OF_LONG, LITTLE_ENDIAN);
-        onMessageReceived(timestamp, checksum);
+        onMessageReceived(timestamp, checksum, length);
+        onMessageSequence(buffer.getInt(offset + SEQUENCE_OFFSET, LITTLE_ENDIAN));
         recordingPositionConsumed += align(length, FRAME_ALIGNMENT);
 
         return CONTINUE;
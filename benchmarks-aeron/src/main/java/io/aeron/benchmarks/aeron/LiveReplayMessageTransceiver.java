@@ -33,6 +33,7 @@ import java.nio.file.Path;
 import static io.aeron.ChannelUri.addSessionId;
 import static io.aeron.archive.client.AeronArchive.connect;
 import static io.aeron.benchmarks.aeron.AeronUtil.FRAGMENT_LIMIT;
+import static io.aeron.benchmarks.aeron.AeronUtil.SEQUENCE_OFFSET;
 import static io.aeron.benchmarks.aeron.AeronUtil.awaitConnected;
 import static io.aeron.benchmarks.aeron.AeronUtil.connectionTimeoutNs;
 import static io.aeron.benchmarks.aeron.AeronUtil.destinationChannel;
@@ -61,7 +62,8 @@ public final class LiveReplayMessageTransceiver extends MessageTransceiver
         {
             final long timestamp = buffer.getLong(offset, LITTLE_ENDIAN);
             final long checksum = buffer.getLong(offset + length - SIZE_OF_LONG, LITTLE_ENDIAN);
-            onMessageReceived(timestamp, checksum);
+            onMessageReceived(timestamp, checksum, length);
+            onMessageSequence(buffer.getInt(offset + SEQUENCE_OFFSET, LITTLE_ENDIAN));
         });
     private Path logsDir;
     private MessageSender messageSender;
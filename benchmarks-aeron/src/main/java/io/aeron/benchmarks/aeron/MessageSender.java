@@ -16,6 +16,7 @@
 package io.aeron.benchmarks.aeron;
 
 import io.aeron.ExclusivePublication;
+import io.aeron.benchmarks.JfrEvents;
 import io.aeron.logbuffer.BufferClaim;
 import org.agrona.BitUtil;
 import org.agrona.ExpandableArrayBuffer;
@@ -24,6 +25,7 @@ import org.agrona.concurrent.IdleStrategy;
 
 import static io.aeron.benchmarks.aeron.AeronUtil.RECEIVER_INDEX_OFFSET;
 import static io.aeron.benchmarks.aeron.AeronUtil.SEND_ATTEMPTS;
+import static io.aeron.benchmarks.aeron.AeronUtil.SEQUENCE_OFFSET;
 import static io.aeron.benchmarks.aeron.AeronUtil.TIMESTAMP_OFFSET;
 import static io.aeron.benchmarks.aeron.AeronUtil.checkPublicationResult;
 import static io.aeron.benchmarks.aeron.AeronUtil.useTryClaim;
@@ -34,8 +36,10 @@ public abstract class MessageSender
 {
     final ExclusivePublication publication;
     final IdleStrategy idleStrategy;
+    final JfrEvents.BackPressureEpisode backPressure = new JfrEvents.BackPressureEpisode();
     private final int numReceivers;
     private int receiverIndex;
+    int sequence;
 
     public MessageSender(
         final ExclusivePublication publication, final IdleStrategy idleStrategy, final int numReceivers)
@@ -60,6 +64,8 @@ public abstract class MessageSender
         // set receiverIndex to ensure only one reply will be received
         buffer.putInt(offset + RECEIVER_INDEX_OFFSET, receiverIndex, LITTLE_ENDIAN);
         receiverIndex = BitUtil.next(receiverIndex, numReceivers);
+        // the sequence is only incremented once the message is sent, see send
+        buffer.putInt(offset + SEQUENCE_OFFSET, sequence, LITTLE_ENDIAN);
 
         buffer.putLong(offset + messageLength - SIZE_OF_LONG, checksum, LITTLE_ENDIAN);
     }
@@ -106,7 +112,7 @@ public abstract class MessageSender
                 long result;
                 while ((result = publication.offer(buffer, 0, messageLength)) < 0)
                 {
-                    if (checkPublicationResult(result, idleStrategy))
+                    if (checkPublicationResult(result, idleStrategy, backPressure))
                     {
                         continue;
                     }
@@ -116,6 +122,8 @@ public abstract class MessageSender
                         return count;
                     }
                 }
+                backPressure.onPublished();
+                sequence++;
 
                 count++;
             }
@@ -148,7 +156,7 @@ public abstract class MessageSender
                 long result;
                 while ((result = publication.tryClaim(messageLength, bufferClaim)) < 0)
                 {
-                    if (checkPublicationResult(result, idleStrategy))
+                    if (checkPublicationResult(result, idleStrategy, backPressure))
                     {
                         continue;
                     }
@@ -158,9 +166,11 @@ public abstract class MessageSender
                         return count;
                     }
                 }
+                backPressure.onPublished();
 
                 preparePayload(bufferClaim.buffer(), bufferClaim.offset(), messageLength, timestamp, checksum);
                 bufferClaim.commit();
+                sequence++;
 
                 count++;
             }
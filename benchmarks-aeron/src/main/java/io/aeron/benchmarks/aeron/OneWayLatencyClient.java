@@ -0,0 +1,278 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks.aeron;
+
+import io.aeron.ExclusivePublication;
+import io.aeron.Subscription;
+import io.aeron.benchmarks.ClockOffsetEstimator;
+import io.aeron.benchmarks.PersistedHistogram;
+import io.aeron.benchmarks.SinglePersistedHistogram;
+import io.aeron.logbuffer.FragmentHandler;
+import org.HdrHistogram.Histogram;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.LangUtil;
+import org.agrona.concurrent.IdleStrategy;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.zip.DataFormatException;
+
+import static io.aeron.benchmarks.aeron.AeronUtil.CLOCK_PING_TYPE;
+import static io.aeron.benchmarks.aeron.AeronUtil.CONTROL_RECEIVER_INDEX_OFFSET;
+import static io.aeron.benchmarks.aeron.AeronUtil.CONTROL_TYPE_OFFSET;
+import static io.aeron.benchmarks.aeron.AeronUtil.CONTROL_VALUE_OFFSET;
+import static io.aeron.benchmarks.aeron.AeronUtil.FRAGMENT_LIMIT;
+import static io.aeron.benchmarks.aeron.AeronUtil.HOP_TIMESTAMPS_MESSAGE_LENGTH;
+import static io.aeron.benchmarks.aeron.AeronUtil.ONE_WAY_HISTOGRAM_OFFSET;
+import static io.aeron.benchmarks.aeron.AeronUtil.ONE_WAY_RESULT_TYPE;
+import static io.aeron.benchmarks.aeron.AeronUtil.ONE_WAY_START_TYPE;
+import static io.aeron.benchmarks.aeron.AeronUtil.SERVER_RECEIVE_TIMESTAMP_OFFSET;
+import static io.aeron.benchmarks.aeron.AeronUtil.SERVER_SEND_TIMESTAMP_OFFSET;
+import static io.aeron.benchmarks.aeron.AeronUtil.TIMESTAMP_OFFSET;
+import static io.aeron.benchmarks.aeron.AeronUtil.checkPublicationResult;
+import static io.aeron.benchmarks.aeron.AeronUtil.connectionTimeoutNs;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+
+/**
+ * Client side of the one-way latency mode. Before the run, the offset of the clock of every receiver is estimated
+ * from NTP-style ping exchanges over the same channel as the messages, and sent to the receiver so that it starts
+ * recording the one-way latency corrected by it. After the run, the offset is estimated again and the histogram of
+ * every receiver is fetched and saved as {@code <prefix>-one-way-<index>.hdr}, tagged with the offset and its
+ * uncertainty, i.e. the larger uncertainty of the two estimates plus the drift of the clocks during the run.
+ *
+ * @see OneWayLatencyRecorder
+ * @see ClockOffsetEstimator
+ */
+final class OneWayLatencyClient
+{
+    static final int CLOCK_PINGS = 100;
+    static final String ONE_WAY_NAME_SUFFIX = "-one-way-";
+
+    private final ExclusivePublication publication;
+    private final Subscription subscription;
+    private final FragmentHandler fragmentHandler;
+    private final IdleStrategy idleStrategy;
+    private final ClockOffsetEstimator[] estimators;
+    private final ExpandableArrayBuffer requestBuffer = new ExpandableArrayBuffer(HOP_TIMESTAMPS_MESSAGE_LENGTH);
+    private ClockOffsetEstimator pingEstimator;
+    private int awaitedType;
+    private int awaitedReceiverIndex;
+    private long pingTimestamp;
+    private boolean replied;
+    private Histogram result;
+    private long resultNegativeLatencies;
+
+    /**
+     * Create the client.
+     *
+     * @param publication     to send the control messages on.
+     * @param subscription    to receive the replies on.
+     * @param fragmentHandler of the subscription, which must pass the control messages to
+     *                        {@link #onControlMessage(DirectBuffer, int, int)}.
+     * @param idleStrategy    to use while awaiting the replies.
+     * @param receiverCount   number of receivers.
+     */
+    OneWayLatencyClient(
+        final ExclusivePublication publication,
+        final Subscription subscription,
+        final FragmentHandler fragmentHandler,
+        final IdleStrategy idleStrategy,
+        final int receiverCount)
+    {
+        this.publication = publication;
+        this.subscription = subscription;
+        this.fragmentHandler = fragmentHandler;
+        this.idleStrategy = idleStrategy;
+        estimators = new ClockOffsetEstimator[receiverCount];
+        for (int i = 0; i < receiverCount; i++)
+        {
+            estimators[i] = new ClockOffsetEstimator();
+        }
+    }
+
+    static boolean isControlMessage(final DirectBuffer buffer, final int offset)
+    {
+        return buffer.getInt(offset + CONTROL_TYPE_OFFSET, LITTLE_ENDIAN) < 0;
+    }
+
+    /**
+     * Estimate the clock offset of every receiver and start recording the one-way latency.
+     */
+    void start()
+    {
+        for (int i = 0; i < estimators.length; i++)
+        {
+            estimateClockOffset(i, estimators[i]);
+        }
+        reset();
+    }
+
+    /**
+     * Restart recording the one-way latency on every receiver, e.g. at the end of the warmup.
+     */
+    void reset()
+    {
+        for (int i = 0; i < estimators.length; i++)
+        {
+            requestBuffer.putLong(CONTROL_VALUE_OFFSET, estimators[i].offsetNs(), LITTLE_ENDIAN);
+            sendControlMessage(ONE_WAY_START_TYPE, i, CONTROL_VALUE_OFFSET + SIZE_OF_LONG);
+        }
+    }
+
+    /**
+     * Estimate the clock offset of every receiver again, then fetch, print and save the one-way latency histograms.
+     *
+     * @param outputDirectory to save the histograms into.
+     * @param namePrefix      of the histogram files.
+     * @param out             to print the summary to.
+     * @throws IOException if a histogram cannot be saved.
+     */
+    void finish(final Path outputDirectory, final String namePrefix, final PrintStream out) throws IOException
+    {
+        final ClockOffsetEstimator after = new ClockOffsetEstimator();
+        for (int i = 0; i < estimators.length; i++)
+        {
+            after.reset();
+            estimateClockOffset(i, after);
+
+            awaitedType = ONE_WAY_RESULT_TYPE;
+            awaitedReceiverIndex = i;
+            replied = false;
+            sendControlMessage(ONE_WAY_RESULT_TYPE, i, CONTROL_VALUE_OFFSET);
+            awaitReply();
+
+            final ClockOffsetEstimator before = estimators[i];
+            final long uncertaintyNs = ClockOffsetEstimator.uncertaintyNs(before, after);
+            final Histogram histogram = result;
+            histogram.setTag("clock-offset-ns=" + before.offsetNs() + ";offset-uncertainty-ns=" + uncertaintyNs);
+            new SinglePersistedHistogram(histogram).saveToFile(
+                outputDirectory, namePrefix + ONE_WAY_NAME_SUFFIX + i, PersistedHistogram.Status.OK);
+
+            out.printf("%nOne-way latency of receiver %d in ns: p50=%,d, p99=%,d, p99.99=%,d, max=%,d" +
+                " (clock offset=%,d +/- %,d, drift=%,d)%n",
+                i,
+                histogram.getValueAtPercentile(50),
+                histogram.getValueAtPercentile(99),
+                histogram.getValueAtPercentile(99.99),
+                histogram.getMaxValue(),
+                before.offsetNs(),
+                uncertaintyNs,
+                after.offsetNs() - before.offsetNs());
+            if (0 != resultNegativeLatencies)
+            {
+                out.printf("%,d negative one-way latencies were recorded as 0 due to the clock offset.%n",
+                    resultNegativeLatencies);
+            }
+        }
+    }
+
+    /**
+     * Handle a control message received from a receiver.
+     *
+     * @param buffer containing the message.
+     * @param offset of the message in the buffer.
+     * @param length of the message.
+     */
+    void onControlMessage(final DirectBuffer buffer, final int offset, final int length)
+    {
+        final long receiveTimestamp = System.nanoTime();
+        if (buffer.getInt(offset + CONTROL_TYPE_OFFSET, LITTLE_ENDIAN) != awaitedType ||
+            buffer.getInt(offset + CONTROL_RECEIVER_INDEX_OFFSET, LITTLE_ENDIAN) != awaitedReceiverIndex)
+        {
+            return;
+        }
+
+        if (CLOCK_PING_TYPE == awaitedType)
+        {
+            final long timestamp = buffer.getLong(offset + TIMESTAMP_OFFSET, LITTLE_ENDIAN);
+            if (timestamp == pingTimestamp)
+            {
+                pingEstimator.onSample(
+                    timestamp,
+                    buffer.getLong(offset + SERVER_RECEIVE_TIMESTAMP_OFFSET, LITTLE_ENDIAN),
+                    buffer.getLong(offset + SERVER_SEND_TIMESTAMP_OFFSET, LITTLE_ENDIAN),
+                    receiveTimestamp);
+                replied = true;
+            }
+        }
+        else
+        {
+            resultNegativeLatencies = buffer.getLong(offset + CONTROL_VALUE_OFFSET, LITTLE_ENDIAN);
+            final byte[] encoded = new byte[length - ONE_WAY_HISTOGRAM_OFFSET];
+            buffer.getBytes(offset + ONE_WAY_HISTOGRAM_OFFSET, encoded);
+            try
+            {
+                result = Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(encoded), 0);
+            }
+            catch (final DataFormatException ex)
+            {
+                LangUtil.rethrowUnchecked(ex);
+            }
+            replied = true;
+        }
+    }
+
+    private void estimateClockOffset(final int receiverIndex, final ClockOffsetEstimator estimator)
+    {
+        pingEstimator = estimator;
+        awaitedType = CLOCK_PING_TYPE;
+        awaitedReceiverIndex = receiverIndex;
+        for (int i = 0; i < CLOCK_PINGS; i++)
+        {
+            replied = false;
+            requestBuffer.putLong(SERVER_RECEIVE_TIMESTAMP_OFFSET, 0, LITTLE_ENDIAN);
+            requestBuffer.putLong(SERVER_SEND_TIMESTAMP_OFFSET, 0, LITTLE_ENDIAN);
+            pingTimestamp = System.nanoTime();
+            requestBuffer.putLong(TIMESTAMP_OFFSET, pingTimestamp, LITTLE_ENDIAN);
+            sendControlMessage(CLOCK_PING_TYPE, receiverIndex, HOP_TIMESTAMPS_MESSAGE_LENGTH);
+            awaitReply();
+        }
+    }
+
+    private void sendControlMessage(final int type, final int receiverIndex, final int length)
+    {
+        requestBuffer.putInt(CONTROL_TYPE_OFFSET, type, LITTLE_ENDIAN);
+        requestBuffer.putInt(CONTROL_RECEIVER_INDEX_OFFSET, receiverIndex, LITTLE_ENDIAN);
+
+        idleStrategy.reset();
+        long result;
+        while ((result = publication.offer(requestBuffer, 0, length)) < 0)
+        {
+            checkPublicationResult(result, idleStrategy);
+        }
+    }
+
+    private void awaitReply()
+    {
+        final long timeoutNs = connectionTimeoutNs();
+        final long deadlineNs = System.nanoTime() + timeoutNs;
+        idleStrategy.reset();
+        while (!replied)
+        {
+            final int fragments = subscription.poll(fragmentHandler, FRAGMENT_LIMIT);
+            if (0 == fragments && System.nanoTime() - deadlineNs > 0)
+            {
+                throw new IllegalStateException("No reply from receiver " + awaitedReceiverIndex +
+                    " to the one-way latency control message within " + timeoutNs + "ns");
+            }
+            idleStrategy.idle(fragments);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks.aeron;
+
+import org.HdrHistogram.Histogram;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+
+import java.nio.ByteBuffer;
+
+import static io.aeron.benchmarks.aeron.AeronUtil.CLOCK_PING_TYPE;
+import static io.aeron.benchmarks.aeron.AeronUtil.CONTROL_RECEIVER_INDEX_OFFSET;
+import static io.aeron.benchmarks.aeron.AeronUtil.CONTROL_TYPE_OFFSET;
+import static io.aeron.benchmarks.aeron.AeronUtil.CONTROL_VALUE_OFFSET;
+import static io.aeron.benchmarks.aeron.AeronUtil.ONE_WAY_HISTOGRAM_OFFSET;
+import static io.aeron.benchmarks.aeron.AeronUtil.ONE_WAY_RESULT_TYPE;
+import static io.aeron.benchmarks.aeron.AeronUtil.ONE_WAY_START_TYPE;
+import static io.aeron.benchmarks.aeron.AeronUtil.TIMESTAMP_OFFSET;
+import static io.aeron.benchmarks.aeron.AeronUtil.copyWithHopTimestamps;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+
+/**
+ * Server side of the one-way latency mode. Answers the clock pings of the client and, once the client has sent the
+ * estimated offset between the clocks, records the latency of every message from the client into a histogram which is
+ * shipped back to the client on request.
+ *
+ * @see OneWayLatencyClient
+ */
+final class OneWayLatencyRecorder
+{
+    private final int receiverIndex;
+    private final ExpandableArrayBuffer replyBuffer = new ExpandableArrayBuffer(1024);
+    private Histogram histogram;
+    private long clockOffsetNs;
+    private long negativeLatencies;
+
+    OneWayLatencyRecorder(final int receiverIndex)
+    {
+        this.receiverIndex = receiverIndex;
+    }
+
+    /**
+     * Record the one-way latency of a message from the client, if the recording has been started.
+     *
+     * @param buffer containing the message.
+     * @param offset of the message in the buffer.
+     */
+    void onMessage(final DirectBuffer buffer, final int offset)
+    {
+        final Histogram histogram = this.histogram;
+        if (null != histogram)
+        {
+            final long receiveTimestamp = System.nanoTime();
+            final long timestamp = buffer.getLong(offset + TIMESTAMP_OFFSET, LITTLE_ENDIAN);
+            final long latencyNs = receiveTimestamp - clockOffsetNs - timestamp;
+            if (latencyNs < 0)
+            {
+                negativeLatencies++;
+                histogram.recordValue(0);
+            }
+            else
+            {
+                histogram.recordValue(latencyNs);
+            }
+        }
+    }
+
+    /**
+     * Handle a control message from the client.
+     *
+     * @param buffer containing the message.
+     * @param offset of the message in the buffer.
+     * @param length of the message.
+     * @return length of the reply written into the {@link #replyBuffer()} or {@code 0} if there is no reply.
+     */
+    int onControlMessage(final DirectBuffer buffer, final int offset, final int length)
+    {
+        if (buffer.getInt(offset + CONTROL_RECEIVER_INDEX_OFFSET, LITTLE_ENDIAN) != receiverIndex)
+        {
+            return 0;
+        }
+
+        switch (buffer.getInt(offset + CONTROL_TYPE_OFFSET, LITTLE_ENDIAN))
+        {
+            case CLOCK_PING_TYPE:
+                copyWithHopTimestamps(buffer, offset, length, replyBuffer);
+                return length;
+
+            case ONE_WAY_START_TYPE:
+                start(buffer.getLong(offset + CONTROL_VALUE_OFFSET, LITTLE_ENDIAN));
+                return 0;
+
+            case ONE_WAY_RESULT_TYPE:
+                return encodeResult();
+
+            default:
+                return 0;
+        }
+    }
+
+    MutableDirectBuffer replyBuffer()
+    {
+        return replyBuffer;
+    }
+
+    private void start(final long clockOffsetNs)
+    {
+        this.clockOffsetNs = clockOffsetNs;
+        negativeLatencies = 0;
+        if (null == histogram)
+        {
+            histogram = new Histogram(3);
+        }
+        else
+        {
+            histogram.reset();
+        }
+    }
+
+    private int encodeResult()
+    {
+        final Histogram histogram = null != this.histogram ? this.histogram : new Histogram(3);
+        final ByteBuffer encoded = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        final int encodedLength = histogram.encodeIntoCompressedByteBuffer(encoded);
+
+        replyBuffer.putLong(TIMESTAMP_OFFSET, 0, LITTLE_ENDIAN);
+        replyBuffer.putInt(CONTROL_TYPE_OFFSET, ONE_WAY_RESULT_TYPE, LITTLE_ENDIAN);
+        replyBuffer.putInt(CONTROL_RECEIVER_INDEX_OFFSET, receiverIndex, LITTLE_ENDIAN);
+        replyBuffer.putLong(CONTROL_VALUE_OFFSET, negativeLatencies, LITTLE_ENDIAN);
+        replyBuffer.putBytes(ONE_WAY_HISTOGRAM_OFFSET, encoded, 0, encodedLength);
+
+        return ONE_WAY_HISTOGRAM_OFFSET + encodedLength;
+    }
+}
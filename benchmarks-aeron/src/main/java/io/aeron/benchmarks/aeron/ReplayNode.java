@@ -24,8 +24,12 @@ import io.aeron.ImageFragmentAssembler;
 import io.aeron.Subscription;
 import io.aeron.archive.client.AeronArchive;
 import io.aeron.benchmarks.Configuration;
+import io.aeron.benchmarks.JfrEvents;
+import io.aeron.benchmarks.MappedPersistedHistogram;
 import io.aeron.driver.MediaDriver;
 import io.aeron.logbuffer.FragmentHandler;
+import org.HdrHistogram.ValueRecorder;
+import org.agrona.DirectBuffer;
 import org.agrona.concurrent.IdleStrategy;
 import org.agrona.concurrent.ShutdownSignalBarrier;
 import org.agrona.concurrent.SystemNanoClock;
@@ -66,6 +70,7 @@ import static org.agrona.PropertyAction.REPLACE;
 public final class ReplayNode implements AutoCloseable, Runnable
 {
     private final FragmentHandler fragmentHandler;
+    private final JfrEvents.BackPressureEpisode backPressure = new JfrEvents.BackPressureEpisode();
     private final ExclusivePublication publication;
     private final Subscription subscription;
     private final AtomicBoolean running;
@@ -74,11 +79,12 @@ public final class ReplayNode implements AutoCloseable, Runnable
     private final boolean ownsArchiveClient;
     private final int sessionId;
     private final IdleStrategy idleStrategy;
+    private final OneWayLatencyRecorder oneWayLatency;
     private Image image;
 
-    ReplayNode(final AtomicBoolean running)
+    ReplayNode(final AtomicBoolean running, final ValueRecorder serviceTime)
     {
-        this(running, launchEmbeddedMediaDriverIfConfigured(), connect(), true, receiverIndex());
+        this(running, launchEmbeddedMediaDriverIfConfigured(), connect(), true, receiverIndex(), serviceTime);
     }
 
     ReplayNode(
@@ -87,6 +93,17 @@ public final class ReplayNode implements AutoCloseable, Runnable
         final AeronArchive aeronArchive,
         final boolean ownsArchiveClient,
         final int receiverIndex)
+    {
+        this(running, mediaDriver, aeronArchive, ownsArchiveClient, receiverIndex, null);
+    }
+
+    ReplayNode(
+        final AtomicBoolean running,
+        final MediaDriver mediaDriver,
+        final AeronArchive aeronArchive,
+        final boolean ownsArchiveClient,
+        final int receiverIndex,
+        final ValueRecorder serviceTime)
     {
         this.running = running;
         this.mediaDriver = mediaDriver;
@@ -112,21 +129,44 @@ public final class ReplayNode implements AutoCloseable, Runnable
         subscription = aeron.addSubscription(addSessionId(replayChannel, sessionId), replayStreamId);
 
         idleStrategy = idleStrategy();
+        oneWayLatency = new OneWayLatencyRecorder(receiverIndex);
 
         fragmentHandler = new ImageFragmentAssembler((buffer, offset, length, header) ->
         {
-            if (buffer.getInt(offset + RECEIVER_INDEX_OFFSET, LITTLE_ENDIAN) == receiverIndex)
+            final int messageReceiverIndex = buffer.getInt(offset + RECEIVER_INDEX_OFFSET, LITTLE_ENDIAN);
+            if (messageReceiverIndex == receiverIndex)
             {
-                idleStrategy.reset();
-                long result;
-                while ((result = publication.offer(buffer, offset, length)) < 0)
+                final long receivedNs = null != serviceTime ? System.nanoTime() : 0;
+                oneWayLatency.onMessage(buffer, offset);
+                echo(buffer, offset, length);
+
+                if (null != serviceTime)
                 {
-                    checkPublicationResult(result, idleStrategy);
+                    serviceTime.recordValue(System.nanoTime() - receivedNs);
+                }
+            }
+            else if (messageReceiverIndex < 0)
+            {
+                final int replyLength = oneWayLatency.onControlMessage(buffer, offset, length);
+                if (replyLength > 0)
+                {
+                    echo(oneWayLatency.replyBuffer(), 0, replyLength);
                 }
             }
         });
     }
 
+    private void echo(final DirectBuffer buffer, final int offset, final int length)
+    {
+        idleStrategy.reset();
+        long result;
+        while ((result = publication.offer(buffer, offset, length)) < 0)
+        {
+            checkPublicationResult(result, idleStrategy, backPressure);
+        }
+        backPressure.onPublished();
+    }
+
     public void run()
     {
         awaitConnected(
@@ -177,16 +217,20 @@ public final class ReplayNode implements AutoCloseable, Runnable
         final Path outputDir = Configuration.resolveLogsDir();
         final int receiverIndex = receiverIndex();
 
+        final String prefix = "replay-node-" + receiverIndex + "-";
+
         final AtomicBoolean running = new AtomicBoolean(true);
         try (ShutdownSignalBarrier shutdownSignalBarrier = new ShutdownSignalBarrier(() -> running.set(false));
-            ReplayNode server = new ReplayNode(running))
+            MappedPersistedHistogram serviceTime = AeronUtil.newServiceTimeHistogramIfConfigured(outputDir, prefix);
+            ReplayNode server = new ReplayNode(running, serviceTime))
         {
             // wait for all background threads to be started before pinning the main thread to a dedicated core
-            Thread.currentThread().setName("replay-" + receiverIndex);
+            AeronUtil.nameAndPinCurrentThread("replay-" + receiverIndex);
 
             server.run();
 
-            final String prefix = "replay-node-" + receiverIndex + "-";
+            AeronUtil.saveServiceTime(serviceTime, outputDir, prefix);
+            AeronUtil.dumpThreadAffinity(outputDir.resolve(prefix + "affinity.txt"));
             dumpAeronStats(
                 server.aeronArchive.context().aeron().context().cncFile(),
                 outputDir.resolve(prefix + "aeron-stat.txt"),
@@ -30,6 +30,7 @@ import org.mockito.stubbing.Answer;
 
 import static io.aeron.benchmarks.aeron.AeronUtil.MIN_MESSAGE_LENGTH;
 import static io.aeron.benchmarks.aeron.AeronUtil.RECEIVER_INDEX_OFFSET;
+import static io.aeron.benchmarks.aeron.AeronUtil.SEQUENCE_OFFSET;
 import static io.aeron.benchmarks.aeron.AeronUtil.TIMESTAMP_OFFSET;
 import static io.aeron.benchmarks.aeron.AeronUtil.USE_TRY_CLAIM_PROP_NAME;
 import static io.aeron.benchmarks.aeron.AeronUtil.useTryClaim;
@@ -86,19 +87,20 @@ class MessageSenderTest
         messageSender.preparePayload(buffer, 224, 32, Long.MIN_VALUE, 0);
 
         assertEquals(879, buffer.getLong(4 + TIMESTAMP_OFFSET, LITTLE_ENDIAN));
-        assertEquals(0, buffer.getLong(4 + RECEIVER_INDEX_OFFSET, LITTLE_ENDIAN));
+        assertEquals(0, buffer.getInt(4 + RECEIVER_INDEX_OFFSET, LITTLE_ENDIAN));
+        assertEquals(0, buffer.getInt(4 + SEQUENCE_OFFSET, LITTLE_ENDIAN));
         assertEquals(Long.MIN_VALUE, buffer.getLong(4 + MIN_MESSAGE_LENGTH - SIZE_OF_LONG, LITTLE_ENDIAN));
 
         assertEquals(Long.MAX_VALUE, buffer.getLong(40 + TIMESTAMP_OFFSET, LITTLE_ENDIAN));
-        assertEquals(1, buffer.getLong(40 + RECEIVER_INDEX_OFFSET, LITTLE_ENDIAN));
+        assertEquals(1, buffer.getInt(40 + RECEIVER_INDEX_OFFSET, LITTLE_ENDIAN));
         assertEquals(42, buffer.getLong(40 + 30 - SIZE_OF_LONG, LITTLE_ENDIAN));
 
         assertEquals(100, buffer.getLong(100 + TIMESTAMP_OFFSET, LITTLE_ENDIAN));
-        assertEquals(2, buffer.getLong(100 + RECEIVER_INDEX_OFFSET, LITTLE_ENDIAN));
+        assertEquals(2, buffer.getInt(100 + RECEIVER_INDEX_OFFSET, LITTLE_ENDIAN));
         assertEquals(2000, buffer.getLong(100 + 100 - SIZE_OF_LONG, LITTLE_ENDIAN));
 
         assertEquals(Long.MIN_VALUE, buffer.getLong(224 + TIMESTAMP_OFFSET, LITTLE_ENDIAN));
-        assertEquals(0, buffer.getLong(224 + RECEIVER_INDEX_OFFSET, LITTLE_ENDIAN));
+        assertEquals(0, buffer.getInt(224 + RECEIVER_INDEX_OFFSET, LITTLE_ENDIAN));
         assertEquals(0, buffer.getLong(224 + 32 - SIZE_OF_LONG, LITTLE_ENDIAN));
     }
 
@@ -133,7 +135,8 @@ class MessageSenderTest
             assertEquals(messageLength, length);
 
             assertEquals(timestamp, buffer.getLong(TIMESTAMP_OFFSET, LITTLE_ENDIAN));
-            assertEquals(min(count, 2), buffer.getLong(RECEIVER_INDEX_OFFSET, LITTLE_ENDIAN));
+            assertEquals(min(count, 2), buffer.getInt(RECEIVER_INDEX_OFFSET, LITTLE_ENDIAN));
+            assertEquals(min(count, 2), buffer.getInt(SEQUENCE_OFFSET, LITTLE_ENDIAN));
             assertEquals(checksum, buffer.getLong(length - SIZE_OF_LONG, LITTLE_ENDIAN));
 
             return 1L;
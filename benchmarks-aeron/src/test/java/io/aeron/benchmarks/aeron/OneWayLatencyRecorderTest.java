@@ -0,0 +1,139 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks.aeron;
+
+import org.HdrHistogram.Histogram;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static io.aeron.benchmarks.aeron.AeronUtil.CLOCK_PING_TYPE;
+import static io.aeron.benchmarks.aeron.AeronUtil.CONTROL_RECEIVER_INDEX_OFFSET;
+import static io.aeron.benchmarks.aeron.AeronUtil.CONTROL_TYPE_OFFSET;
+import static io.aeron.benchmarks.aeron.AeronUtil.CONTROL_VALUE_OFFSET;
+import static io.aeron.benchmarks.aeron.AeronUtil.HOP_TIMESTAMPS_MESSAGE_LENGTH;
+import static io.aeron.benchmarks.aeron.AeronUtil.ONE_WAY_HISTOGRAM_OFFSET;
+import static io.aeron.benchmarks.aeron.AeronUtil.ONE_WAY_RESULT_TYPE;
+import static io.aeron.benchmarks.aeron.AeronUtil.ONE_WAY_START_TYPE;
+import static io.aeron.benchmarks.aeron.AeronUtil.SERVER_RECEIVE_TIMESTAMP_OFFSET;
+import static io.aeron.benchmarks.aeron.AeronUtil.SERVER_SEND_TIMESTAMP_OFFSET;
+import static io.aeron.benchmarks.aeron.AeronUtil.TIMESTAMP_OFFSET;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OneWayLatencyRecorderTest
+{
+    private final OneWayLatencyRecorder recorder = new OneWayLatencyRecorder(1);
+    private final UnsafeBuffer buffer = new UnsafeBuffer(new byte[128]);
+
+    @Test
+    void shouldStampClockPingsAddressedToThisReceiver()
+    {
+        final long timestamp = System.nanoTime();
+        buffer.putLong(TIMESTAMP_OFFSET, timestamp, LITTLE_ENDIAN);
+        control(CLOCK_PING_TYPE, 1);
+
+        final int replyLength = recorder.onControlMessage(buffer, 0, HOP_TIMESTAMPS_MESSAGE_LENGTH);
+
+        assertEquals(HOP_TIMESTAMPS_MESSAGE_LENGTH, replyLength);
+        final MutableDirectBuffer reply = recorder.replyBuffer();
+        assertEquals(timestamp, reply.getLong(TIMESTAMP_OFFSET, LITTLE_ENDIAN));
+        assertEquals(CLOCK_PING_TYPE, reply.getInt(CONTROL_TYPE_OFFSET, LITTLE_ENDIAN));
+        assertEquals(1, reply.getInt(CONTROL_RECEIVER_INDEX_OFFSET, LITTLE_ENDIAN));
+        final long serverReceiveTimestamp = reply.getLong(SERVER_RECEIVE_TIMESTAMP_OFFSET, LITTLE_ENDIAN);
+        assertTrue(serverReceiveTimestamp >= timestamp);
+        assertTrue(reply.getLong(SERVER_SEND_TIMESTAMP_OFFSET, LITTLE_ENDIAN) >= serverReceiveTimestamp);
+    }
+
+    @Test
+    void shouldIgnoreControlMessagesAddressedToOtherReceivers()
+    {
+        control(CLOCK_PING_TYPE, 0);
+
+        assertEquals(0, recorder.onControlMessage(buffer, 0, HOP_TIMESTAMPS_MESSAGE_LENGTH));
+    }
+
+    @Test
+    void shouldNotRecordBeforeStart() throws Exception
+    {
+        buffer.putLong(TIMESTAMP_OFFSET, System.nanoTime(), LITTLE_ENDIAN);
+        recorder.onMessage(buffer, 0);
+
+        assertEquals(0, fetchResult().getTotalCount());
+    }
+
+    @Test
+    void shouldRecordOneWayLatencyCorrectedByTheClockOffset() throws Exception
+    {
+        final long clockOffsetNs = HOURS.toNanos(1);
+        buffer.putLong(CONTROL_VALUE_OFFSET, clockOffsetNs, LITTLE_ENDIAN);
+        control(ONE_WAY_START_TYPE, 1);
+        assertEquals(0, recorder.onControlMessage(buffer, 0, CONTROL_VALUE_OFFSET + SIZE_OF_LONG));
+
+        final long timestamp = System.nanoTime() - clockOffsetNs;
+        buffer.putLong(TIMESTAMP_OFFSET, timestamp, LITTLE_ENDIAN);
+        buffer.putInt(CONTROL_TYPE_OFFSET, 1, LITTLE_ENDIAN);
+        recorder.onMessage(buffer, 0);
+        recorder.onMessage(buffer, 0);
+        buffer.putLong(TIMESTAMP_OFFSET, System.nanoTime() + clockOffsetNs, LITTLE_ENDIAN);
+        recorder.onMessage(buffer, 0);
+
+        final Histogram result = fetchResult();
+        assertEquals(3, result.getTotalCount());
+        assertEquals(0, result.getMinValue());
+        assertTrue(result.getMaxValue() < clockOffsetNs);
+        assertEquals(1, recorder.replyBuffer().getLong(CONTROL_VALUE_OFFSET, LITTLE_ENDIAN));
+    }
+
+    @Test
+    void shouldResetOnRestart() throws Exception
+    {
+        control(ONE_WAY_START_TYPE, 1);
+        recorder.onControlMessage(buffer, 0, CONTROL_VALUE_OFFSET + SIZE_OF_LONG);
+        buffer.putLong(TIMESTAMP_OFFSET, System.nanoTime(), LITTLE_ENDIAN);
+        recorder.onMessage(buffer, 0);
+
+        control(ONE_WAY_START_TYPE, 1);
+        recorder.onControlMessage(buffer, 0, CONTROL_VALUE_OFFSET + SIZE_OF_LONG);
+
+        assertEquals(0, fetchResult().getTotalCount());
+    }
+
+    private void control(final int type, final int receiverIndex)
+    {
+        buffer.putInt(CONTROL_TYPE_OFFSET, type, LITTLE_ENDIAN);
+        buffer.putInt(CONTROL_RECEIVER_INDEX_OFFSET, receiverIndex, LITTLE_ENDIAN);
+    }
+
+    private Histogram fetchResult() throws Exception
+    {
+        control(ONE_WAY_RESULT_TYPE, 1);
+        final int replyLength = recorder.onControlMessage(buffer, 0, CONTROL_VALUE_OFFSET);
+
+        final MutableDirectBuffer reply = recorder.replyBuffer();
+        assertEquals(ONE_WAY_RESULT_TYPE, reply.getInt(CONTROL_TYPE_OFFSET, LITTLE_ENDIAN));
+        assertEquals(1, reply.getInt(CONTROL_RECEIVER_INDEX_OFFSET, LITTLE_ENDIAN));
+        final byte[] encoded = new byte[replyLength - ONE_WAY_HISTOGRAM_OFFSET];
+        reply.getBytes(ONE_WAY_HISTOGRAM_OFFSET, encoded);
+
+        return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(encoded), 0);
+    }
+}
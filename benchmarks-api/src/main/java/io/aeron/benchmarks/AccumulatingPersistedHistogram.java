@@ -0,0 +1,117 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.IntervalHistogramProvider;
+import org.HdrHistogram.ValueRecorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * PersistedHistogram that records values into a recorder and accumulates its intervals into a single histogram
+ * whenever a snapshot is taken, so that it can be reset, printed and saved by another thread while the values are
+ * being recorded, e.g. into a {@link org.HdrHistogram.SingleWriterRecorder} by the {@link HiccupMeter} or into a
+ * {@link StripedRecorder} by multiple receiver threads.
+ */
+public final class AccumulatingPersistedHistogram implements PersistedHistogram
+{
+    private final ValueRecorder recorder;
+    private final IntervalHistogramProvider<Histogram> intervalHistogramProvider;
+    private final Histogram histogram;
+    private Histogram interval;
+
+    /**
+     * A persisted histogram which records into the supplied recorder.
+     *
+     * @param recorder into which the values are recorded.
+     * @param <R>      type of the recorder.
+     */
+    public <R extends ValueRecorder & IntervalHistogramProvider<Histogram>> AccumulatingPersistedHistogram(
+        final R recorder)
+    {
+        requireNonNull(recorder);
+        this.recorder = recorder;
+        this.intervalHistogramProvider = recorder;
+        this.histogram = new Histogram(3);
+        this.histogram.setStartTimeStamp(System.currentTimeMillis());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void outputPercentileDistribution(final PrintStream printStream, final double outputValueUnitScalingRatio)
+    {
+        snapshot().outputPercentileDistribution(printStream, outputValueUnitScalingRatio);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Path saveToFile(final Path outputDirectory, final String namePrefix, final Status status) throws IOException
+    {
+        requireNonNull(outputDirectory);
+
+        final String prefix = namePrefix.trim();
+        if (prefix.isEmpty())
+        {
+            throw new IllegalArgumentException("Name prefix cannot be blank!");
+        }
+
+        return PersistedHistogram.saveHistogramToFile(snapshot(), outputDirectory, prefix, status);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public ValueRecorder valueRecorder()
+    {
+        return recorder;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized Histogram snapshot()
+    {
+        interval = intervalHistogramProvider.getIntervalHistogram(interval);
+        histogram.add(interval);
+        histogram.setEndTimeStamp(interval.getEndTimeStamp());
+
+        return histogram.copy();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void reset()
+    {
+        recorder.reset();
+        histogram.reset();
+        histogram.setStartTimeStamp(System.currentTimeMillis());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void close()
+    {
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32C;
+
+/**
+ * Index of the inputs aggregated by the {@link ResultsAggregator} into the outputs of every prefix, so that a rerun
+ * only aggregates the prefixes whose inputs changed.
+ * <p>
+ * Every input is recorded with its size, last modified time and CRC-32C of its content. An input is only hashed again
+ * when its size or last modified time changed, so a file which was merely touched does not cause its prefix to be
+ * aggregated again. The outputs are only recorded by path, so that the outputs which a rerun no longer writes, e.g.
+ * the {@code -combined.hdr} file of a prefix which now has a failed input, can be deleted.
+ * <p>
+ * The index is a text file with a line per file, which is ignored if it cannot be parsed, i.e. all prefixes are then
+ * aggregated again. Deleting it has the same effect.
+ */
+final class AggregationIndex
+{
+    /**
+     * Name of the index file in the results directory.
+     */
+    static final String FILE_NAME = ".aggregate-results.index";
+
+    private static final String HEADER = "# aggregate-results index v2";
+    private static final String INPUT = "input";
+    private static final String OUTPUT = "output";
+    private static final String SEPARATOR = "\t";
+
+    private final Path directory;
+    private final Map<String, PrefixEntry> prefixes;
+    private final Map<String, FileEntry> inputs = new HashMap<>();
+
+    private AggregationIndex(final Path directory, final Map<String, PrefixEntry> prefixes)
+    {
+        this.directory = directory;
+        this.prefixes = prefixes;
+        for (final PrefixEntry prefix : prefixes.values())
+        {
+            for (final FileEntry input : prefix.inputs)
+            {
+                inputs.put(input.path, input);
+            }
+        }
+    }
+
+    /**
+     * Load the index of a results directory.
+     *
+     * @param directory with the results.
+     * @return the index or an empty index if there is none or it cannot be parsed.
+     * @throws IOException if the index cannot be read.
+     */
+    static AggregationIndex load(final Path directory) throws IOException
+    {
+        final Path file = directory.resolve(FILE_NAME);
+        final Map<String, PrefixEntry> prefixes = new TreeMap<>();
+        if (!Files.exists(file))
+        {
+            return new AggregationIndex(directory, prefixes);
+        }
+
+        final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !HEADER.equals(lines.get(0)))
+        {
+            return new AggregationIndex(directory, prefixes);
+        }
+
+        try
+        {
+            for (int i = 1; i < lines.size(); i++)
+            {
+                final String line = lines.get(i);
+                if (line.startsWith(INPUT + SEPARATOR))
+                {
+                    final String[] fields = line.split(SEPARATOR, 6);
+                    if (6 != fields.length)
+                    {
+                        throw new IllegalArgumentException(line);
+                    }
+
+                    prefix(prefixes, fields[1]).inputs.add(new FileEntry(
+                        fields[5], Long.parseLong(fields[2]), Long.parseLong(fields[3]), fields[4]));
+                }
+                else if (line.startsWith(OUTPUT + SEPARATOR))
+                {
+                    final String[] fields = line.split(SEPARATOR, 3);
+                    if (3 != fields.length)
+                    {
+                        throw new IllegalArgumentException(line);
+                    }
+
+                    prefix(prefixes, fields[1]).outputs.add(fields[2]);
+                }
+                else
+                {
+                    throw new IllegalArgumentException(line);
+                }
+            }
+        }
+        catch (final IllegalArgumentException ex)
+        {
+            System.err.println("Ignoring invalid " + file + ": " + ex.getMessage());
+            prefixes.clear();
+        }
+
+        return new AggregationIndex(directory, prefixes);
+    }
+
+    /**
+     * Save the index into the results directory, replacing the previous one atomically.
+     *
+     * @throws IOException if the index cannot be written.
+     */
+    void save() throws IOException
+    {
+        final Path file = directory.resolve(FILE_NAME);
+        if (prefixes.isEmpty() && !Files.exists(file))
+        {
+            return;
+        }
+
+        final Path tmpFile = directory.resolve(FILE_NAME + ".tmp");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(tmpFile), false, StandardCharsets.UTF_8))
+        {
+            out.println(HEADER);
+            for (final Map.Entry<String, PrefixEntry> prefix : prefixes.entrySet())
+            {
+                for (final FileEntry input : prefix.getValue().inputs)
+                {
+                    println(out, prefix.getKey(), input);
+                }
+                for (final String output : prefix.getValue().outputs)
+                {
+                    out.print(OUTPUT);
+                    out.print(SEPARATOR);
+                    out.print(prefix.getKey());
+                    out.print(SEPARATOR);
+                    out.println(output);
+                }
+            }
+        }
+
+        Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Entry of a prefix recorded by the previous run.
+     *
+     * @param prefix of the aggregated files.
+     * @return the entry or {@code null} if the prefix was not aggregated before.
+     */
+    PrefixEntry prefix(final String prefix)
+    {
+        return prefixes.get(prefix);
+    }
+
+    /**
+     * Record the entry of a prefix for the next run.
+     *
+     * @param prefix of the aggregated files.
+     * @param entry  with the inputs and the outputs of the prefix.
+     */
+    void prefix(final String prefix, final PrefixEntry entry)
+    {
+        prefixes.put(prefix, entry);
+    }
+
+    /**
+     * Describe a file, reusing the hash recorded by the previous run as an input if the size and the last modified
+     * time of the file are unchanged. Safe to call from multiple threads.
+     *
+     * @param file to describe.
+     * @return the entry of the file.
+     * @throws IOException if the file cannot be read.
+     */
+    FileEntry describe(final Path file) throws IOException
+    {
+        final String path = relativePath(file);
+        final long size = Files.size(file);
+        final long lastModifiedMs = Files.getLastModifiedTime(file).toMillis();
+        final FileEntry previous = inputs.get(path);
+        if (null != previous && previous.size == size && previous.lastModifiedMs == lastModifiedMs)
+        {
+            return previous;
+        }
+
+        return new FileEntry(path, size, lastModifiedMs, hash(file));
+    }
+
+    /**
+     * Are the outputs recorded for a prefix still present.
+     *
+     * @param entry of the prefix.
+     * @return {@code true} if no output was deleted.
+     */
+    boolean outputsExist(final PrefixEntry entry)
+    {
+        for (final String output : entry.outputs)
+        {
+            if (!Files.exists(directory.resolve(output)))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Path of a file as recorded in the index.
+     *
+     * @param file in the results directory.
+     * @return the path relative to the results directory.
+     */
+    String relativePath(final Path file)
+    {
+        return directory.relativize(file).toString();
+    }
+
+    private static PrefixEntry prefix(final Map<String, PrefixEntry> prefixes, final String prefix)
+    {
+        return prefixes.computeIfAbsent(prefix, (key) -> new PrefixEntry(new ArrayList<>(), new ArrayList<>()));
+    }
+
+    private static void println(final PrintStream out, final String prefix, final FileEntry entry)
+    {
+        out.print(INPUT);
+        out.print(SEPARATOR);
+        out.print(prefix);
+        out.print(SEPARATOR);
+        out.print(entry.size);
+        out.print(SEPARATOR);
+        out.print(entry.lastModifiedMs);
+        out.print(SEPARATOR);
+        out.print(entry.hash);
+        out.print(SEPARATOR);
+        out.println(entry.path);
+    }
+
+    private static String hash(final Path file) throws IOException
+    {
+        final CRC32C crc = new CRC32C();
+        final byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file))
+        {
+            int read;
+            while ((read = in.read(buffer)) > 0)
+            {
+                crc.update(buffer, 0, read);
+            }
+        }
+
+        return Long.toHexString(crc.getValue());
+    }
+
+    /**
+     * An input recorded in the index, with the path relative to the results directory.
+     */
+    static final class FileEntry
+    {
+        final String path;
+        final long size;
+        final long lastModifiedMs;
+        final String hash;
+
+        FileEntry(final String path, final long size, final long lastModifiedMs, final String hash)
+        {
+            this.path = path;
+            this.size = size;
+            this.lastModifiedMs = lastModifiedMs;
+            this.hash = hash;
+        }
+
+        boolean sameContent(final FileEntry other)
+        {
+            return path.equals(other.path) && size == other.size && hash.equals(other.hash);
+        }
+    }
+
+    /**
+     * The inputs of a prefix in the order in which they were aggregated and the paths of the outputs written from them.
+     */
+    static final class PrefixEntry
+    {
+        final List<FileEntry> inputs;
+        final List<String> outputs;
+
+        PrefixEntry(final List<FileEntry> inputs, final List<String> outputs)
+        {
+            this.inputs = inputs;
+            this.outputs = outputs;
+        }
+
+        boolean sameInputs(final List<FileEntry> inputs)
+        {
+            if (this.inputs.size() != inputs.size())
+            {
+                return false;
+            }
+
+            for (int i = 0; i < inputs.size(); i++)
+            {
+                if (!this.inputs.get(i).sameContent(inputs.get(i)))
+                {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+}
@@ -0,0 +1,409 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Arrival process which defines the schedule of the intended send times used by the {@link LoadTestRig}. The
+ * timestamps of the sent messages are always the intended send times, so that a sender falling behind the schedule
+ * is accounted for in the measured latency (i.e. coordinated omission is avoided).
+ * <p>
+ * All processes send at the configured mean message rate. The following processes are supported:
+ * <ul>
+ *     <li>{@code fixed} - bursts are sent at a fixed interval (default).</li>
+ *     <li>{@code poisson[:<seed>]} - exponentially distributed intervals between bursts.</li>
+ *     <li>{@code on-off:<on>/<off>} - bursts are sent at a fixed interval during the {@code on} period and nothing
+ *     is sent during the {@code off} period, e.g. {@code on-off:10ms/90ms}.</li>
+ *     <li>{@code piecewise:<duration>*<weight>,...} - a repeating profile of segments where the rate of each segment
+ *     is proportional to its weight, e.g. {@code piecewise:30s*1,30s*4,60s*0.5}.</li>
+ * </ul>
+ * Durations are specified using {@code ns}, {@code us}, {@code ms} or {@code s} time units.
+ */
+public interface ArrivalProcess
+{
+    /**
+     * Reset the arrival process at the beginning of a send run.
+     *
+     * @param startTimeNs       time of the first burst.
+     * @param burstSize         number of messages sent per burst.
+     * @param messagesPerSecond mean number of messages to send per second.
+     */
+    void reset(long startTimeNs, int burstSize, int messagesPerSecond);
+
+    /**
+     * Compute the intended send time of the next burst.
+     *
+     * @param sendTimeNs intended send time of the previous burst.
+     * @return intended send time of the next burst.
+     */
+    long nextSendTimeNs(long sendTimeNs);
+
+    /**
+     * Create a new arrival process instance from the specification.
+     *
+     * @param spec  specification of the arrival process, e.g. {@code poisson} or {@code on-off:10ms/90ms}.
+     * @param index of the sender thread, used to derive a unique seed for the random processes.
+     * @return new arrival process instance.
+     * @throws IllegalArgumentException if the specification is invalid.
+     */
+    static ArrivalProcess newInstance(final String spec, final int index)
+    {
+        requireNonNull(spec, "arrival process cannot be null");
+        final String value = spec.trim();
+        final int separator = value.indexOf(':');
+        final String name = -1 == separator ? value : value.substring(0, separator);
+        final String params = -1 == separator ? null : value.substring(separator + 1).trim();
+
+        switch (name)
+        {
+            case Fixed.NAME:
+                if (null == params)
+                {
+                    return new Fixed();
+                }
+                break;
+
+            case Poisson.NAME:
+                if (null == params)
+                {
+                    return new Poisson(Poisson.DEFAULT_SEED + index);
+                }
+                else if (params.matches("-?\\d+"))
+                {
+                    return new Poisson(Long.parseLong(params) + index);
+                }
+                break;
+
+            case OnOff.NAME:
+                if (null != params)
+                {
+                    final String[] periods = params.split("/", -1);
+                    if (2 == periods.length)
+                    {
+                        final long onNs = parseDurationNs(spec, periods[0]);
+                        final long offNs = parseDurationNs(spec, periods[1]);
+                        if (onNs > 0)
+                        {
+                            return new OnOff(onNs, offNs);
+                        }
+                    }
+                }
+                break;
+
+            case Piecewise.NAME:
+                if (null != params)
+                {
+                    return parsePiecewise(spec, params);
+                }
+                break;
+
+            default:
+                throw new IllegalArgumentException("unknown arrival process '" + spec + "', expected one of: " +
+                    "fixed, poisson[:<seed>], on-off:<on>/<off>, piecewise:<duration>*<weight>,...");
+        }
+
+        throw new IllegalArgumentException("invalid arrival process '" + spec + "'");
+    }
+
+    private static Piecewise parsePiecewise(final String spec, final String params)
+    {
+        final String[] segments = params.split(",", -1);
+        final long[] durationsNs = new long[segments.length];
+        final double[] weights = new double[segments.length];
+        boolean hasTraffic = false;
+        for (int i = 0; i < segments.length; i++)
+        {
+            final String[] parts = segments[i].split("\\*", -1);
+            if (2 != parts.length)
+            {
+                throw new IllegalArgumentException(
+                    "invalid arrival process '" + spec + "', expected segment format <duration>*<weight>");
+            }
+
+            durationsNs[i] = parseDurationNs(spec, parts[0]);
+            if (durationsNs[i] <= 0)
+            {
+                throw new IllegalArgumentException(
+                    "invalid arrival process '" + spec + "', segment duration must be positive");
+            }
+
+            try
+            {
+                weights[i] = Double.parseDouble(parts[1].trim());
+            }
+            catch (final NumberFormatException ex)
+            {
+                throw new IllegalArgumentException(
+                    "invalid arrival process '" + spec + "', invalid weight: " + parts[1], ex);
+            }
+
+            if (!(weights[i] >= 0.0) || Double.isInfinite(weights[i]))
+            {
+                throw new IllegalArgumentException(
+                    "invalid arrival process '" + spec + "', weight cannot be negative, got: " + parts[1]);
+            }
+            hasTraffic |= weights[i] > 0.0;
+        }
+
+        if (!hasTraffic)
+        {
+            throw new IllegalArgumentException(
+                "invalid arrival process '" + spec + "', at least one segment must have a positive weight");
+        }
+
+        return new Piecewise(durationsNs, weights);
+    }
+
+    private static long parseDurationNs(final String spec, final String value)
+    {
+        final String duration = value.trim();
+        final TimeUnit timeUnit;
+        final int suffixLength;
+        if (duration.endsWith("ns"))
+        {
+            timeUnit = TimeUnit.NANOSECONDS;
+            suffixLength = 2;
+        }
+        else if (duration.endsWith("us"))
+        {
+            timeUnit = TimeUnit.MICROSECONDS;
+            suffixLength = 2;
+        }
+        else if (duration.endsWith("ms"))
+        {
+            timeUnit = TimeUnit.MILLISECONDS;
+            suffixLength = 2;
+        }
+        else if (duration.endsWith("s"))
+        {
+            timeUnit = TimeUnit.SECONDS;
+            suffixLength = 1;
+        }
+        else
+        {
+            throw new IllegalArgumentException(
+                "invalid arrival process '" + spec + "', duration must have a time unit, got: " + value);
+        }
+
+        final String amount = duration.substring(0, duration.length() - suffixLength).trim();
+        if (!amount.matches("\\d+"))
+        {
+            throw new IllegalArgumentException(
+                "invalid arrival process '" + spec + "', invalid duration: " + value);
+        }
+
+        return timeUnit.toNanos(Long.parseLong(amount));
+    }
+
+    /**
+     * Bursts are sent at a fixed interval.
+     */
+    final class Fixed implements ArrivalProcess
+    {
+        static final String NAME = "fixed";
+
+        private long intervalNs;
+
+        /**
+         * {@inheritDoc}
+         */
+        public void reset(final long startTimeNs, final int burstSize, final int messagesPerSecond)
+        {
+            // The interval might be off if the division is not exact in which case more messages will be sent per
+            // second than specified via `messagesPerSecond`. However, this guarantees that the duration of the send
+            // operation is bound by the number of iterations.
+            intervalNs = TimeUnit.SECONDS.toNanos(burstSize) / messagesPerSecond;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public long nextSendTimeNs(final long sendTimeNs)
+        {
+            return sendTimeNs + intervalNs;
+        }
+    }
+
+    /**
+     * Intervals between the bursts are exponentially distributed, i.e. the bursts arrive as a Poisson process.
+     */
+    final class Poisson implements ArrivalProcess
+    {
+        static final String NAME = "poisson";
+        static final long DEFAULT_SEED = 0x5DEECE66DL;
+
+        private final SplittableRandom random;
+        private double meanIntervalNs;
+
+        Poisson(final long seed)
+        {
+            random = new SplittableRandom(seed);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void reset(final long startTimeNs, final int burstSize, final int messagesPerSecond)
+        {
+            meanIntervalNs = (double)TimeUnit.SECONDS.toNanos(burstSize) / messagesPerSecond;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public long nextSendTimeNs(final long sendTimeNs)
+        {
+            return sendTimeNs + (long)(-Math.log(1.0 - random.nextDouble()) * meanIntervalNs);
+        }
+    }
+
+    /**
+     * Bursts are sent at a fixed interval during the on period, followed by an off period without traffic. The rate
+     * during the on period is raised so that the mean rate matches the configured rate.
+     */
+    final class OnOff implements ArrivalProcess
+    {
+        static final String NAME = "on-off";
+
+        private final long onNs;
+        private final long periodNs;
+        private long startTimeNs;
+        private long intervalNs;
+
+        OnOff(final long onNs, final long offNs)
+        {
+            this.onNs = onNs;
+            this.periodNs = onNs + offNs;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void reset(final long startTimeNs, final int burstSize, final int messagesPerSecond)
+        {
+            this.startTimeNs = startTimeNs;
+            final double meanIntervalNs = (double)TimeUnit.SECONDS.toNanos(burstSize) / messagesPerSecond;
+            intervalNs = Math.max(1, (long)(meanIntervalNs * onNs / periodNs));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public long nextSendTimeNs(final long sendTimeNs)
+        {
+            final long nextSendTimeNs = sendTimeNs + intervalNs;
+            final long phaseNs = (nextSendTimeNs - startTimeNs) % periodNs;
+            return phaseNs < onNs ? nextSendTimeNs : nextSendTimeNs + (periodNs - phaseNs);
+        }
+    }
+
+    /**
+     * Repeating profile of segments where the rate of each segment is proportional to its weight. The weights are
+     * normalised so that the mean rate over the whole profile matches the configured rate.
+     */
+    final class Piecewise implements ArrivalProcess
+    {
+        static final String NAME = "piecewise";
+
+        private final long[] segmentEndsNs;
+        private final double[] weights;
+        private final long[] intervalsNs;
+        private final long cycleNs;
+        private long startTimeNs;
+
+        Piecewise(final long[] durationsNs, final double[] weights)
+        {
+            this.weights = weights;
+            segmentEndsNs = new long[durationsNs.length];
+            intervalsNs = new long[durationsNs.length];
+
+            long endNs = 0;
+            for (int i = 0; i < durationsNs.length; i++)
+            {
+                endNs += durationsNs[i];
+                segmentEndsNs[i] = endNs;
+            }
+            cycleNs = endNs;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void reset(final long startTimeNs, final int burstSize, final int messagesPerSecond)
+        {
+            this.startTimeNs = startTimeNs;
+
+            double weightedDurationNs = 0;
+            long previousEndNs = 0;
+            for (int i = 0; i < weights.length; i++)
+            {
+                weightedDurationNs += weights[i] * (segmentEndsNs[i] - previousEndNs);
+                previousEndNs = segmentEndsNs[i];
+            }
+
+            final double meanWeight = weightedDurationNs / cycleNs;
+            final double meanIntervalNs = (double)TimeUnit.SECONDS.toNanos(burstSize) / messagesPerSecond;
+            for (int i = 0; i < weights.length; i++)
+            {
+                intervalsNs[i] = weights[i] > 0.0 ?
+                    Math.max(1, (long)(meanIntervalNs * meanWeight / weights[i])) : Long.MAX_VALUE;
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public long nextSendTimeNs(final long sendTimeNs)
+        {
+            final long phaseNs = (sendTimeNs - startTimeNs) % cycleNs;
+            int segment = segmentIndex(phaseNs);
+            long segmentEndNs = sendTimeNs + (segmentEndsNs[segment] - phaseNs);
+            if (intervalsNs[segment] < segmentEndNs - sendTimeNs)
+            {
+                return sendTimeNs + intervalsNs[segment];
+            }
+
+            // Move to the start of the next segment with traffic.
+            while (true)
+            {
+                segment = segment + 1 == segmentEndsNs.length ? 0 : segment + 1;
+                if (Long.MAX_VALUE != intervalsNs[segment])
+                {
+                    return segmentEndNs;
+                }
+                segmentEndNs += segmentEndsNs[segment] - (0 == segment ? 0 : segmentEndsNs[segment - 1]);
+            }
+        }
+
+        private int segmentIndex(final long phaseNs)
+        {
+            final long[] segmentEndsNs = this.segmentEndsNs;
+            for (int i = 0; i < segmentEndsNs.length; i++)
+            {
+                if (phaseNs < segmentEndsNs[i])
+                {
+                    return i;
+                }
+            }
+
+            return segmentEndsNs.length - 1;
+        }
+    }
+}
@@ -37,7 +37,7 @@ class AsyncProgressReporter implements ProgressReporter
     {
         this.out = Objects.requireNonNull(out);
         this.tasks = Objects.requireNonNull(tasks);
-        final Thread t = new Thread(this::runTask, "progress-reporter");
+        final Thread t = new Thread(this::runTask, ThreadAffinity.PROGRESS_REPORTER_ROLE);
         t.setDaemon(true);
         t.start();
     }
@@ -71,6 +71,8 @@ class AsyncProgressReporter implements ProgressReporter
 
     private void runTask()
     {
+        ThreadAffinity.pinCurrentThread(ThreadAffinity.PROGRESS_REPORTER_ROLE);
+
         while (true)
         {
             final Runnable task = tasks.poll();
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+/**
+ * Estimates the offset of the clock of a server relative to the clock of the client from NTP-style ping exchanges,
+ * i.e. the client sends a ping at {@code t1}, the server receives it at {@code t2} and replies at {@code t3}, and the
+ * client receives the reply at {@code t4}.
+ * <p>
+ * Every exchange bounds the offset to {@code ((t2 - t1) + (t3 - t4)) / 2} give or take half of its round trip
+ * {@code (t4 - t1) - (t3 - t2)}, as the split of the round trip between the two directions is unknown. Like the NTP
+ * clock filter, the exchange with the shortest round trip is used since it is the least affected by queueing.
+ */
+public final class ClockOffsetEstimator
+{
+    private int samples;
+    private long offsetNs;
+    private long minRoundTripNs = Long.MAX_VALUE;
+
+    /**
+     * Add the timestamps of a ping exchange.
+     *
+     * @param clientSendNs    time at which the client sent the ping, on the client clock.
+     * @param serverReceiveNs time at which the server received the ping, on the server clock.
+     * @param serverSendNs    time at which the server replied, on the server clock.
+     * @param clientReceiveNs time at which the client received the reply, on the client clock.
+     */
+    public void onSample(
+        final long clientSendNs, final long serverReceiveNs, final long serverSendNs, final long clientReceiveNs)
+    {
+        final long roundTripNs = Math.max(0, (clientReceiveNs - clientSendNs) - (serverSendNs - serverReceiveNs));
+        if (roundTripNs < minRoundTripNs)
+        {
+            minRoundTripNs = roundTripNs;
+            offsetNs = ((serverReceiveNs - clientSendNs) + (serverSendNs - clientReceiveNs)) / 2;
+        }
+        samples++;
+    }
+
+    /**
+     * Number of ping exchanges added since the last {@link #reset()}.
+     *
+     * @return number of ping exchanges.
+     */
+    public int samples()
+    {
+        return samples;
+    }
+
+    /**
+     * Estimated offset of the server clock, i.e. server time minus client time.
+     *
+     * @return offset in nanoseconds or {@code 0} if there are no samples.
+     */
+    public long offsetNs()
+    {
+        return offsetNs;
+    }
+
+    /**
+     * Maximum error of the {@link #offsetNs()}, i.e. half of the shortest round trip.
+     *
+     * @return uncertainty in nanoseconds or {@link Long#MAX_VALUE} if there are no samples.
+     */
+    public long uncertaintyNs()
+    {
+        return 0 == samples ? Long.MAX_VALUE : (minRoundTripNs + 1) / 2;
+    }
+
+    /**
+     * Maximum error of an offset estimated before a run and used throughout it, given the estimate after the run,
+     * i.e. the larger of the two uncertainties plus the drift of the clocks during the run.
+     *
+     * @param before estimate before the run, which was used to correct the measurements.
+     * @param after  estimate after the run.
+     * @return uncertainty in nanoseconds or {@link Long#MAX_VALUE} if either estimate has no samples.
+     */
+    public static long uncertaintyNs(final ClockOffsetEstimator before, final ClockOffsetEstimator after)
+    {
+        if (0 == before.samples || 0 == after.samples)
+        {
+            return Long.MAX_VALUE;
+        }
+
+        return Math.max(before.uncertaintyNs(), after.uncertaintyNs()) + Math.abs(after.offsetNs - before.offsetNs);
+    }
+
+    /**
+     * Discard all samples.
+     */
+    public void reset()
+    {
+        samples = 0;
+        offsetNs = 0;
+        minRoundTripNs = Long.MAX_VALUE;
+    }
+}
@@ -19,6 +19,7 @@ import org.HdrHistogram.ValueRecorder;
 import org.agrona.AsciiEncoding;
 import org.agrona.AsciiNumberFormatException;
 import org.agrona.Strings;
+import org.agrona.SystemUtil;
 import org.agrona.concurrent.BackoffIdleStrategy;
 import org.agrona.concurrent.BusySpinIdleStrategy;
 import org.agrona.concurrent.IdleStrategy;
@@ -29,10 +30,13 @@ import org.agrona.concurrent.SleepingMillisIdleStrategy;
 import org.agrona.concurrent.YieldingIdleStrategy;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
@@ -42,6 +46,7 @@ import static java.lang.reflect.Modifier.isAbstract;
 import static java.lang.reflect.Modifier.isPublic;
 import static java.nio.file.Files.exists;
 import static java.nio.file.Files.isDirectory;
+import static java.nio.file.Files.isRegularFile;
 import static java.nio.file.Files.isWritable;
 import static java.util.Objects.requireNonNull;
 import static org.agrona.BitUtil.SIZE_OF_LONG;
@@ -71,6 +76,46 @@ public final class Configuration
      */
     public static final int DEFAULT_WARMUP_MESSAGE_RATE = 10_000;
 
+    /**
+     * Default use of the adaptive warmup, i.e. all warmup iterations are run.
+     */
+    public static final boolean DEFAULT_WARMUP_ADAPTIVE = false;
+
+    /**
+     * Default tolerance in percent between the latencies of consecutive adaptive warmup windows.
+     */
+    public static final int DEFAULT_WARMUP_TOLERANCE = 10;
+
+    /**
+     * Default port of the live metrics endpoint, i.e. the endpoint is disabled.
+     */
+    public static final int DEFAULT_METRICS_PORT = 0;
+
+    /**
+     * Default resolution of the hiccup meter, i.e. the hiccup meter is disabled.
+     */
+    public static final long DEFAULT_HICCUP_RESOLUTION_NS = 0;
+
+    /**
+     * Default value for recording the hop latencies.
+     */
+    public static final boolean DEFAULT_HOP_TIMESTAMPS = false;
+
+    /**
+     * Default value for measuring the one-way latency.
+     */
+    public static final boolean DEFAULT_ONE_WAY_LATENCY = false;
+
+    /**
+     * Default value for recording the service time of the server nodes.
+     */
+    public static final boolean DEFAULT_SERVICE_TIME = false;
+
+    /**
+     * Default value for recording the received messages from multiple threads.
+     */
+    public static final boolean DEFAULT_CONCURRENT_RECEIVE = false;
+
     /**
      * Default number of measurement iterations.
      */
@@ -91,6 +136,46 @@ public final class Configuration
      */
     public static final boolean DEFAULT_REPORT_PROGRESS = false;
 
+    /**
+     * Default number of sender threads.
+     */
+    public static final int DEFAULT_SENDER_THREADS = 1;
+
+    /**
+     * Default use of a dedicated receiver thread.
+     */
+    public static final boolean DEFAULT_DECOUPLED_RECEIVER = false;
+
+    /**
+     * Default lowest message rate to consider during the SLO search.
+     */
+    public static final int DEFAULT_SLO_SEARCH_MIN_RATE = 1;
+
+    /**
+     * Default number of iterations for every probe of the SLO search.
+     */
+    public static final int DEFAULT_SLO_SEARCH_ITERATIONS = 3;
+
+    /**
+     * Default precision of the SLO search in percent of the found rate.
+     */
+    public static final int DEFAULT_SLO_SEARCH_PRECISION = 1;
+
+    /**
+     * Default arrival process, i.e. bursts are sent at a fixed interval.
+     */
+    public static final String DEFAULT_ARRIVAL_PROCESS = "fixed";
+
+    /**
+     * Default use of a histogram per message size class.
+     */
+    public static final boolean DEFAULT_MESSAGE_SIZE_HISTOGRAMS = false;
+
+    /**
+     * Default number of messages in flight in the closed-loop mode, i.e. the closed-loop mode is disabled.
+     */
+    public static final int DEFAULT_CLOSED_LOOP_WINDOW = 0;
+
     /**
      * Default logging interval for the {@link LoggingPersistedHistogram}.
      */
@@ -200,6 +285,211 @@ public final class Configuration
     public static final String HISTOGRAM_LOGGING_INTERVAL_MS_PROP_NAME =
         "io.aeron.benchmarks.histogram.logging.interval.ms";
 
+    /**
+     * Name of the system property to configure the number of sender threads, each driving its own
+     * {@link MessageTransceiver} instance with an equal share of the message rate. Default value is
+     * {@link #DEFAULT_SENDER_THREADS}.
+     *
+     * @see #senderThreads()
+     */
+    public static final String SENDER_THREADS_PROP_NAME = "io.aeron.benchmarks.sender.threads";
+
+    /**
+     * Name of the system property to enable a dedicated receiver thread, so that the sender thread only sends messages
+     * on schedule. Default value is {@link #DEFAULT_DECOUPLED_RECEIVER}.
+     *
+     * @see #decoupledReceiver()
+     */
+    public static final String DECOUPLED_RECEIVER_PROP_NAME = "io.aeron.benchmarks.decoupled.receiver";
+
+    /**
+     * Name of the system property to configure a comma separated list of message rates for a step-load run, e.g.
+     * {@code 10K,50K,100K,200K}. When set the measurement is repeated for each rate in turn within the same session,
+     * every step lasting {@link #iterations()} seconds. Not set by default.
+     *
+     * @see #stepRates()
+     */
+    public static final String STEP_RATES_PROP_NAME = "io.aeron.benchmarks.step.rates";
+
+    /**
+     * Name of the system property to configure the latency SLO, e.g. {@code p99.9<50us}. When set the
+     * {@link LoadTestRig} searches for the highest message rate between {@link #sloSearchMinRate()} and
+     * {@link #messageRate()} which meets the SLO without a send shortfall or message loss. Not set by default.
+     *
+     * @see #slo()
+     */
+    public static final String SLO_PROP_NAME = "io.aeron.benchmarks.slo";
+
+    /**
+     * Name of the system property to configure the lowest message rate to consider during the SLO search. Default
+     * value is {@link #DEFAULT_SLO_SEARCH_MIN_RATE}.
+     *
+     * @see #sloSearchMinRate()
+     */
+    public static final String SLO_SEARCH_MIN_RATE_PROP_NAME = "io.aeron.benchmarks.slo.search.min.rate";
+
+    /**
+     * Name of the system property to configure the number of iterations for every probe of the SLO search. Default
+     * value is {@link #DEFAULT_SLO_SEARCH_ITERATIONS}.
+     *
+     * @see #sloSearchIterations()
+     */
+    public static final String SLO_SEARCH_ITERATIONS_PROP_NAME = "io.aeron.benchmarks.slo.search.iterations";
+
+    /**
+     * Name of the system property to configure the precision of the SLO search in percent, i.e. the search stops once
+     * the interval between the passing and the failing rate is within the given percentage. Default value is
+     * {@link #DEFAULT_SLO_SEARCH_PRECISION}.
+     *
+     * @see #sloSearchPrecision()
+     */
+    public static final String SLO_SEARCH_PRECISION_PROP_NAME = "io.aeron.benchmarks.slo.search.precision";
+
+    /**
+     * Name of the system property to configure the arrival process which defines the intended send times, e.g.
+     * {@code poisson} or {@code on-off:10ms/90ms}. Default value is {@link #DEFAULT_ARRIVAL_PROCESS}.
+     *
+     * @see #arrivalProcess()
+     * @see ArrivalProcess
+     */
+    public static final String ARRIVAL_PROCESS_PROP_NAME = "io.aeron.benchmarks.arrival.process";
+
+    /**
+     * Name of the system property to configure a distribution of message sizes which is sampled for every burst,
+     * e.g. {@code 64:0.6,1024:0.3,4096:0.1} or {@code file:sizes.csv}. When set, it takes precedence over the
+     * {@link #MESSAGE_LENGTH_PROP_NAME}.
+     *
+     * @see #messageSizes()
+     * @see MessageSizeDistribution
+     */
+    public static final String MESSAGE_SIZES_PROP_NAME = "io.aeron.benchmarks.message.sizes";
+
+    /**
+     * Name of the system property to record an additional histogram for every message size class, per sender thread
+     * if there is more than one. The size class histograms are saved next to the RTT histogram, but are not merged
+     * into it. Default value is {@link #DEFAULT_MESSAGE_SIZE_HISTOGRAMS}.
+     *
+     * @see #messageSizeHistograms()
+     */
+    public static final String MESSAGE_SIZE_HISTOGRAMS_PROP_NAME = "io.aeron.benchmarks.message.size.histograms";
+
+    /**
+     * Name of the system property to enable the closed-loop mode by configuring the number of messages to keep in
+     * flight. A new message is sent as each reply arrives and the message rate is ignored. Default value is
+     * {@link #DEFAULT_CLOSED_LOOP_WINDOW}.
+     *
+     * @see #closedLoopWindow()
+     */
+    public static final String CLOSED_LOOP_WINDOW_PROP_NAME = "io.aeron.benchmarks.closed.loop.window";
+
+    /**
+     * Name of the system property to end the warmup as soon as the latencies of consecutive warmup iterations have
+     * stabilised and the JIT compilation has gone quiet. The {@link #WARMUP_ITERATIONS_PROP_NAME} caps the duration
+     * of the warmup. Default value is {@link #DEFAULT_WARMUP_ADAPTIVE}.
+     *
+     * @see #warmupAdaptive()
+     */
+    public static final String WARMUP_ADAPTIVE_PROP_NAME = "io.aeron.benchmarks.warmup.adaptive";
+
+    /**
+     * Name of the system property to configure the tolerance in percent within which the p50 and p99 latencies of an
+     * adaptive warmup iteration must be of the previous iteration to be considered stable. Default value is
+     * {@link #DEFAULT_WARMUP_TOLERANCE}.
+     *
+     * @see #warmupTolerance()
+     */
+    public static final String WARMUP_TOLERANCE_PROP_NAME = "io.aeron.benchmarks.warmup.tolerance";
+
+    /**
+     * Name of the system property to configure the port of a local HTTP endpoint which exposes the latencies of the
+     * last history interval and the send and receive counters in the Prometheus text format while the benchmark is
+     * running.
+     * Requires {@link #TRACK_HISTORY_PROP_NAME}. Default value is {@link #DEFAULT_METRICS_PORT}, i.e. disabled.
+     *
+     * @see #metricsPort()
+     */
+    public static final String METRICS_PORT_PROP_NAME = "io.aeron.benchmarks.metrics.port";
+
+    /**
+     * Name of the system property to configure the path of a memory-mapped file into which the test rig writes its
+     * counters, e.g. the current phase and the messages sent and received, so that they can be sampled by
+     * {@link RigStat} while the benchmark is running. Not set by default, i.e. the counters are not visible outside
+     * the process.
+     *
+     * @see #countersFile()
+     */
+    public static final String COUNTERS_FILE_PROP_NAME = "io.aeron.benchmarks.counters.file";
+
+    /**
+     * Name of the system property to enable the hiccup meter by configuring the period on which it sleeps, e.g.
+     * {@code 1ms}. The hiccup meter records by how much each sleep overshoots into its own histogram, so that an RTT
+     * outlier can be attributed either to the transport or to a stall of the host. Default value is
+     * {@link #DEFAULT_HICCUP_RESOLUTION_NS}, i.e. disabled.
+     *
+     * @see #hiccupResolutionNs()
+     * @see HiccupMeter
+     */
+    public static final String HICCUP_RESOLUTION_PROP_NAME = "io.aeron.benchmarks.hiccup.resolution";
+
+    /**
+     * Name of the system property to enable the per-hop timestamps. When set on the server nodes, the echo servers and
+     * the clustered services stamp the time at which they received and replied to every message into the payload.
+     * When set on the test rig, the latency of every segment of the round trip is recorded into its own histogram.
+     * Default value is {@link #DEFAULT_HOP_TIMESTAMPS}.
+     *
+     * @see #hopTimestamps()
+     */
+    public static final String HOP_TIMESTAMPS_PROP_NAME = "io.aeron.benchmarks.hop.timestamps";
+
+    /**
+     * Name of the system property to enable the one-way latency mode, where the servers which support it record the
+     * latency from the client to themselves corrected by the estimated offset between the clocks, and ship their
+     * histograms back to the client at the end of the run. Default value is {@link #DEFAULT_ONE_WAY_LATENCY}.
+     *
+     * @see #oneWayLatency()
+     * @see ClockOffsetEstimator
+     */
+    public static final String ONE_WAY_LATENCY_PROP_NAME = "io.aeron.benchmarks.one.way.latency";
+
+    /**
+     * Name of the system property to enable the recording of the service time of the server nodes, i.e. from the
+     * receipt of a message until its reply is published, into a {@link MappedPersistedHistogram} in the logs
+     * directory. Only read by the server nodes. Default value is {@link #DEFAULT_SERVICE_TIME}.
+     *
+     * @see #resolveServiceTime()
+     */
+    public static final String SERVICE_TIME_PROP_NAME = "io.aeron.benchmarks.service.time";
+
+    /**
+     * Name of the system property to configure the {@link MappedPersistedHistogram} files, separated by {@code ,}, of
+     * the server nodes on the same host which are collected and saved with the results of the test rig, e.g. their
+     * {@code <node>-service-time.hdrm} files. Defaults to none.
+     *
+     * @see #serviceTimeFiles()
+     * @see #SERVICE_TIME_PROP_NAME
+     */
+    public static final String SERVICE_TIME_FILES_PROP_NAME = "io.aeron.benchmarks.service.time.files";
+
+    /**
+     * Name of the system property to record the received messages into histograms which accept values from multiple
+     * threads, for the {@link MessageTransceiver} implementations which receive on threads of the transport, e.g. the
+     * event loop of gRPC or the I/O threads of Kafka. Default value is {@link #DEFAULT_CONCURRENT_RECEIVE}.
+     *
+     * @see #concurrentReceive()
+     * @see StripedRecorder
+     */
+    public static final String CONCURRENT_RECEIVE_PROP_NAME = "io.aeron.benchmarks.concurrent.receive";
+
+    /**
+     * Name of the system property to enable the trace replay mode by configuring the path of a binary capture of
+     * traffic. Every message is sent at the offset and with the length recorded in the capture, instead of using the
+     * message rate and the message length.
+     *
+     * @see #traceFile()
+     * @see TraceFile
+     */
+    public static final String TRACE_FILE_PROP_NAME = "io.aeron.benchmarks.trace.file";
+
 
     /**
      * Default receive deadline in seconds. Default value 3 seconds.
@@ -214,6 +504,7 @@ public final class Configuration
     private static final int MAX_K_VALUE = Integer.MAX_VALUE / 1000;
     private static final int MAX_M_VALUE = Integer.MAX_VALUE / 1_000_000;
     private static final String LOGS_DIR = "logs";
+    private static final String BACKOFF_PARAMETERS_PREFIX = "backoff:";
 
     private final int warmupIterations;
     private final int iterations;
@@ -231,6 +522,28 @@ public final class Configuration
     private final boolean reportProgress;
     private final TimeUnit outputTimeUnit;
     private final int receiveDeadlineSeconds;
+    private final int senderThreads;
+    private final boolean decoupledReceiver;
+    private final int[] stepRates;
+    private final LatencySlo slo;
+    private final int sloSearchMinRate;
+    private final int sloSearchIterations;
+    private final int sloSearchPrecision;
+    private final String arrivalProcess;
+    private final MessageSizeDistribution messageSizes;
+    private final boolean messageSizeHistograms;
+    private final int closedLoopWindow;
+    private final Path traceFile;
+    private final int maxMessageLength;
+    private final boolean warmupAdaptive;
+    private final int warmupTolerance;
+    private final int metricsPort;
+    private final Path countersFile;
+    private final long hiccupResolutionNs;
+    private final boolean hopTimestamps;
+    private final boolean oneWayLatency;
+    private final boolean concurrentReceive;
+    private final Path[] serviceTimeFiles;
 
     private Configuration(final Builder builder)
     {
@@ -252,13 +565,41 @@ public final class Configuration
         this.outputTimeUnit = builder.outputTimeUnit;
         this.receiveDeadlineSeconds = checkValueRange(builder.receiveDeadlineSeconds, 0, Integer.MAX_VALUE,
             RECEIVE_DEADLINE_SECONDS_PROP_NAME);
+        this.senderThreads = checkValueRange(builder.senderThreads, 1, messageRate, SENDER_THREADS_PROP_NAME);
+        this.decoupledReceiver = builder.decoupledReceiver;
+        this.stepRates = validateStepRates(builder.stepRates, builder.trackHistory);
+        this.slo = validateSlo(builder.slo, builder.trackHistory, stepRates);
+        this.sloSearchMinRate = checkValueRange(
+            builder.sloSearchMinRate, 1, messageRate, SLO_SEARCH_MIN_RATE_PROP_NAME);
+        this.sloSearchIterations = checkValueRange(
+            builder.sloSearchIterations, 1, Integer.MAX_VALUE, SLO_SEARCH_ITERATIONS_PROP_NAME);
+        this.sloSearchPrecision = checkValueRange(
+            builder.sloSearchPrecision, 1, 100, SLO_SEARCH_PRECISION_PROP_NAME);
+        this.arrivalProcess = validateArrivalProcess(builder.arrivalProcess);
+        this.messageSizes = validateMessageSizes(builder.messageSizes);
+        this.messageSizeHistograms = validateMessageSizeHistograms(builder.messageSizeHistograms, messageSizes);
+        this.closedLoopWindow = validateClosedLoopWindow(
+            builder.closedLoopWindow, senderThreads, decoupledReceiver, stepRates, slo);
+        this.traceFile = validateTraceFile(
+            builder.traceFile, senderThreads, decoupledReceiver, stepRates, slo, closedLoopWindow, messageSizes);
+        this.maxMessageLength = null != traceFile ? traceMaxMessageLength(traceFile) :
+            null != messageSizes ? messageSizes.maxMessageLength() : messageLength;
+        this.warmupAdaptive = builder.warmupAdaptive;
+        this.warmupTolerance = checkValueRange(builder.warmupTolerance, 1, 100, WARMUP_TOLERANCE_PROP_NAME);
+        this.metricsPort = validateMetricsPort(builder.metricsPort, trackHistory);
+        this.countersFile = null != builder.countersFile ? builder.countersFile.toAbsolutePath() : null;
+        this.hiccupResolutionNs = validateHiccupResolution(builder.hiccupResolutionNs);
+        this.hopTimestamps = builder.hopTimestamps;
+        this.oneWayLatency = validateOneWayLatency(builder.oneWayLatency, senderThreads, stepRates, slo);
+        this.concurrentReceive = builder.concurrentReceive;
+        this.serviceTimeFiles = validateServiceTimeFiles(builder.serviceTimeFiles);
         this.rate = rateAsString();
         this.outputFileNamePrefix = computeFileNamePrefix(builder.outputFileNamePrefix);
     }
 
     /**
      * Number of the warmup iterations, where each iteration has a duration of one second. warmup iterations results
-     * will be discarded.
+     * will be discarded. With the {@link #warmupAdaptive()} this is the maximum number of warmup iterations.
      *
      * @return number of the warmup iterations, defaults to {@link #DEFAULT_WARMUP_ITERATIONS}.
      */
@@ -407,122 +748,423 @@ public final class Configuration
     }
 
     /**
-     * Output file name prefix used for creating the file name to persist the results histogram.
+     * Number of sender threads used by the {@link LoadTestRig}. Each thread drives its own {@link MessageTransceiver}
+     * instance at {@code messageRate / senderThreads} messages per iteration and records into its own histogram.
      *
-     * @return output file name prefix.
+     * @return number of sender threads, defaults to {@link #DEFAULT_SENDER_THREADS}.
      */
-    public String outputFileNamePrefix()
+    public int senderThreads()
     {
-        return outputFileNamePrefix;
+        return senderThreads;
     }
 
-    public String toString()
+    /**
+     * Indicate if messages should be received on a dedicated thread instead of being polled by the sender thread
+     * between the sends.
+     *
+     * @return {@code true} if a dedicated receiver thread should be used.
+     * @implNote {@link MessageTransceiver#send(int, int, long, long)} and {@link MessageTransceiver#receive()} will be
+     * called concurrently from two different threads, therefore the implementation must support it.
+     */
+    public boolean decoupledReceiver()
     {
-        return "Configuration{" +
-            "\n    warmUpIterations=" + warmupIterations +
-            "\n    warmupMessageRate=" + warmupMessageRate +
-            "\n    iterations=" + iterations +
-            "\n    messageRate=" + rate +
-            "\n    batchSize=" + batchSize +
-            "\n    messageLength=" + messageLength +
-            "\n    messageTransceiverClass=" + messageTransceiverClass.getName() +
-            "\n    idleStrategy=" + idleStrategy +
-            "\n    trackHistory=" + trackHistory +
-            "\n    reportProgress=" + reportProgress +
-            "\n    outputTimeUnit=" + outputTimeUnit +
-            "\n    receiveDeadlineSeconds=" + receiveDeadlineSeconds +
-            "\n    outputDirectory=" + outputDirectory +
-            "\n    outputFileNamePrefix=" + outputFileNamePrefix +
-            "\n}";
+        return decoupledReceiver;
     }
 
-    private String rateAsString()
+    /**
+     * Message rates to step through during a step-load run. Each step runs for {@link #iterations()} seconds and
+     * produces its own histogram, i.e. a latency-vs-throughput curve is measured within a single session.
+     *
+     * @return message rates per iteration for each step or an empty array if step-load is not enabled.
+     */
+    public int[] stepRates()
     {
-        if (0 == messageRate % 1_000_000)
-        {
-            return (messageRate / 1_000_000) + "M";
-        }
-        else if (0 == messageRate % 1000)
-        {
-            return (messageRate / 1000) + "K";
-        }
-        else
-        {
-            return Integer.toString(messageRate);
-        }
+        return stepRates.clone();
     }
 
-    private String computeFileNamePrefix(final String outputFileNamePrefix)
+    /**
+     * Latency SLO for the maximum sustainable throughput search.
+     *
+     * @return latency SLO or {@code null} if the search is not enabled.
+     */
+    public LatencySlo slo()
     {
-        final String prefix = null != outputFileNamePrefix ? outputFileNamePrefix.trim() : "";
-        if (prefix.isEmpty())
-        {
-            throw new IllegalArgumentException("Output file name prefix cannot be empty!");
-        }
+        return slo;
+    }
 
-        return prefix +
-            "_rate=" + rate +
-            "_batch=" + batchSize +
-            "_length=" + messageLength;
+    /**
+     * Lowest message rate to consider during the SLO search. The highest rate is {@link #messageRate()}.
+     *
+     * @return lowest message rate per iteration, defaults to {@link #DEFAULT_SLO_SEARCH_MIN_RATE}.
+     */
+    public int sloSearchMinRate()
+    {
+        return sloSearchMinRate;
     }
 
     /**
-     * A builder for the {@code Configuration}.
+     * Number of iterations, i.e. the length in seconds, of every probe of the SLO search.
+     *
+     * @return number of iterations per probe, defaults to {@link #DEFAULT_SLO_SEARCH_ITERATIONS}.
      */
-    public static final class Builder
+    public int sloSearchIterations()
     {
-        private int warmupIterations = DEFAULT_WARMUP_ITERATIONS;
-        private int iterations = DEFAULT_ITERATIONS;
-        private int warmupMessageRate = DEFAULT_WARMUP_MESSAGE_RATE;
-        private int messageRate;
-        private int batchSize = DEFAULT_BATCH_SIZE;
-        private int messageLength = MIN_MESSAGE_LENGTH;
-        private Class<? extends MessageTransceiver> messageTransceiverClass;
-        private IdleStrategy idleStrategy = BusySpinIdleStrategy.INSTANCE;
-        private Path outputDirectory = Paths.get("results");
-        private String outputFileNamePrefix;
-        private boolean trackHistory = DEFAULT_TRACK_HISTORY;
-        private boolean reportProgress = DEFAULT_REPORT_PROGRESS;
-        private TimeUnit outputTimeUnit = TimeUnit.MICROSECONDS;
-        private int receiveDeadlineSeconds = DEFAULT_RECEIVE_DEADLINE_SECONDS;
+        return sloSearchIterations;
+    }
 
-        /**
-         * Set the number of warmup iterations.
-         *
-         * @param iterations number of warmup iterations.
-         * @return this for a fluent API.
-         */
-        public Builder warmupIterations(final int iterations)
-        {
-            this.warmupIterations = iterations;
-            return this;
-        }
+    /**
+     * Precision of the SLO search in percent of the found rate.
+     *
+     * @return search precision in percent, defaults to {@link #DEFAULT_SLO_SEARCH_PRECISION}.
+     */
+    public int sloSearchPrecision()
+    {
+        return sloSearchPrecision;
+    }
 
-        /**
-         * Set the number of measurement iterations.
-         *
-         * @param iterations number of measurement iterations.
-         * @return this for a fluent API.
-         */
-        public Builder iterations(final int iterations)
-        {
-            this.iterations = iterations;
-            return this;
-        }
+    /**
+     * Arrival process which defines the intended send times.
+     *
+     * @return arrival process specification, defaults to {@link #DEFAULT_ARRIVAL_PROCESS}.
+     * @see ArrivalProcess#newInstance(String, int)
+     */
+    public String arrivalProcess()
+    {
+        return arrivalProcess;
+    }
 
-        /**
-         * Set the target message rate per iteration during the warmup period.
-         *
-         * @param warmupMessageRate number of messages to be sent per iteration during the warmup period.
-         * @return this for a fluent API.
-         */
-        public Builder warmupMessageRate(final int warmupMessageRate)
-        {
-            this.warmupMessageRate = warmupMessageRate;
-            return this;
-        }
+    /**
+     * Distribution of message sizes which is sampled for every burst.
+     *
+     * @return message size distribution or {@code null} if every message has the {@link #messageLength()}.
+     */
+    public MessageSizeDistribution messageSizes()
+    {
+        return messageSizes;
+    }
 
-        /**
+    /**
+     * Should an additional histogram be recorded for every message size class.
+     *
+     * @return {@code true} if a histogram per message size class is recorded.
+     */
+    public boolean messageSizeHistograms()
+    {
+        return messageSizeHistograms;
+    }
+
+    /**
+     * Length in bytes of the largest message which can be sent, i.e. the size to be used for allocating the buffers.
+     *
+     * @return the largest message in the {@link #traceFile()} or the largest size of the {@link #messageSizes()} if
+     * configured, or the {@link #messageLength()}.
+     */
+    public int maxMessageLength()
+    {
+        return maxMessageLength;
+    }
+
+    /**
+     * Number of messages kept in flight in the closed-loop mode.
+     *
+     * @return number of messages in flight or {@code 0} if the closed-loop mode is disabled.
+     */
+    public int closedLoopWindow()
+    {
+        return closedLoopWindow;
+    }
+
+    /**
+     * Binary capture of traffic to be replayed instead of sending at the message rate.
+     *
+     * @return path of the capture or {@code null} if the trace replay mode is disabled.
+     * @see TraceFile
+     */
+    public Path traceFile()
+    {
+        return traceFile;
+    }
+
+    /**
+     * Should the warmup end as soon as the latencies have stabilised and the JIT compilation has gone quiet.
+     *
+     * @return {@code true} if the adaptive warmup is used.
+     * @see WarmupConvergence
+     */
+    public boolean warmupAdaptive()
+    {
+        return warmupAdaptive;
+    }
+
+    /**
+     * Tolerance in percent between the latencies of consecutive adaptive warmup iterations.
+     *
+     * @return tolerance in percent.
+     */
+    public int warmupTolerance()
+    {
+        return warmupTolerance;
+    }
+
+    /**
+     * Port of the local HTTP endpoint exposing the live metrics.
+     *
+     * @return port of the metrics endpoint or {@code 0} if disabled.
+     * @see MetricsServer
+     */
+    public int metricsPort()
+    {
+        return metricsPort;
+    }
+
+    /**
+     * Path of the memory-mapped counters file of the test rig.
+     *
+     * @return path of the counters file or {@code null} if the counters are not written to a file.
+     * @see RigCounters
+     */
+    public Path countersFile()
+    {
+        return countersFile;
+    }
+
+    /**
+     * Period on which the hiccup meter sleeps.
+     *
+     * @return period in nanoseconds or {@code 0} if the hiccup meter is disabled.
+     * @see HiccupMeter
+     */
+    public long hiccupResolutionNs()
+    {
+        return hiccupResolutionNs;
+    }
+
+    /**
+     * Should the latencies of the client to server, server processing and server to client segments of the round trip
+     * be recorded, for the servers which stamp the hop timestamps into the payload.
+     *
+     * @return {@code true} if the hop latencies should be recorded.
+     * @see #HOP_TIMESTAMPS_PROP_NAME
+     */
+    public boolean hopTimestamps()
+    {
+        return hopTimestamps;
+    }
+
+    /**
+     * Should the servers which support it record the one-way latency from the client and ship it back at the end of
+     * the run, in addition to the RTT.
+     *
+     * @return {@code true} if the one-way latency should be measured.
+     * @see #ONE_WAY_LATENCY_PROP_NAME
+     */
+    public boolean oneWayLatency()
+    {
+        return oneWayLatency;
+    }
+
+    /**
+     * Should the received messages be recorded into histograms which accept values from multiple threads, i.e. does
+     * the {@link MessageTransceiver} invoke its callbacks from more than one thread.
+     *
+     * @return {@code true} if the received messages are recorded by multiple threads.
+     * @see #CONCURRENT_RECEIVE_PROP_NAME
+     */
+    public boolean concurrentReceive()
+    {
+        return concurrentReceive;
+    }
+
+    /**
+     * Memory-mapped histogram files of the server nodes which are collected and saved with the results.
+     *
+     * @return absolute paths of the files, empty if none are collected.
+     * @see #SERVICE_TIME_FILES_PROP_NAME
+     */
+    public Path[] serviceTimeFiles()
+    {
+        return serviceTimeFiles.clone();
+    }
+
+    /**
+     * Output file name prefix used for creating the file name to persist the results histogram.
+     *
+     * @return output file name prefix.
+     */
+    public String outputFileNamePrefix()
+    {
+        return outputFileNamePrefix;
+    }
+
+    public String toString()
+    {
+        return "Configuration{" +
+            "\n    warmUpIterations=" + warmupIterations +
+            "\n    warmupMessageRate=" + warmupMessageRate +
+            "\n    iterations=" + iterations +
+            "\n    messageRate=" + rate +
+            "\n    batchSize=" + batchSize +
+            "\n    messageLength=" + messageLength +
+            "\n    messageTransceiverClass=" + messageTransceiverClass.getName() +
+            "\n    idleStrategy=" + idleStrategy +
+            "\n    trackHistory=" + trackHistory +
+            "\n    reportProgress=" + reportProgress +
+            "\n    outputTimeUnit=" + outputTimeUnit +
+            "\n    receiveDeadlineSeconds=" + receiveDeadlineSeconds +
+            "\n    senderThreads=" + senderThreads +
+            "\n    decoupledReceiver=" + decoupledReceiver +
+            "\n    stepRates=" + stepRatesAsString() +
+            "\n    slo=" + slo +
+            "\n    sloSearchMinRate=" + sloSearchMinRate +
+            "\n    sloSearchIterations=" + sloSearchIterations +
+            "\n    sloSearchPrecision=" + sloSearchPrecision +
+            "\n    arrivalProcess=" + arrivalProcess +
+            "\n    messageSizes=" + messageSizes +
+            "\n    messageSizeHistograms=" + messageSizeHistograms +
+            "\n    closedLoopWindow=" + closedLoopWindow +
+            "\n    traceFile=" + traceFile +
+            "\n    warmupAdaptive=" + warmupAdaptive +
+            "\n    warmupTolerance=" + warmupTolerance +
+            "\n    metricsPort=" + metricsPort +
+            "\n    countersFile=" + countersFile +
+            "\n    hiccupResolutionNs=" + hiccupResolutionNs +
+            "\n    hopTimestamps=" + hopTimestamps +
+            "\n    oneWayLatency=" + oneWayLatency +
+            "\n    concurrentReceive=" + concurrentReceive +
+            "\n    serviceTimeFiles=" + Arrays.toString(serviceTimeFiles) +
+            "\n    outputDirectory=" + outputDirectory +
+            "\n    outputFileNamePrefix=" + outputFileNamePrefix +
+            "\n}";
+    }
+
+    private String rateAsString()
+    {
+        return formatRate(messageRate);
+    }
+
+    private String stepRatesAsString()
+    {
+        final StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < stepRates.length; i++)
+        {
+            if (i > 0)
+            {
+                builder.append(',');
+            }
+            builder.append(formatRate(stepRates[i]));
+        }
+
+        return builder.append(']').toString();
+    }
+
+    static String formatRate(final int rate)
+    {
+        if (0 == rate % 1_000_000)
+        {
+            return (rate / 1_000_000) + "M";
+        }
+        else if (0 == rate % 1000)
+        {
+            return (rate / 1000) + "K";
+        }
+        else
+        {
+            return Integer.toString(rate);
+        }
+    }
+
+    private String computeFileNamePrefix(final String outputFileNamePrefix)
+    {
+        final String prefix = null != outputFileNamePrefix ? outputFileNamePrefix.trim() : "";
+        if (prefix.isEmpty())
+        {
+            throw new IllegalArgumentException("Output file name prefix cannot be empty!");
+        }
+
+        return prefix +
+            "_rate=" + rate +
+            "_batch=" + batchSize +
+            "_length=" + messageLength;
+    }
+
+    /**
+     * A builder for the {@code Configuration}.
+     */
+    public static final class Builder
+    {
+        private int warmupIterations = DEFAULT_WARMUP_ITERATIONS;
+        private int iterations = DEFAULT_ITERATIONS;
+        private int warmupMessageRate = DEFAULT_WARMUP_MESSAGE_RATE;
+        private int messageRate;
+        private int batchSize = DEFAULT_BATCH_SIZE;
+        private int messageLength = MIN_MESSAGE_LENGTH;
+        private Class<? extends MessageTransceiver> messageTransceiverClass;
+        private IdleStrategy idleStrategy = BusySpinIdleStrategy.INSTANCE;
+        private Path outputDirectory = Paths.get("results");
+        private String outputFileNamePrefix;
+        private boolean trackHistory = DEFAULT_TRACK_HISTORY;
+        private boolean reportProgress = DEFAULT_REPORT_PROGRESS;
+        private TimeUnit outputTimeUnit = TimeUnit.MICROSECONDS;
+        private int receiveDeadlineSeconds = DEFAULT_RECEIVE_DEADLINE_SECONDS;
+        private int senderThreads = DEFAULT_SENDER_THREADS;
+        private boolean decoupledReceiver = DEFAULT_DECOUPLED_RECEIVER;
+        private int[] stepRates = new int[0];
+        private String slo;
+        private int sloSearchMinRate = DEFAULT_SLO_SEARCH_MIN_RATE;
+        private int sloSearchIterations = DEFAULT_SLO_SEARCH_ITERATIONS;
+        private int sloSearchPrecision = DEFAULT_SLO_SEARCH_PRECISION;
+        private String arrivalProcess = DEFAULT_ARRIVAL_PROCESS;
+        private String messageSizes;
+        private boolean messageSizeHistograms = DEFAULT_MESSAGE_SIZE_HISTOGRAMS;
+        private int closedLoopWindow = DEFAULT_CLOSED_LOOP_WINDOW;
+        private Path traceFile;
+        private boolean warmupAdaptive = DEFAULT_WARMUP_ADAPTIVE;
+        private int warmupTolerance = DEFAULT_WARMUP_TOLERANCE;
+        private int metricsPort = DEFAULT_METRICS_PORT;
+        private Path countersFile;
+        private long hiccupResolutionNs = DEFAULT_HICCUP_RESOLUTION_NS;
+        private boolean hopTimestamps = DEFAULT_HOP_TIMESTAMPS;
+        private boolean oneWayLatency = DEFAULT_ONE_WAY_LATENCY;
+        private boolean concurrentReceive = DEFAULT_CONCURRENT_RECEIVE;
+        private Path[] serviceTimeFiles = new Path[0];
+
+        /**
+         * Set the number of warmup iterations.
+         *
+         * @param iterations number of warmup iterations.
+         * @return this for a fluent API.
+         */
+        public Builder warmupIterations(final int iterations)
+        {
+            this.warmupIterations = iterations;
+            return this;
+        }
+
+        /**
+         * Set the number of measurement iterations.
+         *
+         * @param iterations number of measurement iterations.
+         * @return this for a fluent API.
+         */
+        public Builder iterations(final int iterations)
+        {
+            this.iterations = iterations;
+            return this;
+        }
+
+        /**
+         * Set the target message rate per iteration during the warmup period.
+         *
+         * @param warmupMessageRate number of messages to be sent per iteration during the warmup period.
+         * @return this for a fluent API.
+         */
+        public Builder warmupMessageRate(final int warmupMessageRate)
+        {
+            this.warmupMessageRate = warmupMessageRate;
+            return this;
+        }
+
+        /**
          * Set the target message rate per iteration.
          *
          * @param messageRate number of messages to be sent per iterations.
@@ -643,91 +1285,452 @@ public final class Configuration
             return this;
         }
 
-        /**
-         * Set the receive deadline in seconds.
-         *
-         * @param receiveDeadlineSeconds deadline in seconds to wait for a response before timing out.
-         * @return this for a fluent API.
-         */
-        public Builder receiveDeadlineSeconds(final int receiveDeadlineSeconds)
+        /**
+         * Set the receive deadline in seconds.
+         *
+         * @param receiveDeadlineSeconds deadline in seconds to wait for a response before timing out.
+         * @return this for a fluent API.
+         */
+        public Builder receiveDeadlineSeconds(final int receiveDeadlineSeconds)
+        {
+            this.receiveDeadlineSeconds = receiveDeadlineSeconds;
+            return this;
+        }
+
+        /**
+         * Set the number of sender threads.
+         *
+         * @param senderThreads number of threads sending messages concurrently.
+         * @return this for a fluent API.
+         */
+        public Builder senderThreads(final int senderThreads)
+        {
+            this.senderThreads = senderThreads;
+            return this;
+        }
+
+        /**
+         * Toggle whether messages are received on a dedicated thread.
+         *
+         * @param decoupledReceiver {@code true} to receive messages on a dedicated thread.
+         * @return this for a fluent API.
+         */
+        public Builder decoupledReceiver(final boolean decoupledReceiver)
+        {
+            this.decoupledReceiver = decoupledReceiver;
+            return this;
+        }
+
+        /**
+         * Set the message rates for a step-load run.
+         *
+         * @param stepRates message rates per iteration for each step, empty to disable step-load.
+         * @return this for a fluent API.
+         */
+        public Builder stepRates(final int... stepRates)
+        {
+            this.stepRates = stepRates;
+            return this;
+        }
+
+        /**
+         * Set the latency SLO for the maximum sustainable throughput search.
+         *
+         * @param slo expression, e.g. {@code p99.9<50us}, or {@code null} to disable the search.
+         * @return this for a fluent API.
+         * @see LatencySlo#parse(String)
+         */
+        public Builder slo(final String slo)
+        {
+            this.slo = slo;
+            return this;
+        }
+
+        /**
+         * Set the lowest message rate to consider during the SLO search.
+         *
+         * @param sloSearchMinRate lowest message rate per iteration.
+         * @return this for a fluent API.
+         */
+        public Builder sloSearchMinRate(final int sloSearchMinRate)
+        {
+            this.sloSearchMinRate = sloSearchMinRate;
+            return this;
+        }
+
+        /**
+         * Set the number of iterations for every probe of the SLO search.
+         *
+         * @param sloSearchIterations number of iterations per probe.
+         * @return this for a fluent API.
+         */
+        public Builder sloSearchIterations(final int sloSearchIterations)
+        {
+            this.sloSearchIterations = sloSearchIterations;
+            return this;
+        }
+
+        /**
+         * Set the precision of the SLO search in percent.
+         *
+         * @param sloSearchPrecision search precision in percent.
+         * @return this for a fluent API.
+         */
+        public Builder sloSearchPrecision(final int sloSearchPrecision)
+        {
+            this.sloSearchPrecision = sloSearchPrecision;
+            return this;
+        }
+
+        /**
+         * Set the arrival process which defines the intended send times.
+         *
+         * @param arrivalProcess specification, e.g. {@code poisson} or {@code on-off:10ms/90ms}.
+         * @return this for a fluent API.
+         * @see ArrivalProcess
+         */
+        public Builder arrivalProcess(final String arrivalProcess)
+        {
+            this.arrivalProcess = arrivalProcess;
+            return this;
+        }
+
+        /**
+         * Set the distribution of message sizes which is sampled for every burst.
+         *
+         * @param messageSizes specification, e.g. {@code 64:0.6,1024:0.4}, or {@code null} to use the message length.
+         * @return this for a fluent API.
+         * @see MessageSizeDistribution
+         */
+        public Builder messageSizes(final String messageSizes)
+        {
+            this.messageSizes = messageSizes;
+            return this;
+        }
+
+        /**
+         * Set if an additional histogram should be recorded for every message size class.
+         *
+         * @param messageSizeHistograms {@code true} to record a histogram per message size class.
+         * @return this for a fluent API.
+         */
+        public Builder messageSizeHistograms(final boolean messageSizeHistograms)
+        {
+            this.messageSizeHistograms = messageSizeHistograms;
+            return this;
+        }
+
+        /**
+         * Set the number of messages to keep in flight in the closed-loop mode.
+         *
+         * @param closedLoopWindow number of messages in flight or {@code 0} to disable the closed-loop mode.
+         * @return this for a fluent API.
+         */
+        public Builder closedLoopWindow(final int closedLoopWindow)
+        {
+            this.closedLoopWindow = closedLoopWindow;
+            return this;
+        }
+
+        /**
+         * Set the binary capture of traffic to be replayed.
+         *
+         * @param traceFile path of the capture or {@code null} to disable the trace replay mode.
+         * @return this for a fluent API.
+         * @see TraceFile
+         */
+        public Builder traceFile(final Path traceFile)
+        {
+            this.traceFile = traceFile;
+            return this;
+        }
+
+        /**
+         * Set if the warmup should end as soon as the latencies have stabilised and the JIT compilation has gone quiet.
+         *
+         * @param warmupAdaptive {@code true} to use the adaptive warmup.
+         * @return this for a fluent API.
+         */
+        public Builder warmupAdaptive(final boolean warmupAdaptive)
+        {
+            this.warmupAdaptive = warmupAdaptive;
+            return this;
+        }
+
+        /**
+         * Set the tolerance in percent between the latencies of consecutive adaptive warmup iterations.
+         *
+         * @param warmupTolerance tolerance in percent.
+         * @return this for a fluent API.
+         */
+        public Builder warmupTolerance(final int warmupTolerance)
+        {
+            this.warmupTolerance = warmupTolerance;
+            return this;
+        }
+
+        /**
+         * Set the port of the live metrics endpoint.
+         *
+         * @param metricsPort port of the endpoint or {@code 0} to disable it.
+         * @return this for a fluent API.
+         */
+        public Builder metricsPort(final int metricsPort)
+        {
+            this.metricsPort = metricsPort;
+            return this;
+        }
+
+        /**
+         * Set the path of the memory-mapped counters file.
+         *
+         * @param countersFile path of the file or {@code null} to not write the counters to a file.
+         * @return this for a fluent API.
+         */
+        public Builder countersFile(final Path countersFile)
+        {
+            this.countersFile = countersFile;
+            return this;
+        }
+
+        /**
+         * Set the period on which the hiccup meter sleeps.
+         *
+         * @param hiccupResolutionNs period in nanoseconds or {@code 0} to disable the hiccup meter.
+         * @return this for a fluent API.
+         */
+        public Builder hiccupResolutionNs(final long hiccupResolutionNs)
+        {
+            this.hiccupResolutionNs = hiccupResolutionNs;
+            return this;
+        }
+
+        /**
+         * Set whether the hop latencies should be recorded.
+         *
+         * @param hopTimestamps {@code true} to record a histogram per segment of the round trip.
+         * @return this for a fluent API.
+         */
+        public Builder hopTimestamps(final boolean hopTimestamps)
+        {
+            this.hopTimestamps = hopTimestamps;
+            return this;
+        }
+
+        /**
+         * Set whether the one-way latency should be measured.
+         *
+         * @param oneWayLatency {@code true} to measure the one-way latency.
+         * @return this for a fluent API.
+         */
+        public Builder oneWayLatency(final boolean oneWayLatency)
+        {
+            this.oneWayLatency = oneWayLatency;
+            return this;
+        }
+
+        /**
+         * Set whether the received messages are recorded by multiple threads.
+         *
+         * @param concurrentReceive {@code true} if the callbacks of the {@link MessageTransceiver} are invoked from
+         *                          more than one thread.
+         * @return this for a fluent API.
+         */
+        public Builder concurrentReceive(final boolean concurrentReceive)
+        {
+            this.concurrentReceive = concurrentReceive;
+            return this;
+        }
+
+        /**
+         * Set the memory-mapped histogram files of the server nodes to collect with the results.
+         *
+         * @param serviceTimeFiles paths of the {@link MappedPersistedHistogram} files, empty to collect none.
+         * @return this for a fluent API.
+         */
+        public Builder serviceTimeFiles(final Path... serviceTimeFiles)
+        {
+            this.serviceTimeFiles = serviceTimeFiles;
+            return this;
+        }
+
+        /**
+         * Create a new instance of the {@link Configuration} class from this builder.
+         *
+         * @return a {@link Configuration} instance
+         */
+        public Configuration build()
+        {
+            return new Configuration(this);
+        }
+    }
+
+    /**
+     * Create a {@link Configuration} instance based on the provided system properties.
+     *
+     * @return a {@link Configuration} instance.
+     */
+    public static Configuration fromSystemProperties()
+    {
+        final Builder builder = new Builder();
+        if (isPropertyProvided(WARMUP_ITERATIONS_PROP_NAME))
+        {
+            builder.warmupIterations(intProperty(WARMUP_ITERATIONS_PROP_NAME));
+        }
+
+        if (isPropertyProvided(WARMUP_MESSAGE_RATE_PROP_NAME))
+        {
+            builder.warmupMessageRate(rateProperty(WARMUP_MESSAGE_RATE_PROP_NAME));
+        }
+
+        if (isPropertyProvided(ITERATIONS_PROP_NAME))
+        {
+            builder.iterations(intProperty(ITERATIONS_PROP_NAME));
+        }
+
+        if (isPropertyProvided(BATCH_SIZE_PROP_NAME))
+        {
+            builder.batchSize(intProperty(BATCH_SIZE_PROP_NAME));
+        }
+
+        if (isPropertyProvided(MESSAGE_LENGTH_PROP_NAME))
+        {
+            builder.messageLength(intProperty(MESSAGE_LENGTH_PROP_NAME));
+        }
+
+        if (isPropertyProvided(IDLE_STRATEGY_PROP_NAME))
+        {
+            builder.idleStrategy(newIdleStrategy(getPropertyValue(IDLE_STRATEGY_PROP_NAME)));
+        }
+
+        if (isPropertyProvided(OUTPUT_DIRECTORY_PROP_NAME))
+        {
+            builder.outputDirectory(Paths.get(getProperty(OUTPUT_DIRECTORY_PROP_NAME)));
+        }
+
+        if (isPropertyProvided(TRACK_HISTORY_PROP_NAME))
+        {
+            builder.trackHistory(Boolean.getBoolean(TRACK_HISTORY_PROP_NAME));
+        }
+
+        if (isPropertyProvided(REPORT_PROGRESS_PROP_NAME))
+        {
+            builder.reportProgress(Boolean.getBoolean(REPORT_PROGRESS_PROP_NAME));
+        }
+
+        if (isPropertyProvided(OUTPUT_TIME_UNIT_PROPERTY_NAME))
+        {
+            builder.outputTimeUnit(TimeUnit.valueOf(
+                System.getProperty(OUTPUT_TIME_UNIT_PROPERTY_NAME).toUpperCase(Locale.UK)));
+        }
+
+        if (isPropertyProvided(RECEIVE_DEADLINE_SECONDS_PROP_NAME))
+        {
+            builder.receiveDeadlineSeconds(intProperty(RECEIVE_DEADLINE_SECONDS_PROP_NAME));
+        }
+
+        if (isPropertyProvided(SENDER_THREADS_PROP_NAME))
+        {
+            builder.senderThreads(intProperty(SENDER_THREADS_PROP_NAME));
+        }
+
+        if (isPropertyProvided(DECOUPLED_RECEIVER_PROP_NAME))
+        {
+            builder.decoupledReceiver(Boolean.getBoolean(DECOUPLED_RECEIVER_PROP_NAME));
+        }
+
+        if (isPropertyProvided(STEP_RATES_PROP_NAME))
+        {
+            builder.stepRates(rateListProperty(STEP_RATES_PROP_NAME));
+        }
+
+        if (isPropertyProvided(SLO_PROP_NAME))
+        {
+            builder.slo(getProperty(SLO_PROP_NAME));
+        }
+
+        if (isPropertyProvided(SLO_SEARCH_MIN_RATE_PROP_NAME))
+        {
+            builder.sloSearchMinRate(rateProperty(SLO_SEARCH_MIN_RATE_PROP_NAME));
+        }
+
+        if (isPropertyProvided(SLO_SEARCH_ITERATIONS_PROP_NAME))
+        {
+            builder.sloSearchIterations(intProperty(SLO_SEARCH_ITERATIONS_PROP_NAME));
+        }
+
+        if (isPropertyProvided(SLO_SEARCH_PRECISION_PROP_NAME))
         {
-            this.receiveDeadlineSeconds = receiveDeadlineSeconds;
-            return this;
+            builder.sloSearchPrecision(intProperty(SLO_SEARCH_PRECISION_PROP_NAME));
         }
 
-        /**
-         * Create a new instance of the {@link Configuration} class from this builder.
-         *
-         * @return a {@link Configuration} instance
-         */
-        public Configuration build()
+        if (isPropertyProvided(ARRIVAL_PROCESS_PROP_NAME))
         {
-            return new Configuration(this);
+            builder.arrivalProcess(getProperty(ARRIVAL_PROCESS_PROP_NAME));
         }
-    }
 
-    /**
-     * Create a {@link Configuration} instance based on the provided system properties.
-     *
-     * @return a {@link Configuration} instance.
-     */
-    public static Configuration fromSystemProperties()
-    {
-        final Builder builder = new Builder();
-        if (isPropertyProvided(WARMUP_ITERATIONS_PROP_NAME))
+        if (isPropertyProvided(MESSAGE_SIZES_PROP_NAME))
         {
-            builder.warmupIterations(intProperty(WARMUP_ITERATIONS_PROP_NAME));
+            builder.messageSizes(getProperty(MESSAGE_SIZES_PROP_NAME));
         }
 
-        if (isPropertyProvided(WARMUP_MESSAGE_RATE_PROP_NAME))
+        if (isPropertyProvided(MESSAGE_SIZE_HISTOGRAMS_PROP_NAME))
         {
-            builder.warmupMessageRate(rateProperty(WARMUP_MESSAGE_RATE_PROP_NAME));
+            builder.messageSizeHistograms(Boolean.getBoolean(MESSAGE_SIZE_HISTOGRAMS_PROP_NAME));
         }
 
-        if (isPropertyProvided(ITERATIONS_PROP_NAME))
+        if (isPropertyProvided(CLOSED_LOOP_WINDOW_PROP_NAME))
         {
-            builder.iterations(intProperty(ITERATIONS_PROP_NAME));
+            builder.closedLoopWindow(intProperty(CLOSED_LOOP_WINDOW_PROP_NAME));
         }
 
-        if (isPropertyProvided(BATCH_SIZE_PROP_NAME))
+        if (isPropertyProvided(TRACE_FILE_PROP_NAME))
         {
-            builder.batchSize(intProperty(BATCH_SIZE_PROP_NAME));
+            builder.traceFile(Paths.get(getProperty(TRACE_FILE_PROP_NAME)));
         }
 
-        if (isPropertyProvided(MESSAGE_LENGTH_PROP_NAME))
+        if (isPropertyProvided(WARMUP_ADAPTIVE_PROP_NAME))
         {
-            builder.messageLength(intProperty(MESSAGE_LENGTH_PROP_NAME));
+            builder.warmupAdaptive(Boolean.getBoolean(WARMUP_ADAPTIVE_PROP_NAME));
         }
 
-        if (isPropertyProvided(IDLE_STRATEGY_PROP_NAME))
+        if (isPropertyProvided(WARMUP_TOLERANCE_PROP_NAME))
         {
-            builder.idleStrategy(newIdleStrategy(getPropertyValue(IDLE_STRATEGY_PROP_NAME)));
+            builder.warmupTolerance(intProperty(WARMUP_TOLERANCE_PROP_NAME));
         }
 
-        if (isPropertyProvided(OUTPUT_DIRECTORY_PROP_NAME))
+        if (isPropertyProvided(METRICS_PORT_PROP_NAME))
         {
-            builder.outputDirectory(Paths.get(getProperty(OUTPUT_DIRECTORY_PROP_NAME)));
+            builder.metricsPort(intProperty(METRICS_PORT_PROP_NAME));
         }
 
-        if (isPropertyProvided(TRACK_HISTORY_PROP_NAME))
+        if (isPropertyProvided(COUNTERS_FILE_PROP_NAME))
         {
-            builder.trackHistory(Boolean.getBoolean(TRACK_HISTORY_PROP_NAME));
+            builder.countersFile(Paths.get(getProperty(COUNTERS_FILE_PROP_NAME)));
         }
 
-        if (isPropertyProvided(REPORT_PROGRESS_PROP_NAME))
+        builder.hiccupResolutionNs(resolveHiccupResolutionNs());
+        builder.hopTimestamps(resolveHopTimestamps());
+
+        if (isPropertyProvided(ONE_WAY_LATENCY_PROP_NAME))
         {
-            builder.reportProgress(Boolean.getBoolean(REPORT_PROGRESS_PROP_NAME));
+            builder.oneWayLatency(Boolean.getBoolean(ONE_WAY_LATENCY_PROP_NAME));
         }
 
-        if (isPropertyProvided(OUTPUT_TIME_UNIT_PROPERTY_NAME))
+        if (isPropertyProvided(CONCURRENT_RECEIVE_PROP_NAME))
         {
-            builder.outputTimeUnit(TimeUnit.valueOf(
-                System.getProperty(OUTPUT_TIME_UNIT_PROPERTY_NAME).toUpperCase(Locale.UK)));
+            builder.concurrentReceive(Boolean.getBoolean(CONCURRENT_RECEIVE_PROP_NAME));
         }
 
-        if (isPropertyProvided(RECEIVE_DEADLINE_SECONDS_PROP_NAME))
+        if (isPropertyProvided(SERVICE_TIME_FILES_PROP_NAME))
         {
-            builder.receiveDeadlineSeconds(intProperty(RECEIVE_DEADLINE_SECONDS_PROP_NAME));
+            final String[] files = getProperty(SERVICE_TIME_FILES_PROP_NAME).split(",");
+            final Path[] serviceTimeFiles = new Path[files.length];
+            for (int i = 0; i < files.length; i++)
+            {
+                serviceTimeFiles[i] = Paths.get(files[i].trim());
+            }
+            builder.serviceTimeFiles(serviceTimeFiles);
         }
 
         builder
@@ -778,7 +1781,59 @@ public final class Configuration
     }
 
     /**
-     * Return idle strategy by alias or fully qualified class name.
+     * Resolve the period on which the hiccup meter sleeps from the system properties. Used by the server nodes which
+     * do not create a {@link Configuration}.
+     *
+     * @return period in nanoseconds or {@code 0} if the hiccup meter is disabled.
+     * @see #HICCUP_RESOLUTION_PROP_NAME
+     */
+    public static long resolveHiccupResolutionNs()
+    {
+        final String value = getProperty(HICCUP_RESOLUTION_PROP_NAME);
+        if (isEmpty(value))
+        {
+            return DEFAULT_HICCUP_RESOLUTION_NS;
+        }
+
+        try
+        {
+            return validateHiccupResolution(SystemUtil.parseDuration(HICCUP_RESOLUTION_PROP_NAME, value));
+        }
+        catch (final NumberFormatException ex)
+        {
+            throw new IllegalArgumentException(
+                "invalid duration for property '" + HICCUP_RESOLUTION_PROP_NAME + "', cause: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Resolve whether the hop timestamps are enabled from the system properties. Used by the server nodes which do not
+     * create a {@link Configuration}.
+     *
+     * @return {@code true} if the hop timestamps are enabled.
+     * @see #HOP_TIMESTAMPS_PROP_NAME
+     */
+    public static boolean resolveHopTimestamps()
+    {
+        final String value = getProperty(HOP_TIMESTAMPS_PROP_NAME);
+        return isEmpty(value) ? DEFAULT_HOP_TIMESTAMPS : Boolean.parseBoolean(value);
+    }
+
+    /**
+     * Resolve whether the server nodes record their service time from the system properties.
+     *
+     * @return {@code true} if the service time is recorded.
+     * @see #SERVICE_TIME_PROP_NAME
+     */
+    public static boolean resolveServiceTime()
+    {
+        final String value = getProperty(SERVICE_TIME_PROP_NAME);
+        return isEmpty(value) ? DEFAULT_SERVICE_TIME : Boolean.parseBoolean(value);
+    }
+
+    /**
+     * Return idle strategy by alias or fully qualified class name. The parameters of the backoff strategy can be
+     * given as {@code backoff:<maxSpins>,<maxYields>,<minParkPeriodNs>,<maxParkPeriodNs>}.
      *
      * @param name alias or FQN
      * @return {@link IdleStrategy} instance.
@@ -790,6 +1845,11 @@ public final class Configuration
             return BusySpinIdleStrategy.INSTANCE;
         }
 
+        if (name.startsWith(BACKOFF_PARAMETERS_PREFIX))
+        {
+            return new ParameterisedBackoffIdleStrategy(name);
+        }
+
         switch (name)
         {
             case "noop":
@@ -867,6 +1927,250 @@ public final class Configuration
         return value;
     }
 
+    private static int[] validateStepRates(final int[] stepRates, final boolean trackHistory)
+    {
+        requireNonNull(stepRates, "'" + STEP_RATES_PROP_NAME + "' cannot be null");
+        if (stepRates.length > 0 && trackHistory)
+        {
+            throw new IllegalArgumentException(
+                "'" + STEP_RATES_PROP_NAME + "' cannot be combined with '" + TRACK_HISTORY_PROP_NAME + "'");
+        }
+
+        for (final int rate : stepRates)
+        {
+            checkValueRange(rate, 1, MAX_MESSAGE_RATE, STEP_RATES_PROP_NAME);
+        }
+
+        return stepRates.clone();
+    }
+
+    private static long validateHiccupResolution(final long hiccupResolutionNs)
+    {
+        if (hiccupResolutionNs < 0)
+        {
+            throw new IllegalArgumentException(
+                "'" + HICCUP_RESOLUTION_PROP_NAME + "' cannot be less than 0, got: " + hiccupResolutionNs);
+        }
+
+        return hiccupResolutionNs;
+    }
+
+    private static Path[] validateServiceTimeFiles(final Path[] serviceTimeFiles)
+    {
+        requireNonNull(serviceTimeFiles, "'" + SERVICE_TIME_FILES_PROP_NAME + "' cannot be null");
+        final Path[] files = new Path[serviceTimeFiles.length];
+        for (int i = 0; i < files.length; i++)
+        {
+            files[i] = requireNonNull(serviceTimeFiles[i], "'" + SERVICE_TIME_FILES_PROP_NAME + "' cannot contain null")
+                .toAbsolutePath();
+        }
+
+        return files;
+    }
+
+    private static int validateMetricsPort(final int metricsPort, final boolean trackHistory)
+    {
+        checkValueRange(metricsPort, 0, 65535, METRICS_PORT_PROP_NAME);
+        if (0 != metricsPort && !trackHistory)
+        {
+            throw new IllegalArgumentException(
+                "'" + METRICS_PORT_PROP_NAME + "' requires '" + TRACK_HISTORY_PROP_NAME + "'");
+        }
+
+        return metricsPort;
+    }
+
+    private static LatencySlo validateSlo(final String slo, final boolean trackHistory, final int[] stepRates)
+    {
+        if (null == slo)
+        {
+            return null;
+        }
+
+        if (trackHistory)
+        {
+            throw new IllegalArgumentException(
+                "'" + SLO_PROP_NAME + "' cannot be combined with '" + TRACK_HISTORY_PROP_NAME + "'");
+        }
+
+        if (stepRates.length > 0)
+        {
+            throw new IllegalArgumentException(
+                "'" + SLO_PROP_NAME + "' cannot be combined with '" + STEP_RATES_PROP_NAME + "'");
+        }
+
+        try
+        {
+            return LatencySlo.parse(slo);
+        }
+        catch (final IllegalArgumentException ex)
+        {
+            throw new IllegalArgumentException("'" + SLO_PROP_NAME + "' " + ex.getMessage(), ex);
+        }
+    }
+
+    private static MessageSizeDistribution validateMessageSizes(final String messageSizes)
+    {
+        if (null == messageSizes)
+        {
+            return null;
+        }
+
+        try
+        {
+            return MessageSizeDistribution.parse(messageSizes);
+        }
+        catch (final IllegalArgumentException ex)
+        {
+            throw new IllegalArgumentException("'" + MESSAGE_SIZES_PROP_NAME + "' " + ex.getMessage(), ex);
+        }
+    }
+
+    private static boolean validateMessageSizeHistograms(
+        final boolean messageSizeHistograms, final MessageSizeDistribution messageSizes)
+    {
+        if (!messageSizeHistograms)
+        {
+            return false;
+        }
+
+        if (null == messageSizes)
+        {
+            throw new IllegalArgumentException(
+                "'" + MESSAGE_SIZE_HISTOGRAMS_PROP_NAME + "' requires '" + MESSAGE_SIZES_PROP_NAME + "'");
+        }
+
+        return true;
+    }
+
+    private static boolean validateOneWayLatency(
+        final boolean oneWayLatency, final int senderThreads, final int[] stepRates, final LatencySlo slo)
+    {
+        if (!oneWayLatency)
+        {
+            return false;
+        }
+
+        if (senderThreads > 1)
+        {
+            throw new IllegalArgumentException(
+                "'" + ONE_WAY_LATENCY_PROP_NAME + "' cannot be combined with '" + SENDER_THREADS_PROP_NAME +
+                "' greater than 1");
+        }
+
+        if (stepRates.length > 0 || null != slo)
+        {
+            throw new IllegalArgumentException(
+                "'" + ONE_WAY_LATENCY_PROP_NAME + "' cannot be combined with '" + STEP_RATES_PROP_NAME +
+                "' or '" + SLO_PROP_NAME + "'");
+        }
+
+        return true;
+    }
+
+    private static int validateClosedLoopWindow(
+        final int closedLoopWindow,
+        final int senderThreads,
+        final boolean decoupledReceiver,
+        final int[] stepRates,
+        final LatencySlo slo)
+    {
+        checkValueRange(closedLoopWindow, 0, Integer.MAX_VALUE, CLOSED_LOOP_WINDOW_PROP_NAME);
+        if (0 == closedLoopWindow)
+        {
+            return 0;
+        }
+
+        if (senderThreads > 1 || decoupledReceiver)
+        {
+            throw new IllegalArgumentException(
+                "'" + CLOSED_LOOP_WINDOW_PROP_NAME + "' cannot be combined with '" + SENDER_THREADS_PROP_NAME +
+                "' greater than 1 or '" + DECOUPLED_RECEIVER_PROP_NAME + "'");
+        }
+
+        if (stepRates.length > 0 || null != slo)
+        {
+            throw new IllegalArgumentException(
+                "'" + CLOSED_LOOP_WINDOW_PROP_NAME + "' cannot be combined with '" + STEP_RATES_PROP_NAME +
+                "' or '" + SLO_PROP_NAME + "'");
+        }
+
+        return closedLoopWindow;
+    }
+
+    private static Path validateTraceFile(
+        final Path traceFile,
+        final int senderThreads,
+        final boolean decoupledReceiver,
+        final int[] stepRates,
+        final LatencySlo slo,
+        final int closedLoopWindow,
+        final MessageSizeDistribution messageSizes)
+    {
+        if (null == traceFile)
+        {
+            return null;
+        }
+
+        if (senderThreads > 1 || decoupledReceiver)
+        {
+            throw new IllegalArgumentException(
+                "'" + TRACE_FILE_PROP_NAME + "' cannot be combined with '" + SENDER_THREADS_PROP_NAME +
+                "' greater than 1 or '" + DECOUPLED_RECEIVER_PROP_NAME + "'");
+        }
+
+        if (stepRates.length > 0 || null != slo || closedLoopWindow > 0)
+        {
+            throw new IllegalArgumentException(
+                "'" + TRACE_FILE_PROP_NAME + "' cannot be combined with '" + STEP_RATES_PROP_NAME +
+                "', '" + SLO_PROP_NAME + "' or '" + CLOSED_LOOP_WINDOW_PROP_NAME + "'");
+        }
+
+        if (null != messageSizes)
+        {
+            throw new IllegalArgumentException(
+                "'" + TRACE_FILE_PROP_NAME + "' cannot be combined with '" + MESSAGE_SIZES_PROP_NAME + "'");
+        }
+
+        if (!isRegularFile(traceFile))
+        {
+            throw new IllegalArgumentException("'" + TRACE_FILE_PROP_NAME + "' file does not exist: " + traceFile);
+        }
+
+        return traceFile.toAbsolutePath();
+    }
+
+    private static int traceMaxMessageLength(final Path traceFile)
+    {
+        try (TraceFile trace = TraceFile.open(traceFile))
+        {
+            return trace.validate(MIN_MESSAGE_LENGTH);
+        }
+        catch (final IllegalArgumentException ex)
+        {
+            throw new IllegalArgumentException("'" + TRACE_FILE_PROP_NAME + "' " + ex.getMessage(), ex);
+        }
+        catch (final IOException ex)
+        {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String validateArrivalProcess(final String arrivalProcess)
+    {
+        requireNonNull(arrivalProcess, "'" + ARRIVAL_PROCESS_PROP_NAME + "' cannot be null");
+        try
+        {
+            ArrivalProcess.newInstance(arrivalProcess, 0);
+        }
+        catch (final IllegalArgumentException ex)
+        {
+            throw new IllegalArgumentException("'" + ARRIVAL_PROCESS_PROP_NAME + "' " + ex.getMessage(), ex);
+        }
+
+        return arrivalProcess.trim();
+    }
+
     private static Class<? extends MessageTransceiver> validateMessageTransceiverClass(
         final Class<? extends MessageTransceiver> klass)
     {
@@ -914,7 +2218,23 @@ public final class Configuration
 
     private static int rateProperty(final String propName)
     {
-        final String value = getPropertyValue(propName);
+        return parseRate(propName, getPropertyValue(propName));
+    }
+
+    private static int[] rateListProperty(final String propName)
+    {
+        final String[] values = getPropertyValue(propName).split(",");
+        final int[] rates = new int[values.length];
+        for (int i = 0; i < values.length; i++)
+        {
+            rates[i] = parseRate(propName, values[i].trim());
+        }
+
+        return rates;
+    }
+
+    private static int parseRate(final String propName, final String value)
+    {
         try
         {
             final int lastIndex = value.length() - 1;
@@ -1042,4 +2362,51 @@ public final class Configuration
         validateDirectory(logsDir, "log");
         return logsDir;
     }
+
+    /**
+     * Backoff idle strategy created with explicit parameters, which keeps its name so that the sender threads and the
+     * decoupled receiver can create their own instances with the same parameters.
+     */
+    static final class ParameterisedBackoffIdleStrategy extends BackoffIdleStrategy
+    {
+        final String name;
+
+        ParameterisedBackoffIdleStrategy(final String name)
+        {
+            this(name, parseBackoffParameters(name));
+        }
+
+        private ParameterisedBackoffIdleStrategy(final String name, final long[] parameters)
+        {
+            super(parameters[0], parameters[1], parameters[2], parameters[3]);
+            this.name = name;
+        }
+
+        private static long[] parseBackoffParameters(final String name)
+        {
+            final String[] values = name.substring(BACKOFF_PARAMETERS_PREFIX.length()).split(",");
+            if (4 != values.length)
+            {
+                throw new IllegalArgumentException("invalid idle strategy '" + name +
+                    "', expected: " + BACKOFF_PARAMETERS_PREFIX + "<maxSpins>,<maxYields>,<minParkPeriodNs>," +
+                    "<maxParkPeriodNs>");
+            }
+
+            final long[] parameters = new long[values.length];
+            for (int i = 0; i < values.length; i++)
+            {
+                try
+                {
+                    parameters[i] = Long.parseLong(values[i].trim());
+                }
+                catch (final NumberFormatException ex)
+                {
+                    throw new IllegalArgumentException(
+                        "invalid idle strategy '" + name + "', cause: " + ex.getMessage());
+                }
+            }
+
+            return parameters;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.sun.management.GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION;
+
+/**
+ * Timeline of the GC pauses of this JVM, collected from the {@link GarbageCollectorMXBean} notifications, so that the
+ * pauses can be written as extra columns next to the percentiles of every interval logged by a
+ * {@link LoggingPersistedHistogram}.
+ * <p>
+ * Every histogram {@link #register() registers} its own timeline, which only records the pauses until it is
+ * {@link #close() closed}. The pauses are kept sorted by their start and are dropped once the interval in which they
+ * started has been printed, so the intervals must be printed in order.
+ * <p>
+ * The notifications report the durations in whole milliseconds, so a pause shorter than 1 ms is counted but adds
+ * {@code 0} to the total and the maximum.
+ * <p>
+ * The notifications of the collectors which report their concurrent cycles separately from their pauses, i.e.
+ * {@code ZGC Cycles}, {@code Shenandoah Cycles} and {@code G1 Concurrent GC}, are ignored as the durations of these
+ * cycles include the time for which the application was running.
+ */
+final class GcPauseTimeline implements AutoCloseable
+{
+    /**
+     * Columns appended to the header of the {@code .hdr.csv} files.
+     */
+    static final String CSV_HEADER =
+        ",gc pauses,gc pause total (ms; 1 ms resolution),gc pause max (ms; 1 ms resolution)";
+
+    private static final String CONCURRENT_CYCLES_SUFFIX = "Cycles";
+    private static final String CONCURRENT_COLLECTOR_NAME = "Concurrent";
+    private static final long JVM_START_TIME_MS = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private static final List<GcPauseTimeline> TIMELINES = new CopyOnWriteArrayList<>();
+
+    static
+    {
+        final NotificationListener listener = GcPauseTimeline::onNotification;
+        for (final GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans())
+        {
+            if (bean instanceof NotificationEmitter)
+            {
+                ((NotificationEmitter)bean).addNotificationListener(listener, null, null);
+            }
+        }
+    }
+
+    private long[] pauseStartTimestamps = new long[64];
+    private long[] pauseDurations = new long[64];
+    private int pauseCount;
+
+    /**
+     * Register a timeline which records the GC pauses of this JVM until it is closed.
+     *
+     * @return the registered timeline.
+     */
+    static GcPauseTimeline register()
+    {
+        final GcPauseTimeline timeline = new GcPauseTimeline();
+        TIMELINES.add(timeline);
+        return timeline;
+    }
+
+    /**
+     * Record a pause, timestamps are in epoch milliseconds.
+     *
+     * @param startTimestampMs at which the pause started.
+     * @param durationMs       of the pause.
+     */
+    synchronized void onPause(final long startTimestampMs, final long durationMs)
+    {
+        if (pauseCount == pauseStartTimestamps.length)
+        {
+            pauseStartTimestamps = Arrays.copyOf(pauseStartTimestamps, pauseCount << 1);
+            pauseDurations = Arrays.copyOf(pauseDurations, pauseCount << 1);
+        }
+
+        // the notifications of the different collectors can arrive out of order
+        int index = pauseCount;
+        while (index > 0 && pauseStartTimestamps[index - 1] > startTimestampMs)
+        {
+            pauseStartTimestamps[index] = pauseStartTimestamps[index - 1];
+            pauseDurations[index] = pauseDurations[index - 1];
+            index--;
+        }
+
+        pauseStartTimestamps[index] = startTimestampMs;
+        pauseDurations[index] = durationMs;
+        pauseCount++;
+    }
+
+    /**
+     * Print the {@link #CSV_HEADER} columns for the pauses which started within an interval, and drop all the pauses
+     * which started before its end.
+     *
+     * @param out              to print the columns to.
+     * @param startTimestampMs of the interval, inclusive.
+     * @param endTimestampMs   of the interval, exclusive.
+     */
+    synchronized void printCsvColumns(final PrintStream out, final long startTimestampMs, final long endTimestampMs)
+    {
+        int count = 0;
+        long totalMs = 0;
+        long maxMs = 0;
+        int index = 0;
+        while (index < pauseCount && pauseStartTimestamps[index] < endTimestampMs)
+        {
+            if (pauseStartTimestamps[index] >= startTimestampMs)
+            {
+                final long durationMs = pauseDurations[index];
+                count++;
+                totalMs += durationMs;
+                maxMs = Math.max(maxMs, durationMs);
+            }
+            index++;
+        }
+
+        if (index > 0)
+        {
+            pauseCount -= index;
+            System.arraycopy(pauseStartTimestamps, index, pauseStartTimestamps, 0, pauseCount);
+            System.arraycopy(pauseDurations, index, pauseDurations, 0, pauseCount);
+        }
+
+        out.print(",");
+        out.print(count);
+        out.print(",");
+        out.print(totalMs);
+        out.print(",");
+        out.print(maxMs);
+    }
+
+    /**
+     * Stop recording the pauses. Safe to call more than once.
+     */
+    public void close()
+    {
+        TIMELINES.remove(this);
+    }
+
+    static boolean isConcurrentCollector(final String gcName)
+    {
+        return gcName.endsWith(CONCURRENT_CYCLES_SUFFIX) || gcName.contains(CONCURRENT_COLLECTOR_NAME);
+    }
+
+    private static void onNotification(final Notification notification, final Object handback)
+    {
+        if (GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType()) && !TIMELINES.isEmpty())
+        {
+            final GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData)notification.getUserData());
+            if (!isConcurrentCollector(info.getGcName()))
+            {
+                final GcInfo gcInfo = info.getGcInfo();
+                final long startTimestampMs = JVM_START_TIME_MS + gcInfo.getStartTime();
+                final long durationMs = gcInfo.getDuration();
+                for (final GcPauseTimeline timeline : TIMELINES)
+                {
+                    timeline.onPause(startTimestampMs, durationMs);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.HdrHistogram.ValueRecorder;
+import org.agrona.CloseHelper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A jHiccup style meter which records the stalls of the platform, e.g. GC pauses, safepoints or descheduling of the
+ * threads, alongside the RTT latencies so that an outlier can be attributed either to the transport or to the host.
+ * <p>
+ * A dedicated thread sleeps on a fixed period and records by how much every sleep overshoots the shortest sleep
+ * observed so far. The values are recorded with the period as the expected interval, so that a long stall also
+ * accounts for the samples that would have been taken during it.
+ */
+public final class HiccupMeter implements AutoCloseable
+{
+    /**
+     * Suffix of the name of the hiccup histograms.
+     */
+    public static final String HICCUP_NAME_SUFFIX = "-hiccup";
+
+    private final PersistedHistogram histogram;
+    private final long resolutionNs;
+    private final Thread thread;
+    private final Path outputDirectory;
+    private final String name;
+    private volatile boolean running = true;
+
+    /**
+     * Create a hiccup meter which records into a histogram owned by the caller. The histogram must accept values from
+     * the meter thread while the caller resets or saves it, e.g. one created by
+     * {@link PersistedHistogramSet#createUnmergedBackground(String)}.
+     *
+     * @param histogram    to record the hiccups into.
+     * @param resolutionNs period on which to sleep.
+     * @param threadName   name of the meter thread.
+     */
+    public HiccupMeter(final PersistedHistogram histogram, final long resolutionNs, final String threadName)
+    {
+        this(histogram, resolutionNs, threadName, null, null);
+    }
+
+    private HiccupMeter(
+        final PersistedHistogram histogram,
+        final long resolutionNs,
+        final String threadName,
+        final Path outputDirectory,
+        final String name)
+    {
+        if (resolutionNs <= 0)
+        {
+            throw new IllegalArgumentException("resolution must be positive, got: " + resolutionNs);
+        }
+
+        this.histogram = requireNonNull(histogram);
+        this.resolutionNs = resolutionNs;
+        this.outputDirectory = outputDirectory;
+        this.name = name;
+        thread = new Thread(this::run, threadName);
+        thread.setDaemon(true);
+    }
+
+    /**
+     * Create and start a hiccup meter if enabled via {@link Configuration#HICCUP_RESOLUTION_PROP_NAME}. The meter owns
+     * its histogram and saves it into the output directory when closed. Used by the server nodes.
+     *
+     * @param outputDirectory into which the histogram is saved.
+     * @param name            of the histogram without the {@link #HICCUP_NAME_SUFFIX}, e.g. {@code echo-node-0}.
+     * @return the started hiccup meter or {@code null} if disabled.
+     */
+    public static HiccupMeter launchIfConfigured(final Path outputDirectory, final String name)
+    {
+        final long resolutionNs = Configuration.resolveHiccupResolutionNs();
+        if (0 == resolutionNs)
+        {
+            return null;
+        }
+
+        final String histogramName = name + HICCUP_NAME_SUFFIX;
+        final PersistedHistogram histogram = PersistedHistogram.newPersistedHistogram(
+            outputDirectory, histogramName, Boolean.getBoolean(Configuration.TRACK_HISTORY_PROP_NAME));
+        final HiccupMeter hiccupMeter = new HiccupMeter(
+            histogram, resolutionNs, histogramName, outputDirectory, histogramName);
+        hiccupMeter.start();
+
+        return hiccupMeter;
+    }
+
+    /**
+     * Histogram of the hiccups in nanoseconds.
+     *
+     * @return histogram of the hiccups.
+     */
+    public PersistedHistogram histogram()
+    {
+        return histogram;
+    }
+
+    /**
+     * Start the meter thread.
+     */
+    public void start()
+    {
+        thread.start();
+    }
+
+    /**
+     * Stop the meter thread and wait for it to exit. If the meter owns its histogram then it is saved and closed.
+     */
+    public void close()
+    {
+        running = false;
+        LockSupport.unpark(thread);
+        try
+        {
+            thread.join();
+        }
+        catch (final InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        if (null != outputDirectory)
+        {
+            try
+            {
+                histogram.saveToFile(outputDirectory, name, PersistedHistogram.Status.OK);
+            }
+            catch (final IOException ex)
+            {
+                throw new UncheckedIOException(ex);
+            }
+            finally
+            {
+                CloseHelper.close(histogram);
+            }
+        }
+    }
+
+    private void run()
+    {
+        final ValueRecorder recorder = histogram.valueRecorder();
+        final long resolutionNs = this.resolutionNs;
+        long shortestDeltaNs = Long.MAX_VALUE;
+
+        while (running)
+        {
+            final long startNs = System.nanoTime();
+            LockSupport.parkNanos(resolutionNs);
+            final long deltaNs = System.nanoTime() - startNs;
+            if (!running)
+            {
+                break;
+            }
+
+            shortestDeltaNs = Math.min(shortestDeltaNs, deltaNs);
+            recorder.recordValueWithExpectedInterval(deltaNs - shortestDeltaNs, resolutionNs);
+        }
+    }
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.HdrHistogram.Histogram;
+import org.agrona.SystemUtil;
+import org.agrona.concurrent.IdleStrategy;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static io.aeron.benchmarks.Configuration.IDLE_STRATEGY_PROP_NAME;
+import static io.aeron.benchmarks.Configuration.OUTPUT_DIRECTORY_PROP_NAME;
+import static io.aeron.benchmarks.PropertiesUtil.loadPropertiesFiles;
+import static io.aeron.benchmarks.PropertiesUtil.mergeWithSystemProperties;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.agrona.PropertyAction.PRESERVE;
+import static org.agrona.PropertyAction.REPLACE;
+
+/**
+ * Calibrates the {@link IdleStrategy} of the rig and the nodes for the box it runs on. Every candidate strategy in
+ * turn idles a thread which waits for a timestamp published by another thread at a fixed rate, the same hand-over as
+ * between the threads of the rig or of a node and the transport. The wake-up latency percentiles are reported against
+ * the CPU time used by the idling thread.
+ * <p>
+ * The recommended strategy is the one with the lowest CPU usage whose p99 wake-up latency is within the
+ * {@link #MAX_P99_PROP_NAME} budget, or twice the best p99 if no budget is given. It is saved as a properties file
+ * which can be passed to the rig and to the nodes, with both the {@link Configuration#IDLE_STRATEGY_PROP_NAME} of the
+ * rig and the {@link #NODE_IDLE_STRATEGY_PROP_NAME} of the Aeron nodes.
+ */
+public final class IdleStrategyCalibration
+{
+    /**
+     * Name of the system property to configure the candidate idle strategies separated by {@code ;}, using the
+     * aliases of {@link Configuration#newIdleStrategy(String)}. Defaults to {@link #DEFAULT_CANDIDATES}.
+     */
+    public static final String CANDIDATES_PROP_NAME = "io.aeron.benchmarks.calibration.idle.strategies";
+
+    /**
+     * Default candidate idle strategies.
+     */
+    public static final String DEFAULT_CANDIDATES =
+        "spin;yield;backoff;backoff:100,100,1000,100000;backoff:1000,1000,10000,1000000;sleep-ns";
+
+    /**
+     * Name of the system property to configure the number of wake-ups per second. Defaults to
+     * {@link #DEFAULT_RATE}.
+     */
+    public static final String RATE_PROP_NAME = "io.aeron.benchmarks.calibration.rate";
+
+    /**
+     * Default number of wake-ups per second.
+     */
+    public static final int DEFAULT_RATE = 1000;
+
+    /**
+     * Name of the system property to configure for how long every candidate is measured, e.g. {@code 10s}. Defaults
+     * to {@link #DEFAULT_DURATION_NS}.
+     */
+    public static final String DURATION_PROP_NAME = "io.aeron.benchmarks.calibration.duration";
+
+    /**
+     * Default duration of the measurement of every candidate.
+     */
+    public static final long DEFAULT_DURATION_NS = SECONDS.toNanos(5);
+
+    /**
+     * Name of the system property to configure the p99 wake-up latency budget of the recommended strategy, e.g.
+     * {@code 20us}. Defaults to twice the best p99 of the candidates.
+     */
+    public static final String MAX_P99_PROP_NAME = "io.aeron.benchmarks.calibration.max.p99";
+
+    /**
+     * Name of the system property which configures the idle strategy of the Aeron echo and replay nodes, i.e.
+     * {@code AeronUtil.IDLE_STRATEGY_PROP_NAME}.
+     */
+    public static final String NODE_IDLE_STRATEGY_PROP_NAME = "io.aeron.benchmarks.aeron.idle.strategy";
+
+    /**
+     * Name of the file with the results of all the candidates.
+     */
+    public static final String RESULTS_FILE_NAME = "idle-strategy-calibration.csv";
+
+    /**
+     * Name of the file with the recommended configuration.
+     */
+    public static final String RECOMMENDATION_FILE_NAME = "idle-strategy.properties";
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private IdleStrategyCalibration()
+    {
+    }
+
+    /**
+     * Result of the calibration of a candidate idle strategy.
+     */
+    static final class Result
+    {
+        final String idleStrategy;
+        final Histogram wakeUpLatencies;
+        final double cpuUsage;
+
+        Result(final String idleStrategy, final Histogram wakeUpLatencies, final double cpuUsage)
+        {
+            this.idleStrategy = idleStrategy;
+            this.wakeUpLatencies = wakeUpLatencies;
+            this.cpuUsage = cpuUsage;
+        }
+
+        long p99()
+        {
+            return wakeUpLatencies.getValueAtPercentile(99.0);
+        }
+    }
+
+    /**
+     * Measure the wake-up latencies and the CPU usage of a thread idling with an idle strategy.
+     *
+     * @param idleStrategy alias or class name of the idle strategy.
+     * @param rate         number of wake-ups per second.
+     * @param durationNs   duration of the measurement.
+     * @return result of the candidate.
+     * @throws InterruptedException if interrupted while waiting for the idling thread to stop.
+     */
+    static Result calibrate(final String idleStrategy, final int rate, final long durationNs)
+        throws InterruptedException
+    {
+        final IdleStrategy strategy = Configuration.newIdleStrategy(idleStrategy);
+        final Histogram wakeUpLatencies = new Histogram(3);
+        final AtomicLong publishedTimestamp = new AtomicLong();
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final long[] cpuAndWallTimeNs = new long[2];
+
+        final Thread thread = new Thread(
+            () ->
+            {
+                final long startCpuTimeNs = THREAD_MX_BEAN.getCurrentThreadCpuTime();
+                final long startTimeNs = System.nanoTime();
+                strategy.reset();
+                while (running.get())
+                {
+                    final long timestamp = publishedTimestamp.get();
+                    if (0 != timestamp)
+                    {
+                        wakeUpLatencies.recordValue(Math.max(0, System.nanoTime() - timestamp));
+                        publishedTimestamp.set(0);
+                        strategy.reset();
+                    }
+                    else
+                    {
+                        strategy.idle();
+                    }
+                }
+                cpuAndWallTimeNs[0] = THREAD_MX_BEAN.getCurrentThreadCpuTime() - startCpuTimeNs;
+                cpuAndWallTimeNs[1] = System.nanoTime() - startTimeNs;
+            },
+            "idle-strategy-calibration");
+        thread.setDaemon(true);
+        thread.start();
+
+        final long intervalNs = SECONDS.toNanos(1) / rate;
+        final long deadlineNs = System.nanoTime() + durationNs;
+        long nextTimeNs = System.nanoTime() + intervalNs;
+        while (nextTimeNs < deadlineNs)
+        {
+            LockSupport.parkNanos(nextTimeNs - System.nanoTime());
+            if (0 == publishedTimestamp.get())
+            {
+                publishedTimestamp.set(System.nanoTime());
+            }
+            nextTimeNs += intervalNs;
+        }
+
+        running.set(false);
+        thread.join();
+
+        final double cpuUsage = cpuAndWallTimeNs[1] > 0 && THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() ?
+            100.0 * cpuAndWallTimeNs[0] / cpuAndWallTimeNs[1] : Double.NaN;
+
+        return new Result(idleStrategy, wakeUpLatencies, cpuUsage);
+    }
+
+    /**
+     * Recommend the candidate with the lowest CPU usage whose p99 wake-up latency is within the budget, or the
+     * candidate with the best p99 if none is.
+     *
+     * @param results  of the candidates.
+     * @param maxP99Ns p99 wake-up latency budget or {@code 0} for twice the best p99.
+     * @return index of the recommended candidate.
+     */
+    static int recommend(final List<Result> results, final long maxP99Ns)
+    {
+        int bestP99Index = 0;
+        for (int i = 1; i < results.size(); i++)
+        {
+            if (results.get(i).p99() < results.get(bestP99Index).p99())
+            {
+                bestP99Index = i;
+            }
+        }
+
+        final long budgetNs = maxP99Ns > 0 ? maxP99Ns : 2 * results.get(bestP99Index).p99();
+        int recommended = -1;
+        for (int i = 0; i < results.size(); i++)
+        {
+            final Result result = results.get(i);
+            if (result.p99() <= budgetNs &&
+                (-1 == recommended || result.cpuUsage < results.get(recommended).cpuUsage))
+            {
+                recommended = i;
+            }
+        }
+
+        return -1 == recommended ? bestP99Index : recommended;
+    }
+
+    static void print(final PrintStream out, final List<Result> results)
+    {
+        out.printf("%-40s %12s %12s %12s %12s %10s%n",
+            "idle strategy", "p50 (us)", "p99 (us)", "p99.9 (us)", "max (us)", "CPU (%)");
+        for (final Result result : results)
+        {
+            final Histogram histogram = result.wakeUpLatencies;
+            out.printf("%-40s %12.3f %12.3f %12.3f %12.3f %10.1f%n",
+                result.idleStrategy,
+                histogram.getValueAtPercentile(50.0) / 1000.0,
+                histogram.getValueAtPercentile(99.0) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0,
+                result.cpuUsage);
+        }
+    }
+
+    static void save(final Path outputDirectory, final List<Result> results, final int recommended)
+        throws IOException
+    {
+        Files.createDirectories(outputDirectory);
+
+        try (PrintStream csv = new PrintStream(
+            outputDirectory.resolve(RESULTS_FILE_NAME).toFile(), StandardCharsets.US_ASCII))
+        {
+            csv.println("idle strategy,wake-ups,p50 (ns),p99 (ns),p99.9 (ns),max (ns),cpu (%)");
+            for (final Result result : results)
+            {
+                final Histogram histogram = result.wakeUpLatencies;
+                csv.printf("\"%s\",%d,%d,%d,%d,%d,%.1f%n",
+                    result.idleStrategy,
+                    histogram.getTotalCount(),
+                    histogram.getValueAtPercentile(50.0),
+                    histogram.getValueAtPercentile(99.0),
+                    histogram.getValueAtPercentile(99.9),
+                    histogram.getMaxValue(),
+                    result.cpuUsage);
+            }
+        }
+
+        final Result result = results.get(recommended);
+        try (PrintStream properties = new PrintStream(
+            outputDirectory.resolve(RECOMMENDATION_FILE_NAME).toFile(), StandardCharsets.US_ASCII))
+        {
+            properties.printf("# p99 wake-up latency %,d ns at %.1f%% CPU%n", result.p99(), result.cpuUsage);
+            properties.printf("%s=%s%n", IDLE_STRATEGY_PROP_NAME, result.idleStrategy);
+            properties.printf("%s=%s%n", NODE_IDLE_STRATEGY_PROP_NAME, result.idleStrategy);
+        }
+    }
+
+    public static void main(final String[] args) throws Exception
+    {
+        mergeWithSystemProperties(PRESERVE, loadPropertiesFiles(new Properties(), REPLACE, args));
+
+        final String[] candidates = System.getProperty(CANDIDATES_PROP_NAME, DEFAULT_CANDIDATES).split(";");
+        final int rate = Integer.getInteger(RATE_PROP_NAME, DEFAULT_RATE);
+        final String duration = System.getProperty(DURATION_PROP_NAME);
+        final long durationNs = null == duration ?
+            DEFAULT_DURATION_NS : SystemUtil.parseDuration(DURATION_PROP_NAME, duration);
+        final String maxP99 = System.getProperty(MAX_P99_PROP_NAME);
+        final long maxP99Ns = null == maxP99 ? 0 : SystemUtil.parseDuration(MAX_P99_PROP_NAME, maxP99);
+        final Path outputDirectory = Paths.get(System.getProperty(OUTPUT_DIRECTORY_PROP_NAME, "."));
+
+        if (rate <= 0)
+        {
+            throw new IllegalArgumentException("'" + RATE_PROP_NAME + "' must be positive, got: " + rate);
+        }
+
+        System.out.printf("Calibrating %d idle strategies at %,d wake-ups/sec for %,d ms each...%n",
+            candidates.length, rate, durationNs / 1_000_000);
+
+        // Warm up the hand-over with the first candidate so that the JIT does not penalise it.
+        calibrate(candidates[0].trim(), rate, Math.min(durationNs, SECONDS.toNanos(1)));
+
+        final List<Result> results = new ArrayList<>(candidates.length);
+        for (final String candidate : candidates)
+        {
+            results.add(calibrate(candidate.trim(), rate, durationNs));
+        }
+
+        final int recommended = recommend(results, maxP99Ns);
+        System.out.println();
+        print(System.out, results);
+        System.out.printf("%nRecommended: %s=%s%n", IDLE_STRATEGY_PROP_NAME, results.get(recommended).idleStrategy);
+
+        save(outputDirectory, results, recommended);
+        System.out.printf("Saved %s and %s to %s%n",
+            RESULTS_FILE_NAME, RECOMMENDATION_FILE_NAME, outputDirectory.toAbsolutePath());
+    }
+}
@@ -36,6 +36,7 @@ public final class InMemoryMessageTransceiver extends MessageTransceiver
 
     private long sendIndex = 0;
     private long receiveIndex = 0;
+    private int sendSequence = 0;
 
     public InMemoryMessageTransceiver(final NanoClock nanoClock, final ValueRecorder valueRecorder)
     {
@@ -66,16 +67,22 @@ public final class InMemoryMessageTransceiver extends MessageTransceiver
             return 0;
         }
 
+        final int sequence = sendSequence;
         for (int i = numberOfMessages; i > 1; i--)
         {
             UnsafeApi.putLong(messages, offset(index + messageIndexOffset(i)), timestamp);
+            UnsafeApi.putLong(messages, offset(index + 2 + messageIndexOffset(i)), messageLength);
+            UnsafeApi.putLong(messages, offset(index + 3 + messageIndexOffset(i)), sequence + i - 1);
             UnsafeApi.putLong(messages, offset(index + 1 + messageIndexOffset(i)), checksum);
         }
 
         UnsafeApi.putLong(messages, offset(index), timestamp);
+        UnsafeApi.putLong(messages, offset(index + 2), messageLength);
+        UnsafeApi.putLong(messages, offset(index + 3), sequence);
         UnsafeApi.putLongRelease(messages, offset(index + 1), checksum);
 
         sendIndex += messageIndexOffset(numberOfMessages + 1);
+        sendSequence += numberOfMessages;
 
         return numberOfMessages;
     }
@@ -94,9 +101,12 @@ public final class InMemoryMessageTransceiver extends MessageTransceiver
         {
             final long timestampOffset = offset(receiveIndex);
             final long timestamp = UnsafeApi.getLong(messages, timestampOffset);
+            final int messageLength = (int)UnsafeApi.getLong(messages, offset(receiveIndex + 2));
+            final int sequence = (int)UnsafeApi.getLong(messages, offset(receiveIndex + 3));
             UnsafeApi.putLong(messages, timestampOffset, 0L);
             UnsafeApi.putLongRelease(messages, checksumOffset, 0L);
-            onMessageReceived(timestamp, checksum);
+            onMessageReceived(timestamp, checksum, messageLength);
+            onMessageSequence(sequence);
             receiveIndex += (1 + PADDING);
         }
     }
@@ -0,0 +1,514 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogReader;
+import org.agrona.SystemUtil;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+
+import static io.aeron.benchmarks.PersistedHistogram.FAILED_FILE_SUFFIX;
+import static io.aeron.benchmarks.PersistedHistogram.FILE_EXTENSION;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Analyses the interval logs written by {@link LoggingPersistedHistogram} in a single pass, so that the logs of long
+ * soak runs can be analysed without loading them into memory.
+ * <p>
+ * The intervals are assigned to steps by the midpoint of their timestamps. A window of {@link #WINDOW_PROP_NAME}
+ * rolls by one {@link #STEP_PROP_NAME} at a time, so only the histograms of the steps of a single window are held
+ * at any time. For every window which has values the configured percentiles are written into a
+ * {@code -windows.csv} file next to the log, and the percentiles of every hour into a {@code -hourly.csv} file. The
+ * window with the highest value at {@link #WORST_PERCENTILE_PROP_NAME} is reported as the worst window.
+ * <p>
+ * The first window starts with the first step of the log. A log shorter than a window produces a single window with
+ * all its values. An interval which is out of order is added to the current step.
+ */
+public final class IntervalLogAnalyzer
+{
+    /**
+     * Name of the system property to configure the length of the rolling window, e.g. {@code 5m}. Defaults to
+     * {@link #DEFAULT_WINDOW_MS}.
+     */
+    public static final String WINDOW_PROP_NAME = "io.aeron.benchmarks.analysis.window";
+
+    /**
+     * Default length of the rolling window.
+     */
+    public static final long DEFAULT_WINDOW_MS = MINUTES.toMillis(1);
+
+    /**
+     * Name of the system property to configure by how much the window rolls, e.g. {@code 30s}. The window must be a
+     * multiple of it. Defaults to {@link #DEFAULT_STEP_MS}.
+     */
+    public static final String STEP_PROP_NAME = "io.aeron.benchmarks.analysis.step";
+
+    /**
+     * Default step by which the window rolls.
+     */
+    public static final long DEFAULT_STEP_MS = SECONDS.toMillis(10);
+
+    /**
+     * Name of the system property to configure the percentiles of the windows and of the hours separated by
+     * {@code ,}. Defaults to {@link #DEFAULT_PERCENTILES}.
+     */
+    public static final String PERCENTILES_PROP_NAME = "io.aeron.benchmarks.analysis.percentiles";
+
+    /**
+     * Default percentiles, the same as in the {@code .hdr.csv} history of {@link LoggingPersistedHistogram}.
+     */
+    public static final String DEFAULT_PERCENTILES = "50,99,99.9,99.99,99.999,100";
+
+    /**
+     * Name of the system property to configure the percentile by which the worst window is selected. Defaults to
+     * {@link #DEFAULT_WORST_PERCENTILE}.
+     */
+    public static final String WORST_PERCENTILE_PROP_NAME = "io.aeron.benchmarks.analysis.worst.percentile";
+
+    /**
+     * Default percentile by which the worst window is selected.
+     */
+    public static final double DEFAULT_WORST_PERCENTILE = 99.9;
+
+    /**
+     * Suffix of the file with the percentiles of the rolling windows.
+     */
+    public static final String WINDOWS_FILE_SUFFIX = "-windows.csv";
+
+    /**
+     * Suffix of the file with the percentiles of every hour.
+     */
+    public static final String HOURLY_FILE_SUFFIX = "-hourly.csv";
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final long HOUR_MS = HOURS.toMillis(1);
+
+    private final long windowMs;
+    private final long stepMs;
+    private final int stepsPerWindow;
+    private final double[] percentiles;
+    private final double worstPercentile;
+
+    /**
+     * Create an analyzer.
+     *
+     * @param windowMs        length of the rolling window.
+     * @param stepMs          by which the window rolls.
+     * @param percentiles     of the windows and of the hours.
+     * @param worstPercentile by which the worst window is selected.
+     */
+    IntervalLogAnalyzer(
+        final long windowMs, final long stepMs, final double[] percentiles, final double worstPercentile)
+    {
+        if (stepMs <= 0 || windowMs <= 0 || 0 != windowMs % stepMs)
+        {
+            throw new IllegalArgumentException(
+                "window must be a positive multiple of the step, got: window=" + windowMs + "ms, step=" +
+                stepMs + "ms");
+        }
+        for (final double percentile : percentiles)
+        {
+            validatePercentile(percentile);
+        }
+        validatePercentile(worstPercentile);
+
+        this.windowMs = windowMs;
+        this.stepMs = stepMs;
+        this.stepsPerWindow = (int)(windowMs / stepMs);
+        this.percentiles = percentiles.clone();
+        this.worstPercentile = worstPercentile;
+    }
+
+    /**
+     * A rolling window.
+     */
+    static final class Window
+    {
+        final long startMs;
+        final long endMs;
+        final long count;
+        final long worstValue;
+
+        Window(final long startMs, final long endMs, final long count, final long worstValue)
+        {
+            this.startMs = startMs;
+            this.endMs = endMs;
+            this.count = count;
+            this.worstValue = worstValue;
+        }
+    }
+
+    /**
+     * Result of the analysis of a log.
+     */
+    static final class Summary
+    {
+        final long intervals;
+        final long windows;
+        final Histogram total;
+        final Window worstWindow;
+
+        Summary(final long intervals, final long windows, final Histogram total, final Window worstWindow)
+        {
+            this.intervals = intervals;
+            this.windows = windows;
+            this.total = total;
+            this.worstWindow = worstWindow;
+        }
+    }
+
+    /**
+     * Analyse a log, writing the windows and the hours next to it.
+     *
+     * @param log interval log written by {@link LoggingPersistedHistogram}.
+     * @return summary of the log.
+     * @throws IOException if the log cannot be read or the results cannot be written.
+     */
+    Summary analyze(final Path log) throws IOException
+    {
+        String name = log.getFileName().toString();
+        String suffix = "";
+        if (name.endsWith(FAILED_FILE_SUFFIX))
+        {
+            name = name.substring(0, name.length() - FAILED_FILE_SUFFIX.length());
+            suffix = FAILED_FILE_SUFFIX;
+        }
+        if (name.endsWith(FILE_EXTENSION))
+        {
+            name = name.substring(0, name.length() - FILE_EXTENSION.length());
+        }
+
+        try (InputStream in = Files.newInputStream(log);
+            PrintStream windowsCsv = newCsv(log.resolveSibling(name + WINDOWS_FILE_SUFFIX + suffix));
+            PrintStream hourlyCsv = newCsv(log.resolveSibling(name + HOURLY_FILE_SUFFIX + suffix)))
+        {
+            return analyze(in, windowsCsv, hourlyCsv);
+        }
+    }
+
+    /**
+     * Analyse a log in a single pass.
+     *
+     * @param log       interval log written by {@link LoggingPersistedHistogram}.
+     * @param windowsCsv into which the percentiles of the rolling windows are written.
+     * @param hourlyCsv  into which the percentiles of every hour are written.
+     * @return summary of the log.
+     */
+    Summary analyze(final InputStream log, final PrintStream windowsCsv, final PrintStream hourlyCsv)
+    {
+        printHeader(windowsCsv, "window start (ms),window end (ms),count");
+        printHeader(hourlyCsv, "hour start (ms),count");
+
+        final Pass pass = new Pass(windowsCsv, hourlyCsv);
+        try (HistogramLogReader reader = new HistogramLogReader(log))
+        {
+            while (reader.hasNext())
+            {
+                final Histogram interval = (Histogram)reader.nextIntervalHistogram();
+                if (interval == null)
+                {
+                    continue;
+                }
+
+                pass.add(interval);
+            }
+        }
+
+        return pass.finish();
+    }
+
+    private void printHeader(final PrintStream csv, final String columns)
+    {
+        csv.print(columns);
+        for (final double percentile : percentiles)
+        {
+            csv.print(",");
+            csv.print(percentile);
+        }
+        csv.println();
+    }
+
+    private void printPercentiles(final PrintStream csv, final Histogram histogram)
+    {
+        csv.print(histogram.getTotalCount());
+        for (final double percentile : percentiles)
+        {
+            csv.print(",");
+            csv.print(histogram.getValueAtPercentile(percentile));
+        }
+        csv.println();
+    }
+
+    private static PrintStream newCsv(final Path file) throws IOException
+    {
+        return new PrintStream(
+            new BufferedOutputStream(Files.newOutputStream(file)), false, StandardCharsets.US_ASCII);
+    }
+
+    private static long floorTo(final long timestampMs, final long unitMs)
+    {
+        return Math.floorDiv(timestampMs, unitMs) * unitMs;
+    }
+
+    private static void validatePercentile(final double percentile)
+    {
+        if (!(percentile >= 0.0 && percentile <= 100.0))
+        {
+            throw new IllegalArgumentException("percentile must be within [0, 100], got: " + percentile);
+        }
+    }
+
+    /**
+     * State of a single pass over a log. Holds at most the histograms of the steps of a window, the current hour
+     * and the total.
+     */
+    private final class Pass
+    {
+        private final PrintStream windowsCsv;
+        private final PrintStream hourlyCsv;
+        private final ArrayDeque<Histogram> steps = new ArrayDeque<>();
+        private final ArrayDeque<Histogram> recycledSteps = new ArrayDeque<>();
+        private final Histogram window = new Histogram(SIGNIFICANT_DIGITS);
+        private final Histogram hour = new Histogram(SIGNIFICANT_DIGITS);
+        private final Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+        private Histogram currentStep;
+        private long currentStepStartMs;
+        private long hourStartMs;
+        private long intervals;
+        private long windows;
+        private Window worstWindow;
+
+        Pass(final PrintStream windowsCsv, final PrintStream hourlyCsv)
+        {
+            this.windowsCsv = windowsCsv;
+            this.hourlyCsv = hourlyCsv;
+        }
+
+        void add(final Histogram interval)
+        {
+            final long timestampMs = interval.getStartTimeStamp() +
+                ((interval.getEndTimeStamp() - interval.getStartTimeStamp()) / 2);
+
+            if (null == currentStep)
+            {
+                currentStep = newStep();
+                currentStepStartMs = floorTo(timestampMs, stepMs);
+                hourStartMs = floorTo(timestampMs, HOUR_MS);
+            }
+
+            while (timestampMs >= currentStepStartMs + stepMs)
+            {
+                nextStep();
+
+                // skip over a gap in the log rather than rolling through the empty windows one step at a time
+                final long skipToMs = floorTo(timestampMs, stepMs) - windowMs;
+                if (currentStepStartMs < skipToMs && isIdle())
+                {
+                    currentStepStartMs = skipToMs;
+                }
+            }
+
+            if (timestampMs >= hourStartMs + HOUR_MS)
+            {
+                completeHour();
+                hourStartMs = floorTo(timestampMs, HOUR_MS);
+            }
+
+            currentStep.add(interval);
+            hour.add(interval);
+            total.add(interval);
+            intervals++;
+        }
+
+        Summary finish()
+        {
+            if (null != currentStep)
+            {
+                if (currentStep.getTotalCount() > 0)
+                {
+                    nextStep();
+                }
+
+                if (0 == windows && !steps.isEmpty())
+                {
+                    completeWindow(currentStepStartMs - steps.size() * stepMs, currentStepStartMs);
+                }
+
+                completeHour();
+            }
+
+            return new Summary(intervals, windows, total, worstWindow);
+        }
+
+        private void nextStep()
+        {
+            steps.addLast(currentStep);
+            if (steps.size() > stepsPerWindow)
+            {
+                recycledSteps.addLast(steps.removeFirst());
+            }
+
+            currentStepStartMs += stepMs;
+            if (steps.size() == stepsPerWindow)
+            {
+                completeWindow(currentStepStartMs - windowMs, currentStepStartMs);
+            }
+
+            currentStep = newStep();
+        }
+
+        private void completeWindow(final long startMs, final long endMs)
+        {
+            window.reset();
+            for (final Histogram step : steps)
+            {
+                window.add(step);
+            }
+
+            if (0 == window.getTotalCount())
+            {
+                return;
+            }
+
+            windows++;
+            windowsCsv.print(startMs);
+            windowsCsv.print(",");
+            windowsCsv.print(endMs);
+            windowsCsv.print(",");
+            printPercentiles(windowsCsv, window);
+
+            final long worstValue = window.getValueAtPercentile(worstPercentile);
+            if (null == worstWindow || worstValue > worstWindow.worstValue)
+            {
+                worstWindow = new Window(startMs, endMs, window.getTotalCount(), worstValue);
+            }
+        }
+
+        private void completeHour()
+        {
+            if (hour.getTotalCount() > 0)
+            {
+                hourlyCsv.print(hourStartMs);
+                hourlyCsv.print(",");
+                printPercentiles(hourlyCsv, hour);
+                hour.reset();
+            }
+        }
+
+        private boolean isIdle()
+        {
+            if (currentStep.getTotalCount() > 0)
+            {
+                return false;
+            }
+
+            for (final Histogram step : steps)
+            {
+                if (step.getTotalCount() > 0)
+                {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private Histogram newStep()
+        {
+            final Histogram step = recycledSteps.pollFirst();
+            if (null == step)
+            {
+                return new Histogram(SIGNIFICANT_DIGITS);
+            }
+
+            step.reset();
+            return step;
+        }
+    }
+
+    public static void main(final String[] args) throws IOException
+    {
+        if (args.length < 1)
+        {
+            printHelp();
+            System.exit(-1);
+        }
+
+        final String window = System.getProperty(WINDOW_PROP_NAME);
+        final long windowMs = null == window ?
+            DEFAULT_WINDOW_MS : NANOSECONDS.toMillis(SystemUtil.parseDuration(WINDOW_PROP_NAME, window));
+        final String step = System.getProperty(STEP_PROP_NAME);
+        final long stepMs = null == step ?
+            DEFAULT_STEP_MS : NANOSECONDS.toMillis(SystemUtil.parseDuration(STEP_PROP_NAME, step));
+        final String[] values = System.getProperty(PERCENTILES_PROP_NAME, DEFAULT_PERCENTILES).split(",");
+        final double[] percentiles = new double[values.length];
+        for (int i = 0; i < values.length; i++)
+        {
+            percentiles[i] = Double.parseDouble(values[i].trim());
+        }
+        final String worstPercentile = System.getProperty(WORST_PERCENTILE_PROP_NAME);
+
+        final IntervalLogAnalyzer analyzer = new IntervalLogAnalyzer(
+            windowMs,
+            stepMs,
+            percentiles,
+            null == worstPercentile ? DEFAULT_WORST_PERCENTILE : Double.parseDouble(worstPercentile));
+
+        for (final String arg : args)
+        {
+            final Path log = Paths.get(arg);
+            final Summary summary = analyzer.analyze(log);
+
+            System.out.printf("%s: %,d intervals, %,d values, %,d windows%n",
+                log, summary.intervals, summary.total.getTotalCount(), summary.windows);
+            if (null != summary.worstWindow)
+            {
+                System.out.printf("  worst window [%d, %d) ms: %,d values, %s=%,d%n",
+                    summary.worstWindow.startMs,
+                    summary.worstWindow.endMs,
+                    summary.worstWindow.count,
+                    analyzer.worstPercentile,
+                    summary.worstWindow.worstValue);
+            }
+        }
+    }
+
+    private static void printHelp()
+    {
+        System.out.println("Usage: <log> [<log>...] - analyses the interval logs of LoggingPersistedHistogram in a");
+        System.out.println("  single pass, writing the percentiles of a rolling window into `<prefix>-windows.csv`");
+        System.out.println("  and of every hour into `<prefix>-hourly.csv` next to every log.");
+        System.out.println();
+        System.out.println("  System properties:");
+        System.out.println("  `" + WINDOW_PROP_NAME + "` - length of the window (default 1m)");
+        System.out.println("  `" + STEP_PROP_NAME + "` - by how much the window rolls (default 10s)");
+        System.out.println("  `" + PERCENTILES_PROP_NAME + "` - percentiles (default " + DEFAULT_PERCENTILES + ")");
+        System.out.println("  `" + WORST_PERCENTILE_PROP_NAME + "` - percentile which selects the worst window " +
+            "(default " + DEFAULT_WORST_PERCENTILE + ")");
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+import org.agrona.SystemUtil;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Custom JDK Flight Recorder events of the benchmarks, so that latency spikes can be matched against GC, safepoints
+ * and thread scheduling in JDK Mission Control.
+ * <p>
+ * The events are opt-in via {@link #ENABLED_PROP_NAME} and are only recorded while a flight recording is running,
+ * e.g. when started with {@code -XX:StartFlightRecording}. The burst and back-pressure events are committed only when
+ * they exceed {@link #THRESHOLD_NS}, and as {@link #ENABLED} is a constant the checks are removed by the JIT when
+ * disabled.
+ */
+public final class JfrEvents
+{
+    /**
+     * Name of the system property to enable the custom JFR events. Defaults to {@code false}.
+     */
+    public static final String ENABLED_PROP_NAME = "io.aeron.benchmarks.jfr.events";
+
+    /**
+     * Name of the system property to configure the duration above which a send burst or a back-pressure episode is
+     * recorded, e.g. {@code 500us}. Defaults to {@link #DEFAULT_THRESHOLD_NS}.
+     */
+    public static final String THRESHOLD_PROP_NAME = "io.aeron.benchmarks.jfr.threshold";
+
+    /**
+     * Default threshold of the send burst and back-pressure events.
+     */
+    public static final long DEFAULT_THRESHOLD_NS = MILLISECONDS.toNanos(1);
+
+    /**
+     * Are the custom JFR events enabled.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROP_NAME);
+
+    /**
+     * Duration in nanoseconds above which a send burst or a back-pressure episode is recorded.
+     */
+    public static final long THRESHOLD_NS = thresholdNs();
+
+    private static final String CATEGORY = "Aeron Benchmarks";
+    private static PhaseEvent currentPhase;
+
+    private JfrEvents()
+    {
+    }
+
+    /**
+     * Phase of a test rig, the event spans the whole phase.
+     */
+    @Name("io.aeron.benchmarks.Phase")
+    @Label("Benchmark Phase")
+    @Category(CATEGORY)
+    @Description("Phase of the test rig, e.g. warmup or measurement")
+    static final class PhaseEvent extends Event
+    {
+        @Label("Phase")
+        String phase;
+    }
+
+    /**
+     * Send burst which completed later than the threshold after its intended send time.
+     */
+    @Name("io.aeron.benchmarks.SlowBurst")
+    @Label("Slow Send Burst")
+    @Category(CATEGORY)
+    @Description("Send burst which completed later than the threshold after its intended send time")
+    static final class SlowBurstEvent extends Event
+    {
+        @Label("Send Lag")
+        @Timespan(Timespan.NANOSECONDS)
+        long sendLag;
+    }
+
+    /**
+     * Consecutive publication attempts which failed due to back pressure, the event spans the whole episode.
+     */
+    @Name("io.aeron.benchmarks.BackPressure")
+    @Label("Back Pressure")
+    @Category(CATEGORY)
+    @Description("Consecutive publication attempts which failed due to back pressure")
+    static final class BackPressureEvent extends Event
+    {
+        @Label("Failed Attempts")
+        long attempts;
+    }
+
+    /**
+     * Tracks the back-pressure episodes of a single publisher. Not thread safe.
+     */
+    public static final class BackPressureEpisode
+    {
+        private final boolean enabled;
+        private final long thresholdNs;
+        private BackPressureEvent event;
+        private long startNs;
+        private long attempts;
+
+        /**
+         * Track the episodes using {@link #ENABLED} and {@link #THRESHOLD_NS}.
+         */
+        public BackPressureEpisode()
+        {
+            this(ENABLED, THRESHOLD_NS);
+        }
+
+        BackPressureEpisode(final boolean enabled, final long thresholdNs)
+        {
+            this.enabled = enabled;
+            this.thresholdNs = thresholdNs;
+        }
+
+        /**
+         * A publication attempt failed due to back pressure, starts an episode if not already started.
+         */
+        public void onBackPressured()
+        {
+            if (enabled)
+            {
+                if (0 == attempts++)
+                {
+                    event = new BackPressureEvent();
+                    event.begin();
+                    startNs = System.nanoTime();
+                }
+            }
+        }
+
+        /**
+         * A publication attempt succeeded, ends the current episode if any.
+         */
+        public void onPublished()
+        {
+            if (enabled && 0 != attempts)
+            {
+                event.end();
+                if (System.nanoTime() - startNs > thresholdNs)
+                {
+                    event.attempts = attempts;
+                    event.commit();
+                }
+                event = null;
+                attempts = 0;
+            }
+        }
+    }
+
+    /**
+     * Record a send burst which completed later than the {@link #THRESHOLD_NS} after its intended send time. The
+     * caller is expected to check {@link #ENABLED} and the threshold to keep the send path cheap.
+     *
+     * @param sendLagNs between the intended send time and the completion of the burst.
+     */
+    public static void slowBurst(final long sendLagNs)
+    {
+        final SlowBurstEvent event = new SlowBurstEvent();
+        event.sendLag = sendLagNs;
+        event.commit();
+    }
+
+    /**
+     * End the event of the previous phase and start the event of the new one, {@link RigCounters.Phase#COMPLETED}
+     * only ends the previous phase.
+     *
+     * @param phase the test rig is entering.
+     */
+    public static synchronized void phase(final RigCounters.Phase phase)
+    {
+        if (null != currentPhase)
+        {
+            currentPhase.commit();
+            currentPhase = null;
+        }
+
+        if (RigCounters.Phase.COMPLETED != phase)
+        {
+            currentPhase = new PhaseEvent();
+            currentPhase.phase = phase.name();
+            currentPhase.begin();
+        }
+    }
+
+    private static long thresholdNs()
+    {
+        final String value = System.getProperty(THRESHOLD_PROP_NAME);
+        return null == value ? DEFAULT_THRESHOLD_NS : SystemUtil.parseDuration(THRESHOLD_PROP_NAME, value);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A latency service level objective, i.e. an upper bound for the RTT latency at a given percentile, e.g.
+ * {@code p99.9<50us} or {@code p99<=1ms}. Supported time units are {@code ns}, {@code us}, {@code ms} and {@code s}.
+ */
+public final class LatencySlo
+{
+    private static final Pattern SLO_PATTERN =
+        Pattern.compile("\\s*p(\\d+(?:\\.\\d+)?)\\s*(<=|<)\\s*(\\d+)\\s*(ns|us|ms|s)\\s*");
+
+    private final String value;
+    private final double percentile;
+    private final long thresholdNs;
+    private final boolean inclusive;
+
+    private LatencySlo(final String value, final double percentile, final long thresholdNs, final boolean inclusive)
+    {
+        this.value = value;
+        this.percentile = percentile;
+        this.thresholdNs = thresholdNs;
+        this.inclusive = inclusive;
+    }
+
+    /**
+     * Parse the SLO expression.
+     *
+     * @param value to parse, e.g. {@code p99.9<50us}.
+     * @return parsed SLO.
+     * @throws IllegalArgumentException if the value cannot be parsed.
+     */
+    public static LatencySlo parse(final String value)
+    {
+        requireNonNull(value, "SLO cannot be null");
+        final Matcher matcher = SLO_PATTERN.matcher(value);
+        if (!matcher.matches())
+        {
+            throw new IllegalArgumentException(
+                "invalid SLO '" + value + "', expected format: p<percentile><<value><unit>, e.g. p99.9<50us");
+        }
+
+        final double percentile = Double.parseDouble(matcher.group(1));
+        if (percentile <= 0.0 || percentile > 100.0)
+        {
+            throw new IllegalArgumentException(
+                "invalid SLO '" + value + "', percentile must be in the (0, 100] range, got: " + percentile);
+        }
+
+        final long threshold = Long.parseLong(matcher.group(3));
+        final TimeUnit timeUnit = switch (matcher.group(4))
+        {
+            case "ns" -> TimeUnit.NANOSECONDS;
+            case "us" -> TimeUnit.MICROSECONDS;
+            case "ms" -> TimeUnit.MILLISECONDS;
+            default -> TimeUnit.SECONDS;
+        };
+
+        return new LatencySlo(value.trim(), percentile, timeUnit.toNanos(threshold), "<=".equals(matcher.group(2)));
+    }
+
+    /**
+     * Percentile at which the latency is bounded.
+     *
+     * @return percentile in the (0, 100] range.
+     */
+    public double percentile()
+    {
+        return percentile;
+    }
+
+    /**
+     * Latency bound in nanoseconds.
+     *
+     * @return latency bound in nanoseconds.
+     */
+    public long thresholdNs()
+    {
+        return thresholdNs;
+    }
+
+    /**
+     * Check if the recorded latencies meet this SLO.
+     *
+     * @param histogram of the RTT latencies in nanoseconds.
+     * @return {@code true} if the SLO is met.
+     */
+    public boolean isMet(final Histogram histogram)
+    {
+        final long valueNs = histogram.getValueAtPercentile(percentile);
+        return inclusive ? valueNs <= thresholdNs : valueNs < thresholdNs;
+    }
+
+    public String toString()
+    {
+        return value;
+    }
+}
@@ -15,6 +15,7 @@
  */
 package io.aeron.benchmarks;
 
+import org.HdrHistogram.Histogram;
 import org.HdrHistogram.ValueRecorder;
 import org.agrona.CloseHelper;
 import org.agrona.LangUtil;
@@ -23,10 +24,15 @@ import org.agrona.concurrent.NanoClock;
 import org.agrona.concurrent.OneToOneConcurrentArrayQueue;
 import org.agrona.concurrent.SystemNanoClock;
 
+import java.io.IOException;
 import java.io.PrintStream;
 import java.lang.invoke.VarHandle;
 import java.lang.reflect.Constructor;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.SplittableRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 
@@ -45,28 +51,92 @@ import static io.aeron.benchmarks.PropertiesUtil.mergeWithSystemProperties;
 /**
  * {@code LoadTestRig} class is the core of the RTT benchmark. It is responsible for running benchmark against provided
  * {@link MessageTransceiver} instance using given {@link Configuration}.
+ * <p>
+ * When {@link Configuration#warmupAdaptive()} is set, the warmup is run one iteration at a time and ends as soon as
+ * the latencies have stabilised and the JIT compilation has gone quiet, see {@link WarmupConvergence}, or after
+ * {@link Configuration#warmupIterations()} at most. The duration of the warmup is always reported.
+ * <p>
+ * When {@link Configuration#senderThreads()} is greater than one, a separate {@link MessageTransceiver} instance is
+ * created for every sender thread, each sending its share of the message rate and recording into its own
+ * {@code <prefix>-sender-<index>} histogram. The per-thread histograms are merged into the {@code <prefix>} histogram
+ * at the end of the run. The {@link MessageTransceiver} implementation must therefore support multiple instances
+ * running within the same process, e.g. by connecting each instance to the system under test independently.
+ * Progress is reported for the first sender thread only.
+ * <p>
+ * When {@link Configuration#stepRates()} are configured, the measurement is repeated for every rate in turn without
+ * reconnecting. Each step records into a {@code <prefix>-step-<rate>} histogram and a summary table of the achieved
+ * rate against the latency percentiles is printed and saved as {@code <prefix>-steps.csv}.
+ * <p>
+ * When {@link Configuration#slo()} is configured, the rig binary searches for the highest message rate up to
+ * {@link Configuration#messageRate()} which meets the SLO without a send shortfall or message loss, using short
+ * probes of {@link Configuration#sloSearchIterations()} seconds each. The probes are printed and saved as
+ * {@code <prefix>-slo-search.csv}.
+ * <p>
+ * The intended send times are defined by the {@link Configuration#arrivalProcess()}, e.g. a fixed interval (default),
+ * a Poisson process or an on/off burst pattern. Messages are always timestamped with their intended send time, and
+ * the shortfall is reported against the number of messages scheduled within the run.
+ * <p>
+ * When {@link Configuration#messageSizes()} is configured, the size of every burst is sampled from the distribution
+ * instead of using the fixed {@link Configuration#messageLength()}. With
+ * {@link Configuration#messageSizeHistograms()} the latencies are also recorded per size class into
+ * {@code <prefix>-size-<size>} histograms, for the transceivers which report the length of the received messages.
+ * <p>
+ * When {@link Configuration#closedLoopWindow()} is configured, the rig ignores the message rate and keeps the given
+ * number of messages in flight instead, sending new messages as the replies arrive. This measures the capacity of the
+ * system under test. The number of replies received in every second is printed and saved as
+ * {@code <prefix>-throughput.csv}, alongside the RTT histogram.
+ * <p>
+ * In the scheduled modes, the gap between the intended and the actual send time of every burst is recorded into the
+ * {@code <prefix>-send-lag} histogram, and the number of times the next burst was already due when the previous one
+ * was sent is counted. Both are saved alongside the RTT histogram, the count in {@code <prefix>-send-lag.csv}, so that
+ * back-pressure on the sender can be told apart from the latency of the system under test. The send lag is not saved
+ * for the step, SLO search and closed-loop modes.
+ * <p>
+ * When {@link Configuration#traceFile()} is configured, the rig replays the {@link TraceFile} instead, sending every
+ * message at its recorded offset from the start of the replay and with its recorded length. Consecutive records with
+ * the same offset and length are sent as a single burst of up to {@link Configuration#batchSize()} messages. The
+ * capture is read directly from the mapping so that the replay does not allocate.
+ * <p>
+ * When {@link Configuration#hopTimestamps()} is enabled, the round trip is broken down into the
+ * {@code <prefix>-client-to-server}, {@code <prefix>-server-processing} and {@code <prefix>-server-to-client}
+ * histograms for the servers which stamp the hop timestamps, recorded for the first sender thread only. These
+ * histograms are not merged into the RTT. The one-way segments are measured across the clocks of the client and the
+ * server and are therefore only accurate when both run on the same host.
  */
 public final class LoadTestRig
 {
     private static final long NANOS_PER_SECOND = SECONDS.toNanos(1);
+    static final String SLO_SEARCH_FILE_SUFFIX = "-slo-search.csv";
+    private static final long MESSAGE_SIZE_SEED = 0x2545F4914F6CDD1DL;
+    static final String CLIENT_TO_SERVER_NAME_SUFFIX = "-client-to-server";
+    static final String SERVER_PROCESSING_NAME_SUFFIX = "-server-processing";
+    static final String SERVER_TO_CLIENT_NAME_SUFFIX = "-server-to-client";
     private final long receiveDeadlineNs;
     private final Configuration configuration;
     private final MessageTransceiver messageTransceiver;
+    private final MessageTransceiver[] messageTransceivers;
+    private final PersistedHistogram[] senderHistograms;
+    private final ArrivalProcess[] arrivalProcesses;
+    private final SplittableRandom[] messageSizeRandoms;
+    private final Histogram[] sendLagHistograms;
     private final PrintStream out;
     private final NanoClock clock;
     private final PersistedHistogramSet histogramSet;
     private final ProgressReporter progressReporter;
+    private final MetricsServer metricsServer;
+    private final RigCounters rigCounters;
+    private final RigCounters.SenderCounters[] senderCounters;
+    private final HiccupMeter hiccupMeter;
 
     public LoadTestRig(final Configuration configuration)
     {
-        this.configuration = requireNonNull(configuration);
-        this.out = System.out;
-        this.clock = SystemNanoClock.INSTANCE;
-        this.histogramSet = new PersistedHistogramSet(configuration);
-        this.messageTransceiver = createTransceiver(configuration, this.clock, this.histogramSet, null);
-        this.progressReporter = buildProgressReporter(configuration, this.out);
-        this.receiveDeadlineNs = TimeUnit.SECONDS.toNanos(configuration.receiveDeadlineSeconds());
-
+        this(
+            configuration,
+            null,
+            System.out,
+            SystemNanoClock.INSTANCE,
+            null,
+            buildProgressReporter(configuration, System.out));
     }
 
     public LoadTestRig(
@@ -75,13 +145,13 @@ public final class LoadTestRig
         final PersistedHistogram persistedHistogram,
         final PrintStream out)
     {
-        this.configuration = requireNonNull(configuration);
-        this.out = requireNonNull(out);
-        this.clock = requireNonNull(nanoClock);
-        this.histogramSet = PersistedHistogramSet.wrap(configuration, requireNonNull(persistedHistogram));
-        this.messageTransceiver = createTransceiver(configuration, nanoClock, this.histogramSet, persistedHistogram);
-        this.progressReporter = buildProgressReporter(configuration, out);
-        this.receiveDeadlineNs = TimeUnit.SECONDS.toNanos(configuration.receiveDeadlineSeconds());
+        this(
+            configuration,
+            null,
+            out,
+            nanoClock,
+            requireNonNull(persistedHistogram),
+            buildProgressReporter(configuration, requireNonNull(out)));
     }
 
     public LoadTestRig(
@@ -91,14 +161,13 @@ public final class LoadTestRig
         final BiFunction<NanoClock, ValueRecorder, MessageTransceiver> transceiverFactory,
         final PrintStream out)
     {
-        this.configuration = requireNonNull(configuration);
-        this.out = requireNonNull(out);
-        this.clock = requireNonNull(nanoClock);
-        this.histogramSet = PersistedHistogramSet.wrap(configuration, requireNonNull(persistedHistogram));
-        this.messageTransceiver = requireNonNull(transceiverFactory)
-            .apply(nanoClock, persistedHistogram.valueRecorder());
-        this.progressReporter = buildProgressReporter(configuration, out);
-        this.receiveDeadlineNs = TimeUnit.SECONDS.toNanos(configuration.receiveDeadlineSeconds());
+        this(
+            configuration,
+            requireNonNull(transceiverFactory).apply(nanoClock, persistedHistogram.valueRecorder()),
+            out,
+            nanoClock,
+            persistedHistogram,
+            buildProgressReporter(configuration, requireNonNull(out)));
     }
 
     LoadTestRig(
@@ -110,13 +179,45 @@ public final class LoadTestRig
         final ProgressReporter progressReporter)
     {
         this.configuration = requireNonNull(configuration);
-        this.messageTransceiver = requireNonNull(messageTransceiver);
         this.out = requireNonNull(out);
         this.clock = requireNonNull(clock);
         this.histogramSet = persistedHistogram != null ?
             PersistedHistogramSet.wrap(configuration, persistedHistogram) :
             new PersistedHistogramSet(configuration);
+        if (null != messageTransceiver)
+        {
+            this.messageTransceivers = singleSender(configuration, messageTransceiver);
+            this.senderHistograms = null;
+        }
+        else if (null != persistedHistogram || 1 == configuration.senderThreads())
+        {
+            this.messageTransceivers = singleSender(
+                configuration, createTransceiver(configuration, clock, histogramSet, persistedHistogram));
+            this.senderHistograms = null;
+        }
+        else
+        {
+            final int senderThreads = configuration.senderThreads();
+            this.messageTransceivers = new MessageTransceiver[senderThreads];
+            this.senderHistograms = new PersistedHistogram[senderThreads];
+            for (int i = 0; i < senderThreads; i++)
+            {
+                senderHistograms[i] = histogramSet.create(configuration.outputFileNamePrefix() + "-sender-" + i);
+                messageTransceivers[i] = createTransceiver(configuration, clock, histogramSet, senderHistograms[i]);
+            }
+        }
+        this.messageTransceiver = messageTransceivers[0];
         this.progressReporter = requireNonNull(progressReporter);
+        this.arrivalProcesses = newArrivalProcesses(configuration, messageTransceivers.length);
+        this.messageSizeRandoms = newMessageSizeRandoms(messageTransceivers.length);
+        this.sendLagHistograms = newSendLagHistograms(messageTransceivers.length);
+        this.rigCounters = RigCounters.newInstance(configuration.countersFile());
+        this.senderCounters = newSenderCounters(rigCounters, messageTransceivers.length);
+        this.metricsServer = newMetricsServer(configuration, histogramSet, senderCounters);
+        createMessageSizeHistograms(configuration, histogramSet, messageTransceivers);
+        createHopHistograms(configuration, histogramSet, messageTransceiver);
+        this.hiccupMeter = newHiccupMeter(configuration, histogramSet);
+        openServiceTimeHistograms(configuration, histogramSet);
         this.receiveDeadlineNs = TimeUnit.SECONDS.toNanos(configuration.receiveDeadlineSeconds());
     }
 
@@ -131,7 +232,22 @@ public final class LoadTestRig
 
         try
         {
-            messageTransceiver.init(configuration);
+            for (final MessageTransceiver messageTransceiver : messageTransceivers)
+            {
+                messageTransceiver.init(configuration);
+            }
+
+            if (null != metricsServer)
+            {
+                metricsServer.start();
+                out.printf(
+                    "%nServing live metrics on http://localhost:%d%s%n", metricsServer.port(), MetricsServer.PATH);
+            }
+
+            if (null != hiccupMeter)
+            {
+                hiccupMeter.start();
+            }
 
             // To ensure that the creation of the threads isn't reordered with setting the thread-name. Otherwise
             // in theory you could end up with threads getting the same affinity as the LoadTestRig.
@@ -141,21 +257,57 @@ public final class LoadTestRig
             // The thread name is set after the messageTransceiver init is called to ensure that all threads
             // are created before setting the thread name, otherwise you could end up with thread inheriting the
             // thread-affinity of the LoadTestRig-thread.
-            Thread.currentThread().setName("load-test-rig");
+            Thread.currentThread().setName(ThreadAffinity.LOAD_TEST_RIG_ROLE);
+            ThreadAffinity.pinCurrentThread(ThreadAffinity.LOAD_TEST_RIG_ROLE);
 
             if (configuration.warmupIterations() > 0)
             {
-                out.printf("%nRunning warmup for %,d iterations of %,d messages each, with %,d bytes payload and a" +
-                    " burst size of %,d...%n",
-                    configuration.warmupIterations(),
-                    configuration.warmupMessageRate(),
-                    configuration.messageLength(),
-                    configuration.batchSize());
-                send(configuration.warmupIterations(), configuration.warmupMessageRate());
+                rigCounters.phase(RigCounters.Phase.WARMUP);
+                final long warmupStartTimeNs = clock.nanoTime();
+                if (configuration.warmupAdaptive())
+                {
+                    runAdaptiveWarmup(warmupStartTimeNs);
+                }
+                else
+                {
+                    out.printf("%nRunning warmup for %,d iterations of %,d messages each, with %,d bytes payload" +
+                        " and a burst size of %,d...%n",
+                        configuration.warmupIterations(),
+                        configuration.warmupMessageRate(),
+                        configuration.messageLength(),
+                        configuration.batchSize());
+                    sendAll(configuration.warmupIterations(), configuration.warmupMessageRate());
+
+                    resetMeasurements();
+                    out.printf("%nWarmup completed in %,d ms.%n",
+                        NANOSECONDS.toMillis(clock.nanoTime() - warmupStartTimeNs));
+                }
+            }
+
+            rigCounters.phase(RigCounters.Phase.MEASUREMENT);
+            final int[] stepRates = configuration.stepRates();
+            if (stepRates.length > 0)
+            {
+                runSteps(stepRates);
+                return;
+            }
+
+            if (null != configuration.slo())
+            {
+                runSloSearch(configuration.slo());
+                return;
+            }
+
+            if (configuration.closedLoopWindow() > 0)
+            {
+                runClosedLoop(configuration.closedLoopWindow());
+                return;
+            }
 
-                messageTransceiver.reset();
-                histogramSet.reset();
-                progressReporter.reset();
+            if (null != configuration.traceFile())
+            {
+                runTraceReplay(configuration.traceFile());
+                return;
             }
 
             out.printf("%nRunning measurement for %,d iterations of %,d messages each, with %,d bytes payload and a" +
@@ -164,42 +316,521 @@ public final class LoadTestRig
                 configuration.messageRate(),
                 configuration.messageLength(),
                 configuration.batchSize());
-            final SendResult result = send(configuration.iterations(), configuration.messageRate());
+            final SendResult result = sendAll(configuration.iterations(), configuration.messageRate());
             progressReporter.reset();
 
+            if (null != senderHistograms)
+            {
+                histogramSet.add(
+                    configuration.outputFileNamePrefix(), new SinglePersistedHistogram(histogramSet.snapshot()));
+            }
+
             out.printf("%nHistogram of RTT latencies in " + configuration.outputTimeUnit() + ".%n");
             histogramSet.outputPercentileDistributions(out);
 
-            final long expectedTotalNumberOfMessages = configuration.iterations() * (long)configuration.messageRate();
-            warnIfTargetRateNotAchieved(result, expectedTotalNumberOfMessages);
+            warnIfTargetRateNotAchieved(result);
 
-            final PersistedHistogram.Status status = result.status(expectedTotalNumberOfMessages);
+            final PersistedHistogram.Status status = result.status();
             histogramSet.saveAll(status);
+            saveSendLag(result, status);
         }
         finally
         {
-            messageTransceiver.destroy();
-            CloseHelper.close(histogramSet);
+            try
+            {
+                reportMessageSequences();
+                reportHopTimestamps();
+                reportThreadAffinity();
+                destroyAll(messageTransceivers);
+            }
+            finally
+            {
+                rigCounters.phase(RigCounters.Phase.COMPLETED);
+                CloseHelper.closeAll(hiccupMeter, metricsServer, histogramSet, rigCounters);
+            }
+        }
+    }
+
+    private void reportMessageSequences()
+    {
+        long trackedMessages = 0;
+        long lostMessages = 0;
+        long duplicatedMessages = 0;
+        long reorderedMessages = 0;
+        long maxReorderDistance = 0;
+        for (final MessageTransceiver messageTransceiver : messageTransceivers)
+        {
+            final SequenceTracker sequenceTracker = messageTransceiver.sequenceTracker;
+            if (null != sequenceTracker)
+            {
+                trackedMessages += sequenceTracker.trackedMessages();
+                lostMessages += sequenceTracker.lostMessages();
+                duplicatedMessages += sequenceTracker.duplicatedMessages();
+                reorderedMessages += sequenceTracker.reorderedMessages();
+                maxReorderDistance = Math.max(maxReorderDistance, sequenceTracker.maxReorderDistance());
+            }
+        }
+
+        if (trackedMessages > 0)
+        {
+            out.printf("%nMessage sequences: lost=%,d, duplicated=%,d, reordered=%,d, max reorder distance=%,d%n",
+                lostMessages,
+                duplicatedMessages,
+                reorderedMessages,
+                maxReorderDistance);
+            if (0 != lostMessages || 0 != duplicatedMessages)
+            {
+                out.printf("%n*** WARNING: the transport lost or duplicated messages!%n");
+            }
         }
     }
 
-    @SuppressWarnings("MethodLength")
+    private void reportThreadAffinity()
+    {
+        final String appliedLayout = ThreadAffinity.appliedLayout();
+        if (!appliedLayout.isEmpty())
+        {
+            out.printf("%nThread affinity:%n%s", appliedLayout);
+        }
+    }
+
+    private void reportHopTimestamps()
+    {
+        if (configuration.hopTimestamps())
+        {
+            final MessageTransceiver messageTransceiver = this.messageTransceiver;
+            out.printf("%nHop latencies: the client to server and server to client segments are measured across the" +
+                " clocks of the client and the server, they are only accurate when both run on the same host;" +
+                " otherwise they are offset by the difference between the clocks. The server processing segment is" +
+                " measured on the server clock alone, from the receipt of the message until the reply was offered" +
+                " (Aeron, including back pressure) or built (gRPC).%n");
+            final long negativeHopLatencies = messageTransceiver.negativeHopLatencies();
+            if (0 != negativeHopLatencies)
+            {
+                out.printf("%,d negative one-way latencies were recorded as 0 due to the clock offset.%n",
+                    negativeHopLatencies);
+            }
+            final long unstampedHopMessages = messageTransceiver.unstampedHopMessages();
+            if (0 != unstampedHopMessages)
+            {
+                out.printf("%,d messages were not stamped by the server, is '%s' set on the server?%n",
+                    unstampedHopMessages,
+                    Configuration.HOP_TIMESTAMPS_PROP_NAME);
+            }
+        }
+    }
+
+    private void runAdaptiveWarmup(final long startTimeNs) throws InterruptedException
+    {
+        final int maxIterations = configuration.warmupIterations();
+        out.printf("%nRunning adaptive warmup for up to %,d iterations of %,d messages each, with %,d bytes payload" +
+            " and a burst size of %,d...%n",
+            maxIterations,
+            configuration.warmupMessageRate(),
+            configuration.messageLength(),
+            configuration.batchSize());
+
+        final WarmupConvergence convergence = new WarmupConvergence(
+            configuration.warmupTolerance(), WarmupConvergence.jitCompilationTimeMs());
+        boolean converged = false;
+        int iterations = 0;
+        while (!converged && iterations < maxIterations)
+        {
+            sendAll(1, configuration.warmupMessageRate());
+            iterations++;
+            converged = convergence.onWindow(histogramSet.snapshot());
+            resetMeasurements();
+        }
+
+        final long durationMs = NANOSECONDS.toMillis(clock.nanoTime() - startTimeNs);
+        if (converged)
+        {
+            out.printf("%nWarmup converged after %,d iterations in %,d ms.%n", iterations, durationMs);
+        }
+        else
+        {
+            out.printf("%nWarmup did not converge within %,d iterations, completed in %,d ms.%n",
+                iterations, durationMs);
+        }
+    }
+
+    private void runSteps(final int[] stepRates) throws Exception
+    {
+        final int iterations = configuration.iterations();
+        final List<StepResult> results = new ArrayList<>(stepRates.length);
+        for (int i = 0; i < stepRates.length; i++)
+        {
+            if (i > 0)
+            {
+                resetMeasurements();
+            }
+
+            out.printf("%nRunning step %d of %d for %,d iterations of %,d messages each, with %,d bytes payload and" +
+                " a burst size of %,d...%n",
+                i + 1,
+                stepRates.length,
+                iterations,
+                stepRates[i],
+                configuration.messageLength(),
+                configuration.batchSize());
+            results.add(measureRate(iterations, stepRates[i]));
+        }
+
+        final TimeUnit outputTimeUnit = configuration.outputTimeUnit();
+        final double scaleRatio = Configuration.outputScaleRatio(outputTimeUnit);
+        final Path outputDirectory = configuration.outputDirectory();
+        final String prefix = configuration.outputFileNamePrefix();
+        out.printf("%nHistogram of RTT latencies in " + outputTimeUnit + ".%n");
+        for (final StepResult result : results)
+        {
+            final String name = prefix + "-step-" + Configuration.formatRate(result.targetRate);
+            final SinglePersistedHistogram stepHistogram = new SinglePersistedHistogram(result.histogram);
+            out.printf("%nHistogram [%s]:%n", name);
+            stepHistogram.outputPercentileDistribution(out, scaleRatio);
+            stepHistogram.saveToFile(outputDirectory, name, result.status);
+        }
+
+        StepResult.printSummary(out, results, outputTimeUnit);
+        StepResult.writeCsv(outputDirectory.resolve(prefix + StepResult.STEPS_FILE_SUFFIX), results, outputTimeUnit);
+    }
+
+    private void runClosedLoop(final int window) throws Exception
+    {
+        final int iterations = configuration.iterations();
+        out.printf("%nRunning closed-loop measurement for %,d iterations with %,d messages in flight, with %,d bytes" +
+            " payload and a burst size of %,d...%n",
+            iterations,
+            window,
+            configuration.messageLength(),
+            configuration.batchSize());
+
+        final long[] messagesPerSecond = new long[iterations];
+        final SendResult result = sendClosedLoop(iterations, window, messagesPerSecond);
+        progressReporter.reset();
+
+        out.printf("%nHistogram of RTT latencies in " + configuration.outputTimeUnit() + ".%n");
+        histogramSet.outputPercentileDistributions(out);
+
+        final ThroughputResult throughput = new ThroughputResult(window, messagesPerSecond);
+        throughput.printSummary(out);
+        throughput.writeCsv(configuration.outputDirectory()
+            .resolve(configuration.outputFileNamePrefix() + ThroughputResult.THROUGHPUT_FILE_SUFFIX));
+
+        warnIfTargetRateNotAchieved(result);
+        histogramSet.saveAll(result.status());
+    }
+
+    private void runTraceReplay(final Path traceFile) throws Exception
+    {
+        try (TraceFile trace = TraceFile.open(traceFile))
+        {
+            out.printf("%nRunning trace replay of %,d messages over %,d ms from %s, with a burst size of %,d...%n",
+                trace.recordCount(),
+                NANOSECONDS.toMillis(trace.durationNs()),
+                trace,
+                configuration.batchSize());
+
+            final SendResult result = replayTrace(trace);
+            progressReporter.reset();
+
+            out.printf("%nHistogram of RTT latencies in " + configuration.outputTimeUnit() + ".%n");
+            histogramSet.outputPercentileDistributions(out);
+
+            warnIfTargetRateNotAchieved(result);
+            histogramSet.saveAll(result.status());
+            saveSendLag(result, result.status());
+        }
+    }
+
+    private void saveSendLag(final SendResult result, final PersistedHistogram.Status status) throws IOException
+    {
+        final Histogram histogram = sendLagHistogram();
+        final String name = configuration.outputFileNamePrefix() + SendLagResult.SEND_LAG_SUFFIX;
+        final Path outputDirectory = configuration.outputDirectory();
+        final SendLagResult sendLag = new SendLagResult(histogram, result.fallingBehindCount);
+        sendLag.warnIfFellBehind(out, configuration.outputTimeUnit());
+        PersistedHistogram.saveHistogramToFile(histogram, outputDirectory, name, status);
+        sendLag.writeCsv(
+            outputDirectory.resolve(configuration.outputFileNamePrefix() + SendLagResult.SEND_LAG_FILE_SUFFIX),
+            configuration.outputTimeUnit());
+    }
+
+    private void runSloSearch(final LatencySlo slo) throws Exception
+    {
+        final int iterations = configuration.sloSearchIterations();
+        final int precision = configuration.sloSearchPrecision();
+        final TimeUnit outputTimeUnit = configuration.outputTimeUnit();
+        final List<StepResult> probes = new ArrayList<>();
+        final int minRate = configuration.sloSearchMinRate();
+        final int maxRate = configuration.messageRate();
+
+        out.printf("%nSearching for the maximum message rate between %,d and %,d which meets the SLO %s, " +
+            "running %,d iterations per probe...%n",
+            minRate,
+            maxRate,
+            slo,
+            iterations);
+
+        int passedRate = 0;
+        if (probeRate(slo, iterations, maxRate, probes))
+        {
+            passedRate = maxRate;
+        }
+        else if (minRate < maxRate && probeRate(slo, iterations, minRate, probes))
+        {
+            passedRate = minRate;
+            int failedRate = maxRate;
+            while (failedRate - passedRate > Math.max(1L, (long)passedRate * precision / 100))
+            {
+                final int rate = passedRate + (failedRate - passedRate) / 2;
+                if (probeRate(slo, iterations, rate, probes))
+                {
+                    passedRate = rate;
+                }
+                else
+                {
+                    failedRate = rate;
+                }
+            }
+        }
+
+        StepResult.printSummary(out, probes, outputTimeUnit);
+        StepResult.writeCsv(
+            configuration.outputDirectory().resolve(configuration.outputFileNamePrefix() + SLO_SEARCH_FILE_SUFFIX),
+            probes,
+            outputTimeUnit);
+
+        if (0 == passedRate)
+        {
+            out.printf("%n*** WARNING: SLO %s was not met at the minimum message rate of %,d msgs/sec!%n",
+                slo, minRate);
+        }
+        else
+        {
+            out.printf("%nMaximum sustainable message rate which meets SLO %s: %,d msgs/sec%n", slo, passedRate);
+        }
+    }
+
+    private boolean probeRate(
+        final LatencySlo slo, final int iterations, final int rate, final List<StepResult> probes)
+        throws InterruptedException
+    {
+        if (!probes.isEmpty())
+        {
+            resetMeasurements();
+        }
+
+        final StepResult probe = measureRate(iterations, rate);
+        probes.add(probe);
+
+        final boolean passed = probe.isOk() && slo.isMet(probe.histogram);
+        final TimeUnit outputTimeUnit = configuration.outputTimeUnit();
+        out.printf("Probe %d: rate=%,d p%s=%.3f %s -> %s%n",
+            probes.size(),
+            rate,
+            slo.percentile(),
+            probe.valueAtPercentile(slo.percentile(), Configuration.outputScaleRatio(outputTimeUnit)),
+            outputTimeUnit,
+            passed ? "PASS" : "FAIL");
+
+        return passed;
+    }
+
+    StepResult measureRate(final int iterations, final int messageRate) throws InterruptedException
+    {
+        final SendResult result = sendAll(iterations, messageRate);
+        progressReporter.reset();
+
+        warnIfTargetRateNotAchieved(result);
+
+        return new StepResult(
+            messageRate,
+            iterations,
+            result.sentMessages,
+            result.receivedMessages,
+            histogramSet.snapshot(),
+            result.status());
+    }
+
+    private void resetMeasurements()
+    {
+        for (final MessageTransceiver messageTransceiver : messageTransceivers)
+        {
+            messageTransceiver.reset();
+        }
+        histogramSet.reset();
+        for (final Histogram sendLagHistogram : sendLagHistograms)
+        {
+            sendLagHistogram.reset();
+        }
+        for (final RigCounters.SenderCounters counters : senderCounters)
+        {
+            counters.reset();
+        }
+        progressReporter.reset();
+    }
+
+    SendResult sendAll(final int iterations, final int numberOfMessages) throws InterruptedException
+    {
+        final MessageTransceiver[] messageTransceivers = this.messageTransceivers;
+        final int senderThreads = messageTransceivers.length;
+        if (1 == senderThreads)
+        {
+            return send(iterations, numberOfMessages);
+        }
+
+        final Thread[] threads = new Thread[senderThreads];
+        final SendResult[] results = new SendResult[senderThreads];
+        final Throwable[] errors = new Throwable[senderThreads];
+        final IdleStrategy configuredIdleStrategy = configuration.idleStrategy();
+
+        for (int i = 0; i < senderThreads; i++)
+        {
+            final int index = i;
+            final int share = rateShare(numberOfMessages, senderThreads, index);
+            if (0 == share)
+            {
+                results[index] = new SendResult(0, 0, 0);
+                continue;
+            }
+
+            final IdleStrategy idleStrategy = 0 == index ?
+                configuredIdleStrategy : newIdleStrategyInstance(configuredIdleStrategy);
+            final ProgressReporter progressReporter =
+                0 == index ? this.progressReporter : ProgressReporter.NULL_PROGRESS_REPORTER;
+
+            final String role = ThreadAffinity.LOAD_TEST_RIG_SENDER_ROLE + "-" + index;
+            threads[index] = new Thread(
+                () ->
+                {
+                    ThreadAffinity.pinCurrentThread(role);
+                    try
+                    {
+                        results[index] = send(
+                            index,
+                            messageTransceivers[index],
+                            arrivalProcesses[index],
+                            messageSizeRandoms[index],
+                            sendLagHistograms[index],
+                            senderCounters[index],
+                            idleStrategy,
+                            progressReporter,
+                            iterations,
+                            share);
+                    }
+                    catch (final Throwable t)
+                    {
+                        errors[index] = t;
+                    }
+                },
+                role);
+        }
+
+        for (final Thread thread : threads)
+        {
+            if (null != thread)
+            {
+                thread.start();
+            }
+        }
+
+        for (final Thread thread : threads)
+        {
+            if (null != thread)
+            {
+                thread.join();
+            }
+        }
+
+        Throwable error = null;
+        long scheduledMessages = 0;
+        long sentMessages = 0;
+        long receivedMessages = 0;
+        long fallingBehindCount = 0;
+        for (int i = 0; i < senderThreads; i++)
+        {
+            if (null != errors[i])
+            {
+                if (null == error)
+                {
+                    error = errors[i];
+                }
+                else
+                {
+                    error.addSuppressed(errors[i]);
+                }
+            }
+            else
+            {
+                scheduledMessages += results[i].scheduledMessages;
+                sentMessages += results[i].sentMessages;
+                receivedMessages += results[i].receivedMessages;
+                fallingBehindCount += results[i].fallingBehindCount;
+            }
+        }
+
+        if (null != error)
+        {
+            LangUtil.rethrowUnchecked(error);
+        }
+
+        return new SendResult(scheduledMessages, sentMessages, receivedMessages, fallingBehindCount);
+    }
+
     SendResult send(final int iterations, final int numberOfMessages)
     {
-        final MessageTransceiver messageTransceiver = this.messageTransceiver;
+        return send(
+            0,
+            messageTransceiver,
+            arrivalProcesses[0],
+            messageSizeRandoms[0],
+            sendLagHistograms[0],
+            senderCounters[0],
+            configuration.idleStrategy(),
+            progressReporter,
+            iterations,
+            numberOfMessages);
+    }
+
+    @SuppressWarnings("MethodLength")
+    private SendResult send(
+        final int senderIndex,
+        final MessageTransceiver messageTransceiver,
+        final ArrivalProcess arrivalProcess,
+        final SplittableRandom messageSizeRandom,
+        final Histogram sendLagHistogram,
+        final RigCounters.SenderCounters counters,
+        final IdleStrategy idleStrategy,
+        final ProgressReporter progressReporter,
+        final int iterations,
+        final int numberOfMessages)
+    {
+        if (configuration.decoupledReceiver())
+        {
+            return sendWithReceiverThread(
+                senderIndex,
+                messageTransceiver,
+                arrivalProcess,
+                messageSizeRandom,
+                sendLagHistogram,
+                counters,
+                idleStrategy,
+                progressReporter,
+                iterations,
+                numberOfMessages);
+        }
+
         final NanoClock clock = this.clock;
         final int burstSize = configuration.batchSize();
-        final int messageSize = configuration.messageLength();
-        final IdleStrategy idleStrategy = configuration.idleStrategy();
-        // The `sendIntervalNs` might be off if the division is not exact in which case more messages will be sent per
-        // second than specified via `numberOfMessages`. However, this guarantees that the duration of the send
-        // operation is bound by the number of iterations.
-        final long sendIntervalNs = NANOS_PER_SECOND * burstSize / numberOfMessages;
+        final MessageSizeDistribution messageSizes = configuration.messageSizes();
+        int messageSize = null == messageSizes ? configuration.messageLength() : messageSizes.sample(messageSizeRandom);
         final long totalNumberOfMessages = (long)iterations * numberOfMessages;
         final long startTimeNs = clock.nanoTime();
         final long stopTimeNs = startTimeNs + (iterations * NANOS_PER_SECOND);
+        arrivalProcess.reset(startTimeNs, burstSize, numberOfMessages);
 
         long sentMessages = 0;
+        long fallingBehindCount = 0;
         long nowNs = startTimeNs, timestampNs = startTimeNs;
         long nextReportTimeNs = startTimeNs + NANOS_PER_SECOND;
 
@@ -208,6 +839,7 @@ public final class LoadTestRig
         {
             final int sent = messageTransceiver.send(batchSize, messageSize, timestampNs, CHECKSUM);
             sentMessages += sent;
+            counters.sentMessages.getAndAddRelease(sent);
 
             if (totalNumberOfMessages == sentMessages)
             {
@@ -218,14 +850,37 @@ public final class LoadTestRig
             nowNs = clock.nanoTime();
             if (sent == batchSize)
             {
+                final long sendLagNs = nowNs - timestampNs;
+                sendLagHistogram.recordValue(sendLagNs);
+                if (JfrEvents.ENABLED && sendLagNs > JfrEvents.THRESHOLD_NS)
+                {
+                    JfrEvents.slowBurst(sendLagNs);
+                }
                 batchSize = (int)min(totalNumberOfMessages - sentMessages, burstSize);
-                timestampNs += sendIntervalNs;
+                timestampNs = arrivalProcess.nextSendTimeNs(timestampNs);
+                if (timestampNs >= stopTimeNs)
+                {
+                    break;
+                }
+
+                if (nowNs >= timestampNs)
+                {
+                    fallingBehindCount++;
+                    counters.fallingBehindCount.incrementRelease();
+                }
+
+                if (null != messageSizes)
+                {
+                    messageSize = messageSizes.sample(messageSizeRandom);
+                }
+
                 long receivedMessageCount = 0;
                 while (nowNs < timestampNs && nowNs < stopTimeNs)
                 {
                     if (nowNs >= nextReportTimeNs)
                     {
                         progressReporter.reportProgress(startTimeNs, nowNs, sentMessages, iterations);
+                        counters.maxSendLagNs.setRelease(sendLagHistogram.getMaxValue());
                         nextReportTimeNs += NANOS_PER_SECOND;
                     }
 
@@ -240,6 +895,7 @@ public final class LoadTestRig
                         else
                         {
                             receivedMessageCount = newReceivedMessageCount;
+                            counters.receivedMessages.setRelease(newReceivedMessageCount);
                             idleStrategy.reset();
                         }
                     }
@@ -254,6 +910,7 @@ public final class LoadTestRig
             else
             {
                 batchSize -= sent;
+                counters.backPressureEvents.incrementRelease();
                 messageTransceiver.receive();
             }
 
@@ -265,10 +922,36 @@ public final class LoadTestRig
             if (nowNs >= nextReportTimeNs)
             {
                 progressReporter.reportProgress(startTimeNs, nowNs, sentMessages, iterations);
+                counters.maxSendLagNs.setRelease(sendLagHistogram.getMaxValue());
                 nextReportTimeNs += NANOS_PER_SECOND;
             }
         }
 
+        final long scheduledMessages = scheduledMessages(
+            arrivalProcess, burstSize, totalNumberOfMessages, sentMessages, batchSize, timestampNs, stopTimeNs);
+        final long receivedMessages = awaitReceived(messageTransceiver, counters, idleStrategy, sentMessages);
+
+        return new SendResult(scheduledMessages, sentMessages, receivedMessages, fallingBehindCount);
+    }
+
+    Histogram sendLagHistogram()
+    {
+        final Histogram histogram = sendLagHistograms[0].copy();
+        for (int i = 1; i < sendLagHistograms.length; i++)
+        {
+            histogram.add(sendLagHistograms[i]);
+        }
+
+        return histogram;
+    }
+
+    private long awaitReceived(
+        final MessageTransceiver messageTransceiver,
+        final RigCounters.SenderCounters counters,
+        final IdleStrategy idleStrategy,
+        final long sentMessages)
+    {
+        final NanoClock clock = this.clock;
         idleStrategy.reset();
         long receivedMessageCount = messageTransceiver.receivedMessages();
         final long deadline = clock.nanoTime() + receiveDeadlineNs;
@@ -287,18 +970,384 @@ public final class LoadTestRig
             else
             {
                 receivedMessageCount = newReceivedMessageCount;
+                counters.receivedMessages.setRelease(newReceivedMessageCount);
                 idleStrategy.reset();
             }
         }
 
-        return new SendResult(sentMessages, receivedMessageCount);
+        return receivedMessageCount;
     }
 
-    private void warnIfTargetRateNotAchieved(final SendResult result, final long expectedTotalNumberOfMessages)
+    SendResult sendClosedLoop(final int iterations, final int window, final long[] messagesPerSecond)
     {
-        if (expectedTotalNumberOfMessages != result.sentMessages)
+        final MessageTransceiver messageTransceiver = this.messageTransceiver;
+        final RigCounters.SenderCounters counters = senderCounters[0];
+        final IdleStrategy idleStrategy = configuration.idleStrategy();
+        final MessageSizeDistribution messageSizes = configuration.messageSizes();
+        final SplittableRandom messageSizeRandom = messageSizeRandoms[0];
+        final NanoClock clock = this.clock;
+        final int burstSize = configuration.batchSize();
+        final int messageLength = configuration.messageLength();
+        final long startTimeNs = clock.nanoTime();
+
+        long sentMessages = 0;
+        long nowNs = startTimeNs;
+        long nextSecondNs = startTimeNs + NANOS_PER_SECOND;
+        long receivedMessagesAtSecondStart = messageTransceiver.receivedMessages();
+        int second = 0;
+        while (true)
         {
-            out.printf(
+            final long receivedMessages = messageTransceiver.receivedMessages();
+            final long inFlightMessages = sentMessages - receivedMessages;
+            int sent = 0;
+            if (inFlightMessages < window)
+            {
+                final int messageSize = null == messageSizes ? messageLength : messageSizes.sample(messageSizeRandom);
+                final int batchSize = (int)min(window - inFlightMessages, burstSize);
+                sent = messageTransceiver.send(batchSize, messageSize, nowNs, CHECKSUM);
+                sentMessages += sent;
+                counters.sentMessages.getAndAddRelease(sent);
+                if (sent < batchSize)
+                {
+                    counters.backPressureEvents.incrementRelease();
+                }
+            }
+
+            messageTransceiver.receive();
+            if (0 == sent && messageTransceiver.receivedMessages() == receivedMessages)
+            {
+                idleStrategy.idle();
+            }
+            else
+            {
+                idleStrategy.reset();
+            }
+
+            nowNs = clock.nanoTime();
+            if (nowNs >= nextSecondNs)
+            {
+                final long receivedMessagesAtSecondEnd = messageTransceiver.receivedMessages();
+                counters.receivedMessages.setRelease(receivedMessagesAtSecondEnd);
+                messagesPerSecond[second++] = receivedMessagesAtSecondEnd - receivedMessagesAtSecondStart;
+                receivedMessagesAtSecondStart = receivedMessagesAtSecondEnd;
+                progressReporter.reportProgress(startTimeNs, nowNs, sentMessages, iterations);
+                if (iterations == second)
+                {
+                    break;
+                }
+                nextSecondNs += NANOS_PER_SECOND;
+            }
+        }
+
+        final long receivedMessages = awaitReceived(messageTransceiver, counters, idleStrategy, sentMessages);
+
+        // There is no schedule in the closed-loop mode, i.e. every message which could be sent was sent.
+        return new SendResult(sentMessages, sentMessages, receivedMessages);
+    }
+
+    SendResult replayTrace(final TraceFile trace)
+    {
+        final MessageTransceiver messageTransceiver = this.messageTransceiver;
+        final RigCounters.SenderCounters counters = senderCounters[0];
+        final Histogram sendLagHistogram = sendLagHistograms[0];
+        final IdleStrategy idleStrategy = configuration.idleStrategy();
+        final NanoClock clock = this.clock;
+        final int burstSize = configuration.batchSize();
+        final long recordCount = trace.recordCount();
+        final long durationNs = trace.durationNs();
+        final int iterations = (int)min(Integer.MAX_VALUE, durationNs / NANOS_PER_SECOND + 1);
+        final long startTimeNs = clock.nanoTime();
+        // give up when falling behind the capture by more than the receive deadline, e.g. the transport is stuck
+        final long stopTimeNs = startTimeNs + durationNs + receiveDeadlineNs;
+
+        long index = 0;
+        long sentMessages = 0;
+        long receivedMessageCount = 0;
+        long fallingBehindCount = 0;
+        long nowNs = startTimeNs;
+        long nextReportTimeNs = startTimeNs + NANOS_PER_SECOND;
+        while (index < recordCount)
+        {
+            final long offsetNs = trace.offsetNs(index);
+            final int messageLength = trace.messageLength(index);
+            final long timestampNs = startTimeNs + offsetNs;
+
+            int batchSize = 1;
+            while (batchSize < burstSize &&
+                index + batchSize < recordCount &&
+                trace.offsetNs(index + batchSize) == offsetNs &&
+                trace.messageLength(index + batchSize) == messageLength)
+            {
+                batchSize++;
+            }
+
+            while (nowNs < timestampNs)
+            {
+                if (nowNs >= nextReportTimeNs)
+                {
+                    progressReporter.reportProgress(startTimeNs, nowNs, sentMessages, iterations);
+                    counters.maxSendLagNs.setRelease(sendLagHistogram.getMaxValue());
+                    nextReportTimeNs += NANOS_PER_SECOND;
+                }
+
+                if (receivedMessageCount < sentMessages)
+                {
+                    messageTransceiver.receive();
+                    final long newReceivedMessageCount = messageTransceiver.receivedMessages();
+                    if (newReceivedMessageCount == receivedMessageCount)
+                    {
+                        idleStrategy.idle();
+                    }
+                    else
+                    {
+                        receivedMessageCount = newReceivedMessageCount;
+                        counters.receivedMessages.setRelease(newReceivedMessageCount);
+                        idleStrategy.reset();
+                    }
+                }
+                else
+                {
+                    idleStrategy.idle();
+                }
+
+                nowNs = clock.nanoTime();
+            }
+
+            // the intended send time is used as the timestamp even when sending late to avoid coordinated omission
+            final int sent = messageTransceiver.send(batchSize, messageLength, timestampNs, CHECKSUM);
+            sentMessages += sent;
+            counters.sentMessages.getAndAddRelease(sent);
+            index += sent;
+            if (sent < batchSize)
+            {
+                counters.backPressureEvents.incrementRelease();
+                messageTransceiver.receive();
+            }
+
+            nowNs = clock.nanoTime();
+            if (sent == batchSize)
+            {
+                final long sendLagNs = nowNs - timestampNs;
+                sendLagHistogram.recordValue(sendLagNs);
+                if (JfrEvents.ENABLED && sendLagNs > JfrEvents.THRESHOLD_NS)
+                {
+                    JfrEvents.slowBurst(sendLagNs);
+                }
+                if (index < recordCount && nowNs >= startTimeNs + trace.offsetNs(index))
+                {
+                    fallingBehindCount++;
+                    counters.fallingBehindCount.incrementRelease();
+                }
+            }
+
+            if (nowNs >= stopTimeNs)
+            {
+                break;
+            }
+
+            if (nowNs >= nextReportTimeNs)
+            {
+                progressReporter.reportProgress(startTimeNs, nowNs, sentMessages, iterations);
+                counters.maxSendLagNs.setRelease(sendLagHistogram.getMaxValue());
+                nextReportTimeNs += NANOS_PER_SECOND;
+            }
+        }
+
+        progressReporter.reportProgress(startTimeNs, nowNs, sentMessages, iterations);
+        final long receivedMessages = awaitReceived(messageTransceiver, counters, idleStrategy, sentMessages);
+
+        return new SendResult(recordCount, sentMessages, receivedMessages, fallingBehindCount);
+    }
+
+    private SendResult sendWithReceiverThread(
+        final int senderIndex,
+        final MessageTransceiver messageTransceiver,
+        final ArrivalProcess arrivalProcess,
+        final SplittableRandom messageSizeRandom,
+        final Histogram sendLagHistogram,
+        final RigCounters.SenderCounters counters,
+        final IdleStrategy idleStrategy,
+        final ProgressReporter progressReporter,
+        final int iterations,
+        final int numberOfMessages)
+    {
+        final Receiver receiver = new Receiver(messageTransceiver, counters, newIdleStrategyInstance(idleStrategy));
+        final String role = 1 == messageTransceivers.length ?
+            ThreadAffinity.LOAD_TEST_RIG_RECEIVER_ROLE : ThreadAffinity.LOAD_TEST_RIG_RECEIVER_ROLE + "-" + senderIndex;
+        final Thread receiverThread = new Thread(
+            () ->
+            {
+                ThreadAffinity.pinCurrentThread(role);
+                receiver.run();
+            },
+            role);
+        receiverThread.start();
+
+        final NanoClock clock = this.clock;
+        final int burstSize = configuration.batchSize();
+        final MessageSizeDistribution messageSizes = configuration.messageSizes();
+        int messageSize = null == messageSizes ? configuration.messageLength() : messageSizes.sample(messageSizeRandom);
+        final long totalNumberOfMessages = (long)iterations * numberOfMessages;
+        final long startTimeNs = clock.nanoTime();
+        final long stopTimeNs = startTimeNs + (iterations * NANOS_PER_SECOND);
+        arrivalProcess.reset(startTimeNs, burstSize, numberOfMessages);
+
+        long sentMessages = 0;
+        long scheduledMessages = 0;
+        long fallingBehindCount = 0;
+        try
+        {
+            long nowNs = startTimeNs, timestampNs = startTimeNs;
+            long nextReportTimeNs = startTimeNs + NANOS_PER_SECOND;
+
+            int batchSize = (int)min(totalNumberOfMessages, burstSize);
+            while (sentMessages < totalNumberOfMessages && receiver.isRunning())
+            {
+                final int sent = messageTransceiver.send(batchSize, messageSize, timestampNs, CHECKSUM);
+                sentMessages += sent;
+                counters.sentMessages.getAndAddRelease(sent);
+
+                if (totalNumberOfMessages == sentMessages)
+                {
+                    progressReporter.reportProgress(startTimeNs, nowNs, sentMessages, iterations);
+                    counters.maxSendLagNs.setRelease(sendLagHistogram.getMaxValue());
+                    break;
+                }
+
+                nowNs = clock.nanoTime();
+                if (sent == batchSize)
+                {
+                    final long sendLagNs = nowNs - timestampNs;
+                    sendLagHistogram.recordValue(sendLagNs);
+                    if (JfrEvents.ENABLED && sendLagNs > JfrEvents.THRESHOLD_NS)
+                    {
+                        JfrEvents.slowBurst(sendLagNs);
+                    }
+                    batchSize = (int)min(totalNumberOfMessages - sentMessages, burstSize);
+                    timestampNs = arrivalProcess.nextSendTimeNs(timestampNs);
+                    if (timestampNs >= stopTimeNs)
+                    {
+                        break;
+                    }
+
+                    if (nowNs >= timestampNs)
+                    {
+                        fallingBehindCount++;
+                        counters.fallingBehindCount.incrementRelease();
+                    }
+
+                    if (null != messageSizes)
+                    {
+                        messageSize = messageSizes.sample(messageSizeRandom);
+                    }
+
+                    while (nowNs < timestampNs && nowNs < stopTimeNs)
+                    {
+                        if (nowNs >= nextReportTimeNs)
+                        {
+                            progressReporter.reportProgress(startTimeNs, nowNs, sentMessages, iterations);
+                            counters.maxSendLagNs.setRelease(sendLagHistogram.getMaxValue());
+                            nextReportTimeNs += NANOS_PER_SECOND;
+                        }
+
+                        idleStrategy.idle();
+                        nowNs = clock.nanoTime();
+                    }
+                    idleStrategy.reset();
+                }
+                else
+                {
+                    batchSize -= sent;
+                    counters.backPressureEvents.incrementRelease();
+                }
+
+                if (nowNs >= stopTimeNs)
+                {
+                    break;
+                }
+
+                if (nowNs >= nextReportTimeNs)
+                {
+                    progressReporter.reportProgress(startTimeNs, nowNs, sentMessages, iterations);
+                    counters.maxSendLagNs.setRelease(sendLagHistogram.getMaxValue());
+                    nextReportTimeNs += NANOS_PER_SECOND;
+                }
+            }
+
+            scheduledMessages = scheduledMessages(
+                arrivalProcess, burstSize, totalNumberOfMessages, sentMessages, batchSize, timestampNs, stopTimeNs);
+            final PaddedCounter receivedMessages = receiver.receivedMessages;
+            final long deadline = clock.nanoTime() + receiveDeadlineNs;
+            while (receivedMessages.get() < sentMessages && receiver.isRunning())
+            {
+                idleStrategy.idle();
+                if (clock.nanoTime() >= deadline)
+                {
+                    break;
+                }
+            }
+            idleStrategy.reset();
+        }
+        finally
+        {
+            receiver.stop();
+            try
+            {
+                receiverThread.join();
+            }
+            catch (final InterruptedException ex)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (null != receiver.error)
+        {
+            LangUtil.rethrowUnchecked(receiver.error);
+        }
+
+        // The receiver thread has terminated, so the count can be read directly from the transceiver.
+        return new SendResult(
+            scheduledMessages, sentMessages, messageTransceiver.receivedMessages(), fallingBehindCount);
+    }
+
+    private static long scheduledMessages(
+        final ArrivalProcess arrivalProcess,
+        final int burstSize,
+        final long totalNumberOfMessages,
+        final long sentMessages,
+        final int outstandingMessages,
+        final long timestampNs,
+        final long stopTimeNs)
+    {
+        if (totalNumberOfMessages == sentMessages || timestampNs >= stopTimeNs)
+        {
+            return sentMessages;
+        }
+
+        // The sender fell behind the schedule, so count the remaining send times before the stop time to report the
+        // shortfall.
+        long scheduledMessages = sentMessages + outstandingMessages;
+        long sendTimeNs = timestampNs;
+        while (scheduledMessages < totalNumberOfMessages)
+        {
+            sendTimeNs = arrivalProcess.nextSendTimeNs(sendTimeNs);
+            if (sendTimeNs >= stopTimeNs)
+            {
+                break;
+            }
+            scheduledMessages += min(totalNumberOfMessages - scheduledMessages, burstSize);
+        }
+
+        return scheduledMessages;
+    }
+
+    private void warnIfTargetRateNotAchieved(final SendResult result)
+    {
+        final long expectedTotalNumberOfMessages = result.scheduledMessages;
+        if (expectedTotalNumberOfMessages != result.sentMessages)
+        {
+            out.printf(
                 "%n*** WARNING: Target message rate not achieved: expected to send %,d messages in " +
                 "total but managed to send only %,d messages (loss %.4f%%)!%n",
                 expectedTotalNumberOfMessages,
@@ -318,6 +1367,179 @@ public final class LoadTestRig
         }
     }
 
+    private static ArrivalProcess[] newArrivalProcesses(final Configuration configuration, final int senderThreads)
+    {
+        final ArrivalProcess[] arrivalProcesses = new ArrivalProcess[senderThreads];
+        for (int i = 0; i < senderThreads; i++)
+        {
+            arrivalProcesses[i] = ArrivalProcess.newInstance(configuration.arrivalProcess(), i);
+        }
+
+        return arrivalProcesses;
+    }
+
+    private static Histogram[] newSendLagHistograms(final int senderThreads)
+    {
+        final Histogram[] histograms = new Histogram[senderThreads];
+        for (int i = 0; i < senderThreads; i++)
+        {
+            histograms[i] = new Histogram(3);
+        }
+
+        return histograms;
+    }
+
+    private static RigCounters.SenderCounters[] newSenderCounters(
+        final RigCounters rigCounters, final int senderThreads)
+    {
+        final RigCounters.SenderCounters[] senderCounters = new RigCounters.SenderCounters[senderThreads];
+        for (int i = 0; i < senderThreads; i++)
+        {
+            senderCounters[i] = rigCounters.newSenderCounters("sender-" + i);
+        }
+
+        return senderCounters;
+    }
+
+    private static SplittableRandom[] newMessageSizeRandoms(final int senderThreads)
+    {
+        final SplittableRandom[] randoms = new SplittableRandom[senderThreads];
+        for (int i = 0; i < senderThreads; i++)
+        {
+            randoms[i] = new SplittableRandom(MESSAGE_SIZE_SEED + i);
+        }
+
+        return randoms;
+    }
+
+    private static void createMessageSizeHistograms(
+        final Configuration configuration,
+        final PersistedHistogramSet histogramSet,
+        final MessageTransceiver[] messageTransceivers)
+    {
+        if (configuration.messageSizeHistograms())
+        {
+            // every message is already recorded in the RTT histogram, so the size classes are not merged into it
+            final MessageSizeDistribution messageSizes = configuration.messageSizes();
+            final int[] sizes = messageSizes.sizes();
+            for (int t = 0; t < messageTransceivers.length; t++)
+            {
+                final String prefix = 1 == messageTransceivers.length ?
+                    configuration.outputFileNamePrefix() : configuration.outputFileNamePrefix() + "-sender-" + t;
+                final ValueRecorder[] recorders = new ValueRecorder[sizes.length];
+                for (int i = 0; i < sizes.length; i++)
+                {
+                    recorders[i] = histogramSet.createUnmerged(prefix + "-size-" + sizes[i]).valueRecorder();
+                }
+                messageTransceivers[t].sizeClassRecorders(messageSizes, recorders);
+            }
+        }
+    }
+
+    private static void createHopHistograms(
+        final Configuration configuration,
+        final PersistedHistogramSet histogramSet,
+        final MessageTransceiver messageTransceiver)
+    {
+        if (configuration.hopTimestamps())
+        {
+            final String prefix = configuration.outputFileNamePrefix();
+            messageTransceiver.hopRecorders(
+                histogramSet.createUnmerged(prefix + CLIENT_TO_SERVER_NAME_SUFFIX).valueRecorder(),
+                histogramSet.createUnmerged(prefix + SERVER_PROCESSING_NAME_SUFFIX).valueRecorder(),
+                histogramSet.createUnmerged(prefix + SERVER_TO_CLIENT_NAME_SUFFIX).valueRecorder());
+        }
+    }
+
+    private static void openServiceTimeHistograms(
+        final Configuration configuration, final PersistedHistogramSet histogramSet)
+    {
+        final String prefix = configuration.outputFileNamePrefix();
+        for (final Path file : configuration.serviceTimeFiles())
+        {
+            final String fileName = file.getFileName().toString();
+            final String name = fileName.endsWith(MappedPersistedHistogram.MAPPED_FILE_EXTENSION) ?
+                fileName.substring(0, fileName.length() - MappedPersistedHistogram.MAPPED_FILE_EXTENSION.length()) :
+                fileName;
+            histogramSet.openMapped(prefix + "-" + name, file);
+        }
+    }
+
+    private static IdleStrategy newIdleStrategyInstance(final IdleStrategy idleStrategy)
+    {
+        // Stateful idle strategies, e.g. backoff, cannot be shared between the threads.
+        return Configuration.newIdleStrategy(idleStrategy instanceof Configuration.ParameterisedBackoffIdleStrategy ?
+            ((Configuration.ParameterisedBackoffIdleStrategy)idleStrategy).name : idleStrategy.getClass().getName());
+    }
+
+    static int rateShare(final int numberOfMessages, final int senderThreads, final int index)
+    {
+        return numberOfMessages / senderThreads + (index < numberOfMessages % senderThreads ? 1 : 0);
+    }
+
+    private static void destroyAll(final MessageTransceiver[] messageTransceivers) throws Exception
+    {
+        Exception error = null;
+        for (final MessageTransceiver messageTransceiver : messageTransceivers)
+        {
+            try
+            {
+                messageTransceiver.destroy();
+            }
+            catch (final Exception ex)
+            {
+                if (null == error)
+                {
+                    error = ex;
+                }
+                else
+                {
+                    error.addSuppressed(ex);
+                }
+            }
+        }
+
+        if (null != error)
+        {
+            throw error;
+        }
+    }
+
+    private static MessageTransceiver[] singleSender(
+        final Configuration configuration, final MessageTransceiver messageTransceiver)
+    {
+        if (1 != configuration.senderThreads())
+        {
+            throw new IllegalArgumentException(
+                "'" + Configuration.SENDER_THREADS_PROP_NAME + "' must be 1 when a MessageTransceiver is supplied," +
+                " got: " + configuration.senderThreads());
+        }
+
+        return new MessageTransceiver[]{ messageTransceiver };
+    }
+
+    private static MetricsServer newMetricsServer(
+        final Configuration configuration,
+        final PersistedHistogramSet histogramSet,
+        final RigCounters.SenderCounters[] senderCounters)
+    {
+        final int metricsPort = configuration.metricsPort();
+        return 0 != metricsPort ? new MetricsServer(metricsPort, histogramSet, senderCounters) : null;
+    }
+
+    private static HiccupMeter newHiccupMeter(
+        final Configuration configuration, final PersistedHistogramSet histogramSet)
+    {
+        final long resolutionNs = configuration.hiccupResolutionNs();
+        if (0 == resolutionNs)
+        {
+            return null;
+        }
+
+        final String name = configuration.outputFileNamePrefix() + HiccupMeter.HICCUP_NAME_SUFFIX;
+        return new HiccupMeter(histogramSet.createUnmergedBackground(name), resolutionNs, "hiccup-meter");
+    }
+
     private static ProgressReporter buildProgressReporter(
         final Configuration configuration,
         final PrintStream out)
@@ -352,6 +1574,13 @@ public final class LoadTestRig
 
                 if (params[1] == PersistedHistogramSet.class)
                 {
+                    if (1 != configuration.senderThreads())
+                    {
+                        throw new IllegalStateException(
+                            clazz.getName() + " records into a PersistedHistogramSet and cannot be used with '" +
+                            Configuration.SENDER_THREADS_PROP_NAME + "' greater than 1");
+                    }
+
                     return clazz.cast(constructor.newInstance(nanoClock, histogramSet));
                 }
 
@@ -393,20 +1622,102 @@ public final class LoadTestRig
         loadTestRig.run();
     }
 
+    /**
+     * Polls the {@link MessageTransceiver} on a dedicated thread and publishes the number of the received messages via
+     * a {@link PaddedCounter}, so that the sender thread is never delayed by the receive path.
+     */
+    static final class Receiver implements Runnable
+    {
+        final PaddedCounter receivedMessages = new PaddedCounter();
+        private final MessageTransceiver messageTransceiver;
+        private final RigCounters.SenderCounters counters;
+        private final IdleStrategy idleStrategy;
+        private volatile boolean running = true;
+        private volatile Throwable error;
+
+        Receiver(
+            final MessageTransceiver messageTransceiver,
+            final RigCounters.SenderCounters counters,
+            final IdleStrategy idleStrategy)
+        {
+            this.messageTransceiver = messageTransceiver;
+            this.counters = counters;
+            this.idleStrategy = idleStrategy;
+        }
+
+        public void run()
+        {
+            final MessageTransceiver messageTransceiver = this.messageTransceiver;
+            final IdleStrategy idleStrategy = this.idleStrategy;
+            final PaddedCounter receivedMessages = this.receivedMessages;
+            final RigCounters.SenderCounters counters = this.counters;
+            long receivedMessageCount = messageTransceiver.receivedMessages();
+            receivedMessages.setRelease(receivedMessageCount);
+
+            try
+            {
+                while (running)
+                {
+                    messageTransceiver.receive();
+                    final long newReceivedMessageCount = messageTransceiver.receivedMessages();
+                    if (newReceivedMessageCount == receivedMessageCount)
+                    {
+                        idleStrategy.idle();
+                    }
+                    else
+                    {
+                        receivedMessageCount = newReceivedMessageCount;
+                        counters.receivedMessages.setRelease(newReceivedMessageCount);
+                        receivedMessages.setRelease(newReceivedMessageCount);
+                        idleStrategy.reset();
+                    }
+                }
+            }
+            catch (final Throwable t)
+            {
+                error = t;
+                running = false;
+            }
+        }
+
+        boolean isRunning()
+        {
+            return running;
+        }
+
+        void stop()
+        {
+            running = false;
+        }
+    }
+
     static final class SendResult
     {
+        final long scheduledMessages;
         final long sentMessages;
         final long receivedMessages;
+        final long fallingBehindCount;
+
+        SendResult(final long scheduledMessages, final long sentMessages, final long receivedMessages)
+        {
+            this(scheduledMessages, sentMessages, receivedMessages, 0);
+        }
 
-        SendResult(final long sentMessages, final long receivedMessages)
+        SendResult(
+            final long scheduledMessages,
+            final long sentMessages,
+            final long receivedMessages,
+            final long fallingBehindCount)
         {
+            this.scheduledMessages = scheduledMessages;
             this.sentMessages = sentMessages;
             this.receivedMessages = receivedMessages;
+            this.fallingBehindCount = fallingBehindCount;
         }
 
-        PersistedHistogram.Status status(final long expectedNumberOfMessages)
+        PersistedHistogram.Status status()
         {
-            return expectedNumberOfMessages == sentMessages && expectedNumberOfMessages == receivedMessages ? OK : FAIL;
+            return scheduledMessages == sentMessages && scheduledMessages == receivedMessages ? OK : FAIL;
         }
     }
 }
\ No newline at end of file
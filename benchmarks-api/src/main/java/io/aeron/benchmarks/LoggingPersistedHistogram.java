@@ -18,7 +18,7 @@ package io.aeron.benchmarks;
 import org.HdrHistogram.Histogram;
 import org.HdrHistogram.HistogramLogReader;
 import org.HdrHistogram.HistogramLogWriter;
-import org.HdrHistogram.SingleWriterRecorder;
+import org.HdrHistogram.IntervalHistogramProvider;
 import org.HdrHistogram.ValueRecorder;
 import org.agrona.concurrent.EpochClock;
 import org.agrona.concurrent.ManyToOneConcurrentArrayQueue;
@@ -45,6 +45,9 @@ import static java.util.Objects.requireNonNull;
  * A persistent histogram that periodically logs a histogram of values. Primarily so that potential latency spikes
  * can be correlated over time.
  * <p>
+ * The {@code .hdr.csv} history written by {@link #saveToFile} has the count, total and maximum duration of the GC
+ * pauses which started within every interval next to its percentiles, see {@link GcPauseTimeline}.
+ * <p>
  * All instances share a single background daemon thread via {@link BackgroundLogger}.
  * <p>
  * {@link #saveToFile} is the terminal operation — it flushes, writes output, deregisters from the shared logger,
@@ -68,14 +71,24 @@ public class LoggingPersistedHistogram implements PersistedHistogram
     static final long LOGGING_INTERVAL_MS = Long.getLong(
         HISTOGRAM_LOGGING_INTERVAL_MS_PROP_NAME, DEFAULT_HISTOGRAM_LOGGING_INTERVAL_MS);
 
-    private final SingleWriterRecorder recorder;
+    private final ValueRecorder recorder;
     private final HistogramState state;
     private final String namePrefix;
+    private final GcPauseTimeline gcPauseTimeline;
 
-    public LoggingPersistedHistogram(
+    /**
+     * Create a histogram which logs the intervals taken from the recorder, e.g. a
+     * {@link org.HdrHistogram.SingleWriterRecorder} or a {@link StripedRecorder}.
+     *
+     * @param outputDirectory into which the history is logged.
+     * @param namePrefix      of the history file.
+     * @param recorder        into which the values are recorded.
+     * @param <R>             type of the recorder.
+     */
+    public <R extends ValueRecorder & IntervalHistogramProvider<Histogram>> LoggingPersistedHistogram(
         final Path outputDirectory,
         final String namePrefix,
-        final SingleWriterRecorder recorder)
+        final R recorder)
     {
         requireNonNull(outputDirectory);
         requireNonNull(recorder);
@@ -91,12 +104,13 @@ public class LoggingPersistedHistogram implements PersistedHistogram
         this.state = new HistogramState(
             new File(outputDirectory.toFile(), prefix + FILE_EXTENSION),
             recorder);
+        this.gcPauseTimeline = GcPauseTimeline.register();
         BackgroundLogger.INSTANCE.syncRegister(state);
     }
 
     public void outputPercentileDistribution(final PrintStream printStream, final double outputValueUnitScalingRatio)
     {
-        final Histogram histogram = BackgroundLogger.INSTANCE.syncAggregate(state);
+        final Histogram histogram = snapshot();
         histogram.outputPercentileDistribution(printStream, outputValueUnitScalingRatio);
     }
 
@@ -144,7 +158,7 @@ public class LoggingPersistedHistogram implements PersistedHistogram
                 csvOutput.print(",");
                 csvOutput.print(percentile);
             }
-            csvOutput.println();
+            csvOutput.println(GcPauseTimeline.CSV_HEADER);
 
             while (reader.hasNext())
             {
@@ -163,9 +177,14 @@ public class LoggingPersistedHistogram implements PersistedHistogram
                     csvOutput.print(",");
                     csvOutput.print(interval.getValueAtPercentile(percentile));
                 }
+                gcPauseTimeline.printCsvColumns(csvOutput, interval.getStartTimeStamp(), interval.getEndTimeStamp());
                 csvOutput.println();
             }
         }
+        finally
+        {
+            gcPauseTimeline.close();
+        }
 
         return result;
     }
@@ -175,6 +194,21 @@ public class LoggingPersistedHistogram implements PersistedHistogram
         return recorder;
     }
 
+    public Histogram snapshot()
+    {
+        return BackgroundLogger.INSTANCE.syncAggregate(state);
+    }
+
+    public Histogram lastIntervalHistogram()
+    {
+        return state.lastInterval;
+    }
+
+    public long loggedCount()
+    {
+        return state.loggedCount;
+    }
+
     public void reset()
     {
         BackgroundLogger.INSTANCE.syncReset(state);
@@ -188,6 +222,7 @@ public class LoggingPersistedHistogram implements PersistedHistogram
         BackgroundLogger.INSTANCE.syncDeregister(state);
 
         state.closeWriter();
+        gcPauseTimeline.close();
     }
 
     // -------------------------------------------------------------------------
@@ -197,9 +232,12 @@ public class LoggingPersistedHistogram implements PersistedHistogram
     static final class HistogramState
     {
         final File file;
-        final SingleWriterRecorder recorder;
+        final ValueRecorder recorder;
+        final IntervalHistogramProvider<Histogram> intervalHistogramProvider;
 
         volatile boolean deregistered = false;
+        volatile Histogram lastInterval;
+        volatile long loggedCount;
 
         // Accessed only by the background thread
         Histogram recycled;
@@ -208,10 +246,12 @@ public class LoggingPersistedHistogram implements PersistedHistogram
         HistogramLogWriter writer;
         long lastLogTimeMs;
 
-        HistogramState(final File file, final SingleWriterRecorder recorder)
+        <R extends ValueRecorder & IntervalHistogramProvider<Histogram>> HistogramState(
+            final File file, final R recorder)
         {
             this.file = file;
             this.recorder = recorder;
+            this.intervalHistogramProvider = recorder;
         }
 
         void openWriter()
@@ -247,10 +287,12 @@ public class LoggingPersistedHistogram implements PersistedHistogram
 
         void flush()
         {
-            recycled = recorder.getIntervalHistogram(recycled);
+            recycled = intervalHistogramProvider.getIntervalHistogram(recycled);
             if (recycled.getTotalCount() > 0)
             {
                 aggregate.add(recycled);
+                lastInterval = recycled.copy();
+                loggedCount = aggregate.getTotalCount();
                 writer.outputIntervalHistogram(recycled);
                 logStream.flush();
             }
@@ -264,10 +306,12 @@ public class LoggingPersistedHistogram implements PersistedHistogram
                 return;
             }
 
-            recycled = recorder.getIntervalHistogram(recycled);
+            recycled = intervalHistogramProvider.getIntervalHistogram(recycled);
             if (recycled.getTotalCount() > 0)
             {
                 aggregate.add(recycled);
+                lastInterval = recycled.copy();
+                loggedCount = aggregate.getTotalCount();
                 writer.outputIntervalHistogram(recycled);
                 logStream.flush();
                 lastLogTimeMs = nowMs;
@@ -279,6 +323,8 @@ public class LoggingPersistedHistogram implements PersistedHistogram
             recorder.reset();
             aggregate.reset();
             recycled = null;
+            lastInterval = null;
+            loggedCount = 0;
             closeWriter();
             openWriter();
         }
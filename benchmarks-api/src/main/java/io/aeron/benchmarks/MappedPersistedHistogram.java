@@ -0,0 +1,359 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.ValueRecorder;
+import org.agrona.IoUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+
+import static java.util.Objects.requireNonNull;
+import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+
+/**
+ * A histogram whose counts live in a memory-mapped file, so that any local process, e.g. a server node, can record
+ * into it while another process, e.g. the client, collects it. The recorded values also survive a crash of the
+ * recording process.
+ * <p>
+ * The counts use the bucket layout of an HdrHistogram {@link Histogram} with a lowest discernible value of {@code 1}.
+ * Every value is recorded with a single atomic add, so there may be many writers, and {@link #snapshot()} never
+ * observes a partially recorded value without having to stop the writers. The total count is derived from the counts
+ * rather than stored separately so that a snapshot is always consistent.
+ * <p>
+ * The file starts with a header of {@link #HEADER_LENGTH} bytes followed by the counts as {@code long} values. As in
+ * the {@link RigCounters} file, the version field is written last so an opening process must see it set.
+ */
+public final class MappedPersistedHistogram implements PersistedHistogram, ValueRecorder
+{
+    /**
+     * File extension of the memory-mapped histogram files, which are not picked up as {@link #FILE_EXTENSION} files.
+     */
+    public static final String MAPPED_FILE_EXTENSION = ".hdrm";
+
+    /**
+     * Version of the histogram file layout.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Offset of the {@code int} version field in the header.
+     */
+    public static final int VERSION_OFFSET = 0;
+
+    /**
+     * Offset of the {@code int} number of significant value digits in the header.
+     */
+    public static final int SIGNIFICANT_DIGITS_OFFSET = 4;
+
+    /**
+     * Offset of the {@code int} number of counts in the header.
+     */
+    public static final int COUNTS_LENGTH_OFFSET = 8;
+
+    /**
+     * Offset of the {@code long} highest trackable value in the header.
+     */
+    public static final int HIGHEST_TRACKABLE_VALUE_OFFSET = 16;
+
+    /**
+     * Offset of the {@code long} pid of the process which created the file in the header.
+     */
+    public static final int PID_OFFSET = 24;
+
+    /**
+     * Offset of the {@code long} timestamp in milliseconds since the epoch of the creation or the last reset.
+     */
+    public static final int START_TIMESTAMP_OFFSET = 32;
+
+    /**
+     * Length of the header which precedes the counts.
+     */
+    public static final int HEADER_LENGTH = CACHE_LINE_LENGTH * 2;
+
+    private final MappedByteBuffer mappedBuffer;
+    private final UnsafeBuffer buffer;
+    private final long highestTrackableValue;
+    private final int significantDigits;
+    private final int countsLength;
+    private final int subBucketHalfCountMagnitude;
+    private final int subBucketHalfCount;
+    private final long subBucketMask;
+    private final int leadingZeroCountBase;
+
+    private MappedPersistedHistogram(final MappedByteBuffer mappedBuffer)
+    {
+        this.mappedBuffer = mappedBuffer;
+        buffer = new UnsafeBuffer(mappedBuffer);
+        highestTrackableValue = buffer.getLong(HIGHEST_TRACKABLE_VALUE_OFFSET);
+        significantDigits = buffer.getInt(SIGNIFICANT_DIGITS_OFFSET);
+
+        subBucketHalfCountMagnitude = subBucketHalfCountMagnitude(significantDigits);
+        subBucketHalfCount = 1 << subBucketHalfCountMagnitude;
+        subBucketMask = (subBucketHalfCount << 1) - 1;
+        leadingZeroCountBase = Long.SIZE - subBucketHalfCountMagnitude - 1;
+        countsLength = countsLength(highestTrackableValue, significantDigits);
+
+        if (countsLength != buffer.getInt(COUNTS_LENGTH_OFFSET) ||
+            buffer.capacity() < HEADER_LENGTH + countsLength * SIZE_OF_LONG)
+        {
+            throw new IllegalStateException("histogram file is corrupted, counts length: " +
+                buffer.getInt(COUNTS_LENGTH_OFFSET) + ", expected: " + countsLength);
+        }
+    }
+
+    /**
+     * Create a histogram file, replacing any existing file.
+     *
+     * @param file                  to memory-map the histogram into.
+     * @param highestTrackableValue highest value to be recorded, e.g. in nanoseconds.
+     * @param significantDigits     number of significant value digits, between 0 and 5.
+     * @return the histogram.
+     */
+    public static MappedPersistedHistogram create(
+        final Path file, final long highestTrackableValue, final int significantDigits)
+    {
+        if (significantDigits < 0 || significantDigits > 5)
+        {
+            throw new IllegalArgumentException("significant digits must be between 0 and 5, got: " + significantDigits);
+        }
+        if (highestTrackableValue < 2)
+        {
+            throw new IllegalArgumentException("highest trackable value must be >= 2, got: " + highestTrackableValue);
+        }
+
+        final int countsLength = countsLength(highestTrackableValue, significantDigits);
+        final File parent = file.toAbsolutePath().getParent().toFile();
+        IoUtil.ensureDirectoryExists(parent, "histogram directory");
+        final MappedByteBuffer mappedBuffer =
+            IoUtil.mapNewFile(file.toFile(), HEADER_LENGTH + (long)countsLength * SIZE_OF_LONG);
+        final UnsafeBuffer buffer = new UnsafeBuffer(mappedBuffer);
+        buffer.putInt(SIGNIFICANT_DIGITS_OFFSET, significantDigits);
+        buffer.putInt(COUNTS_LENGTH_OFFSET, countsLength);
+        buffer.putLong(HIGHEST_TRACKABLE_VALUE_OFFSET, highestTrackableValue);
+        buffer.putLong(PID_OFFSET, ProcessHandle.current().pid());
+        buffer.putLong(START_TIMESTAMP_OFFSET, System.currentTimeMillis());
+        buffer.putIntRelease(VERSION_OFFSET, VERSION);
+
+        return new MappedPersistedHistogram(mappedBuffer);
+    }
+
+    /**
+     * Open a histogram file created by another process in order to record into it or to collect it.
+     *
+     * @param file of the histogram.
+     * @return the histogram.
+     * @throws IllegalStateException if the file was not fully created or has a different version.
+     */
+    public static MappedPersistedHistogram open(final Path file)
+    {
+        final MappedByteBuffer mappedBuffer = IoUtil.mapExistingFile(file.toFile(), "histogram");
+        try
+        {
+            if (mappedBuffer.capacity() < HEADER_LENGTH)
+            {
+                throw new IllegalStateException("histogram file is too short: " + file);
+            }
+
+            final int version = new UnsafeBuffer(mappedBuffer).getIntVolatile(VERSION_OFFSET);
+            if (VERSION != version)
+            {
+                throw new IllegalStateException(
+                    "histogram file version: " + version + ", expected: " + VERSION + ", file: " + file);
+            }
+
+            return new MappedPersistedHistogram(mappedBuffer);
+        }
+        catch (final RuntimeException ex)
+        {
+            IoUtil.unmap(mappedBuffer);
+            throw ex;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void recordValue(final long value)
+    {
+        buffer.getAndAddLong(countOffset(value), 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void recordValueWithCount(final long value, final long count)
+    {
+        buffer.getAndAddLong(countOffset(value), count);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void recordValueWithExpectedInterval(final long value, final long expectedIntervalBetweenValueSamples)
+    {
+        recordValue(value);
+        if (expectedIntervalBetweenValueSamples <= 0)
+        {
+            return;
+        }
+
+        for (long missingValue = value - expectedIntervalBetweenValueSamples;
+            missingValue >= expectedIntervalBetweenValueSamples;
+            missingValue -= expectedIntervalBetweenValueSamples)
+        {
+            recordValue(missingValue);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void outputPercentileDistribution(final PrintStream printStream, final double outputValueUnitScalingRatio)
+    {
+        snapshot().outputPercentileDistribution(printStream, outputValueUnitScalingRatio);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Path saveToFile(final Path outputDirectory, final String namePrefix, final Status status) throws IOException
+    {
+        requireNonNull(outputDirectory);
+
+        final String prefix = namePrefix.trim();
+        if (prefix.isEmpty())
+        {
+            throw new IllegalArgumentException("Name prefix cannot be blank!");
+        }
+
+        return PersistedHistogram.saveHistogramToFile(snapshot(), outputDirectory, prefix, status);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public ValueRecorder valueRecorder()
+    {
+        return this;
+    }
+
+    /**
+     * Take a copy of the recorded values, safe to call while other threads or processes are recording.
+     *
+     * @return a new {@link Histogram} instance containing the recorded values.
+     */
+    public Histogram snapshot()
+    {
+        final Histogram histogram = new Histogram(highestTrackableValue, significantDigits);
+        histogram.setStartTimeStamp(buffer.getLongVolatile(START_TIMESTAMP_OFFSET));
+        for (int i = 0; i < countsLength; i++)
+        {
+            final long count = buffer.getLongVolatile(HEADER_LENGTH + i * SIZE_OF_LONG);
+            if (0 != count)
+            {
+                histogram.recordValueWithCount(valueFromIndex(i), count);
+            }
+        }
+        histogram.setEndTimeStamp(System.currentTimeMillis());
+
+        return histogram;
+    }
+
+    /**
+     * Reset the counts, values recorded concurrently with the reset may or may not be kept.
+     */
+    public void reset()
+    {
+        buffer.setMemory(HEADER_LENGTH, countsLength * SIZE_OF_LONG, (byte)0);
+        buffer.putLongRelease(START_TIMESTAMP_OFFSET, System.currentTimeMillis());
+    }
+
+    /**
+     * Unmap the histogram file, which is kept so that it can still be collected.
+     */
+    public void close()
+    {
+        IoUtil.unmap(mappedBuffer);
+    }
+
+    private int countOffset(final long value)
+    {
+        final int index = value < 0 ? countsLength : countsArrayIndex(value);
+        if (index >= countsLength)
+        {
+            throw new ArrayIndexOutOfBoundsException(
+                "value " + value + " outside of the histogram covered range, highest trackable value: " +
+                highestTrackableValue);
+        }
+
+        return HEADER_LENGTH + index * SIZE_OF_LONG;
+    }
+
+    private int countsArrayIndex(final long value)
+    {
+        final int bucketIndex = leadingZeroCountBase - Long.numberOfLeadingZeros(value | subBucketMask);
+        final int subBucketIndex = (int)(value >>> bucketIndex);
+        final int bucketBaseIndex = (bucketIndex + 1) << subBucketHalfCountMagnitude;
+        return bucketBaseIndex + subBucketIndex - subBucketHalfCount;
+    }
+
+    long valueFromIndex(final int index)
+    {
+        int bucketIndex = (index >> subBucketHalfCountMagnitude) - 1;
+        int subBucketIndex = (index & (subBucketHalfCount - 1)) + subBucketHalfCount;
+        if (bucketIndex < 0)
+        {
+            subBucketIndex -= subBucketHalfCount;
+            bucketIndex = 0;
+        }
+
+        return (long)subBucketIndex << bucketIndex;
+    }
+
+    private static int subBucketHalfCountMagnitude(final int significantDigits)
+    {
+        final long largestValueWithSingleUnitResolution = 2 * (long)Math.pow(10, significantDigits);
+        final int subBucketCountMagnitude =
+            (int)Math.ceil(Math.log(largestValueWithSingleUnitResolution) / Math.log(2));
+        return Math.max(subBucketCountMagnitude, 1) - 1;
+    }
+
+    static int countsLength(final long highestTrackableValue, final int significantDigits)
+    {
+        final int subBucketCount = 1 << (subBucketHalfCountMagnitude(significantDigits) + 1);
+        long smallestUntrackableValue = subBucketCount;
+        int bucketsNeeded = 1;
+        while (smallestUntrackableValue <= highestTrackableValue)
+        {
+            if (smallestUntrackableValue > Long.MAX_VALUE / 2)
+            {
+                bucketsNeeded++;
+                break;
+            }
+            smallestUntrackableValue <<= 1;
+            bucketsNeeded++;
+        }
+
+        return (bucketsNeeded + 1) * (subBucketCount / 2);
+    }
+}
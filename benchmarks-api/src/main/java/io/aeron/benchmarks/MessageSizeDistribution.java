@@ -0,0 +1,248 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+import static io.aeron.benchmarks.Configuration.MIN_MESSAGE_LENGTH;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A weighted distribution of message sizes which is sampled by the {@link LoadTestRig} for every burst.
+ * <p>
+ * The distribution is specified either inline as a list of {@code <size>:<weight>} pairs, e.g.
+ * {@code 64:0.6,1024:0.3,4096:0.1}, or as an empirical size table using {@code file:<path>}. Every non-empty line of
+ * the table contains a size in bytes optionally followed by a comma and a weight (default {@code 1}), lines starting
+ * with {@code #} are ignored. Weights are relative and the same size can be listed more than once.
+ */
+public final class MessageSizeDistribution
+{
+    private static final String FILE_PREFIX = "file:";
+
+    private final String spec;
+    private final int[] sizes;
+    private final double[] cumulativeWeights;
+
+    private MessageSizeDistribution(final String spec, final int[] sizes, final double[] cumulativeWeights)
+    {
+        this.spec = spec;
+        this.sizes = sizes;
+        this.cumulativeWeights = cumulativeWeights;
+    }
+
+    /**
+     * Parse the message size distribution.
+     *
+     * @param spec to parse, e.g. {@code 64:0.6,1024:0.4} or {@code file:sizes.csv}.
+     * @return parsed distribution.
+     * @throws IllegalArgumentException if the specification is invalid.
+     * @throws UncheckedIOException     if the size table cannot be read.
+     */
+    public static MessageSizeDistribution parse(final String spec)
+    {
+        requireNonNull(spec, "message sizes cannot be null");
+        final String value = spec.trim();
+        final TreeMap<Integer, Double> weightBySize = new TreeMap<>();
+        if (value.startsWith(FILE_PREFIX))
+        {
+            final Path file = Paths.get(value.substring(FILE_PREFIX.length()).trim());
+            final List<String> lines;
+            try
+            {
+                lines = Files.readAllLines(file);
+            }
+            catch (final IOException ex)
+            {
+                throw new UncheckedIOException("failed to read message size table: " + file, ex);
+            }
+
+            for (final String line : lines)
+            {
+                final String entry = line.trim();
+                if (!entry.isEmpty() && !entry.startsWith("#"))
+                {
+                    parseEntry(value, entry, ",", weightBySize);
+                }
+            }
+        }
+        else
+        {
+            for (final String entry : value.split(",", -1))
+            {
+                parseEntry(value, entry, ":", weightBySize);
+            }
+        }
+
+        if (weightBySize.isEmpty())
+        {
+            throw new IllegalArgumentException("invalid message sizes '" + value + "', no sizes specified");
+        }
+
+        final int[] sizes = new int[weightBySize.size()];
+        final double[] cumulativeWeights = new double[sizes.length];
+        double totalWeight = 0;
+        int i = 0;
+        for (final var entry : weightBySize.entrySet())
+        {
+            totalWeight += entry.getValue();
+            sizes[i] = entry.getKey();
+            cumulativeWeights[i] = totalWeight;
+            i++;
+        }
+
+        if (!(totalWeight > 0.0))
+        {
+            throw new IllegalArgumentException(
+                "invalid message sizes '" + value + "', at least one size must have a positive weight");
+        }
+
+        for (int j = 0; j < cumulativeWeights.length; j++)
+        {
+            cumulativeWeights[j] /= totalWeight;
+        }
+        cumulativeWeights[cumulativeWeights.length - 1] = 1.0;
+
+        return new MessageSizeDistribution(value, sizes, cumulativeWeights);
+    }
+
+    private static void parseEntry(
+        final String spec, final String entry, final String separator, final TreeMap<Integer, Double> weightBySize)
+    {
+        final String[] parts = entry.split(separator, -1);
+        if (parts.length > 2)
+        {
+            throw new IllegalArgumentException("invalid message sizes '" + spec + "', invalid entry: " + entry);
+        }
+
+        final int size;
+        final double weight;
+        try
+        {
+            size = Integer.parseInt(parts[0].trim());
+            weight = 2 == parts.length ? Double.parseDouble(parts[1].trim()) : 1.0;
+        }
+        catch (final NumberFormatException ex)
+        {
+            throw new IllegalArgumentException(
+                "invalid message sizes '" + spec + "', invalid entry: " + entry, ex);
+        }
+
+        if (size < MIN_MESSAGE_LENGTH)
+        {
+            throw new IllegalArgumentException("invalid message sizes '" + spec + "', size cannot be less than " +
+                MIN_MESSAGE_LENGTH + ", got: " + size);
+        }
+
+        if (!(weight >= 0.0) || Double.isInfinite(weight))
+        {
+            throw new IllegalArgumentException(
+                "invalid message sizes '" + spec + "', weight cannot be negative, got: " + parts[1].trim());
+        }
+
+        weightBySize.merge(size, weight, Double::sum);
+    }
+
+    /**
+     * Distinct message sizes in ascending order.
+     *
+     * @return copy of the message sizes.
+     */
+    public int[] sizes()
+    {
+        return sizes.clone();
+    }
+
+    /**
+     * Largest message size of the distribution.
+     *
+     * @return largest message size in bytes.
+     */
+    public int maxMessageLength()
+    {
+        return sizes[sizes.length - 1];
+    }
+
+    /**
+     * Probability of the given size class.
+     *
+     * @param index of the size class as returned by {@link #sizes()}.
+     * @return probability in the [0, 1] range.
+     */
+    public double probability(final int index)
+    {
+        return 0 == index ? cumulativeWeights[0] : cumulativeWeights[index] - cumulativeWeights[index - 1];
+    }
+
+    /**
+     * Sample a message size.
+     *
+     * @param random source of randomness.
+     * @return message size in bytes.
+     */
+    public int sample(final SplittableRandom random)
+    {
+        final int[] sizes = this.sizes;
+        if (1 == sizes.length)
+        {
+            return sizes[0];
+        }
+
+        // Find the first size class with the cumulative weight above the sample, which skips zero weight sizes.
+        final double[] cumulativeWeights = this.cumulativeWeights;
+        final double sample = random.nextDouble();
+        int low = 0;
+        int high = cumulativeWeights.length - 1;
+        while (low < high)
+        {
+            final int mid = (low + high) >>> 1;
+            if (cumulativeWeights[mid] > sample)
+            {
+                high = mid;
+            }
+            else
+            {
+                low = mid + 1;
+            }
+        }
+
+        return sizes[low];
+    }
+
+    /**
+     * Index of the smallest size class which can hold a message of the given length.
+     *
+     * @param messageLength in bytes.
+     * @return index of the size class as returned by {@link #sizes()}.
+     */
+    public int sizeClassIndex(final int messageLength)
+    {
+        final int index = Arrays.binarySearch(sizes, messageLength);
+        return index >= 0 ? index : Math.min(-index - 1, sizes.length - 1);
+    }
+
+    public String toString()
+    {
+        return spec;
+    }
+}
@@ -19,6 +19,7 @@ import org.HdrHistogram.ValueRecorder;
 import org.agrona.concurrent.NanoClock;
 
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
 
 import static java.util.Objects.requireNonNull;
 
@@ -38,17 +39,46 @@ abstract class MessageTransceiverHotFields extends MessageTransceiverLhsPadding
 {
     final NanoClock clock;
     final ValueRecorder valueRecorder;
+    final StripedRecorder stripedRecorder;
     long receivedMessages;
+    MessageSizeDistribution messageSizes;
+    ValueRecorder[] sizeClassRecorders;
+    ValueRecorder clientToServerRecorder;
+    ValueRecorder serverProcessingRecorder;
+    ValueRecorder serverToClientRecorder;
+    final LongAdder unstampedHopMessages = new LongAdder();
+    final LongAdder negativeHopLatencies = new LongAdder();
+    final SequenceTracker sequenceTracker = new SequenceTracker();
 
     MessageTransceiverHotFields(final NanoClock clock, final ValueRecorder valueRecorder)
     {
         this.clock = requireNonNull(clock);
         this.valueRecorder = requireNonNull(valueRecorder);
+        this.stripedRecorder = valueRecorder instanceof StripedRecorder ? (StripedRecorder)valueRecorder : null;
     }
 
     final long receivedMessages()
     {
-        return receivedMessages;
+        final StripedRecorder stripedRecorder = this.stripedRecorder;
+        return null != stripedRecorder ? stripedRecorder.recordedValues() : receivedMessages;
+    }
+
+    final long unstampedHopMessages()
+    {
+        return unstampedHopMessages.sum();
+    }
+
+    final long negativeHopLatencies()
+    {
+        return negativeHopLatencies.sum();
+    }
+
+    final void countReceivedMessage()
+    {
+        if (null == stripedRecorder)
+        {
+            receivedMessages++;
+        }
     }
 }
 
@@ -72,6 +102,11 @@ abstract class MessageTransceiverRhsPadding extends MessageTransceiverHotFields
 
 /**
  * {@code MessageTransceiver} is an SPI to be implemented by the system under test.
+ * <p>
+ * The callbacks for the received messages are normally invoked by a single thread. An implementation which invokes
+ * them from the threads of the transport, e.g. from an event loop, requires
+ * {@link Configuration#concurrentReceive()} so that the value recorder is a {@link StripedRecorder}, in which case the
+ * received messages are counted by the recorder itself.
  */
 public abstract class MessageTransceiver extends MessageTransceiverRhsPadding
 {
@@ -117,6 +152,11 @@ public abstract class MessageTransceiver extends MessageTransceiverRhsPadding
      * message, then for every received message method {@link #onMessageReceived(long, long)} <strong>must</strong> be
      * called.
      * </p>
+     * <p>
+     * If the payload has room for it, then the sender <strong>should</strong> also include a sequence number which
+     * starts at {@code 0} and is incremented for every message sent by this instance, and pass it back to
+     * {@link #onMessageSequence(int)} on receive, so that lost, duplicated and reordered messages are detected.
+     * </p>
      * @implNote The implementation can re-try actual send operation multiple times if needed but it
      * <strong>should not</strong> block forever since test rig will re-try sending the batch, e.g. if a first call
      * sends only {code 3} out of {code 5} messages then there will be a second call with the batch size of {code 2}.
@@ -147,7 +187,34 @@ public abstract class MessageTransceiver extends MessageTransceiverRhsPadding
         }
 
         valueRecorder.recordValue(clock.nanoTime() - timestamp);
-        receivedMessages++;
+        countReceivedMessage();
+    }
+
+    /**
+     * Callback method to be invoked for every message received when the length of the received message is known.
+     * <p>
+     * In addition to the {@link #onMessageReceived(long, long)} the latency is also recorded into the histogram of
+     * the message size class if {@link Configuration#messageSizeHistograms()} is enabled.
+     *
+     * @param timestamp     from the received message.
+     * @param checksum      from the received message.
+     * @param messageLength of the received message, i.e. the {@code messageLength} it was sent with.
+     */
+    protected final void onMessageReceived(final long timestamp, final long checksum, final int messageLength)
+    {
+        if (CHECKSUM != checksum)
+        {
+            throw new IllegalStateException("Invalid checksum: expected=" + CHECKSUM + ", actual=" + checksum);
+        }
+
+        final long latencyNs = clock.nanoTime() - timestamp;
+        valueRecorder.recordValue(latencyNs);
+        final ValueRecorder[] sizeClassRecorders = this.sizeClassRecorders;
+        if (null != sizeClassRecorders)
+        {
+            sizeClassRecorders[messageSizes.sizeClassIndex(messageLength)].recordValue(latencyNs);
+        }
+        countReceivedMessage();
     }
 
     /**
@@ -156,6 +223,8 @@ public abstract class MessageTransceiver extends MessageTransceiverRhsPadding
      * Normally you want to use the {@link #onMessageReceived(long, long)} and rely on the ValueRecorder
      * inside the MessageTransceiver. But when there are multiple ValueRecorder instances, then this method
      * should be used.
+     * It cannot be used with {@link Configuration#concurrentReceive()} as the messages are then counted by the
+     * ValueRecorder inside the MessageTransceiver.
      *
      * @param valueRecorder the ValueRecorder used to record the value
      * @param timestamp from the received message.
@@ -164,6 +233,11 @@ public abstract class MessageTransceiver extends MessageTransceiverRhsPadding
     protected final void onMessageReceived(
         final ValueRecorder valueRecorder, final long timestamp, final long checksum)
     {
+        if (null != stripedRecorder)
+        {
+            throw new IllegalStateException("An explicit ValueRecorder cannot be used with a concurrent receive");
+        }
+
         if (CHECKSUM != checksum)
         {
             throw new IllegalStateException("Invalid checksum: expected=" + CHECKSUM + ", actual=" + checksum);
@@ -173,9 +247,97 @@ public abstract class MessageTransceiver extends MessageTransceiverRhsPadding
         receivedMessages++;
     }
 
+    /**
+     * Callback method to be invoked for every received message which carries a sequence number, in addition to the
+     * {@code onMessageReceived} method. It is optional, i.e. if it is never called then the messages are only counted.
+     *
+     * @param sequence from the received message, which may wrap around.
+     * @see #send(int, int, long, long)
+     */
+    protected final void onMessageSequence(final int sequence)
+    {
+        sequenceTracker.onSequence(sequence);
+    }
+
+    /**
+     * Callback method to be invoked for every received message which carries the hop timestamps stamped by the server,
+     * in addition to the {@code onMessageReceived} method. It is optional, i.e. if it is never called then only the
+     * RTT is recorded.
+     * <p>
+     * The client to server and the server to client segments are measured across the clocks of the client and of the
+     * server, so they are only accurate when both clocks are the same, e.g. {@link System#nanoTime()} on the same host.
+     * A negative segment caused by the clock offset is recorded as {@code 0}.
+     *
+     * @param timestamp              from the received message.
+     * @param serverReceiveTimestamp at which the server received the message or {@code 0} if it was not stamped.
+     * @param serverSendTimestamp    at which the server replied to the message.
+     * @see Configuration#hopTimestamps()
+     */
+    protected final void onMessageHopTimestamps(
+        final long timestamp, final long serverReceiveTimestamp, final long serverSendTimestamp)
+    {
+        final ValueRecorder clientToServerRecorder = this.clientToServerRecorder;
+        if (null != clientToServerRecorder)
+        {
+            if (0 == serverReceiveTimestamp)
+            {
+                unstampedHopMessages.increment();
+                return;
+            }
+
+            final long nowNs = clock.nanoTime();
+            recordHopLatency(clientToServerRecorder, serverReceiveTimestamp - timestamp);
+            recordHopLatency(serverProcessingRecorder, serverSendTimestamp - serverReceiveTimestamp);
+            recordHopLatency(serverToClientRecorder, nowNs - serverSendTimestamp);
+        }
+    }
+
+    private void recordHopLatency(final ValueRecorder recorder, final long latencyNs)
+    {
+        if (latencyNs < 0)
+        {
+            negativeHopLatencies.increment();
+            recorder.recordValue(0);
+        }
+        else
+        {
+            recorder.recordValue(latencyNs);
+        }
+    }
+
+    final void hopRecorders(
+        final ValueRecorder clientToServerRecorder,
+        final ValueRecorder serverProcessingRecorder,
+        final ValueRecorder serverToClientRecorder)
+    {
+        this.clientToServerRecorder = requireNonNull(clientToServerRecorder);
+        this.serverProcessingRecorder = requireNonNull(serverProcessingRecorder);
+        this.serverToClientRecorder = requireNonNull(serverToClientRecorder);
+    }
+
+    /**
+     * Callback method invoked when the measurements are reset, e.g. at the end of the warmup, so that the
+     * implementation can reset the measurements of its own, e.g. the ones recorded by the system under test.
+     * It is invoked between the runs, i.e. while no messages are being sent.
+     * The default implementation does nothing.
+     */
+    protected void onReset()
+    {
+    }
+
+    final void sizeClassRecorders(final MessageSizeDistribution messageSizes, final ValueRecorder[] recorders)
+    {
+        this.messageSizes = requireNonNull(messageSizes);
+        this.sizeClassRecorders = requireNonNull(recorders);
+    }
+
     final void reset()
     {
         valueRecorder.reset();
         receivedMessages = 0;
+        unstampedHopMessages.reset();
+        negativeHopLatencies.reset();
+        sequenceTracker.reset();
+        onReset();
     }
 }
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Serves the live metrics of a running benchmark on a local HTTP endpoint in the Prometheus text format.
+ * <p>
+ * The latencies are taken from the last interval logged by each {@link LoggingPersistedHistogram}, with a metric per
+ * kind of histogram, i.e. RTT, hiccups and the hops of the round trip. The send and receive counters are the totals of
+ * the {@link RigCounters} of all sender threads, so nothing is added to the send loop.
+ */
+final class MetricsServer implements AutoCloseable
+{
+    static final String PATH = "/metrics";
+    static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final double NANOS_PER_SECOND = SECONDS.toNanos(1);
+    private static final double[] QUANTILES = { 0.5, 0.9, 0.99, 0.999, 0.9999, 1.0 };
+
+    /**
+     * Kind of histogram, which is exported as its own metric.
+     */
+    enum Kind
+    {
+        RTT("aeron_benchmarks_rtt_seconds", null, "RTT latency"),
+        HICCUP("aeron_benchmarks_hiccup_seconds", HiccupMeter.HICCUP_NAME_SUFFIX, "Platform stall"),
+        CLIENT_TO_SERVER(
+            "aeron_benchmarks_client_to_server_seconds",
+            LoadTestRig.CLIENT_TO_SERVER_NAME_SUFFIX,
+            "Client to server latency"),
+        SERVER_PROCESSING(
+            "aeron_benchmarks_server_processing_seconds",
+            LoadTestRig.SERVER_PROCESSING_NAME_SUFFIX,
+            "Server processing time"),
+        SERVER_TO_CLIENT(
+            "aeron_benchmarks_server_to_client_seconds",
+            LoadTestRig.SERVER_TO_CLIENT_NAME_SUFFIX,
+            "Server to client latency");
+
+        final String metricName;
+        final String nameSuffix;
+        final String description;
+
+        Kind(final String metricName, final String nameSuffix, final String description)
+        {
+            this.metricName = metricName;
+            this.nameSuffix = nameSuffix;
+            this.description = description;
+        }
+
+        static Kind of(final String histogramName)
+        {
+            for (final Kind kind : values())
+            {
+                if (null != kind.nameSuffix && histogramName.endsWith(kind.nameSuffix))
+                {
+                    return kind;
+                }
+            }
+
+            return RTT;
+        }
+    }
+
+    private final int port;
+    private final PersistedHistogramSet histogramSet;
+    private final RigCounters.SenderCounters[] senderCounters;
+    private Map<String, PersistedHistogram> histograms;
+    private HttpServer server;
+
+    MetricsServer(
+        final int port, final PersistedHistogramSet histogramSet, final RigCounters.SenderCounters[] senderCounters)
+    {
+        this.port = port;
+        this.histogramSet = requireNonNull(histogramSet);
+        this.senderCounters = requireNonNull(senderCounters);
+    }
+
+    /**
+     * Bind the endpoint to the loopback address and start serving. The histograms created so far are exposed.
+     *
+     * @throws IOException if the port cannot be bound.
+     */
+    void start() throws IOException
+    {
+        histograms = histogramSet.histograms();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext(PATH, this::handle);
+        server.start();
+    }
+
+    /**
+     * Port the endpoint is bound to, which is useful when started with the ephemeral port {@code 0}.
+     *
+     * @return the bound port.
+     */
+    int port()
+    {
+        return server.getAddress().getPort();
+    }
+
+    public void close()
+    {
+        if (null != server)
+        {
+            server.stop(0);
+            server = null;
+        }
+    }
+
+    String scrape()
+    {
+        final StringBuilder sb = new StringBuilder(1024);
+        for (final Kind kind : Kind.values())
+        {
+            appendHistograms(sb, kind);
+        }
+
+        long sentMessages = 0;
+        long receivedMessages = 0;
+        long backPressureEvents = 0;
+        long fallingBehindCount = 0;
+        long maxSendLagNs = 0;
+        for (final RigCounters.SenderCounters counters : senderCounters)
+        {
+            sentMessages += counters.sentMessages.get();
+            receivedMessages += counters.receivedMessages.get();
+            backPressureEvents += counters.backPressureEvents.get();
+            fallingBehindCount += counters.fallingBehindCount.get();
+            maxSendLagNs = Math.max(maxSendLagNs, counters.maxSendLagNs.get());
+        }
+
+        sb.append("# HELP aeron_benchmarks_sent_messages_total Messages sent by the current measurement.\n");
+        sb.append("# TYPE aeron_benchmarks_sent_messages_total counter\n");
+        sb.append("aeron_benchmarks_sent_messages_total ").append(sentMessages).append('\n');
+        sb.append("# HELP aeron_benchmarks_received_messages_total Messages received by the current measurement.\n");
+        sb.append("# TYPE aeron_benchmarks_received_messages_total counter\n");
+        sb.append("aeron_benchmarks_received_messages_total ").append(receivedMessages).append('\n');
+        sb.append("# HELP aeron_benchmarks_back_pressure_events_total Sends which were back-pressured.\n");
+        sb.append("# TYPE aeron_benchmarks_back_pressure_events_total counter\n");
+        sb.append("aeron_benchmarks_back_pressure_events_total ").append(backPressureEvents).append('\n');
+        sb.append("# HELP aeron_benchmarks_falling_behind_total Bursts which completed after the next one was due.\n");
+        sb.append("# TYPE aeron_benchmarks_falling_behind_total counter\n");
+        sb.append("aeron_benchmarks_falling_behind_total ").append(fallingBehindCount).append('\n');
+        sb.append("# HELP aeron_benchmarks_send_lag_max_seconds Maximum lag of a burst behind its intended time.\n");
+        sb.append("# TYPE aeron_benchmarks_send_lag_max_seconds gauge\n");
+        sb.append("aeron_benchmarks_send_lag_max_seconds ").append(maxSendLagNs / NANOS_PER_SECOND).append('\n');
+
+        return sb.toString();
+    }
+
+    private void appendHistograms(final StringBuilder sb, final Kind kind)
+    {
+        boolean first = true;
+        for (final Map.Entry<String, PersistedHistogram> entry : histograms.entrySet())
+        {
+            final PersistedHistogram histogram = entry.getValue();
+            final long loggedCount = histogram.loggedCount();
+            if (loggedCount < 0 || kind != Kind.of(entry.getKey()))
+            {
+                continue;
+            }
+
+            if (first)
+            {
+                sb.append("# HELP ").append(kind.metricName).append(' ').append(kind.description)
+                    .append(" quantiles of the last history interval, the count is the number of values recorded by" +
+                    " the measurement.\n");
+                sb.append("# TYPE ").append(kind.metricName).append(" summary\n");
+                first = false;
+            }
+
+            final String label = "histogram=\"" + escapeLabelValue(entry.getKey()) + "\"";
+            final Histogram interval = histogram.lastIntervalHistogram();
+            if (null != interval)
+            {
+                for (final double quantile : QUANTILES)
+                {
+                    sb.append(kind.metricName).append('{').append(label)
+                        .append(",quantile=\"").append(quantile).append("\"} ")
+                        .append(interval.getValueAtPercentile(quantile * 100) / NANOS_PER_SECOND).append('\n');
+                }
+            }
+            sb.append(kind.metricName).append("_count{").append(label).append("} ").append(loggedCount)
+                .append('\n');
+        }
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException
+    {
+        try
+        {
+            final byte[] body = scrape().getBytes(UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody())
+            {
+                out.write(body);
+            }
+        }
+        finally
+        {
+            exchange.close();
+        }
+    }
+
+    private static String escapeLabelValue(final String value)
+    {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -95,6 +95,36 @@ public interface PersistedHistogram extends AutoCloseable
      */
     ValueRecorder valueRecorder();
 
+    /**
+     * Take a copy of all values recorded since the last {@link #reset()}. Must not be called concurrently with the
+     * thread recording the values unless the implementation is backed by a recorder.
+     *
+     * @return a new {@link Histogram} instance containing the recorded values.
+     */
+    Histogram snapshot();
+
+    /**
+     * Most recent logging interval of the recorded values, only available when the implementation tracks history.
+     * Safe to call from any thread.
+     *
+     * @return the values recorded in the last completed interval or {@code null} if not available.
+     */
+    default Histogram lastIntervalHistogram()
+    {
+        return null;
+    }
+
+    /**
+     * Number of values covered by the completed logging intervals, only available when the implementation tracks
+     * history. Safe to call from any thread.
+     *
+     * @return the number of values logged since the last {@link #reset()} or {@code -1} if not available.
+     */
+    default long loggedCount()
+    {
+        return -1;
+    }
+
     /**
      * Reset the histogram recording, generally between warmup and real runs.
      */
@@ -151,15 +181,31 @@ public interface PersistedHistogram extends AutoCloseable
         return file;
     }
 
-    @SuppressWarnings("checkstyle:indentation")
     static PersistedHistogram newPersistedHistogram(final Configuration configuration)
+    {
+        return newPersistedHistogram(
+            configuration.outputDirectory(), configuration.outputFileNamePrefix(), configuration.trackHistory());
+    }
+
+    /**
+     * Create a new histogram which either logs its history into the output directory or records all values into a
+     * single histogram.
+     *
+     * @param outputDirectory into which the history is logged.
+     * @param namePrefix      of the history file.
+     * @param trackHistory    should the history be logged.
+     * @return a new histogram.
+     */
+    @SuppressWarnings("checkstyle:indentation")
+    static PersistedHistogram newPersistedHistogram(
+        final Path outputDirectory, final String namePrefix, final boolean trackHistory)
     {
         final int numberOfSignificantValueDigits = 3;
-        if (configuration.trackHistory())
+        if (trackHistory)
         {
             return new LoggingPersistedHistogram(
-                configuration.outputDirectory(),
-                configuration.outputFileNamePrefix(),
+                outputDirectory,
+                namePrefix,
                 new SingleWriterRecorder(numberOfSignificantValueDigits));
         }
         else
@@ -23,9 +23,12 @@ import org.agrona.CloseHelper;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.nio.file.Path;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 
+import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.TimeUnit.HOURS;
 
 /**
@@ -39,6 +42,7 @@ public final class PersistedHistogramSet implements AutoCloseable
 {
     private final Configuration configuration;
     private final Map<String, PersistedHistogram> histograms = new LinkedHashMap<>();
+    private final Set<String> unmerged = new HashSet<>();
 
     public PersistedHistogramSet(final Configuration configuration)
     {
@@ -61,13 +65,19 @@ public final class PersistedHistogramSet implements AutoCloseable
     }
 
     /**
-     * Create a named {@link ValueRecorder} backed by a new {@link PersistedHistogram}.
+     * Create a named {@link ValueRecorder} backed by a new {@link PersistedHistogram}. The recorder accepts values from
+     * multiple threads if {@link Configuration#concurrentReceive()} is enabled, see {@link StripedRecorder}.
      *
      * @param name the name used as the file prefix when saving. Must be unique.
      * @return a {@link ValueRecorder} that records into the named histogram.
      * @throws IllegalArgumentException if a histogram with the same name already exists.
      */
     public PersistedHistogram create(final String name)
+    {
+        return create(name, false);
+    }
+
+    private PersistedHistogram create(final String name, final boolean backgroundWriter)
     {
         if (histograms.containsKey(name))
         {
@@ -76,11 +86,24 @@ public final class PersistedHistogramSet implements AutoCloseable
 
         final PersistedHistogram result;
         final int numberOfSignificantValueDigits = 3;
-        if (configuration.trackHistory())
+        if (configuration.trackHistory() && configuration.concurrentReceive() && !backgroundWriter)
+        {
+            final StripedRecorder recorder = new StripedRecorder(numberOfSignificantValueDigits);
+            result = new LoggingPersistedHistogram(configuration.outputDirectory(), name, recorder);
+        }
+        else if (configuration.trackHistory())
         {
             final SingleWriterRecorder recorder = new SingleWriterRecorder(numberOfSignificantValueDigits);
             result = new LoggingPersistedHistogram(configuration.outputDirectory(), name, recorder);
         }
+        else if (backgroundWriter)
+        {
+            result = new AccumulatingPersistedHistogram(new SingleWriterRecorder(numberOfSignificantValueDigits));
+        }
+        else if (configuration.concurrentReceive())
+        {
+            result = new AccumulatingPersistedHistogram(new StripedRecorder(numberOfSignificantValueDigits));
+        }
         else
         {
             final Histogram histogram = new Histogram(HOURS.toNanos(1), numberOfSignificantValueDigits);
@@ -91,6 +114,112 @@ public final class PersistedHistogramSet implements AutoCloseable
         return result;
     }
 
+    /**
+     * Create a named {@link PersistedHistogram} which is reset, printed and saved together with the other histograms
+     * in the set, but is not merged into the {@link #snapshot()}, e.g. the platform stalls recorded by a
+     * {@link HiccupMeter}.
+     *
+     * @param name the name used as the file prefix when saving. Must be unique.
+     * @return the new histogram.
+     * @throws IllegalArgumentException if a histogram with the same name already exists.
+     */
+    public PersistedHistogram createUnmerged(final String name)
+    {
+        final PersistedHistogram result = create(name);
+        unmerged.add(name);
+        return result;
+    }
+
+    /**
+     * Create a named {@link PersistedHistogram} which is not merged into the {@link #snapshot()}, like
+     * {@link #createUnmerged(String)}, and into which a single background thread records while the set is reset,
+     * printed and saved, e.g. by a {@link HiccupMeter}. The values are recorded into a {@link SingleWriterRecorder}
+     * whose intervals are taken by the snapshots.
+     *
+     * @param name the name used as the file prefix when saving. Must be unique.
+     * @return the new histogram.
+     * @throws IllegalArgumentException if a histogram with the same name already exists.
+     */
+    public PersistedHistogram createUnmergedBackground(final String name)
+    {
+        final PersistedHistogram result = create(name, true);
+        unmerged.add(name);
+        return result;
+    }
+
+    /**
+     * Open a {@link MappedPersistedHistogram} file recorded by another process on the same host, e.g. the service time
+     * of a server node, which is reset, printed and saved together with the other histograms in the set but is not
+     * merged into the {@link #snapshot()}. Resetting the set therefore also discards the values recorded by the other
+     * process, e.g. during the warmup. The file is unmapped, but kept, when the set is closed.
+     *
+     * @param name the name used as the file prefix when saving. Must be unique.
+     * @param file of the histogram.
+     * @return the opened histogram.
+     * @throws IllegalArgumentException if a histogram with the same name already exists.
+     * @see MappedPersistedHistogram#open(Path)
+     */
+    public PersistedHistogram openMapped(final String name, final Path file)
+    {
+        if (histograms.containsKey(name))
+        {
+            throw new IllegalArgumentException("Histogram already exists: " + name);
+        }
+
+        final MappedPersistedHistogram result = MappedPersistedHistogram.open(file);
+        histograms.put(name, result);
+        unmerged.add(name);
+        return result;
+    }
+
+    /**
+     * Add an existing {@link PersistedHistogram} to the set, e.g. a histogram computed by merging other histograms.
+     *
+     * @param name      the name used as the file prefix when saving. Must be unique.
+     * @param histogram to be added.
+     * @throws IllegalArgumentException if a histogram with the same name already exists.
+     */
+    public void add(final String name, final PersistedHistogram histogram)
+    {
+        if (histograms.containsKey(name))
+        {
+            throw new IllegalArgumentException("Histogram already exists: " + name);
+        }
+
+        histograms.put(name, requireNonNull(histogram));
+    }
+
+    /**
+     * Take a copy of the values recorded by all histograms in the set merged into a single histogram, excluding the
+     * ones created via {@link #createUnmerged(String)}.
+     *
+     * @return a new {@link Histogram} instance containing the values recorded by all histograms.
+     * @see PersistedHistogram#snapshot()
+     */
+    public Histogram snapshot()
+    {
+        final Histogram merged = new Histogram(3);
+        for (final Map.Entry<String, PersistedHistogram> entry : histograms.entrySet())
+        {
+            if (!unmerged.contains(entry.getKey()))
+            {
+                merged.add(entry.getValue().snapshot());
+            }
+        }
+
+        return merged;
+    }
+
+    /**
+     * Take a copy of the histograms in the set in the order in which they were added.
+     *
+     * @return a new map of the histograms keyed by name.
+     */
+    public Map<String, PersistedHistogram> histograms()
+    {
+        return new LinkedHashMap<>(histograms);
+    }
+
     /**
      * Reset all histograms (e.g. after warmup).
      */
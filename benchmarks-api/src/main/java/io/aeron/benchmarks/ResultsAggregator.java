@@ -22,24 +22,47 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
 import java.util.stream.Stream;
 
 import static java.lang.Double.*;
 import static java.nio.file.Files.*;
+import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.groupingBy;
 import static io.aeron.benchmarks.PersistedHistogram.*;
 
+/**
+ * Aggregates the histogram files of a results directory into a single {@code -combined.hdr} file and a
+ * {@code -report.hgrm} file per common prefix.
+ * <p>
+ * The prefixes are aggregated in parallel on a {@link ForkJoinPool}. The files of a prefix are decoded concurrently
+ * and merged with a tree reduction which always adds the right half into the left one, so the result is the same as
+ * adding the histograms one after another in the order in which the directory was walked.
+ * <p>
+ * The inputs and the outputs of every prefix are recorded in an {@link AggregationIndex} in the directory, so that a
+ * rerun only aggregates the prefixes whose inputs changed, e.g. after a new run was added, and skips the others.
+ */
 public final class ResultsAggregator
 {
     private final Path directory;
     private final double reportOutputScalingRatio;
+    private final ForkJoinPool pool;
 
     public ResultsAggregator(final Path directory, final double reportOutputScalingRatio)
+    {
+        this(directory, reportOutputScalingRatio, ForkJoinPool.commonPool());
+    }
+
+    ResultsAggregator(final Path directory, final double reportOutputScalingRatio, final ForkJoinPool pool)
     {
         if (!exists(directory))
         {
@@ -59,13 +82,16 @@ public final class ResultsAggregator
 
         this.directory = directory;
         this.reportOutputScalingRatio = reportOutputScalingRatio;
+        this.pool = requireNonNull(pool);
     }
 
     public void run() throws IOException
     {
+        final AggregationIndex index = AggregationIndex.load(directory);
+        final Map<String, List<Path>> byPrefix;
         try (Stream<Path> stream = walk(directory))
         {
-            final Map<String, List<Path>> byPrefix = stream
+            byPrefix = stream
                 .filter((path) ->
                 {
                     if (!isRegularFile(path))
@@ -89,60 +115,133 @@ public final class ResultsAggregator
                     }
                     return fileName;
                 }));
+        }
+        catch (final UncheckedIOException ex)
+        {
+            throw ex.getCause();
+        }
 
-            for (final Entry<String, List<Path>> e : byPrefix.entrySet())
+        final List<AggregatePrefixTask> tasks = new ArrayList<>(byPrefix.size());
+        for (final Entry<String, List<Path>> e : byPrefix.entrySet())
+        {
+            tasks.add(new AggregatePrefixTask(index, e.getKey(), e.getValue()));
+        }
+
+        try
+        {
+            pool.invoke(new RecursiveAction()
             {
-                final Histogram aggregate = aggregateHistograms(e);
-                final String filePrefix = e.getKey();
-                String suffix = "";
-                for (final Path p : e.getValue())
+                protected void compute()
                 {
-                    final String fileName = p.getFileName().toString();
-                    if (fileName.endsWith(FAILED_FILE_SUFFIX))
-                    {
-                        suffix = FAILED_FILE_SUFFIX;
-                        break;
-                    }
-                }
-                if (null == aggregate)
-                {
-                    createFile(directory.resolve(filePrefix + AGGREGATE_FILE_SUFFIX + suffix));
-                }
-                else
-                {
-                    saveToFile(aggregate, directory.resolve(filePrefix + AGGREGATE_FILE_SUFFIX + suffix));
-                    createReportFile(aggregate, directory.resolve(filePrefix + REPORT_FILE_SUFFIX + suffix));
+                    invokeAll(tasks);
                 }
+            });
+        }
+        catch (final UncheckedIOException ex)
+        {
+            throw ex.getCause();
+        }
+
+        for (final AggregatePrefixTask task : tasks)
+        {
+            index.prefix(task.filePrefix, task.result);
+        }
+        index.save();
+    }
+
+    private AggregationIndex.PrefixEntry aggregatePrefix(
+        final AggregationIndex index, final String filePrefix, final List<Path> files) throws IOException
+    {
+        final List<AggregationIndex.FileEntry> inputs = new ArrayList<>(files.size());
+        for (final Path file : files)
+        {
+            inputs.add(index.describe(file));
+        }
+
+        final AggregationIndex.PrefixEntry previous = index.prefix(filePrefix);
+        if (null != previous && previous.sameInputs(inputs) && index.outputsExist(previous))
+        {
+            return new AggregationIndex.PrefixEntry(inputs, previous.outputs);
+        }
+
+        final Histogram aggregate = new MergeFilesTask(files, 0, files.size()).compute();
+        String suffix = "";
+        for (final Path p : files)
+        {
+            final String fileName = p.getFileName().toString();
+            if (fileName.endsWith(FAILED_FILE_SUFFIX))
+            {
+                suffix = FAILED_FILE_SUFFIX;
+                break;
+            }
+        }
+        final List<String> outputs = new ArrayList<>(2);
+        final Path aggregateFile = directory.resolve(filePrefix + AGGREGATE_FILE_SUFFIX + suffix);
+        if (null == aggregate)
+        {
+            write(aggregateFile, new byte[0]);
+            outputs.add(index.relativePath(aggregateFile));
+        }
+        else
+        {
+            final Path reportFile = directory.resolve(filePrefix + REPORT_FILE_SUFFIX + suffix);
+            saveToFile(aggregate, aggregateFile);
+            createReportFile(aggregate, reportFile);
+            outputs.add(index.relativePath(aggregateFile));
+            outputs.add(index.relativePath(reportFile));
+        }
+
+        if (null != previous)
+        {
+            deleteStaleOutputs(previous, outputs);
+        }
+
+        return new AggregationIndex.PrefixEntry(inputs, outputs);
+    }
+
+    private void deleteStaleOutputs(final AggregationIndex.PrefixEntry previous, final List<String> outputs)
+        throws IOException
+    {
+        for (final String previousOutput : previous.outputs)
+        {
+            if (!outputs.contains(previousOutput))
+            {
+                deleteIfExists(directory.resolve(previousOutput));
             }
         }
     }
 
-    private Histogram aggregateHistograms(final Entry<String, List<Path>> entry) throws FileNotFoundException
+    private static Histogram aggregateFile(final Path file) throws FileNotFoundException
     {
         Histogram aggregate = null;
 
-        for (final Path file : entry.getValue())
+        try (HistogramLogReader logReader = new HistogramLogReader(file.toFile()))
         {
-            try (HistogramLogReader logReader = new HistogramLogReader(file.toFile()))
+            while (logReader.hasNext())
             {
-                while (logReader.hasNext())
-                {
-                    final Histogram histogram = (Histogram)logReader.nextIntervalHistogram();
-                    if (null == aggregate)
-                    {
-                        aggregate = histogram;
-                    }
-                    else
-                    {
-                        aggregate.add(histogram);
-                    }
-                }
+                final Histogram histogram = (Histogram)logReader.nextIntervalHistogram();
+                aggregate = merge(aggregate, histogram);
             }
         }
 
         return aggregate;
     }
 
+    private static Histogram merge(final Histogram left, final Histogram right)
+    {
+        if (null == left)
+        {
+            return right;
+        }
+
+        if (null != right)
+        {
+            left.add(right);
+        }
+
+        return left;
+    }
+
     private void createReportFile(final Histogram aggregate, final Path reportFile) throws IOException
     {
         try (FileOutputStream fos = new FileOutputStream(reportFile.toFile(), false);
@@ -152,6 +251,75 @@ public final class ResultsAggregator
         }
     }
 
+    final class AggregatePrefixTask extends RecursiveAction
+    {
+        private final AggregationIndex index;
+        private final String filePrefix;
+        private final List<Path> files;
+        private AggregationIndex.PrefixEntry result;
+
+        AggregatePrefixTask(final AggregationIndex index, final String filePrefix, final List<Path> files)
+        {
+            this.index = index;
+            this.filePrefix = filePrefix;
+            this.files = files;
+        }
+
+        protected void compute()
+        {
+            try
+            {
+                result = aggregatePrefix(index, filePrefix, files);
+            }
+            catch (final IOException ex)
+            {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
+    static final class MergeFilesTask extends RecursiveTask<Histogram>
+    {
+        private final List<Path> files;
+        private final int fromIndex;
+        private final int toIndex;
+
+        MergeFilesTask(final List<Path> files, final int fromIndex, final int toIndex)
+        {
+            this.files = files;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+        }
+
+        protected Histogram compute()
+        {
+            final int length = toIndex - fromIndex;
+            if (0 == length)
+            {
+                return null;
+            }
+
+            if (1 == length)
+            {
+                try
+                {
+                    return aggregateFile(files.get(fromIndex));
+                }
+                catch (final FileNotFoundException ex)
+                {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+
+            final int middleIndex = fromIndex + (length >>> 1);
+            final MergeFilesTask left = new MergeFilesTask(files, fromIndex, middleIndex);
+            left.fork();
+            final Histogram right = new MergeFilesTask(files, middleIndex, toIndex).compute();
+
+            return merge(left.join(), right);
+        }
+    }
+
     public static void main(final String[] args) throws IOException
     {
         if (args.length < 1 || args.length > 2)
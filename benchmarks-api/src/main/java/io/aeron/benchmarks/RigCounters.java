@@ -0,0 +1,254 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.agrona.BufferUtil;
+import org.agrona.IoUtil;
+import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.CountersManager;
+import org.agrona.concurrent.status.CountersReader;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
+
+/**
+ * Counters of a running test rig, i.e. the current {@link Phase} and the messages sent and received by every sender,
+ * allocated by an Agrona {@link CountersManager}.
+ * <p>
+ * When created with a file the counters are memory-mapped in the same way as the counters of the media driver in the
+ * CnC file, so that another process can sample them without any coordination with the rig, see {@link RigStat}. The
+ * file starts with a header of {@link #HEADER_LENGTH} bytes followed by the counters metadata and values buffers. The
+ * version field is written last, so a reader must wait for it to become non-zero. Without a file the counters are
+ * allocated off-heap and are only visible to the rig itself.
+ * <p>
+ * Every counter has a single writer, e.g. the sender thread, which updates it with a release store.
+ */
+public final class RigCounters implements AutoCloseable
+{
+    /**
+     * Version of the counters file layout.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Offset of the {@code int} version field in the header.
+     */
+    public static final int VERSION_OFFSET = 0;
+
+    /**
+     * Offset of the {@code int} length of the metadata buffer in the header.
+     */
+    public static final int METADATA_LENGTH_OFFSET = 4;
+
+    /**
+     * Offset of the {@code int} length of the values buffer in the header.
+     */
+    public static final int VALUES_LENGTH_OFFSET = 8;
+
+    /**
+     * Offset of the {@code long} pid of the rig process in the header.
+     */
+    public static final int PID_OFFSET = 16;
+
+    /**
+     * Offset of the {@code long} start timestamp in milliseconds since the epoch in the header.
+     */
+    public static final int START_TIMESTAMP_OFFSET = 24;
+
+    /**
+     * Length of the header which precedes the counters metadata buffer.
+     */
+    public static final int HEADER_LENGTH = CACHE_LINE_LENGTH * 2;
+
+    /**
+     * Maximum number of counters in the file.
+     */
+    public static final int MAX_COUNTERS = 1024;
+
+    /**
+     * Type id of the {@link Phase} counter.
+     */
+    public static final int PHASE_TYPE_ID = 1;
+
+    /**
+     * Type id of the {@link SenderCounters}.
+     */
+    public static final int SENDER_TYPE_ID = 2;
+
+    static final int METADATA_LENGTH = MAX_COUNTERS * CountersReader.METADATA_LENGTH;
+    static final int VALUES_LENGTH = MAX_COUNTERS * CountersReader.COUNTER_LENGTH;
+    static final int FILE_LENGTH = HEADER_LENGTH + METADATA_LENGTH + VALUES_LENGTH;
+
+    /**
+     * Phase of a test rig, the value of the phase counter is the {@link #ordinal()}.
+     */
+    public enum Phase
+    {
+        STARTING,
+        WARMUP,
+        MEASUREMENT,
+        COMPLETED
+    }
+
+    /**
+     * Counters of a single sender.
+     */
+    public static final class SenderCounters
+    {
+        /**
+         * Messages sent since the last reset.
+         */
+        public final AtomicCounter sentMessages;
+
+        /**
+         * Messages received since the last reset.
+         */
+        public final AtomicCounter receivedMessages;
+
+        /**
+         * Number of send attempts which could not send all the messages, i.e. the transport was back-pressured.
+         */
+        public final AtomicCounter backPressureEvents;
+
+        /**
+         * Number of times the sender was behind the schedule of the next burst.
+         */
+        public final AtomicCounter fallingBehindCount;
+
+        /**
+         * Maximum lag of a burst behind its intended send time in nanoseconds, updated once per second.
+         */
+        public final AtomicCounter maxSendLagNs;
+
+        private SenderCounters(final CountersManager countersManager, final String name)
+        {
+            sentMessages = countersManager.newCounter(name + ": sent messages", SENDER_TYPE_ID);
+            receivedMessages = countersManager.newCounter(name + ": received messages", SENDER_TYPE_ID);
+            backPressureEvents = countersManager.newCounter(name + ": back pressure events", SENDER_TYPE_ID);
+            fallingBehindCount = countersManager.newCounter(name + ": falling behind count", SENDER_TYPE_ID);
+            maxSendLagNs = countersManager.newCounter(name + ": max send lag (ns)", SENDER_TYPE_ID);
+        }
+
+        /**
+         * Reset all counters to zero, e.g. after the warmup. Must be called by the writer of the counters.
+         */
+        public void reset()
+        {
+            sentMessages.setRelease(0);
+            receivedMessages.setRelease(0);
+            backPressureEvents.setRelease(0);
+            fallingBehindCount.setRelease(0);
+            maxSendLagNs.setRelease(0);
+        }
+    }
+
+    private final MappedByteBuffer mappedBuffer;
+    private final CountersManager countersManager;
+    private final AtomicCounter phase;
+
+    private RigCounters(final MappedByteBuffer mappedBuffer, final AtomicBuffer buffer)
+    {
+        this.mappedBuffer = mappedBuffer;
+        this.countersManager = new CountersManager(
+            new UnsafeBuffer(buffer, HEADER_LENGTH, METADATA_LENGTH),
+            new UnsafeBuffer(buffer, HEADER_LENGTH + METADATA_LENGTH, VALUES_LENGTH),
+            US_ASCII);
+        this.phase = countersManager.newCounter("phase", PHASE_TYPE_ID);
+    }
+
+    /**
+     * Create the counters.
+     *
+     * @param file to memory-map the counters into, replacing any existing file, or {@code null} to keep the counters
+     *             private to the process.
+     * @return the counters.
+     */
+    public static RigCounters newInstance(final Path file)
+    {
+        if (null == file)
+        {
+            final ByteBuffer byteBuffer = BufferUtil.allocateDirectAligned(FILE_LENGTH, CACHE_LINE_LENGTH);
+            return new RigCounters(null, new UnsafeBuffer(byteBuffer));
+        }
+
+        final File parent = file.toAbsolutePath().getParent().toFile();
+        IoUtil.ensureDirectoryExists(parent, "counters directory");
+        final MappedByteBuffer mappedBuffer = IoUtil.mapNewFile(file.toFile(), FILE_LENGTH);
+        final UnsafeBuffer buffer = new UnsafeBuffer(mappedBuffer);
+        buffer.putInt(METADATA_LENGTH_OFFSET, METADATA_LENGTH);
+        buffer.putInt(VALUES_LENGTH_OFFSET, VALUES_LENGTH);
+        buffer.putLong(PID_OFFSET, ProcessHandle.current().pid());
+        buffer.putLong(START_TIMESTAMP_OFFSET, System.currentTimeMillis());
+
+        final RigCounters counters = new RigCounters(mappedBuffer, buffer);
+        buffer.putIntRelease(VERSION_OFFSET, VERSION);
+
+        return counters;
+    }
+
+    /**
+     * Allocate the counters of a sender.
+     *
+     * @param name of the sender used as the prefix of the counter labels.
+     * @return the counters of the sender.
+     */
+    public SenderCounters newSenderCounters(final String name)
+    {
+        return new SenderCounters(countersManager, name);
+    }
+
+    /**
+     * Set the current phase of the rig, which is also recorded as a JFR event when {@link JfrEvents#ENABLED}.
+     *
+     * @param phase of the rig.
+     */
+    public void phase(final Phase phase)
+    {
+        this.phase.setRelease(phase.ordinal());
+        if (JfrEvents.ENABLED)
+        {
+            JfrEvents.phase(phase);
+        }
+    }
+
+    /**
+     * Reader of the counters, e.g. for testing.
+     *
+     * @return reader of the counters.
+     */
+    public CountersReader reader()
+    {
+        return countersManager;
+    }
+
+    /**
+     * Unmap the counters file, which is kept so that the final values can still be inspected.
+     */
+    public void close()
+    {
+        if (null != mappedBuffer)
+        {
+            IoUtil.unmap(mappedBuffer);
+        }
+    }
+}
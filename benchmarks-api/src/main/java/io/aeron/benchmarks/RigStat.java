@@ -0,0 +1,163 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.agrona.IoUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.CountersReader;
+
+import java.io.PrintStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Date;
+
+import static io.aeron.benchmarks.RigCounters.*;
+import static java.lang.Long.parseLong;
+
+/**
+ * Samples the counters file of a running test rig, similar to {@code AeronStat} for the media driver.
+ *
+ * @see RigCounters
+ */
+public final class RigStat implements AutoCloseable
+{
+    private static final long DEFAULT_INTERVAL_MS = 1000;
+    private static final RigCounters.Phase[] PHASES = RigCounters.Phase.values();
+
+    private final Path file;
+    private final MappedByteBuffer mappedBuffer;
+    private final UnsafeBuffer buffer;
+    private final CountersReader reader;
+
+    private RigStat(final Path file, final MappedByteBuffer mappedBuffer)
+    {
+        this.file = file;
+        this.mappedBuffer = mappedBuffer;
+        this.buffer = new UnsafeBuffer(mappedBuffer);
+
+        final int version = buffer.getIntVolatile(VERSION_OFFSET);
+        if (VERSION != version)
+        {
+            throw new IllegalStateException(
+                "unsupported counters file version " + version + ", expected " + VERSION + ": " + file);
+        }
+
+        final int metaDataLength = buffer.getInt(METADATA_LENGTH_OFFSET);
+        final int valuesLength = buffer.getInt(VALUES_LENGTH_OFFSET);
+        this.reader = new CountersReader(
+            new UnsafeBuffer(buffer, HEADER_LENGTH, metaDataLength),
+            new UnsafeBuffer(buffer, HEADER_LENGTH + metaDataLength, valuesLength));
+    }
+
+    /**
+     * Map an existing counters file for reading.
+     *
+     * @param file created by {@link RigCounters#newInstance(Path)}.
+     * @return the mapped counters.
+     * @throws IllegalStateException if the file is not a counters file or has not been initialised yet.
+     */
+    public static RigStat open(final Path file)
+    {
+        final MappedByteBuffer mappedBuffer =
+            IoUtil.mapExistingFile(file.toFile(), FileChannel.MapMode.READ_ONLY, "rig counters");
+        try
+        {
+            if (mappedBuffer.capacity() < HEADER_LENGTH)
+            {
+                throw new IllegalStateException("counters file is too short: " + file);
+            }
+
+            return new RigStat(file, mappedBuffer);
+        }
+        catch (final RuntimeException ex)
+        {
+            IoUtil.unmap(mappedBuffer);
+            throw ex;
+        }
+    }
+
+    /**
+     * Pid of the process which created the counters.
+     *
+     * @return pid of the process.
+     */
+    public long pid()
+    {
+        return buffer.getLong(PID_OFFSET);
+    }
+
+    /**
+     * Print the current value of every counter.
+     *
+     * @param out to print to.
+     */
+    public void print(final PrintStream out)
+    {
+        out.format("%s - pid %d, started %s%n", file, pid(), new Date(buffer.getLong(START_TIMESTAMP_OFFSET)));
+        out.println("========================");
+        reader.forEach(
+            (counterId, typeId, keyBuffer, label) ->
+            {
+                final long value = reader.getCounterValue(counterId);
+                if (PHASE_TYPE_ID == typeId && value >= 0 && value < PHASES.length)
+                {
+                    out.format("%3d: %20s - %s%n", counterId, PHASES[(int)value], label);
+                }
+                else
+                {
+                    out.format("%3d: %,20d - %s%n", counterId, value, label);
+                }
+            });
+    }
+
+    public void close()
+    {
+        IoUtil.unmap(mappedBuffer);
+    }
+
+    public static void main(final String[] args) throws InterruptedException
+    {
+        if (args.length < 1 || args.length > 2)
+        {
+            printHelp();
+            System.exit(-1);
+        }
+
+        final Path file = Paths.get(args[0]);
+        final long intervalMs = args.length == 2 ? parseLong(args[1]) : DEFAULT_INTERVAL_MS;
+        try (RigStat rigStat = open(file))
+        {
+            while (!Thread.currentThread().isInterrupted())
+            {
+                System.out.print("\u001b[H\u001b[2J");
+                System.out.format("%s%n", new Date());
+                rigStat.print(System.out);
+                System.out.flush();
+                Thread.sleep(intervalMs);
+            }
+        }
+    }
+
+    private static void printHelp()
+    {
+        System.out.println("Usage: <counters-file> [interval-ms] - prints the counters of a running test rig");
+        System.out.println("  every `interval-ms` milliseconds (default " + DEFAULT_INTERVAL_MS + ") until stopped.");
+        System.out.println("  The rig writes the counters file when started with the `" +
+            Configuration.COUNTERS_FILE_PROP_NAME + "` property.");
+    }
+}
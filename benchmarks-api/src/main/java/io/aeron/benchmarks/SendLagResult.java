@@ -0,0 +1,114 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lag of the {@link LoadTestRig} sender behind its schedule, i.e. the gap between the intended and the actual send time
+ * of every burst, and the number of times the sender fell behind, i.e. the next burst was already due when the previous
+ * one was sent. A lag which grows with the message rate points at the sender being back-pressured rather than at the
+ * network latency.
+ */
+final class SendLagResult
+{
+    /**
+     * Name suffix for the histogram of the send lag.
+     */
+    static final String SEND_LAG_SUFFIX = "-send-lag";
+
+    /**
+     * File name suffix for the summary of the send lag.
+     */
+    static final String SEND_LAG_FILE_SUFFIX = SEND_LAG_SUFFIX + ".csv";
+
+    private static final double[] PERCENTILES = { 50.0, 99.0, 99.9, 99.99 };
+
+    final Histogram histogram;
+    final long fallingBehindCount;
+
+    SendLagResult(final Histogram histogram, final long fallingBehindCount)
+    {
+        this.histogram = histogram;
+        this.fallingBehindCount = fallingBehindCount;
+    }
+
+    /**
+     * Print a warning if the sender fell behind its schedule.
+     *
+     * @param out      to print to.
+     * @param timeUnit of the latency values.
+     */
+    void warnIfFellBehind(final PrintStream out, final TimeUnit timeUnit)
+    {
+        if (fallingBehindCount > 0)
+        {
+            out.printf(
+                "%n*** WARNING: Sender fell behind the schedule %,d times in %,d bursts (p99 send lag %,.3f %s, " +
+                "max %,.3f %s)!%n",
+                fallingBehindCount,
+                histogram.getTotalCount(),
+                histogram.getValueAtPercentile(99.0) / Configuration.outputScaleRatio(timeUnit),
+                timeUnit,
+                histogram.getMaxValue() / Configuration.outputScaleRatio(timeUnit),
+                timeUnit);
+        }
+    }
+
+    /**
+     * Write the number of bursts, the number of times the sender fell behind and the send lag percentiles as a CSV
+     * file.
+     *
+     * @param file     to write to.
+     * @param timeUnit of the latency values.
+     * @throws IOException if IO error occurs.
+     */
+    void writeCsv(final Path file, final TimeUnit timeUnit) throws IOException
+    {
+        final double scaleRatio = Configuration.outputScaleRatio(timeUnit);
+        try (PrintStream csvOutput = new PrintStream(file.toFile(), StandardCharsets.US_ASCII))
+        {
+            csvOutput.print("bursts,falling behind");
+            for (final double percentile : PERCENTILES)
+            {
+                csvOutput.print(",");
+                csvOutput.print(percentile);
+            }
+            csvOutput.print(",100.0,time unit");
+            csvOutput.println();
+
+            csvOutput.print(histogram.getTotalCount());
+            csvOutput.print(",");
+            csvOutput.print(fallingBehindCount);
+            for (final double percentile : PERCENTILES)
+            {
+                csvOutput.print(",");
+                csvOutput.print(histogram.getValueAtPercentile(percentile) / scaleRatio);
+            }
+            csvOutput.print(",");
+            csvOutput.print(histogram.getMaxValue() / scaleRatio);
+            csvOutput.print(",");
+            csvOutput.print(timeUnit);
+            csvOutput.println();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import static java.util.Arrays.fill;
+
+/**
+ * Tracks the sequence numbers of the received messages in a sliding bitmap window to detect lost, duplicated and
+ * reordered messages without allocating.
+ * <p>
+ * The sequence numbers are 32-bit values which wrap around and are extended to 64-bit relative to the highest
+ * sequence received so far. A message is considered lost if a later message was received but it was not, and reordered
+ * if it arrives after a message with a higher sequence. Messages older than the window cannot be checked for
+ * duplicates and are counted as reordered.
+ */
+final class SequenceTracker
+{
+    static final int WINDOW_LENGTH = 1 << 16;
+    private static final int WINDOW_MASK = WINDOW_LENGTH - 1;
+
+    private final long[] window = new long[WINDOW_LENGTH / Long.SIZE];
+    private boolean started;
+    private long firstSequence;
+    private long highestSequence;
+    private long uniqueMessages;
+    private long duplicatedMessages;
+    private long reorderedMessages;
+    private long maxReorderDistance;
+
+    /**
+     * Track the sequence of a received message.
+     *
+     * @param sequence of the received message.
+     */
+    void onSequence(final int sequence)
+    {
+        final long highestSequence = this.highestSequence;
+        if (!started)
+        {
+            started = true;
+            firstSequence = sequence;
+            this.highestSequence = sequence;
+            set(sequence);
+            uniqueMessages = 1;
+            return;
+        }
+
+        final long extendedSequence = highestSequence + (sequence - (int)highestSequence);
+        if (extendedSequence > highestSequence)
+        {
+            if (extendedSequence - highestSequence >= WINDOW_LENGTH)
+            {
+                fill(window, 0L);
+            }
+            else
+            {
+                for (long s = highestSequence + 1; s < extendedSequence; s++)
+                {
+                    clear(s);
+                }
+            }
+            set(extendedSequence);
+            this.highestSequence = extendedSequence;
+            uniqueMessages++;
+        }
+        else if (extendedSequence >= firstSequence) // otherwise sent before the reset, e.g. in flight after warmup
+        {
+            final long distance = highestSequence - extendedSequence;
+            if (distance < WINDOW_LENGTH && isSet(extendedSequence))
+            {
+                duplicatedMessages++;
+            }
+            else
+            {
+                if (distance < WINDOW_LENGTH)
+                {
+                    set(extendedSequence);
+                }
+                uniqueMessages++;
+                reorderedMessages++;
+                maxReorderDistance = Math.max(maxReorderDistance, distance);
+            }
+        }
+    }
+
+    /**
+     * Start tracking afresh from the next received message, the messages sent before are ignored.
+     */
+    void reset()
+    {
+        started = false;
+        uniqueMessages = 0;
+        duplicatedMessages = 0;
+        reorderedMessages = 0;
+        maxReorderDistance = 0;
+    }
+
+    /**
+     * Number of messages received with a sequence, excluding the duplicates.
+     *
+     * @return number of unique messages.
+     */
+    long trackedMessages()
+    {
+        return uniqueMessages;
+    }
+
+    /**
+     * Number of messages which were not received while a message with a higher sequence was.
+     *
+     * @return number of lost messages.
+     */
+    long lostMessages()
+    {
+        return started ? highestSequence - firstSequence + 1 - uniqueMessages : 0;
+    }
+
+    /**
+     * Number of messages received more than once.
+     *
+     * @return number of duplicated messages.
+     */
+    long duplicatedMessages()
+    {
+        return duplicatedMessages;
+    }
+
+    /**
+     * Number of messages received after a message with a higher sequence.
+     *
+     * @return number of reordered messages.
+     */
+    long reorderedMessages()
+    {
+        return reorderedMessages;
+    }
+
+    /**
+     * Maximum distance in sequence numbers by which a reordered message was late.
+     *
+     * @return maximum reorder distance.
+     */
+    long maxReorderDistance()
+    {
+        return maxReorderDistance;
+    }
+
+    private boolean isSet(final long sequence)
+    {
+        final int bit = (int)sequence & WINDOW_MASK;
+        return 0 != (window[bit >>> 6] & (1L << bit));
+    }
+
+    private void set(final long sequence)
+    {
+        final int bit = (int)sequence & WINDOW_MASK;
+        window[bit >>> 6] |= 1L << bit;
+    }
+
+    private void clear(final long sequence)
+    {
+        final int bit = (int)sequence & WINDOW_MASK;
+        window[bit >>> 6] &= ~(1L << bit);
+    }
+}
@@ -90,6 +90,14 @@ public final class SinglePersistedHistogram implements PersistedHistogram
         return histogram;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public Histogram snapshot()
+    {
+        return histogram.copy();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+import static io.aeron.benchmarks.PersistedHistogram.Status.OK;
+
+/**
+ * Result of running the {@link LoadTestRig} at a single target message rate, i.e. one step of a step-load run.
+ */
+final class StepResult
+{
+    /**
+     * File name suffix for the step-load summary table.
+     */
+    static final String STEPS_FILE_SUFFIX = "-steps.csv";
+
+    private static final double[] PERCENTILES = { 50.0, 99.0, 99.9, 99.99 };
+
+    final int targetRate;
+    final int iterations;
+    final long sentMessages;
+    final long receivedMessages;
+    final Histogram histogram;
+    final PersistedHistogram.Status status;
+
+    StepResult(
+        final int targetRate,
+        final int iterations,
+        final long sentMessages,
+        final long receivedMessages,
+        final Histogram histogram,
+        final PersistedHistogram.Status status)
+    {
+        this.targetRate = targetRate;
+        this.iterations = iterations;
+        this.sentMessages = sentMessages;
+        this.receivedMessages = receivedMessages;
+        this.histogram = requireNonNull(histogram);
+        this.status = requireNonNull(status);
+    }
+
+    /**
+     * Achieved send rate in messages per second.
+     *
+     * @return achieved send rate.
+     */
+    long sendRate()
+    {
+        return sentMessages / iterations;
+    }
+
+    /**
+     * Achieved receive rate in messages per second.
+     *
+     * @return achieved receive rate.
+     */
+    long receiveRate()
+    {
+        return receivedMessages / iterations;
+    }
+
+    /**
+     * Get latency at a given percentile scaled to the output time unit.
+     *
+     * @param percentile  to get the value at.
+     * @param scaleRatio  to divide the recorded values by.
+     * @return scaled latency value.
+     */
+    double valueAtPercentile(final double percentile, final double scaleRatio)
+    {
+        return histogram.getValueAtPercentile(percentile) / scaleRatio;
+    }
+
+    /**
+     * Print a summary table of achieved rate against the latency percentiles.
+     *
+     * @param out      to print the table to.
+     * @param results  to be printed.
+     * @param timeUnit of the latency values.
+     */
+    static void printSummary(final PrintStream out, final List<StepResult> results, final TimeUnit timeUnit)
+    {
+        final double scaleRatio = Configuration.outputScaleRatio(timeUnit);
+        out.printf("%nSummary of RTT latencies in %s:%n", timeUnit);
+        out.printf("%14s %14s %14s %12s %12s %12s %12s %12s %6s%n",
+            "target rate", "sent rate", "received rate", "p50", "p99", "p99.9", "p99.99", "max", "status");
+
+        for (final StepResult result : results)
+        {
+            out.printf("%,14d %,14d %,14d", result.targetRate, result.sendRate(), result.receiveRate());
+            for (final double percentile : PERCENTILES)
+            {
+                out.printf(" %,12.3f", result.valueAtPercentile(percentile, scaleRatio));
+            }
+            out.printf(" %,12.3f %6s%n", result.histogram.getMaxValue() / scaleRatio, result.status);
+        }
+    }
+
+    /**
+     * Write the summary table as a CSV file.
+     *
+     * @param file     to write to.
+     * @param results  to be written.
+     * @param timeUnit of the latency values.
+     * @throws IOException if IO error occurs.
+     */
+    static void writeCsv(final Path file, final List<StepResult> results, final TimeUnit timeUnit)
+        throws IOException
+    {
+        final double scaleRatio = Configuration.outputScaleRatio(timeUnit);
+        try (PrintStream csvOutput = new PrintStream(file.toFile(), StandardCharsets.US_ASCII))
+        {
+            csvOutput.print("target rate,sent rate,received rate");
+            for (final double percentile : PERCENTILES)
+            {
+                csvOutput.print(",");
+                csvOutput.print(percentile);
+            }
+            csvOutput.print(",100.0,status,time unit");
+            csvOutput.println();
+
+            for (final StepResult result : results)
+            {
+                csvOutput.print(result.targetRate);
+                csvOutput.print(",");
+                csvOutput.print(result.sendRate());
+                csvOutput.print(",");
+                csvOutput.print(result.receiveRate());
+                for (final double percentile : PERCENTILES)
+                {
+                    csvOutput.print(",");
+                    csvOutput.print(result.valueAtPercentile(percentile, scaleRatio));
+                }
+                csvOutput.print(",");
+                csvOutput.print(result.histogram.getMaxValue() / scaleRatio);
+                csvOutput.print(",");
+                csvOutput.print(result.status);
+                csvOutput.print(",");
+                csvOutput.print(timeUnit);
+                csvOutput.println();
+            }
+        }
+    }
+
+    /**
+     * Check if the target rate was sustained without message loss.
+     *
+     * @return {@code true} if all expected messages were sent and received.
+     */
+    boolean isOk()
+    {
+        return OK == status;
+    }
+}
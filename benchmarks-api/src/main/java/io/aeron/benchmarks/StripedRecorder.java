@@ -0,0 +1,203 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.IntervalHistogramProvider;
+import org.HdrHistogram.SingleWriterRecorder;
+import org.HdrHistogram.ValueRecorder;
+
+import java.util.Arrays;
+
+/**
+ * A {@link ValueRecorder} which accepts values from multiple threads without contending on a shared histogram.
+ * <p>
+ * Every recording thread is assigned its own shard on its first value: a {@link SingleWriterRecorder} and a count of
+ * the recorded values padded to its own cache line. The shards are merged whenever an interval histogram is taken,
+ * e.g. by the background thread of a {@link LoggingPersistedHistogram} and at the end of the run, so the recording
+ * path never takes a lock nor shares a cache line with the other recording threads.
+ * <p>
+ * The shards are never released, so the recording threads are expected to be long-lived, e.g. the event loop of a
+ * transport.
+ */
+public final class StripedRecorder implements ValueRecorder, IntervalHistogramProvider<Histogram>
+{
+    private final int numberOfSignificantValueDigits;
+    private final ThreadLocal<Shard> threadShard = ThreadLocal.withInitial(this::newShard);
+    private volatile Shard[] shards = new Shard[0];
+    private long intervalStartTimeMs = System.currentTimeMillis();
+
+    /**
+     * Create a recorder whose shards auto-resize to the values recorded.
+     *
+     * @param numberOfSignificantValueDigits of the shards and of the interval histograms.
+     */
+    public StripedRecorder(final int numberOfSignificantValueDigits)
+    {
+        this.numberOfSignificantValueDigits = numberOfSignificantValueDigits;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void recordValue(final long value)
+    {
+        final Shard shard = threadShard.get();
+        shard.recorder.recordValue(value);
+        shard.increment(1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void recordValueWithCount(final long value, final long count)
+    {
+        final Shard shard = threadShard.get();
+        shard.recorder.recordValueWithCount(value, count);
+        shard.increment(count);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only the value itself is counted by {@link #recordedValues()}, not the values added to correct for the
+     * coordinated omission.
+     */
+    public void recordValueWithExpectedInterval(final long value, final long expectedIntervalBetweenValueSamples)
+    {
+        final Shard shard = threadShard.get();
+        shard.recorder.recordValueWithExpectedInterval(value, expectedIntervalBetweenValueSamples);
+        shard.increment(1);
+    }
+
+    /**
+     * Number of values recorded by all threads since the last {@link #reset()}. It is read without stopping the
+     * recording threads, so it may lag behind them.
+     *
+     * @return number of recorded values.
+     */
+    public long recordedValues()
+    {
+        long recordedValues = 0;
+        for (final Shard shard : shards)
+        {
+            recordedValues += shard.count.get() - shard.countAtReset;
+        }
+
+        return recordedValues;
+    }
+
+    /**
+     * Reset the values recorded by all threads. Must only be called while no values are being recorded, e.g. between
+     * the runs.
+     */
+    public synchronized void reset()
+    {
+        for (final Shard shard : shards)
+        {
+            shard.recorder.reset();
+            shard.countAtReset = shard.count.get();
+        }
+        intervalStartTimeMs = System.currentTimeMillis();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Histogram getIntervalHistogram()
+    {
+        return getIntervalHistogram(null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Histogram getIntervalHistogram(final Histogram histogramToRecycle)
+    {
+        final Histogram histogram = null != histogramToRecycle ?
+            histogramToRecycle : new Histogram(numberOfSignificantValueDigits);
+        getIntervalHistogramInto(histogram);
+
+        return histogram;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Any instance can be recycled as the shards are merged into it rather than swapped with it.
+     */
+    public Histogram getIntervalHistogram(final Histogram histogramToRecycle, final boolean enforceContainingInstance)
+    {
+        return getIntervalHistogram(histogramToRecycle);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void getIntervalHistogramInto(final Histogram targetHistogram)
+    {
+        targetHistogram.reset();
+        for (final Shard shard : shards)
+        {
+            shard.interval = shard.recorder.getIntervalHistogram(shard.interval);
+            targetHistogram.add(shard.interval);
+        }
+
+        final long nowMs = System.currentTimeMillis();
+        targetHistogram.setStartTimeStamp(intervalStartTimeMs);
+        targetHistogram.setEndTimeStamp(nowMs);
+        intervalStartTimeMs = nowMs;
+    }
+
+    /**
+     * Number of threads which recorded a value so far.
+     *
+     * @return number of shards.
+     */
+    int shardCount()
+    {
+        return shards.length;
+    }
+
+    private synchronized Shard newShard()
+    {
+        final Shard shard = new Shard(new SingleWriterRecorder(numberOfSignificantValueDigits));
+        final Shard[] shards = Arrays.copyOf(this.shards, this.shards.length + 1);
+        shards[shards.length - 1] = shard;
+        this.shards = shards;
+
+        return shard;
+    }
+
+    static final class Shard
+    {
+        final SingleWriterRecorder recorder;
+        final PaddedCounter count = new PaddedCounter();
+        volatile long countAtReset;
+        Histogram interval;
+
+        Shard(final SingleWriterRecorder recorder)
+        {
+            this.recorder = recorder;
+        }
+
+        void increment(final long delta)
+        {
+            final PaddedCounter count = this.count;
+            count.setRelease(count.get() + delta);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.regex.Pattern;
+
+/**
+ * Pins the threads of the benchmarks to the CPUs given by a layout which maps a thread role to a CPU set, so that no
+ * external tool has to look the threads up by name on every box, e.g.:
+ * <pre>
+ * -Dio.aeron.benchmarks.affinity=load-test-rig=2;driver-conductor=1;sender=3;receiver=4;progress-reporter=0
+ * </pre>
+ * The CPU sets use the {@code taskset} list syntax, e.g. {@code 2} or {@code 4-5,7}. A thread pins itself when it
+ * starts, using its id from {@code /proc/thread-self} and {@code taskset}, so this is only supported on Linux. A
+ * failure to pin is reported in the {@link #appliedLayout()} rather than failing the benchmark.
+ * <p>
+ * A new thread inherits the CPU set of the thread which created it, so when a layout is configured a thread whose role
+ * is not part of it is reset to the CPUs of the process rather than left on the CPUs of e.g. the load test rig.
+ */
+public final class ThreadAffinity
+{
+    /**
+     * Name of the system property to configure the affinity layout as {@code role=cpus} pairs separated by {@code ;}.
+     * Defaults to no pinning.
+     */
+    public static final String AFFINITY_PROP_NAME = "io.aeron.benchmarks.affinity";
+
+    /**
+     * Role of the thread which sends the messages and records the RTT in the {@link LoadTestRig}.
+     */
+    public static final String LOAD_TEST_RIG_ROLE = "load-test-rig";
+
+    /**
+     * Role prefix of the sender threads of the {@link LoadTestRig} when more than one is configured, followed by
+     * {@code -<index>}, e.g. {@code load-test-rig-sender-1}.
+     */
+    public static final String LOAD_TEST_RIG_SENDER_ROLE = "load-test-rig-sender";
+
+    /**
+     * Role of the thread which receives the messages in the {@link LoadTestRig} when the receiver is decoupled from the
+     * sender, followed by {@code -<index>} for the receiver of each sender thread when more than one is configured.
+     */
+    public static final String LOAD_TEST_RIG_RECEIVER_ROLE = "load-test-rig-receiver";
+
+    /**
+     * Role of the thread of the {@link AsyncProgressReporter}.
+     */
+    public static final String PROGRESS_REPORTER_ROLE = "progress-reporter";
+
+    /**
+     * Role of the conductor thread of an embedded media driver.
+     */
+    public static final String DRIVER_CONDUCTOR_ROLE = "driver-conductor";
+
+    /**
+     * Role of the sender thread of an embedded media driver.
+     */
+    public static final String SENDER_ROLE = "sender";
+
+    /**
+     * Role of the receiver thread of an embedded media driver.
+     */
+    public static final String RECEIVER_ROLE = "receiver";
+
+    private static final Pattern CPU_SET_PATTERN = Pattern.compile("\\d+(-\\d+)?(,\\d+(-\\d+)?)*");
+    private static final Path THREAD_SELF = Paths.get("/proc/thread-self");
+    private static final Path PROCESS_STATUS = Paths.get("/proc/self/status");
+    private static final String CPUS_ALLOWED_LIST = "Cpus_allowed_list:";
+    private static final Map<String, String> APPLIED_LAYOUT = new ConcurrentSkipListMap<>();
+
+    /**
+     * Captured when the class is initialised, i.e. before any thread can be pinned, as the threads pinned later
+     * include the main thread of the rig.
+     */
+    private static final String PROCESS_CPUS = cpusAllowedList(PROCESS_STATUS);
+
+    private ThreadAffinity()
+    {
+    }
+
+    /**
+     * Pin the current thread to the CPU set of its role if the role is part of the configured layout. If a layout is
+     * configured but does not contain the role then the thread is reset to the CPUs of the process, so that it does
+     * not run on the CPU set inherited from the thread which created it.
+     *
+     * @param role of the current thread.
+     */
+    public static void pinCurrentThread(final String role)
+    {
+        final Map<String, String> layout = parseLayout(System.getProperty(AFFINITY_PROP_NAME));
+        if (layout.isEmpty())
+        {
+            return;
+        }
+
+        final String cpus = layout.get(role);
+        if (null == cpus)
+        {
+            final String processCpus = processCpus();
+            if (null != processCpus)
+            {
+                final String failure = taskset(processCpus);
+                if (null != failure)
+                {
+                    System.err.println("Failed to reset thread '" + role + "' to CPUs " + processCpus + ": " + failure);
+                }
+            }
+
+            return;
+        }
+
+        String threadId = "?";
+        String failure;
+        try
+        {
+            threadId = threadId();
+            failure = taskset(cpus);
+        }
+        catch (final IOException ex)
+        {
+            failure = ex.toString();
+        }
+
+        if (null == failure)
+        {
+            APPLIED_LAYOUT.put(role, cpus + " (tid " + threadId + ")");
+        }
+        else
+        {
+            APPLIED_LAYOUT.put(role, cpus + " (failed: " + failure + ")");
+            System.err.println("Failed to pin thread '" + role + "' to CPUs " + cpus + ": " + failure);
+        }
+    }
+
+    /**
+     * Create a thread factory whose threads pin themselves to the CPU set of a role before running, e.g. for the
+     * agents of an embedded media driver.
+     *
+     * @param role of the created threads.
+     * @return thread factory for the role.
+     */
+    public static ThreadFactory threadFactory(final String role)
+    {
+        return (runnable) -> new Thread(() ->
+        {
+            pinCurrentThread(role);
+            runnable.run();
+        });
+    }
+
+    /**
+     * Is an affinity layout configured.
+     *
+     * @return {@code true} if {@link #AFFINITY_PROP_NAME} is set.
+     */
+    public static boolean isConfigured()
+    {
+        return !parseLayout(System.getProperty(AFFINITY_PROP_NAME)).isEmpty();
+    }
+
+    /**
+     * The layout applied so far in this JVM, one {@code role=cpus (tid)} line per pinned thread.
+     *
+     * @return applied layout or an empty string if no thread was pinned.
+     */
+    public static String appliedLayout()
+    {
+        final StringBuilder builder = new StringBuilder();
+        for (final Map.Entry<String, String> entry : APPLIED_LAYOUT.entrySet())
+        {
+            builder.append(entry.getKey()).append('=').append(entry.getValue()).append(System.lineSeparator());
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * The CPUs the current thread is allowed to run on.
+     *
+     * @return CPU set in the {@code taskset} list syntax or {@code null} if it is not known on this platform.
+     */
+    static String currentThreadCpus()
+    {
+        return cpusAllowedList(THREAD_SELF.resolve("status"));
+    }
+
+    /**
+     * The CPUs the process was allowed to run on before any of its threads was pinned.
+     *
+     * @return CPU set in the {@code taskset} list syntax or {@code null} if it is not known on this platform.
+     */
+    static String processCpus()
+    {
+        return PROCESS_CPUS;
+    }
+
+    private static String cpusAllowedList(final Path status)
+    {
+        try
+        {
+            for (final String line : Files.readAllLines(status, StandardCharsets.US_ASCII))
+            {
+                if (line.startsWith(CPUS_ALLOWED_LIST))
+                {
+                    return line.substring(CPUS_ALLOWED_LIST.length()).trim();
+                }
+            }
+        }
+        catch (final IOException ignore)
+        {
+        }
+
+        return null;
+    }
+
+    private static String threadId() throws IOException
+    {
+        return Files.readSymbolicLink(THREAD_SELF).getFileName().toString();
+    }
+
+    private static String taskset(final String cpus)
+    {
+        try
+        {
+            final Process process = new ProcessBuilder("taskset", "-pc", cpus, threadId())
+                .redirectErrorStream(true)
+                .start();
+            final String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.US_ASCII);
+            return 0 == process.waitFor() ? null : output.trim();
+        }
+        catch (final IOException ex)
+        {
+            return ex.toString();
+        }
+        catch (final InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+            return "interrupted";
+        }
+    }
+
+    static Map<String, String> parseLayout(final String value)
+    {
+        if (null == value || value.isBlank())
+        {
+            return Collections.emptyMap();
+        }
+
+        final Map<String, String> layout = new TreeMap<>();
+        for (final String pair : value.split(";"))
+        {
+            if (pair.isBlank())
+            {
+                continue;
+            }
+
+            final int index = pair.indexOf('=');
+            final String role = index > 0 ? pair.substring(0, index).trim() : "";
+            final String cpus = index > 0 ? pair.substring(index + 1).replace(" ", "") : "";
+            if (role.isEmpty() || !CPU_SET_PATTERN.matcher(cpus).matches())
+            {
+                throw new IllegalArgumentException(
+                    "invalid '" + AFFINITY_PROP_NAME + "' entry, expected 'role=cpus' but got: " + pair);
+            }
+
+            if (null != layout.put(role, cpus))
+            {
+                throw new IllegalArgumentException("duplicate '" + AFFINITY_PROP_NAME + "' role: " + role);
+            }
+        }
+
+        return layout;
+    }
+}
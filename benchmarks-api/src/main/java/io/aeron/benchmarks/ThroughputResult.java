@@ -0,0 +1,125 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Throughput of a closed-loop run of the {@link LoadTestRig}, i.e. the number of replies received in every second.
+ */
+final class ThroughputResult
+{
+    /**
+     * File name suffix for the per second throughput of a closed-loop run.
+     */
+    static final String THROUGHPUT_FILE_SUFFIX = "-throughput.csv";
+
+    final int window;
+    final long[] messagesPerSecond;
+
+    ThroughputResult(final int window, final long[] messagesPerSecond)
+    {
+        this.window = window;
+        this.messagesPerSecond = messagesPerSecond;
+    }
+
+    /**
+     * Average number of messages received per second.
+     *
+     * @return average throughput in messages per second.
+     */
+    long averageRate()
+    {
+        long total = 0;
+        for (final long messages : messagesPerSecond)
+        {
+            total += messages;
+        }
+
+        return total / messagesPerSecond.length;
+    }
+
+    /**
+     * Lowest number of messages received in a second.
+     *
+     * @return minimum throughput in messages per second.
+     */
+    long minRate()
+    {
+        long min = Long.MAX_VALUE;
+        for (final long messages : messagesPerSecond)
+        {
+            min = Math.min(min, messages);
+        }
+
+        return min;
+    }
+
+    /**
+     * Highest number of messages received in a second.
+     *
+     * @return maximum throughput in messages per second.
+     */
+    long maxRate()
+    {
+        long max = 0;
+        for (final long messages : messagesPerSecond)
+        {
+            max = Math.max(max, messages);
+        }
+
+        return max;
+    }
+
+    /**
+     * Print the per second throughput followed by a summary line.
+     *
+     * @param out to print to.
+     */
+    void printSummary(final PrintStream out)
+    {
+        out.printf("%nThroughput in msgs/sec with %,d messages in flight:%n", window);
+        for (int i = 0; i < messagesPerSecond.length; i++)
+        {
+            out.printf("%6d %,15d%n", i + 1, messagesPerSecond[i]);
+        }
+        out.printf("avg=%,d min=%,d max=%,d msgs/sec%n", averageRate(), minRate(), maxRate());
+    }
+
+    /**
+     * Write the per second throughput as a CSV file.
+     *
+     * @param file to write to.
+     * @throws IOException if IO error occurs.
+     */
+    void writeCsv(final Path file) throws IOException
+    {
+        try (PrintStream csvOutput = new PrintStream(file.toFile(), StandardCharsets.US_ASCII))
+        {
+            csvOutput.println("second,messages");
+            for (int i = 0; i < messagesPerSecond.length; i++)
+            {
+                csvOutput.print(i + 1);
+                csvOutput.print(",");
+                csvOutput.print(messagesPerSecond[i]);
+                csvOutput.println();
+            }
+        }
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.agrona.IoUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Read-only view of a binary capture of traffic which can be replayed by the {@link LoadTestRig}.
+ * <p>
+ * The file is a sequence of packed little-endian records of {@link #RECORD_LENGTH} bytes each:
+ * <pre>
+ *   0                   1                   2                   3
+ *   0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ *  +---------------------------------------------------------------+
+ *  |                      Offset in nanoseconds                    |
+ *  |                                                               |
+ *  +---------------------------------------------------------------+
+ *  |                     Message length in bytes                   |
+ *  +---------------------------------------------------------------+
+ * </pre>
+ * The offset is relative to the start of the capture and must not decrease from one record to the next.
+ * <p>
+ * The file is memory-mapped in windows of a fixed number of records so that captures larger than 2GB can be read,
+ * and reading a record does not allocate. Records are expected to be read in order, i.e. the window is remapped
+ * when a record outside of the current window is accessed.
+ */
+public final class TraceFile implements AutoCloseable
+{
+    /**
+     * Offset of the {@code long} offset in nanoseconds within a record.
+     */
+    public static final int OFFSET_NS_OFFSET = 0;
+
+    /**
+     * Offset of the {@code int} message length within a record.
+     */
+    public static final int MESSAGE_LENGTH_OFFSET = OFFSET_NS_OFFSET + Long.BYTES;
+
+    /**
+     * Length of a record in bytes.
+     */
+    public static final int RECORD_LENGTH = MESSAGE_LENGTH_OFFSET + Integer.BYTES;
+
+    /**
+     * Number of records mapped at a time, i.e. 768MB windows.
+     */
+    static final int DEFAULT_WINDOW_RECORDS = 64 * 1024 * 1024;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final long recordCount;
+    private final int windowRecords;
+    private final UnsafeBuffer buffer = new UnsafeBuffer(0, 0);
+    private MappedByteBuffer mappedBuffer;
+    private long windowStartIndex;
+    private long windowEndIndex;
+
+    private TraceFile(final Path file, final FileChannel channel, final long recordCount, final int windowRecords)
+    {
+        this.file = file;
+        this.channel = channel;
+        this.recordCount = recordCount;
+        this.windowRecords = windowRecords;
+    }
+
+    /**
+     * Open a trace file for reading.
+     *
+     * @param file to open.
+     * @return the trace file.
+     * @throws IllegalArgumentException if the file length is not a multiple of the {@link #RECORD_LENGTH}.
+     * @throws IOException              if the file cannot be opened.
+     */
+    public static TraceFile open(final Path file) throws IOException
+    {
+        return open(file, DEFAULT_WINDOW_RECORDS);
+    }
+
+    static TraceFile open(final Path file, final int windowRecords) throws IOException
+    {
+        final FileChannel channel = FileChannel.open(file, READ);
+        try
+        {
+            final long length = channel.size();
+            if (0 != length % RECORD_LENGTH)
+            {
+                throw new IllegalArgumentException("invalid trace file '" + file + "': length " + length +
+                    " is not a multiple of " + RECORD_LENGTH + " bytes");
+            }
+
+            return new TraceFile(file, channel, length / RECORD_LENGTH, windowRecords);
+        }
+        catch (final RuntimeException ex)
+        {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Number of records in the file.
+     *
+     * @return number of records in the file.
+     */
+    public long recordCount()
+    {
+        return recordCount;
+    }
+
+    /**
+     * Offset in nanoseconds of the record relative to the start of the capture.
+     *
+     * @param index of the record.
+     * @return offset in nanoseconds.
+     */
+    public long offsetNs(final long index)
+    {
+        return buffer.getLong(recordOffset(index) + OFFSET_NS_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * Length in bytes of the message captured in the record.
+     *
+     * @param index of the record.
+     * @return message length in bytes.
+     */
+    public int messageLength(final long index)
+    {
+        return buffer.getInt(recordOffset(index) + MESSAGE_LENGTH_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * Duration of the capture, i.e. the offset of the last record.
+     *
+     * @return duration in nanoseconds or {@code 0} if the file is empty.
+     */
+    public long durationNs()
+    {
+        return 0 == recordCount ? 0 : offsetNs(recordCount - 1);
+    }
+
+    /**
+     * Read all records and check that the offsets do not decrease and that every message is at least
+     * {@code minMessageLength} bytes long.
+     *
+     * @param minMessageLength smallest message length which can be sent.
+     * @return length of the largest message in the file or {@code minMessageLength} if the file is empty.
+     * @throws IllegalArgumentException if a record is invalid.
+     */
+    public int validate(final int minMessageLength)
+    {
+        int maxMessageLength = minMessageLength;
+        long previousOffsetNs = 0;
+        for (long i = 0; i < recordCount; i++)
+        {
+            final long offsetNs = offsetNs(i);
+            if (offsetNs < previousOffsetNs)
+            {
+                throw new IllegalArgumentException("invalid trace file '" + file + "': record " + i +
+                    " offset " + offsetNs + "ns is less than the previous offset " + previousOffsetNs + "ns");
+            }
+
+            final int messageLength = messageLength(i);
+            if (messageLength < minMessageLength)
+            {
+                throw new IllegalArgumentException("invalid trace file '" + file + "': record " + i +
+                    " message length " + messageLength + " is less than " + minMessageLength);
+            }
+
+            previousOffsetNs = offsetNs;
+            maxMessageLength = Math.max(maxMessageLength, messageLength);
+        }
+
+        return maxMessageLength;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void close() throws IOException
+    {
+        unmap();
+        channel.close();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String toString()
+    {
+        return file.toString();
+    }
+
+    private int recordOffset(final long index)
+    {
+        if (index < windowStartIndex || index >= windowEndIndex)
+        {
+            map(index);
+        }
+
+        return (int)(index - windowStartIndex) * RECORD_LENGTH;
+    }
+
+    private void map(final long index)
+    {
+        if (index < 0 || index >= recordCount)
+        {
+            throw new IndexOutOfBoundsException("index=" + index + ", recordCount=" + recordCount);
+        }
+
+        unmap();
+        final long startIndex = index - (index % windowRecords);
+        final long endIndex = Math.min(recordCount, startIndex + windowRecords);
+        try
+        {
+            mappedBuffer = channel.map(
+                FileChannel.MapMode.READ_ONLY, startIndex * RECORD_LENGTH, (endIndex - startIndex) * RECORD_LENGTH);
+        }
+        catch (final IOException ex)
+        {
+            throw new UncheckedIOException(ex);
+        }
+
+        buffer.wrap(mappedBuffer);
+        windowStartIndex = startIndex;
+        windowEndIndex = endIndex;
+    }
+
+    private void unmap()
+    {
+        if (null != mappedBuffer)
+        {
+            buffer.wrap(0, 0);
+            IoUtil.unmap(mappedBuffer);
+            mappedBuffer = null;
+            windowStartIndex = 0;
+            windowEndIndex = 0;
+        }
+    }
+}
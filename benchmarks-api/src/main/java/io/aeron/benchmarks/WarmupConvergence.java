@@ -0,0 +1,112 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.HdrHistogram.Histogram;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.function.LongSupplier;
+
+/**
+ * Detects when an adaptive warmup of the {@link LoadTestRig} has converged, i.e. when the p50 and p99 latencies of
+ * {@link #STABLE_WINDOWS} consecutive warmup windows are each within a tolerance of the previous window and the JIT
+ * compiler spent at most {@link #QUIET_COMPILATION_TIME_MS} compiling during each of these windows.
+ */
+final class WarmupConvergence
+{
+    /**
+     * Number of consecutive stable windows required for the warmup to converge.
+     */
+    static final int STABLE_WINDOWS = 2;
+
+    /**
+     * Maximum JIT compilation time in milliseconds within a window for the compilation activity to be quiet.
+     */
+    static final long QUIET_COMPILATION_TIME_MS = 10;
+
+    private final int tolerancePercent;
+    private final LongSupplier compilationTimeMs;
+    private long lastCompilationTimeMs;
+    private long lastP50 = -1;
+    private long lastP99 = -1;
+    private int stableWindows;
+
+    WarmupConvergence(final int tolerancePercent, final LongSupplier compilationTimeMs)
+    {
+        this.tolerancePercent = tolerancePercent;
+        this.compilationTimeMs = compilationTimeMs;
+        this.lastCompilationTimeMs = compilationTimeMs.getAsLong();
+    }
+
+    /**
+     * Total JIT compilation time of the current JVM.
+     *
+     * @return supplier of the accumulated compilation time in milliseconds, which always returns zero if the JVM does
+     * not support the compilation time monitoring.
+     */
+    static LongSupplier jitCompilationTimeMs()
+    {
+        final CompilationMXBean compilationMXBean = ManagementFactory.getCompilationMXBean();
+        if (null == compilationMXBean || !compilationMXBean.isCompilationTimeMonitoringSupported())
+        {
+            return () -> 0;
+        }
+
+        return compilationMXBean::getTotalCompilationTime;
+    }
+
+    /**
+     * Record the latencies of a completed warmup window.
+     *
+     * @param histogram of the latencies recorded during the window.
+     * @return {@code true} if the warmup has converged.
+     */
+    boolean onWindow(final Histogram histogram)
+    {
+        final long compilationTimeMs = this.compilationTimeMs.getAsLong();
+        final boolean compilationQuiet = compilationTimeMs - lastCompilationTimeMs <= QUIET_COMPILATION_TIME_MS;
+        lastCompilationTimeMs = compilationTimeMs;
+
+        if (0 == histogram.getTotalCount())
+        {
+            lastP50 = -1;
+            lastP99 = -1;
+            stableWindows = 0;
+            return false;
+        }
+
+        final long p50 = histogram.getValueAtPercentile(50.0);
+        final long p99 = histogram.getValueAtPercentile(99.0);
+        if (compilationQuiet && isWithinTolerance(lastP50, p50) && isWithinTolerance(lastP99, p99))
+        {
+            stableWindows++;
+        }
+        else
+        {
+            stableWindows = 0;
+        }
+        lastP50 = p50;
+        lastP99 = p99;
+
+        return stableWindows >= STABLE_WINDOWS;
+    }
+
+    private boolean isWithinTolerance(final long lastValue, final long value)
+    {
+        return lastValue >= 0 && Math.abs(value - lastValue) * 100 <= lastValue * tolerancePercent;
+    }
+}
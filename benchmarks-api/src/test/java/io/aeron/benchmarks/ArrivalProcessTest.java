@@ -0,0 +1,114 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArrivalProcessTest
+{
+    @Test
+    void fixedSendsAtFixedInterval()
+    {
+        final ArrivalProcess arrivalProcess = ArrivalProcess.newInstance("fixed", 0);
+        arrivalProcess.reset(1000, 4, 9);
+
+        assertInstanceOf(ArrivalProcess.Fixed.class, arrivalProcess);
+        assertEquals(444445444L, arrivalProcess.nextSendTimeNs(1000));
+        assertEquals(888889888L, arrivalProcess.nextSendTimeNs(444445444L));
+    }
+
+    @Test
+    void poissonHasConfiguredMeanRateAndIsReproducible()
+    {
+        final ArrivalProcess first = ArrivalProcess.newInstance("poisson:7", 0);
+        final ArrivalProcess second = ArrivalProcess.newInstance("poisson:7", 0);
+        final ArrivalProcess otherSender = ArrivalProcess.newInstance("poisson:7", 1);
+        first.reset(0, 1, 1000);
+        second.reset(0, 1, 1000);
+        otherSender.reset(0, 1, 1000);
+
+        long sendTimeNs = 0;
+        long otherSendTimeNs = 0;
+        boolean sameAsOtherSender = true;
+        final int samples = 100_000;
+        for (int i = 0; i < samples; i++)
+        {
+            final long nextSendTimeNs = first.nextSendTimeNs(sendTimeNs);
+            assertTrue(nextSendTimeNs >= sendTimeNs);
+            assertEquals(nextSendTimeNs, second.nextSendTimeNs(sendTimeNs));
+            otherSendTimeNs = otherSender.nextSendTimeNs(otherSendTimeNs);
+            sameAsOtherSender &= otherSendTimeNs == nextSendTimeNs;
+            sendTimeNs = nextSendTimeNs;
+        }
+
+        assertFalse(sameAsOtherSender);
+        assertEquals(MILLISECONDS.toNanos(1), sendTimeNs / samples, MILLISECONDS.toNanos(1) / 50.0);
+    }
+
+    @Test
+    void onOffSendsOnlyDuringOnPeriod()
+    {
+        final ArrivalProcess arrivalProcess = ArrivalProcess.newInstance("on-off:10ms/30ms", 0);
+        final long startTimeNs = 5;
+        arrivalProcess.reset(startTimeNs, 2, 200);
+
+        // Mean interval of 10ms is compressed into the 10ms on period of every 40ms.
+        assertEquals(startTimeNs + 2_500_000L, arrivalProcess.nextSendTimeNs(startTimeNs));
+        assertEquals(startTimeNs + 7_500_000L, arrivalProcess.nextSendTimeNs(startTimeNs + 5_000_000L));
+        assertEquals(startTimeNs + 40_000_000L, arrivalProcess.nextSendTimeNs(startTimeNs + 7_500_000L));
+        assertEquals(startTimeNs + 42_500_000L, arrivalProcess.nextSendTimeNs(startTimeNs + 40_000_000L));
+    }
+
+    @Test
+    void piecewiseScalesRateBySegmentWeight()
+    {
+        final ArrivalProcess arrivalProcess = ArrivalProcess.newInstance("piecewise:1s*1,1s*0,2s*3.5", 0);
+        arrivalProcess.reset(0, 1, 1000);
+
+        // Mean weight is 2, so the weight 1 segment runs at half of the rate and the weight 3.5 segment at 1.75x.
+        assertEquals(2_000_000L, arrivalProcess.nextSendTimeNs(0));
+        assertEquals(998_000_000L, arrivalProcess.nextSendTimeNs(996_000_000L));
+        assertEquals(2_000_000_000L, arrivalProcess.nextSendTimeNs(998_000_000L));
+        assertEquals(2_000_571_428L, arrivalProcess.nextSendTimeNs(2_000_000_000L));
+        assertEquals(4_002_000_000L, arrivalProcess.nextSendTimeNs(4_000_000_000L));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "fixed:1", "poisson:x", "on-off", "on-off:10ms", "on-off:0ms/10ms", "on-off:10/10ms", "piecewise",
+        "piecewise:1s", "piecewise:1s*-1", "piecewise:1s*0,2s*0", "piecewise:0s*1", "piecewise:1s*abc" })
+    void newInstanceThrowsIllegalArgumentExceptionIfSpecIsInvalid(final String spec)
+    {
+        final IllegalArgumentException ex =
+            assertThrows(IllegalArgumentException.class, () -> ArrivalProcess.newInstance(spec, 0));
+
+        assertTrue(ex.getMessage().startsWith("invalid arrival process '" + spec + "'"), ex.getMessage());
+    }
+
+    @Test
+    void newInstanceThrowsIllegalArgumentExceptionIfProcessIsUnknown()
+    {
+        final IllegalArgumentException ex =
+            assertThrows(IllegalArgumentException.class, () -> ArrivalProcess.newInstance("gamma", 0));
+
+        assertTrue(ex.getMessage().startsWith("unknown arrival process 'gamma'"));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ClockOffsetEstimatorTest
+{
+    private final ClockOffsetEstimator estimator = new ClockOffsetEstimator();
+
+    @Test
+    void hasNoEstimateWithoutSamples()
+    {
+        assertEquals(0, estimator.samples());
+        assertEquals(0, estimator.offsetNs());
+        assertEquals(Long.MAX_VALUE, estimator.uncertaintyNs());
+    }
+
+    @Test
+    void estimatesOffsetFromASymmetricExchange()
+    {
+        // server clock is 1000ns ahead, 50ns each way and 20ns of processing
+        estimator.onSample(100, 1150, 1170, 220);
+
+        assertEquals(1, estimator.samples());
+        assertEquals(1000, estimator.offsetNs());
+        assertEquals(50, estimator.uncertaintyNs());
+    }
+
+    @Test
+    void usesTheExchangeWithTheShortestRoundTrip()
+    {
+        estimator.onSample(0, 1500, 1510, 1000);
+        estimator.onSample(2000, 3010, 3020, 2030);
+        estimator.onSample(5000, 6020, 6030, 5500);
+
+        assertEquals(3, estimator.samples());
+        assertEquals(1000, estimator.offsetNs());
+        assertEquals(10, estimator.uncertaintyNs());
+    }
+
+    @Test
+    void estimatesNegativeOffset()
+    {
+        estimator.onSample(10_000, 7_040, 7_050, 10_090);
+
+        assertEquals(-3_000, estimator.offsetNs());
+        assertEquals(40, estimator.uncertaintyNs());
+    }
+
+    @Test
+    void uncertaintyAcrossARunIncludesTheDrift()
+    {
+        final ClockOffsetEstimator after = new ClockOffsetEstimator();
+        estimator.onSample(100, 1150, 1170, 220);
+        after.onSample(10_000, 11_115, 11_125, 10_150);
+
+        assertEquals(1_045, after.offsetNs());
+        assertEquals(70, after.uncertaintyNs());
+        assertEquals(70 + 45, ClockOffsetEstimator.uncertaintyNs(estimator, after));
+    }
+
+    @Test
+    void uncertaintyAcrossARunIsUnknownWithoutSamples()
+    {
+        estimator.onSample(100, 1150, 1170, 220);
+
+        assertEquals(Long.MAX_VALUE, ClockOffsetEstimator.uncertaintyNs(estimator, new ClockOffsetEstimator()));
+    }
+
+    @Test
+    void resetDiscardsTheSamples()
+    {
+        estimator.onSample(100, 1150, 1170, 220);
+
+        estimator.reset();
+
+        assertEquals(0, estimator.samples());
+        assertEquals(0, estimator.offsetNs());
+        assertEquals(Long.MAX_VALUE, estimator.uncertaintyNs());
+    }
+}
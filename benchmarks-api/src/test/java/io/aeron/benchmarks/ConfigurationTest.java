@@ -17,7 +17,9 @@ package io.aeron.benchmarks;
 
 import org.HdrHistogram.ValueRecorder;
 import org.agrona.AsciiNumberFormatException;
+import org.agrona.concurrent.BackoffIdleStrategy;
 import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.agrona.concurrent.IdleStrategy;
 import org.agrona.concurrent.NanoClock;
 import org.agrona.concurrent.NoOpIdleStrategy;
 import org.agrona.concurrent.YieldingIdleStrategy;
@@ -196,6 +198,355 @@ class ConfigurationTest
             -42, ex.getMessage());
     }
 
+    @Test
+    void throwsIllegalArgumentExceptionIfStepRateIsInvalid()
+    {
+        final Builder builder = new Builder()
+            .messageRate(100)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .stepRates(100, 0, 300);
+
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, builder::build);
+
+        assertEquals("'" + STEP_RATES_PROP_NAME + "' cannot be less than 1, got: 0", ex.getMessage());
+    }
+
+    @Test
+    void throwsIllegalArgumentExceptionIfStepRatesAreCombinedWithTrackHistory()
+    {
+        final Builder builder = new Builder()
+            .messageRate(100)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .trackHistory(true)
+            .stepRates(100, 200);
+
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, builder::build);
+
+        assertEquals(
+            "'" + STEP_RATES_PROP_NAME + "' cannot be combined with '" + TRACK_HISTORY_PROP_NAME + "'",
+            ex.getMessage());
+    }
+
+    @Test
+    void fromSystemPropertiesParsesSlo()
+    {
+        setProperty(OUTPUT_FILE_NAME_PROP_NAME, "test-out-prefix");
+        setProperty(MESSAGE_RATE_PROP_NAME, "42K");
+        setProperty(MESSAGE_TRANSCEIVER_PROP_NAME, InMemoryMessageTransceiver.class.getName());
+        setProperty(SLO_PROP_NAME, "p99.9<50us");
+
+        final Configuration configuration = fromSystemProperties();
+
+        assertEquals(99.9, configuration.slo().percentile());
+        assertEquals(50_000, configuration.slo().thresholdNs());
+        assertEquals("p99.9<50us", configuration.slo().toString());
+    }
+
+    @Test
+    void throwsIllegalArgumentExceptionIfSloIsInvalid()
+    {
+        final Builder builder = new Builder()
+            .messageRate(100)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .slo("p99.9>50us");
+
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, builder::build);
+
+        assertTrue(ex.getMessage().startsWith("'" + SLO_PROP_NAME + "' invalid SLO 'p99.9>50us'"));
+    }
+
+    @Test
+    void throwsIllegalArgumentExceptionIfSloSearchMinRateExceedsMessageRate()
+    {
+        final Builder builder = new Builder()
+            .messageRate(100)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .slo("p99<1ms")
+            .sloSearchMinRate(101);
+
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, builder::build);
+
+        assertEquals(
+            "'" + SLO_SEARCH_MIN_RATE_PROP_NAME + "' cannot be greater than 100, got: 101", ex.getMessage());
+    }
+
+    @Test
+    void throwsIllegalArgumentExceptionIfArrivalProcessIsInvalid()
+    {
+        final Builder builder = new Builder()
+            .messageRate(100)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .arrivalProcess("on-off:10ms");
+
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, builder::build);
+
+        assertEquals(
+            "'" + ARRIVAL_PROCESS_PROP_NAME + "' invalid arrival process 'on-off:10ms'", ex.getMessage());
+    }
+
+    @Test
+    void throwsIllegalArgumentExceptionIfMessageSizesAreInvalid()
+    {
+        final Builder builder = new Builder()
+            .messageRate(100)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .messageSizes("8:1");
+
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, builder::build);
+
+        assertEquals("'" + MESSAGE_SIZES_PROP_NAME + "' invalid message sizes '8:1', size cannot be less than " +
+            MIN_MESSAGE_LENGTH + ", got: 8", ex.getMessage());
+    }
+
+    @Test
+    void throwsIllegalArgumentExceptionIfMessageSizeHistogramsAreUsedWithoutMessageSizes()
+    {
+        final Builder builder = new Builder()
+            .messageRate(100)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .messageSizeHistograms(true);
+
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, builder::build);
+
+        assertEquals(
+            "'" + MESSAGE_SIZE_HISTOGRAMS_PROP_NAME + "' requires '" + MESSAGE_SIZES_PROP_NAME + "'",
+            ex.getMessage());
+    }
+
+    @Test
+    void messageSizeHistogramsCanBeUsedWithMultipleSenderThreadsAndStepRates()
+    {
+        final Configuration configuration = new Builder()
+            .messageRate(100)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .messageSizes("32,64")
+            .messageSizeHistograms(true)
+            .senderThreads(2)
+            .stepRates(100, 200)
+            .trackHistory(false)
+            .build();
+
+        assertTrue(configuration.messageSizeHistograms());
+        assertEquals(2, configuration.senderThreads());
+    }
+
+    @Test
+    void throwsIllegalArgumentExceptionIfOneWayLatencyIsUsedWithMultipleSenderThreads()
+    {
+        final Builder builder = new Builder()
+            .messageRate(100)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .oneWayLatency(true)
+            .senderThreads(2);
+
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, builder::build);
+
+        assertEquals("'" + ONE_WAY_LATENCY_PROP_NAME + "' cannot be combined with '" +
+            SENDER_THREADS_PROP_NAME + "' greater than 1", ex.getMessage());
+    }
+
+    @Test
+    void throwsIllegalArgumentExceptionIfOneWayLatencyIsUsedWithStepRates()
+    {
+        final Builder builder = new Builder()
+            .messageRate(100)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .oneWayLatency(true)
+            .stepRates(10, 20);
+
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, builder::build);
+
+        assertEquals("'" + ONE_WAY_LATENCY_PROP_NAME + "' cannot be combined with '" +
+            STEP_RATES_PROP_NAME + "' or '" + SLO_PROP_NAME + "'", ex.getMessage());
+    }
+
+    @Test
+    void throwsIllegalArgumentExceptionIfClosedLoopWindowIsNegative()
+    {
+        final Builder builder = new Builder()
+            .messageRate(100)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .closedLoopWindow(-1);
+
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, builder::build);
+
+        assertEquals("'" + CLOSED_LOOP_WINDOW_PROP_NAME + "' cannot be less than 0, got: -1", ex.getMessage());
+    }
+
+    @Test
+    void throwsIllegalArgumentExceptionIfClosedLoopWindowIsCombinedWithDecoupledReceiver()
+    {
+        final Builder builder = new Builder()
+            .messageRate(100)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .decoupledReceiver(true)
+            .closedLoopWindow(16);
+
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, builder::build);
+
+        assertEquals("'" + CLOSED_LOOP_WINDOW_PROP_NAME + "' cannot be combined with '" + SENDER_THREADS_PROP_NAME +
+            "' greater than 1 or '" + DECOUPLED_RECEIVER_PROP_NAME + "'", ex.getMessage());
+    }
+
+    @Test
+    void throwsIllegalArgumentExceptionIfTraceFileDoesNotExist(final @TempDir Path tempDir)
+    {
+        final Path traceFile = tempDir.resolve("missing.bin");
+        final Builder builder = new Builder()
+            .messageRate(100)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .traceFile(traceFile);
+
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, builder::build);
+
+        assertEquals("'" + TRACE_FILE_PROP_NAME + "' file does not exist: " + traceFile, ex.getMessage());
+    }
+
+    @Test
+    void throwsIllegalArgumentExceptionIfTraceFileIsInvalid(final @TempDir Path tempDir) throws IOException
+    {
+        final Path traceFile = TraceFileTest.writeTrace(tempDir.resolve("trace.bin"), 0, 32, 10, 4);
+        final Builder builder = new Builder()
+            .messageRate(100)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .traceFile(traceFile);
+
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, builder::build);
+
+        assertEquals("'" + TRACE_FILE_PROP_NAME + "' invalid trace file '" + traceFile + "': record 1 message " +
+            "length 4 is less than " + MIN_MESSAGE_LENGTH, ex.getMessage());
+    }
+
+    @Test
+    void throwsIllegalArgumentExceptionIfTraceFileIsCombinedWithClosedLoopWindow(final @TempDir Path tempDir)
+        throws IOException
+    {
+        final Path traceFile = TraceFileTest.writeTrace(tempDir.resolve("trace.bin"), 0, 32);
+        final Builder builder = new Builder()
+            .messageRate(100)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .closedLoopWindow(8)
+            .traceFile(traceFile);
+
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, builder::build);
+
+        assertEquals("'" + TRACE_FILE_PROP_NAME + "' cannot be combined with '" + STEP_RATES_PROP_NAME + "', '" +
+            SLO_PROP_NAME + "' or '" + CLOSED_LOOP_WINDOW_PROP_NAME + "'", ex.getMessage());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 101 })
+    void throwsIllegalArgumentExceptionIfWarmupToleranceIsOutOfRange(final int warmupTolerance)
+    {
+        final Builder builder = new Builder()
+            .messageRate(100)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .warmupTolerance(warmupTolerance);
+
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, builder::build);
+
+        assertTrue(ex.getMessage().startsWith("'" + WARMUP_TOLERANCE_PROP_NAME + "' cannot be"), ex.getMessage());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { -1, 65536 })
+    void throwsIllegalArgumentExceptionIfMetricsPortIsOutOfRange(final int metricsPort)
+    {
+        final Builder builder = new Builder()
+            .messageRate(100)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .trackHistory(true)
+            .metricsPort(metricsPort);
+
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, builder::build);
+
+        assertTrue(ex.getMessage().startsWith("'" + METRICS_PORT_PROP_NAME + "' cannot be"), ex.getMessage());
+    }
+
+    @Test
+    void throwsIllegalArgumentExceptionIfMetricsPortIsSetWithoutTrackHistory()
+    {
+        final Builder builder = new Builder()
+            .messageRate(100)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .metricsPort(9400);
+
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, builder::build);
+
+        assertEquals(
+            "'" + METRICS_PORT_PROP_NAME + "' requires '" + TRACK_HISTORY_PROP_NAME + "'", ex.getMessage());
+    }
+
+    @Test
+    void throwsIllegalArgumentExceptionIfHiccupResolutionIsNegative()
+    {
+        final Builder builder = new Builder()
+            .messageRate(100)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .hiccupResolutionNs(-1);
+
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, builder::build);
+
+        assertEquals("'" + HICCUP_RESOLUTION_PROP_NAME + "' cannot be less than 0, got: -1", ex.getMessage());
+    }
+
+    @Test
+    void throwsIllegalArgumentExceptionIfSloIsCombinedWithStepRates()
+    {
+        final Builder builder = new Builder()
+            .messageRate(100)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .stepRates(10, 20)
+            .slo("p99<1ms");
+
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, builder::build);
+
+        assertEquals(
+            "'" + SLO_PROP_NAME + "' cannot be combined with '" + STEP_RATES_PROP_NAME + "'", ex.getMessage());
+    }
+
+    @Test
+    void fromSystemPropertiesThrowsIllegalArgumentExceptionIfStepRatesHaveInvalidValue()
+    {
+        setProperty(OUTPUT_FILE_NAME_PROP_NAME, "test-out-prefix");
+        setProperty(MESSAGE_RATE_PROP_NAME, "42K");
+        setProperty(MESSAGE_TRANSCEIVER_PROP_NAME, InMemoryMessageTransceiver.class.getName());
+        setProperty(STEP_RATES_PROP_NAME, "10K,,20K");
+
+        final IllegalArgumentException ex = assertThrows(
+            IllegalArgumentException.class, Configuration::fromSystemProperties);
+
+        assertEquals("invalid rate specified in '" + STEP_RATES_PROP_NAME + "'", ex.getMessage());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { Integer.MIN_VALUE, 0 })
+    void throwsIllegalArgumentExceptionIfSenderThreadsIsLessThanOne(final int senderThreads)
+    {
+        final Builder builder = new Builder()
+            .messageRate(100)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .senderThreads(senderThreads);
+
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, builder::build);
+
+        assertEquals(
+            "'" + SENDER_THREADS_PROP_NAME + "' cannot be less than 1, got: " + senderThreads, ex.getMessage());
+    }
+
+    @Test
+    void throwsIllegalArgumentExceptionIfSenderThreadsExceedsMessageRate()
+    {
+        final Builder builder = new Builder()
+            .messageRate(3)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .senderThreads(4);
+
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, builder::build);
+
+        assertEquals("'" + SENDER_THREADS_PROP_NAME + "' cannot be greater than 3, got: 4", ex.getMessage());
+    }
+
     @ParameterizedTest
     @ValueSource(ints = { Integer.MIN_VALUE, 0 })
     void throwsIllegalArgumentExceptionIfBatchSizeIsInvalid(final int size)
@@ -262,6 +613,25 @@ class ConfigurationTest
             ex.getMessage());
     }
 
+    @Test
+    void newIdleStrategyWithBackoffParameters()
+    {
+        final IdleStrategy idleStrategy = newIdleStrategy("backoff:100, 200,1000,100000");
+
+        assertInstanceOf(BackoffIdleStrategy.class, idleStrategy);
+        assertEquals("backoff:100, 200,1000,100000", ((ParameterisedBackoffIdleStrategy)idleStrategy).name);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "backoff:", "backoff:1,2,3", "backoff:1,2,3,4,5", "backoff:1,2,x,4" })
+    void throwsIllegalArgumentExceptionIfBackoffParametersAreInvalid(final String name)
+    {
+        final IllegalArgumentException ex =
+            assertThrows(IllegalArgumentException.class, () -> newIdleStrategy(name));
+
+        assertTrue(ex.getMessage().startsWith("invalid idle strategy '" + name + "'"));
+    }
+
     @Test
     void throwsNullPointerExceptionIfIdleStrategyIsNull()
     {
@@ -414,6 +784,27 @@ class ConfigurationTest
         assertEquals(DEFAULT_BATCH_SIZE, configuration.batchSize());
         assertEquals(MIN_MESSAGE_LENGTH, configuration.messageLength());
         assertEquals(DEFAULT_RECEIVE_DEADLINE_SECONDS, configuration.receiveDeadlineSeconds());
+        assertEquals(DEFAULT_SENDER_THREADS, configuration.senderThreads());
+        assertEquals(DEFAULT_DECOUPLED_RECEIVER, configuration.decoupledReceiver());
+        assertEquals(0, configuration.stepRates().length);
+        assertNull(configuration.slo());
+        assertEquals(DEFAULT_SLO_SEARCH_MIN_RATE, configuration.sloSearchMinRate());
+        assertEquals(DEFAULT_SLO_SEARCH_ITERATIONS, configuration.sloSearchIterations());
+        assertEquals(DEFAULT_SLO_SEARCH_PRECISION, configuration.sloSearchPrecision());
+        assertEquals(DEFAULT_ARRIVAL_PROCESS, configuration.arrivalProcess());
+        assertNull(configuration.messageSizes());
+        assertEquals(configuration.messageLength(), configuration.maxMessageLength());
+        assertEquals(DEFAULT_MESSAGE_SIZE_HISTOGRAMS, configuration.messageSizeHistograms());
+        assertEquals(DEFAULT_CLOSED_LOOP_WINDOW, configuration.closedLoopWindow());
+        assertNull(configuration.traceFile());
+        assertEquals(DEFAULT_WARMUP_ADAPTIVE, configuration.warmupAdaptive());
+        assertEquals(DEFAULT_WARMUP_TOLERANCE, configuration.warmupTolerance());
+        assertEquals(DEFAULT_METRICS_PORT, configuration.metricsPort());
+        assertNull(configuration.countersFile());
+        assertEquals(DEFAULT_HICCUP_RESOLUTION_NS, configuration.hiccupResolutionNs());
+        assertEquals(DEFAULT_HOP_TIMESTAMPS, configuration.hopTimestamps());
+        assertEquals(DEFAULT_ONE_WAY_LATENCY, configuration.oneWayLatency());
+        assertEquals(DEFAULT_CONCURRENT_RECEIVE, configuration.concurrentReceive());
         assertSame(InMemoryMessageTransceiver.class, configuration.messageTransceiverClass());
         assertSame(BusySpinIdleStrategy.INSTANCE, configuration.idleStrategy());
         assertEquals(Paths.get("results").toAbsolutePath(), configuration.outputDirectory());
@@ -478,6 +869,26 @@ class ConfigurationTest
             "\n    reportProgress=false" +
             "\n    outputTimeUnit=MICROSECONDS" +
             "\n    receiveDeadlineSeconds=3" +
+            "\n    senderThreads=1" +
+            "\n    decoupledReceiver=false" +
+            "\n    stepRates=[]" +
+            "\n    slo=null" +
+            "\n    sloSearchMinRate=1" +
+            "\n    sloSearchIterations=3" +
+            "\n    sloSearchPrecision=1" +
+            "\n    arrivalProcess=fixed" +
+            "\n    messageSizes=null" +
+            "\n    messageSizeHistograms=false" +
+            "\n    closedLoopWindow=0" +
+            "\n    traceFile=null" +
+            "\n    warmupAdaptive=false" +
+            "\n    warmupTolerance=10" +
+            "\n    metricsPort=0" +
+            "\n    countersFile=null" +
+            "\n    hiccupResolutionNs=0" +
+            "\n    hopTimestamps=false" +
+            "\n    oneWayLatency=false" +
+            "\n    concurrentReceive=false" +
             "\n    outputDirectory=" + Paths.get("results").toAbsolutePath() +
             "\n    outputFileNamePrefix=my-file_rate=777K_batch=2_length=64" +
             "\n}",
@@ -617,6 +1028,18 @@ class ConfigurationTest
         setProperty(TRACK_HISTORY_PROP_NAME, "true");
         setProperty(REPORT_PROGRESS_PROP_NAME, "false");
         setProperty(RECEIVE_DEADLINE_SECONDS_PROP_NAME, "60");
+        setProperty(SENDER_THREADS_PROP_NAME, "4");
+        setProperty(DECOUPLED_RECEIVER_PROP_NAME, "true");
+        setProperty(SLO_SEARCH_MIN_RATE_PROP_NAME, "5K");
+        setProperty(SLO_SEARCH_ITERATIONS_PROP_NAME, "7");
+        setProperty(SLO_SEARCH_PRECISION_PROP_NAME, "5");
+        setProperty(ARRIVAL_PROCESS_PROP_NAME, " on-off:10ms/90ms ");
+        setProperty(MESSAGE_SIZES_PROP_NAME, "64:0.6, 1024:0.3, 4096:0.1");
+        setProperty(WARMUP_ADAPTIVE_PROP_NAME, "true");
+        setProperty(WARMUP_TOLERANCE_PROP_NAME, "25");
+        setProperty(COUNTERS_FILE_PROP_NAME, "rig-counters.dat");
+        setProperty(HICCUP_RESOLUTION_PROP_NAME, "2ms");
+        setProperty(HOP_TIMESTAMPS_PROP_NAME, "true");
 
         final Configuration configuration = fromSystemProperties();
 
@@ -633,6 +1056,95 @@ class ConfigurationTest
         assertEquals(outputDirectory.toAbsolutePath(), configuration.outputDirectory());
         assertTrue(configuration.outputFileNamePrefix().startsWith("my-out-file"));
         assertEquals(60, configuration.receiveDeadlineSeconds());
+        assertEquals(4, configuration.senderThreads());
+        assertTrue(configuration.decoupledReceiver());
+        assertNull(configuration.slo());
+        assertEquals(5_000, configuration.sloSearchMinRate());
+        assertEquals(7, configuration.sloSearchIterations());
+        assertEquals(5, configuration.sloSearchPrecision());
+        assertEquals("on-off:10ms/90ms", configuration.arrivalProcess());
+        assertArrayEquals(new int[]{ 64, 1024, 4096 }, configuration.messageSizes().sizes());
+        assertEquals(4096, configuration.maxMessageLength());
+        assertTrue(configuration.warmupAdaptive());
+        assertEquals(25, configuration.warmupTolerance());
+        assertEquals(Paths.get("rig-counters.dat").toAbsolutePath(), configuration.countersFile());
+        assertEquals(2_000_000, configuration.hiccupResolutionNs());
+        assertTrue(configuration.hopTimestamps());
+    }
+
+    @Test
+    void fromSystemPropertiesOverrideStepRates()
+    {
+        setProperty(MESSAGE_RATE_PROP_NAME, "1K");
+        setProperty(MESSAGE_TRANSCEIVER_PROP_NAME, InMemoryMessageTransceiver.class.getName());
+        setProperty(OUTPUT_FILE_NAME_PROP_NAME, "my-out-file");
+        setProperty(STEP_RATES_PROP_NAME, "10K, 2M,300");
+
+        final Configuration configuration = fromSystemProperties();
+
+        assertArrayEquals(new int[]{ 10_000, 2_000_000, 300 }, configuration.stepRates());
+    }
+
+    @Test
+    void fromSystemPropertiesOverrideClosedLoopWithMessageSizeHistograms()
+    {
+        setProperty(MESSAGE_RATE_PROP_NAME, "1K");
+        setProperty(MESSAGE_TRANSCEIVER_PROP_NAME, InMemoryMessageTransceiver.class.getName());
+        setProperty(OUTPUT_FILE_NAME_PROP_NAME, "my-out-file");
+        setProperty(MESSAGE_SIZES_PROP_NAME, "64,1024");
+        setProperty(MESSAGE_SIZE_HISTOGRAMS_PROP_NAME, "true");
+        setProperty(CLOSED_LOOP_WINDOW_PROP_NAME, "64");
+        setProperty(ONE_WAY_LATENCY_PROP_NAME, "true");
+        setProperty(CONCURRENT_RECEIVE_PROP_NAME, "true");
+
+        final Configuration configuration = fromSystemProperties();
+
+        assertArrayEquals(new int[]{ 64, 1024 }, configuration.messageSizes().sizes());
+        assertTrue(configuration.messageSizeHistograms());
+        assertEquals(64, configuration.closedLoopWindow());
+        assertTrue(configuration.oneWayLatency());
+        assertTrue(configuration.concurrentReceive());
+    }
+
+    @Test
+    void fromSystemPropertiesOverrideTraceFile(final @TempDir Path tempDir) throws IOException
+    {
+        final Path traceFile = TraceFileTest.writeTrace(tempDir.resolve("trace.bin"), 0, 32, 1_000, 2048, 5_000, 64);
+        setProperty(MESSAGE_RATE_PROP_NAME, "1K");
+        setProperty(MESSAGE_TRANSCEIVER_PROP_NAME, InMemoryMessageTransceiver.class.getName());
+        setProperty(OUTPUT_FILE_NAME_PROP_NAME, "my-out-file");
+        setProperty(TRACE_FILE_PROP_NAME, traceFile.toString());
+
+        final Configuration configuration = fromSystemProperties();
+
+        assertEquals(traceFile.toAbsolutePath(), configuration.traceFile());
+        assertEquals(2048, configuration.maxMessageLength());
+    }
+
+    @Test
+    void fromSystemPropertiesOverrideMetricsPort()
+    {
+        setProperty(MESSAGE_RATE_PROP_NAME, "1K");
+        setProperty(MESSAGE_TRANSCEIVER_PROP_NAME, InMemoryMessageTransceiver.class.getName());
+        setProperty(OUTPUT_FILE_NAME_PROP_NAME, "my-out-file");
+        setProperty(TRACK_HISTORY_PROP_NAME, "true");
+        setProperty(METRICS_PORT_PROP_NAME, "9400");
+
+        final Configuration configuration = fromSystemProperties();
+
+        assertEquals(9400, configuration.metricsPort());
+    }
+
+    @Test
+    void resolveHiccupResolutionNsThrowsIllegalArgumentExceptionIfDurationIsInvalid()
+    {
+        setProperty(HICCUP_RESOLUTION_PROP_NAME, "1 parsec");
+
+        final IllegalArgumentException ex =
+            assertThrows(IllegalArgumentException.class, Configuration::resolveHiccupResolutionNs);
+
+        assertTrue(ex.getMessage().startsWith(
+            "invalid duration for property '" + HICCUP_RESOLUTION_PROP_NAME + "'"), ex.getMessage());
     }
 
     @Test
@@ -692,7 +1204,27 @@ class ConfigurationTest
             IDLE_STRATEGY_PROP_NAME,
             OUTPUT_DIRECTORY_PROP_NAME,
             OUTPUT_FILE_NAME_PROP_NAME,
-                RECEIVE_DEADLINE_SECONDS_PROP_NAME)
+                RECEIVE_DEADLINE_SECONDS_PROP_NAME,
+                SENDER_THREADS_PROP_NAME,
+                DECOUPLED_RECEIVER_PROP_NAME,
+                STEP_RATES_PROP_NAME,
+                SLO_PROP_NAME,
+                SLO_SEARCH_MIN_RATE_PROP_NAME,
+                SLO_SEARCH_ITERATIONS_PROP_NAME,
+                SLO_SEARCH_PRECISION_PROP_NAME,
+                ARRIVAL_PROCESS_PROP_NAME,
+                MESSAGE_SIZES_PROP_NAME,
+                MESSAGE_SIZE_HISTOGRAMS_PROP_NAME,
+                CLOSED_LOOP_WINDOW_PROP_NAME,
+                TRACE_FILE_PROP_NAME,
+                WARMUP_ADAPTIVE_PROP_NAME,
+                WARMUP_TOLERANCE_PROP_NAME,
+                METRICS_PORT_PROP_NAME,
+                COUNTERS_FILE_PROP_NAME,
+                HICCUP_RESOLUTION_PROP_NAME,
+                HOP_TIMESTAMPS_PROP_NAME,
+                ONE_WAY_LATENCY_PROP_NAME,
+                CONCURRENT_RECEIVE_PROP_NAME)
             .forEach(System::clearProperty);
     }
 
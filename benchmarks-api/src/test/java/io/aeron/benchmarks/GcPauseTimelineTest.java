@@ -0,0 +1,106 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GcPauseTimelineTest
+{
+    private final GcPauseTimeline timeline = new GcPauseTimeline();
+
+    @Test
+    void noPausesWithinTheInterval()
+    {
+        timeline.onPause(999, 5);
+        timeline.onPause(2000, 7);
+
+        assertEquals(",0,0,0", columns(1000, 2000));
+    }
+
+    @Test
+    void aggregatesPausesWhichStartedWithinTheInterval()
+    {
+        timeline.onPause(1000, 3);
+        timeline.onPause(1500, 12);
+        timeline.onPause(1999, 4);
+        timeline.onPause(2000, 50);
+
+        assertEquals(",3,19,12", columns(1000, 2000));
+        assertEquals(",1,50,50", columns(2000, 3000));
+    }
+
+    @Test
+    void growsBeyondTheInitialCapacity()
+    {
+        for (int i = 0; i < 1000; i++)
+        {
+            timeline.onPause(i, 1);
+        }
+
+        assertEquals(",1000,1000,1", columns(0, 1000));
+    }
+
+    @Test
+    void aggregatesPausesWhichWereRecordedOutOfOrder()
+    {
+        timeline.onPause(2500, 8);
+        timeline.onPause(1500, 2);
+        timeline.onPause(900, 1);
+        timeline.onPause(2100, 6);
+
+        assertEquals(",1,2,2", columns(1000, 2000));
+        assertEquals(",2,14,8", columns(2000, 3000));
+    }
+
+    @Test
+    void dropsThePausesOnceTheirIntervalWasPrinted()
+    {
+        timeline.onPause(1500, 3);
+        timeline.onPause(2500, 4);
+
+        assertEquals(",1,3,3", columns(1000, 2000));
+        assertEquals(",0,0,0", columns(1000, 2000));
+        assertEquals(",1,4,4", columns(2000, 3000));
+    }
+
+    @Test
+    void ignoresTheConcurrentCyclesOfTheCollectors()
+    {
+        assertTrue(GcPauseTimeline.isConcurrentCollector("ZGC Cycles"));
+        assertTrue(GcPauseTimeline.isConcurrentCollector("Shenandoah Cycles"));
+        assertTrue(GcPauseTimeline.isConcurrentCollector("G1 Concurrent GC"));
+        assertFalse(GcPauseTimeline.isConcurrentCollector("G1 Young Generation"));
+        assertFalse(GcPauseTimeline.isConcurrentCollector("G1 Old Generation"));
+        assertFalse(GcPauseTimeline.isConcurrentCollector("ZGC Pauses"));
+        assertFalse(GcPauseTimeline.isConcurrentCollector("Shenandoah Pauses"));
+    }
+
+    private String columns(final long startTimestampMs, final long endTimestampMs)
+    {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final PrintStream out = new PrintStream(bytes, true, StandardCharsets.US_ASCII);
+        timeline.printCsvColumns(out, startTimestampMs, endTimestampMs);
+        return bytes.toString(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HiccupMeterTest
+{
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void after()
+    {
+        System.clearProperty(Configuration.HICCUP_RESOLUTION_PROP_NAME);
+        System.clearProperty(Configuration.TRACK_HISTORY_PROP_NAME);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = { 0, -1 })
+    void throwsIllegalArgumentExceptionIfResolutionIsNotPositive(final long resolutionNs)
+    {
+        final SinglePersistedHistogram histogram = new SinglePersistedHistogram(new Histogram(3));
+
+        final IllegalArgumentException ex = assertThrows(
+            IllegalArgumentException.class, () -> new HiccupMeter(histogram, resolutionNs, "hiccup-meter"));
+
+        assertEquals("resolution must be positive, got: " + resolutionNs, ex.getMessage());
+    }
+
+    @Test
+    void recordsHiccupsUntilClosed() throws InterruptedException
+    {
+        final SinglePersistedHistogram histogram =
+            new SinglePersistedHistogram(new Histogram(HOURS.toNanos(1), 3));
+        final HiccupMeter hiccupMeter = new HiccupMeter(histogram, MILLISECONDS.toNanos(1), "hiccup-meter");
+
+        hiccupMeter.start();
+        Thread.sleep(50);
+        hiccupMeter.close();
+
+        assertTrue(histogram.snapshot().getTotalCount() > 0, "no hiccups recorded");
+    }
+
+    @Test
+    void hiccupHistogramIsNotMergedIntoSnapshotOfHistogramSet()
+    {
+        final Configuration configuration = new Configuration.Builder()
+            .messageRate(100)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .outputDirectory(tempDir)
+            .build();
+        final PersistedHistogramSet histogramSet = new PersistedHistogramSet(configuration);
+        histogramSet.create("rtt").valueRecorder().recordValue(100);
+        histogramSet.createUnmerged("rtt" + HiccupMeter.HICCUP_NAME_SUFFIX).valueRecorder().recordValue(5000);
+
+        final Histogram snapshot = histogramSet.snapshot();
+
+        assertEquals(1, snapshot.getTotalCount());
+        assertEquals(2, histogramSet.histograms().size());
+    }
+
+    @Test
+    void backgroundHistogramTakesConsistentSnapshotsWhileRecording() throws Exception
+    {
+        final Configuration configuration = new Configuration.Builder()
+            .messageRate(100)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .outputDirectory(tempDir)
+            .build();
+        final PersistedHistogramSet histogramSet = new PersistedHistogramSet(configuration);
+        final PersistedHistogram histogram =
+            histogramSet.createUnmergedBackground("rtt" + HiccupMeter.HICCUP_NAME_SUFFIX);
+        assertInstanceOf(AccumulatingPersistedHistogram.class, histogram);
+
+        final int values = 1_000_000;
+        final Thread writer = new Thread(
+            () ->
+            {
+                for (int i = 0; i < values; i++)
+                {
+                    histogram.valueRecorder().recordValue(i & 1023);
+                }
+            });
+        writer.start();
+        while (writer.isAlive())
+        {
+            final Histogram snapshot = histogram.snapshot();
+            long count = 0;
+            for (final HistogramIterationValue value : snapshot.recordedValues())
+            {
+                count += value.getCountAtValueIteratedTo();
+            }
+            assertEquals(snapshot.getTotalCount(), count);
+        }
+        writer.join();
+
+        assertEquals(values, histogram.snapshot().getTotalCount());
+        histogramSet.saveAll(PersistedHistogram.Status.OK);
+        assertTrue(Files.exists(tempDir.resolve("rtt" + HiccupMeter.HICCUP_NAME_SUFFIX + ".hdr")));
+    }
+
+    @Test
+    void launchIfConfiguredReturnsNullIfDisabled()
+    {
+        assertNull(HiccupMeter.launchIfConfigured(tempDir, "echo-node-0"));
+    }
+
+    @Test
+    void launchIfConfiguredSavesHistogramWhenClosed() throws InterruptedException
+    {
+        System.setProperty(Configuration.HICCUP_RESOLUTION_PROP_NAME, "1ms");
+
+        final HiccupMeter hiccupMeter = HiccupMeter.launchIfConfigured(tempDir, "echo-node-0");
+        Thread.sleep(20);
+        hiccupMeter.close();
+
+        assertTrue(Files.exists(tempDir.resolve("echo-node-0" + HiccupMeter.HICCUP_NAME_SUFFIX + ".hdr")));
+    }
+}
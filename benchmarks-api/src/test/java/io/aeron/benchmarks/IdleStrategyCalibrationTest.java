@@ -0,0 +1,103 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static io.aeron.benchmarks.Configuration.IDLE_STRATEGY_PROP_NAME;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdleStrategyCalibrationTest
+{
+    @Test
+    void measuresWakeUpLatenciesAndCpuUsage() throws InterruptedException
+    {
+        final IdleStrategyCalibration.Result result =
+            IdleStrategyCalibration.calibrate("backoff:10,20,1000,100000", 1000, MILLISECONDS.toNanos(200));
+
+        assertTrue(result.wakeUpLatencies.getTotalCount() > 0);
+        assertTrue(Double.isNaN(result.cpuUsage) || result.cpuUsage >= 0);
+    }
+
+    @Test
+    void recommendsLowestCpuUsageWithinTwiceTheBestP99ByDefault()
+    {
+        final List<IdleStrategyCalibration.Result> results = List.of(
+            result("spin", 1_000, 100.0),
+            result("yield", 1_900, 95.0),
+            result("backoff", 2_500, 10.0));
+
+        assertEquals(1, IdleStrategyCalibration.recommend(results, 0));
+    }
+
+    @Test
+    void recommendsLowestCpuUsageWithinTheBudget()
+    {
+        final List<IdleStrategyCalibration.Result> results = List.of(
+            result("spin", 1_000, 100.0),
+            result("backoff", 20_000, 10.0),
+            result("sleep-ns", 60_000, 1.0));
+
+        assertEquals(1, IdleStrategyCalibration.recommend(results, 50_000));
+    }
+
+    @Test
+    void recommendsBestP99IfNoCandidateIsWithinTheBudget()
+    {
+        final List<IdleStrategyCalibration.Result> results = List.of(
+            result("backoff", 20_000, 10.0),
+            result("spin", 1_000, 100.0));
+
+        assertEquals(1, IdleStrategyCalibration.recommend(results, 100));
+    }
+
+    @Test
+    void savesResultsAndRecommendation(final @TempDir Path tempDir) throws IOException
+    {
+        final List<IdleStrategyCalibration.Result> results = List.of(
+            result("spin", 1_000, 100.0),
+            result("backoff:100,100,1000,100000", 2_000, 10.0));
+
+        IdleStrategyCalibration.save(tempDir, results, 1);
+
+        final List<String> csv = Files.readAllLines(tempDir.resolve(IdleStrategyCalibration.RESULTS_FILE_NAME));
+        assertEquals(3, csv.size());
+        assertTrue(csv.get(2).startsWith("\"backoff:100,100,1000,100000\",1,"));
+
+        final List<String> properties =
+            Files.readAllLines(tempDir.resolve(IdleStrategyCalibration.RECOMMENDATION_FILE_NAME));
+        assertEquals(IDLE_STRATEGY_PROP_NAME + "=backoff:100,100,1000,100000", properties.get(1));
+        assertEquals(IdleStrategyCalibration.NODE_IDLE_STRATEGY_PROP_NAME + "=backoff:100,100,1000,100000",
+            properties.get(2));
+    }
+
+    private static IdleStrategyCalibration.Result result(
+        final String idleStrategy, final long wakeUpLatencyNs, final double cpuUsage)
+    {
+        final Histogram histogram = new Histogram(3);
+        histogram.recordValue(wakeUpLatencyNs);
+        return new IdleStrategyCalibration.Result(idleStrategy, histogram, cpuUsage);
+    }
+}
@@ -86,6 +86,160 @@ class InMemoryMessageTransceiverTest
         verify(clock, times(5)).nanoTime();
     }
 
+    @Test
+    void receivedMessagesAreCountedByStripedRecorder()
+    {
+        when(clock.nanoTime()).thenReturn(1500L);
+        final StripedRecorder recorder = new StripedRecorder(3);
+        final InMemoryMessageTransceiver messageTransceiver = new InMemoryMessageTransceiver(clock, recorder);
+
+        messageTransceiver.send(3, 64, 1000, CHECKSUM);
+        for (int i = 0; i < 3; i++)
+        {
+            messageTransceiver.receive();
+        }
+
+        assertEquals(3, messageTransceiver.receivedMessages());
+        assertEquals(0, messageTransceiver.receivedMessages);
+        assertEquals(3, recorder.getIntervalHistogram().getCountAtValue(500));
+
+        messageTransceiver.reset();
+
+        assertEquals(0, messageTransceiver.receivedMessages());
+    }
+
+    @Test
+    void receiveRecordsIntoHistogramOfMessageSizeClass()
+    {
+        when(clock.nanoTime()).thenReturn(2000L);
+        final Histogram small = new Histogram(3);
+        final Histogram large = new Histogram(3);
+        messageTransceiver.sizeClassRecorders(
+            MessageSizeDistribution.parse("32:0.5,1024:0.5"), new Histogram[]{ small, large });
+
+        messageTransceiver.send(2, 32, 1000, CHECKSUM);
+        messageTransceiver.send(1, 1024, 1500, CHECKSUM);
+        for (int i = 0; i < 3; i++)
+        {
+            messageTransceiver.receive();
+        }
+
+        verify(histogram, times(2)).recordValue(1000L);
+        verify(histogram).recordValue(500L);
+        assertEquals(2, small.getTotalCount());
+        assertEquals(1000, small.getMaxValue());
+        assertEquals(1, large.getTotalCount());
+        assertEquals(500, large.getMaxValue());
+    }
+
+    @Test
+    void receiveTracksSequencesOfTheMessages()
+    {
+        messageTransceiver.send(3, 32, 1000, CHECKSUM);
+        messageTransceiver.send(2, 32, 1000, CHECKSUM);
+        for (int i = 0; i < 5; i++)
+        {
+            messageTransceiver.receive();
+        }
+
+        final SequenceTracker sequenceTracker = messageTransceiver.sequenceTracker;
+        assertEquals(5, sequenceTracker.trackedMessages());
+        assertEquals(0, sequenceTracker.lostMessages());
+        assertEquals(0, sequenceTracker.duplicatedMessages());
+        assertEquals(0, sequenceTracker.reorderedMessages());
+    }
+
+    @Test
+    void hopTimestampsAreIgnoredUnlessHopRecordersAreSet()
+    {
+        messageTransceiver.onMessageHopTimestamps(100, 150, 170);
+
+        verifyNoInteractions(clock);
+        assertEquals(0, messageTransceiver.unstampedHopMessages());
+    }
+
+    @Test
+    void recordsTheLatencyOfEveryHop()
+    {
+        final Histogram clientToServer = mock(Histogram.class);
+        final Histogram serverProcessing = mock(Histogram.class);
+        final Histogram serverToClient = mock(Histogram.class);
+        messageTransceiver.hopRecorders(clientToServer, serverProcessing, serverToClient);
+        when(clock.nanoTime()).thenReturn(200L);
+
+        messageTransceiver.onMessageHopTimestamps(100, 150, 170);
+
+        verify(clientToServer).recordValue(50);
+        verify(serverProcessing).recordValue(20);
+        verify(serverToClient).recordValue(30);
+        assertEquals(0, messageTransceiver.negativeHopLatencies());
+    }
+
+    @Test
+    void recordsNegativeHopLatenciesCausedByTheClockOffsetAsZero()
+    {
+        final Histogram clientToServer = mock(Histogram.class);
+        final Histogram serverProcessing = mock(Histogram.class);
+        final Histogram serverToClient = mock(Histogram.class);
+        messageTransceiver.hopRecorders(clientToServer, serverProcessing, serverToClient);
+        when(clock.nanoTime()).thenReturn(1_000L);
+
+        messageTransceiver.onMessageHopTimestamps(500, 300, 310);
+
+        verify(clientToServer).recordValue(0);
+        verify(serverProcessing).recordValue(10);
+        verify(serverToClient).recordValue(690);
+        assertEquals(1, messageTransceiver.negativeHopLatencies());
+    }
+
+    @Test
+    void countsMessagesWhichWereNotStampedByTheServer()
+    {
+        final Histogram clientToServer = mock(Histogram.class);
+        final Histogram serverProcessing = mock(Histogram.class);
+        final Histogram serverToClient = mock(Histogram.class);
+        messageTransceiver.hopRecorders(clientToServer, serverProcessing, serverToClient);
+
+        messageTransceiver.onMessageHopTimestamps(500, 0, 0);
+        messageTransceiver.onMessageHopTimestamps(600, 0, 0);
+
+        assertEquals(2, messageTransceiver.unstampedHopMessages());
+        verifyNoInteractions(clock, clientToServer, serverProcessing, serverToClient);
+
+        messageTransceiver.reset();
+        assertEquals(0, messageTransceiver.unstampedHopMessages());
+    }
+
+    @Test
+    void countsMessagesWhichWereNotStampedByTheServerFromMultipleThreads() throws InterruptedException
+    {
+        final Histogram clientToServer = mock(Histogram.class);
+        final Histogram serverProcessing = mock(Histogram.class);
+        final Histogram serverToClient = mock(Histogram.class);
+        messageTransceiver.hopRecorders(clientToServer, serverProcessing, serverToClient);
+
+        final int messagesPerThread = 100_000;
+        final Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++)
+        {
+            threads[i] = new Thread(
+                () ->
+                {
+                    for (int j = 0; j < messagesPerThread; j++)
+                    {
+                        messageTransceiver.onMessageHopTimestamps(500, 0, 0);
+                    }
+                });
+            threads[i].start();
+        }
+        for (final Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        assertEquals((long)threads.length * messagesPerThread, messageTransceiver.unstampedHopMessages());
+    }
+
     @Test
     void sendAndReceive()
     {
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static io.aeron.benchmarks.IntervalLogAnalyzer.HOURLY_FILE_SUFFIX;
+import static io.aeron.benchmarks.IntervalLogAnalyzer.WINDOWS_FILE_SUFFIX;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IntervalLogAnalyzerTest
+{
+    private static final long START_MS = HOURS.toMillis(472222);
+    private static final long SECOND_MS = SECONDS.toMillis(1);
+
+    private final ByteArrayOutputStream windows = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream hours = new ByteArrayOutputStream();
+
+    @Test
+    void shouldRejectWindowWhichIsNotAMultipleOfTheStep()
+    {
+        assertThrows(IllegalArgumentException.class,
+            () -> new IntervalLogAnalyzer(2500, 1000, new double[]{ 100.0 }, 100.0));
+        assertThrows(IllegalArgumentException.class,
+            () -> new IntervalLogAnalyzer(1000, 0, new double[]{ 100.0 }, 100.0));
+        assertThrows(IllegalArgumentException.class,
+            () -> new IntervalLogAnalyzer(1000, 1000, new double[]{ 100.1 }, 100.0));
+    }
+
+    @Test
+    void shouldRollTheWindowByOneStepAtATime()
+    {
+        final byte[] log = log(
+            interval(0, 100),
+            interval(1, 200),
+            interval(2, 300),
+            interval(3, 400),
+            interval(4, 500));
+
+        final IntervalLogAnalyzer.Summary summary = analyze(3 * SECOND_MS, SECOND_MS, log);
+
+        assertEquals(5, summary.intervals);
+        assertEquals(3, summary.windows);
+        assertEquals(5, summary.total.getTotalCount());
+        assertEquals(List.of(
+            "window start (ms),window end (ms),count,50.0,100.0",
+            START_MS + "," + (START_MS + 3 * SECOND_MS) + ",3,200,300",
+            (START_MS + SECOND_MS) + "," + (START_MS + 4 * SECOND_MS) + ",3,300,400",
+            (START_MS + 2 * SECOND_MS) + "," + (START_MS + 5 * SECOND_MS) + ",3,400,500"),
+            lines(windows));
+
+        assertNotNull(summary.worstWindow);
+        assertEquals(START_MS + 2 * SECOND_MS, summary.worstWindow.startMs);
+        assertEquals(START_MS + 5 * SECOND_MS, summary.worstWindow.endMs);
+        assertEquals(3, summary.worstWindow.count);
+        assertEquals(500, summary.worstWindow.worstValue);
+    }
+
+    @Test
+    void shouldProduceASingleWindowForALogShorterThanTheWindow()
+    {
+        final byte[] log = log(interval(0, 100), interval(1, 200));
+
+        final IntervalLogAnalyzer.Summary summary = analyze(60 * SECOND_MS, 10 * SECOND_MS, log);
+
+        assertEquals(1, summary.windows);
+        assertEquals(List.of(
+            "window start (ms),window end (ms),count,50.0,100.0",
+            START_MS + "," + (START_MS + 10 * SECOND_MS) + ",2,100,200"),
+            lines(windows));
+    }
+
+    @Test
+    void shouldSkipEmptyWindowsOverAGapInTheLog()
+    {
+        final byte[] log = log(interval(0, 100), interval(1000, 200));
+
+        final IntervalLogAnalyzer.Summary summary = analyze(2 * SECOND_MS, SECOND_MS, log);
+
+        assertEquals(2, summary.windows);
+        assertEquals(List.of(
+            "window start (ms),window end (ms),count,50.0,100.0",
+            START_MS + "," + (START_MS + 2 * SECOND_MS) + ",1,100,100",
+            (START_MS + 999 * SECOND_MS) + "," + (START_MS + 1001 * SECOND_MS) + ",1,200,200"),
+            lines(windows));
+        assertEquals(200, summary.worstWindow.worstValue);
+    }
+
+    @Test
+    void shouldSummariseEveryHour()
+    {
+        final long secondsPerHour = HOURS.toSeconds(1);
+        final byte[] log = log(
+            interval(0, 100),
+            interval(secondsPerHour - 1, 300),
+            interval(secondsPerHour, 200),
+            interval(3 * secondsPerHour, 400));
+
+        analyze(60 * SECOND_MS, 10 * SECOND_MS, log);
+
+        assertEquals(List.of(
+            "hour start (ms),count,50.0,100.0",
+            START_MS + ",2,100,300",
+            (START_MS + HOURS.toMillis(1)) + ",1,200,200",
+            (START_MS + HOURS.toMillis(3)) + ",1,400,400"),
+            lines(hours));
+    }
+
+    @Test
+    void shouldHandleAnEmptyLog()
+    {
+        final IntervalLogAnalyzer.Summary summary = analyze(60 * SECOND_MS, 10 * SECOND_MS, log());
+
+        assertEquals(0, summary.intervals);
+        assertEquals(0, summary.windows);
+        assertNull(summary.worstWindow);
+        assertEquals(List.of("window start (ms),window end (ms),count,50.0,100.0"), lines(windows));
+        assertEquals(List.of("hour start (ms),count,50.0,100.0"), lines(hours));
+    }
+
+    @Test
+    void shouldWriteTheResultsNextToTheLog(final @TempDir Path tempDir) throws IOException
+    {
+        final Path logFile = tempDir.resolve("echo-test" + PersistedHistogram.FILE_EXTENSION +
+            PersistedHistogram.FAILED_FILE_SUFFIX);
+        Files.write(logFile, log(interval(0, 100), interval(1, 200)));
+
+        final IntervalLogAnalyzer analyzer = new IntervalLogAnalyzer(
+            SECOND_MS, SECOND_MS, new double[]{ 50.0, 100.0 }, 100.0);
+        final IntervalLogAnalyzer.Summary summary = analyzer.analyze(logFile);
+
+        assertEquals(2, summary.windows);
+        assertEquals(3, Files.readAllLines(
+            tempDir.resolve("echo-test" + WINDOWS_FILE_SUFFIX + PersistedHistogram.FAILED_FILE_SUFFIX)).size());
+        assertEquals(2, Files.readAllLines(
+            tempDir.resolve("echo-test" + HOURLY_FILE_SUFFIX + PersistedHistogram.FAILED_FILE_SUFFIX)).size());
+    }
+
+    private IntervalLogAnalyzer.Summary analyze(final long windowMs, final long stepMs, final byte[] log)
+    {
+        final IntervalLogAnalyzer analyzer = new IntervalLogAnalyzer(
+            windowMs, stepMs, new double[]{ 50.0, 100.0 }, 100.0);
+        try (PrintStream windowsCsv = new PrintStream(windows, true, StandardCharsets.US_ASCII);
+            PrintStream hourlyCsv = new PrintStream(hours, true, StandardCharsets.US_ASCII))
+        {
+            return analyzer.analyze(new ByteArrayInputStream(log), windowsCsv, hourlyCsv);
+        }
+    }
+
+    private static Histogram interval(final long second, final long value)
+    {
+        final Histogram histogram = new Histogram(3);
+        histogram.recordValue(value);
+        histogram.setStartTimeStamp(START_MS + second * SECOND_MS);
+        histogram.setEndTimeStamp(START_MS + (second + 1) * SECOND_MS);
+        return histogram;
+    }
+
+    private static byte[] log(final Histogram... intervals)
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PrintStream printStream = new PrintStream(out, false, StandardCharsets.US_ASCII))
+        {
+            final HistogramLogWriter writer = new HistogramLogWriter(printStream);
+            writer.outputLogFormatVersion();
+            writer.outputStartTime(START_MS);
+            for (final Histogram interval : intervals)
+            {
+                writer.outputIntervalHistogram(interval);
+            }
+            writer.close();
+        }
+
+        return out.toByteArray();
+    }
+
+    private static List<String> lines(final ByteArrayOutputStream out)
+    {
+        return out.toString(StandardCharsets.US_ASCII).lines().toList();
+    }
+}
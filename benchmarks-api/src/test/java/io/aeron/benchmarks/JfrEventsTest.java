@@ -0,0 +1,112 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JfrEventsTest
+{
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void recordsPhasesSlowBurstsAndBackPressureEpisodes() throws IOException
+    {
+        final List<RecordedEvent> events;
+        try (Recording recording = newRecording())
+        {
+            recording.start();
+
+            JfrEvents.phase(RigCounters.Phase.WARMUP);
+            JfrEvents.phase(RigCounters.Phase.MEASUREMENT);
+            JfrEvents.slowBurst(5_000_000);
+            final JfrEvents.BackPressureEpisode backPressure = new JfrEvents.BackPressureEpisode(true, 0);
+            backPressure.onBackPressured();
+            backPressure.onBackPressured();
+            backPressure.onBackPressured();
+            backPressure.onPublished();
+            JfrEvents.phase(RigCounters.Phase.COMPLETED);
+
+            recording.stop();
+            events = readEvents(recording);
+        }
+
+        assertEquals(4, events.size());
+        assertEquals("io.aeron.benchmarks.Phase", events.get(0).getEventType().getName());
+        assertEquals("WARMUP", events.get(0).getString("phase"));
+        assertEquals("io.aeron.benchmarks.SlowBurst", events.get(1).getEventType().getName());
+        assertEquals(Duration.ofMillis(5), events.get(1).getDuration("sendLag"));
+        assertEquals("io.aeron.benchmarks.BackPressure", events.get(2).getEventType().getName());
+        assertEquals(3, events.get(2).getLong("attempts"));
+        assertEquals("io.aeron.benchmarks.Phase", events.get(3).getEventType().getName());
+        assertEquals("MEASUREMENT", events.get(3).getString("phase"));
+    }
+
+    @Test
+    void doesNotRecordBackPressureEpisodesWhenDisabledOrBelowThreshold() throws IOException
+    {
+        final List<RecordedEvent> events;
+        try (Recording recording = newRecording())
+        {
+            recording.start();
+
+            final JfrEvents.BackPressureEpisode disabled = new JfrEvents.BackPressureEpisode(false, 0);
+            disabled.onBackPressured();
+            disabled.onPublished();
+            final JfrEvents.BackPressureEpisode belowThreshold =
+                new JfrEvents.BackPressureEpisode(true, Long.MAX_VALUE);
+            belowThreshold.onBackPressured();
+            belowThreshold.onPublished();
+            belowThreshold.onPublished();
+
+            recording.stop();
+            events = readEvents(recording);
+        }
+
+        assertTrue(events.isEmpty(), events::toString);
+    }
+
+    private static Recording newRecording()
+    {
+        final Recording recording = new Recording();
+        recording.enable(JfrEvents.PhaseEvent.class);
+        recording.enable(JfrEvents.SlowBurstEvent.class);
+        recording.enable(JfrEvents.BackPressureEvent.class);
+        return recording;
+    }
+
+    private List<RecordedEvent> readEvents(final Recording recording) throws IOException
+    {
+        final Path file = tempDir.resolve("events.jfr");
+        recording.dump(file);
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        events.removeIf((event) -> !event.getEventType().getName().startsWith("io.aeron.benchmarks."));
+        events.sort((a, b) -> a.getEndTime().compareTo(b.getEndTime()));
+        return events;
+    }
+}
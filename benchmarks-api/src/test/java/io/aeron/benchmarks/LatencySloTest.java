@@ -0,0 +1,69 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencySloTest
+{
+    @ParameterizedTest
+    @CsvSource({
+        "p99.9<50us,99.9,50000",
+        "p99 <= 2ms,99.0,2000000",
+        " p50<700ns ,50.0,700",
+        "p100<1s,100.0,1000000000",
+    })
+    void parse(final String value, final double percentile, final long thresholdNs)
+    {
+        final LatencySlo slo = LatencySlo.parse(value);
+
+        assertEquals(percentile, slo.percentile());
+        assertEquals(thresholdNs, slo.thresholdNs());
+        assertEquals(value.trim(), slo.toString());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "99.9<50us", "p99.9>50us", "p99.9<50", "p99.9<50m", "p0<1ms", "p100.1<1ms" })
+    void parseThrowsIllegalArgumentExceptionIfValueIsInvalid(final String value)
+    {
+        final IllegalArgumentException ex =
+            assertThrows(IllegalArgumentException.class, () -> LatencySlo.parse(value));
+
+        assertTrue(ex.getMessage().startsWith("invalid SLO '" + value + "'"));
+    }
+
+    @Test
+    void isMetComparesValueAtPercentileWithThreshold()
+    {
+        final Histogram histogram = new Histogram(3);
+        for (int i = 1; i <= 1000; i++)
+        {
+            histogram.recordValue(i);
+        }
+
+        assertTrue(LatencySlo.parse("p99<1us").isMet(histogram));
+        assertFalse(LatencySlo.parse("p99<990ns").isMet(histogram));
+        assertTrue(LatencySlo.parse("p99<=990ns").isMet(histogram));
+        assertFalse(LatencySlo.parse("p100<1us").isMet(histogram));
+        assertTrue(LatencySlo.parse("p100<=1us").isMet(histogram));
+    }
+}
@@ -16,6 +16,7 @@
 package io.aeron.benchmarks;
 
 import org.HdrHistogram.Histogram;
+import org.agrona.collections.MutableInteger;
 import org.agrona.concurrent.IdleStrategy;
 import org.agrona.concurrent.NanoClock;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,11 +27,17 @@ import org.mockito.InOrder;
 
 import java.io.File;
 import java.io.PrintStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
 import static java.util.concurrent.TimeUnit.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.mockito.Mockito.*;
 import static io.aeron.benchmarks.MessageTransceiver.CHECKSUM;
 import static io.aeron.benchmarks.PersistedHistogram.FILE_EXTENSION;
@@ -134,6 +141,7 @@ class LoadTestRigTest
         inOrder.verify(messageTransceiver).reset();
         inOrder.verify(persistedHistogram).reset();
         inOrder.verify(progressReporter).reset();
+        inOrder.verify(out).printf("%nWarmup completed in %,d ms.%n", 0L);
         inOrder.verify(out).printf("%nRunning measurement for %,d iterations of %,d messages each, with %,d bytes" +
             " payload and a burst size of %,d...%n",
             configuration.iterations(),
@@ -152,6 +160,47 @@ class LoadTestRigTest
         inOrder.verifyNoMoreInteractions();
     }
 
+    @Test
+    void runEndsAdaptiveWarmupAfterMaximumIterationsIfNotConverged() throws Exception
+    {
+        final long nanoTime = SECONDS.toNanos(123);
+        final NanoClock clock = () -> nanoTime;
+        when(persistedHistogram.snapshot()).thenReturn(new Histogram(3));
+
+        configuration = new Configuration.Builder()
+            .warmupIterations(2)
+            .warmupMessageRate(1)
+            .warmupAdaptive(true)
+            .iterations(1)
+            .messageRate(1)
+            .messageTransceiverClass(configuration.messageTransceiverClass())
+            .idleStrategy(idleStrategy)
+            .outputDirectory(configuration.outputDirectory())
+            .outputFileNamePrefix("test")
+            .build();
+
+        final LoadTestRig loadTestRig = new LoadTestRig(
+            configuration,
+            messageTransceiver,
+            out,
+            clock,
+            persistedHistogram,
+            progressReporter);
+
+        loadTestRig.run();
+
+        verify(out).printf("%nRunning adaptive warmup for up to %,d iterations of %,d messages each, with %,d bytes" +
+            " payload and a burst size of %,d...%n",
+            2,
+            1,
+            configuration.messageLength(),
+            configuration.batchSize());
+        verify(out).printf("%nWarmup did not converge within %,d iterations, completed in %,d ms.%n", 2, 0L);
+        verify(persistedHistogram, times(2)).snapshot();
+        verify(persistedHistogram, times(2)).reset();
+        verify(messageTransceiver, times(3)).send(1, configuration.messageLength(), nanoTime, CHECKSUM);
+    }
+
     @Test
     void runWarnsAboutMissedTargetRate() throws Exception
     {
@@ -326,6 +375,521 @@ class LoadTestRigTest
         verifyNoMoreInteractions(out, clock, idleStrategy, messageTransceiver);
     }
 
+    @Test
+    void sendWithDecoupledReceiverReceivesAllMessagesOnReceiverThread(final @TempDir Path tempDir)
+    {
+        final Configuration configuration = new Configuration.Builder()
+            .messageRate(1)
+            .batchSize(5)
+            .messageLength(32)
+            .decoupledReceiver(true)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .outputDirectory(tempDir)
+            .outputFileNamePrefix("test")
+            .build();
+        final Histogram histogram = new Histogram(3);
+        final NanoClock clock = System::nanoTime;
+        final InMemoryMessageTransceiver messageTransceiver = new InMemoryMessageTransceiver(clock, histogram);
+        messageTransceiver.init(configuration);
+
+        final LoadTestRig loadTestRig = new LoadTestRig(
+            configuration,
+            messageTransceiver,
+            out,
+            clock,
+            persistedHistogram,
+            progressReporter);
+
+        final LoadTestRig.SendResult result = loadTestRig.send(1, 500);
+
+        assertEquals(500, result.sentMessages);
+        assertEquals(500, result.receivedMessages);
+        assertEquals(500, histogram.getTotalCount());
+        verify(progressReporter).reportProgress(anyLong(), anyLong(), eq(500L), eq(1));
+    }
+
+    @Test
+    void decoupledReceiverThreadIsNotLeftOnTheCpusOfThePinnedRigThread(final @TempDir Path tempDir)
+        throws InterruptedException
+    {
+        final String processCpus = ThreadAffinity.processCpus();
+        assumeTrue(null != processCpus && !processCpus.matches("\\d+"), "requires Linux and more than one CPU");
+        final String rigCpu = processCpus.split("[-,]")[0];
+
+        final Configuration configuration = new Configuration.Builder()
+            .messageRate(1)
+            .batchSize(5)
+            .messageLength(32)
+            .decoupledReceiver(true)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .outputDirectory(tempDir)
+            .outputFileNamePrefix("test")
+            .build();
+        final NanoClock clock = System::nanoTime;
+        final InMemoryMessageTransceiver messageTransceiver =
+            spy(new InMemoryMessageTransceiver(clock, new Histogram(3)));
+        final AtomicReference<String> receiverCpus = new AtomicReference<>();
+        doAnswer((invocation) ->
+        {
+            receiverCpus.compareAndSet(null, ThreadAffinity.currentThreadCpus());
+            return invocation.callRealMethod();
+        }).when(messageTransceiver).receive();
+        messageTransceiver.init(configuration);
+
+        final LoadTestRig loadTestRig = new LoadTestRig(
+            configuration,
+            messageTransceiver,
+            out,
+            clock,
+            persistedHistogram,
+            progressReporter);
+
+        final AtomicReference<String> rigCpus = new AtomicReference<>();
+        final String layout = System.getProperty(ThreadAffinity.AFFINITY_PROP_NAME);
+        System.setProperty(ThreadAffinity.AFFINITY_PROP_NAME, ThreadAffinity.LOAD_TEST_RIG_ROLE + "=" + rigCpu);
+        try
+        {
+            final Thread rigThread = new Thread(() ->
+            {
+                ThreadAffinity.pinCurrentThread(ThreadAffinity.LOAD_TEST_RIG_ROLE);
+                rigCpus.set(ThreadAffinity.currentThreadCpus());
+                loadTestRig.send(1, 5);
+            });
+            rigThread.start();
+            rigThread.join();
+        }
+        finally
+        {
+            if (null == layout)
+            {
+                System.clearProperty(ThreadAffinity.AFFINITY_PROP_NAME);
+            }
+            else
+            {
+                System.setProperty(ThreadAffinity.AFFINITY_PROP_NAME, layout);
+            }
+        }
+
+        assumeTrue(rigCpu.equals(rigCpus.get()), "requires taskset");
+        assertEquals(processCpus, receiverCpus.get());
+    }
+
+    @Test
+    void sendUsesArrivalProcessToComputeIntendedSendTimes(final @TempDir Path tempDir)
+    {
+        final long[] nowNs = { 0 };
+        when(clock.nanoTime()).thenAnswer((invocation) -> nowNs[0] += MILLISECONDS.toNanos(1));
+
+        final Configuration configuration = new Configuration.Builder()
+            .messageRate(10)
+            .idleStrategy(idleStrategy)
+            .batchSize(1)
+            .messageLength(24)
+            .arrivalProcess("on-off:250ms/250ms")
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .outputDirectory(tempDir)
+            .outputFileNamePrefix("test")
+            .build();
+
+        final LoadTestRig loadTestRig = new LoadTestRig(
+            configuration,
+            messageTransceiver,
+            out,
+            clock,
+            persistedHistogram,
+            progressReporter);
+
+        final LoadTestRig.SendResult result = loadTestRig.send(1, 10);
+
+        assertEquals(10, result.scheduledMessages);
+        assertEquals(10, result.sentMessages);
+        assertEquals(10, result.receivedMessages);
+        final long startTimeNs = MILLISECONDS.toNanos(1);
+        for (final long offsetMs : new long[]{ 0, 50, 100, 150, 200, 500, 550, 600, 650, 700 })
+        {
+            verify(messageTransceiver).send(1, 24, startTimeNs + MILLISECONDS.toNanos(offsetMs), CHECKSUM);
+        }
+        verify(messageTransceiver, times(10)).send(anyInt(), anyInt(), anyLong(), anyLong());
+    }
+
+    @Test
+    void sendRecordsSendLagOfEveryBurstAndCountsFallingBehind(final @TempDir Path tempDir)
+    {
+        when(clock.nanoTime()).thenReturn(
+            MILLISECONDS.toNanos(0),
+            MILLISECONDS.toNanos(300),
+            MILLISECONDS.toNanos(320),
+            MILLISECONDS.toNanos(500),
+            MILLISECONDS.toNanos(510),
+            MILLISECONDS.toNanos(750));
+
+        final Configuration configuration = new Configuration.Builder()
+            .messageRate(4)
+            .idleStrategy(idleStrategy)
+            .batchSize(1)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .outputDirectory(tempDir)
+            .outputFileNamePrefix("test")
+            .build();
+
+        final LoadTestRig loadTestRig = new LoadTestRig(
+            configuration,
+            messageTransceiver,
+            out,
+            clock,
+            persistedHistogram,
+            progressReporter);
+
+        final LoadTestRig.SendResult result = loadTestRig.send(1, 4);
+
+        assertEquals(4, result.sentMessages);
+        assertEquals(1, result.fallingBehindCount);
+        final Histogram sendLag = loadTestRig.sendLagHistogram();
+        assertEquals(3, sendLag.getTotalCount());
+        assertEquals(1, sendLag.getCountAtValue(MILLISECONDS.toNanos(300)));
+        assertEquals(1, sendLag.getCountAtValue(MILLISECONDS.toNanos(70)));
+        assertEquals(1, sendLag.getCountAtValue(MILLISECONDS.toNanos(10)));
+    }
+
+    @Test
+    void sendRecordsSendLagOfMoreThanAnHour(final @TempDir Path tempDir)
+    {
+        when(clock.nanoTime()).thenReturn(0L, HOURS.toNanos(2));
+
+        final Configuration configuration = new Configuration.Builder()
+            .messageRate(2)
+            .idleStrategy(idleStrategy)
+            .batchSize(1)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .outputDirectory(tempDir)
+            .outputFileNamePrefix("test")
+            .build();
+
+        final LoadTestRig loadTestRig = new LoadTestRig(
+            configuration,
+            messageTransceiver,
+            out,
+            clock,
+            persistedHistogram,
+            progressReporter);
+
+        final LoadTestRig.SendResult result = loadTestRig.send(1, 2);
+
+        assertEquals(2, result.sentMessages);
+        assertEquals(1, result.fallingBehindCount);
+        final Histogram sendLag = loadTestRig.sendLagHistogram();
+        assertEquals(1, sendLag.getTotalCount());
+        assertEquals(HOURS.toNanos(2), sendLag.getMaxValue(), HOURS.toNanos(2) / 1000);
+    }
+
+    @Test
+    void endToEndTestWithPoissonArrivalProcess(final @TempDir Path tempDir) throws Exception
+    {
+        final Configuration configuration = new Configuration.Builder()
+            .warmupIterations(0)
+            .iterations(1)
+            .messageRate(1000)
+            .arrivalProcess("poisson:42")
+            .messageLength(32)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .outputDirectory(tempDir)
+            .outputFileNamePrefix("test")
+            .build();
+        final LoadTestRig testRig = new LoadTestRig(configuration);
+
+        testRig.run();
+
+        final File[] files = tempDir.toFile().listFiles();
+        assertNotNull(files);
+        assertEquals(4, files.length);
+        assertEquals(2, Stream.of(files).filter((f) -> f.getName().endsWith(FILE_EXTENSION)).count());
+    }
+
+    @Test
+    void sendSamplesMessageSizeForEveryBurst(final @TempDir Path tempDir)
+    {
+        final long[] nowNs = { 0 };
+        when(clock.nanoTime()).thenAnswer((invocation) -> nowNs[0] += MILLISECONDS.toNanos(1));
+
+        final Configuration configuration = new Configuration.Builder()
+            .messageRate(100)
+            .idleStrategy(idleStrategy)
+            .batchSize(2)
+            .messageSizes("32:1,64:0,128:3")
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .outputDirectory(tempDir)
+            .outputFileNamePrefix("test")
+            .build();
+
+        final LoadTestRig loadTestRig = new LoadTestRig(
+            configuration,
+            messageTransceiver,
+            out,
+            clock,
+            persistedHistogram,
+            progressReporter);
+
+        final LoadTestRig.SendResult result = loadTestRig.send(1, 100);
+
+        assertEquals(100, result.sentMessages);
+        verify(messageTransceiver, times(50)).send(eq(2), intThat((size) -> 32 == size || 128 == size), anyLong(),
+            eq(CHECKSUM));
+        verify(messageTransceiver, never()).send(anyInt(), eq(64), anyLong(), anyLong());
+        verify(messageTransceiver, atLeastOnce()).send(anyInt(), eq(32), anyLong(), anyLong());
+        verify(messageTransceiver, atLeastOnce()).send(anyInt(), eq(128), anyLong(), anyLong());
+    }
+
+    @Test
+    void endToEndTestWithMessageSizeHistograms(final @TempDir Path tempDir) throws Exception
+    {
+        final Configuration configuration = new Configuration.Builder()
+            .warmupIterations(0)
+            .iterations(1)
+            .messageRate(500)
+            .batchSize(5)
+            .messageSizes("32:0.7,1024:0.3")
+            .messageSizeHistograms(true)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .outputDirectory(tempDir)
+            .outputFileNamePrefix("test")
+            .build();
+        final LoadTestRig testRig = new LoadTestRig(configuration);
+
+        testRig.run();
+
+        final File[] files = tempDir.toFile().listFiles();
+        assertNotNull(files);
+        assertEquals(6, files.length);
+        long sizeClassTotal = 0;
+        for (final int size : new int[]{ 32, 1024 })
+        {
+            final Path file = tempDir.resolve(configuration.outputFileNamePrefix() + "-size-" + size + FILE_EXTENSION);
+            final Histogram sizeClass = PersistedHistogramTest.readHistogram(file);
+            assertNotEquals(0, sizeClass.getTotalCount());
+            sizeClassTotal += sizeClass.getTotalCount();
+        }
+        assertEquals(500, sizeClassTotal);
+    }
+
+    @Test
+    void messageSizeHistogramsAreNotMergedIntoTheRttOfEverySenderAndStep(final @TempDir Path tempDir)
+        throws Exception
+    {
+        final Configuration configuration = new Configuration.Builder()
+            .warmupIterations(0)
+            .iterations(1)
+            .messageRate(100)
+            .stepRates(100)
+            .senderThreads(2)
+            .messageSizes("32:0.5,64:0.5")
+            .messageSizeHistograms(true)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .outputDirectory(tempDir)
+            .outputFileNamePrefix("test")
+            .build();
+        final LoadTestRig testRig = new LoadTestRig(configuration);
+
+        testRig.run();
+
+        final String prefix = configuration.outputFileNamePrefix();
+        assertEquals(
+            100, PersistedHistogramTest.readHistogram(tempDir.resolve(prefix + "-step-100" + FILE_EXTENSION))
+            .getTotalCount());
+    }
+
+    @Test
+    void sendClosedLoopKeepsWindowOfMessagesInFlight(final @TempDir Path tempDir)
+    {
+        final long[] nowNs = { 0 };
+        final NanoClock clock = () -> nowNs[0] += MILLISECONDS.toNanos(1);
+        final ArrayDeque<Long> inFlight = new ArrayDeque<>();
+        final MutableInteger maxInFlight = new MutableInteger();
+        final MessageTransceiver messageTransceiver = new MessageTransceiver(clock, new Histogram(3))
+        {
+            public void init(final Configuration configuration)
+            {
+            }
+
+            public void destroy()
+            {
+            }
+
+            public int send(
+                final int numberOfMessages, final int messageLength, final long timestamp, final long checksum)
+            {
+                for (int i = 0; i < numberOfMessages; i++)
+                {
+                    inFlight.add(timestamp);
+                }
+                maxInFlight.set(Math.max(maxInFlight.get(), inFlight.size()));
+                return numberOfMessages;
+            }
+
+            public void receive()
+            {
+                if (!inFlight.isEmpty())
+                {
+                    onMessageReceived(inFlight.poll(), CHECKSUM);
+                }
+            }
+        };
+
+        final Configuration configuration = new Configuration.Builder()
+            .messageRate(1)
+            .iterations(2)
+            .batchSize(3)
+            .closedLoopWindow(5)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .outputDirectory(tempDir)
+            .outputFileNamePrefix("test")
+            .build();
+
+        final LoadTestRig loadTestRig = new LoadTestRig(
+            configuration,
+            messageTransceiver,
+            out,
+            clock,
+            persistedHistogram,
+            progressReporter);
+
+        final long[] messagesPerSecond = new long[2];
+        final LoadTestRig.SendResult result = loadTestRig.sendClosedLoop(2, 5, messagesPerSecond);
+
+        assertEquals(5, maxInFlight.get());
+        assertEquals(result.sentMessages, result.scheduledMessages);
+        assertEquals(result.sentMessages, result.receivedMessages);
+        assertTrue(messagesPerSecond[0] > 0);
+        assertTrue(messagesPerSecond[1] > 0);
+        assertTrue(messagesPerSecond[0] + messagesPerSecond[1] <= result.receivedMessages);
+        verify(progressReporter, times(2)).reportProgress(anyLong(), anyLong(), anyLong(), eq(2));
+    }
+
+    @Test
+    void endToEndTestWithClosedLoopWindow(final @TempDir Path tempDir) throws Exception
+    {
+        final Configuration configuration = new Configuration.Builder()
+            .warmupIterations(0)
+            .iterations(1)
+            .messageRate(1)
+            .closedLoopWindow(16)
+            .batchSize(4)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .outputDirectory(tempDir)
+            .outputFileNamePrefix("test")
+            .build();
+        final LoadTestRig testRig = new LoadTestRig(configuration);
+
+        testRig.run();
+
+        final File[] files = tempDir.toFile().listFiles();
+        assertNotNull(files);
+        assertEquals(3, files.length);
+        final List<String> throughput = Files.readAllLines(
+            tempDir.resolve(configuration.outputFileNamePrefix() + ThroughputResult.THROUGHPUT_FILE_SUFFIX));
+        assertEquals(2, throughput.size());
+        assertEquals("second,messages", throughput.get(0));
+        assertTrue(Long.parseLong(throughput.get(1).substring("1,".length())) > 0);
+    }
+
+    @Test
+    void replayTraceSendsRecordsAtTheirOffsets(final @TempDir Path tempDir) throws Exception
+    {
+        final long[] nowNs = { 0 };
+        final NanoClock clock = () -> nowNs[0] += MICROSECONDS.toNanos(1);
+        final ArrayDeque<Long> inFlight = new ArrayDeque<>();
+        final List<long[]> sends = new ArrayList<>();
+        final MessageTransceiver messageTransceiver = new MessageTransceiver(clock, new Histogram(3))
+        {
+            public void init(final Configuration configuration)
+            {
+            }
+
+            public void destroy()
+            {
+            }
+
+            public int send(
+                final int numberOfMessages, final int messageLength, final long timestamp, final long checksum)
+            {
+                sends.add(new long[]{ numberOfMessages, messageLength, timestamp });
+                for (int i = 0; i < numberOfMessages; i++)
+                {
+                    inFlight.add(timestamp);
+                }
+                return numberOfMessages;
+            }
+
+            public void receive()
+            {
+                if (!inFlight.isEmpty())
+                {
+                    onMessageReceived(inFlight.poll(), CHECKSUM);
+                }
+            }
+        };
+
+        final Configuration configuration = new Configuration.Builder()
+            .messageRate(1)
+            .batchSize(2)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .idleStrategy(idleStrategy)
+            .outputDirectory(tempDir)
+            .outputFileNamePrefix("test")
+            .build();
+
+        final LoadTestRig loadTestRig = new LoadTestRig(
+            configuration,
+            messageTransceiver,
+            out,
+            clock,
+            persistedHistogram,
+            progressReporter);
+
+        final Path file = TraceFileTest.writeTrace(
+            tempDir.resolve("trace.bin"), 0, 32, 0, 32, 0, 32, 0, 64, 5_000, 32, 5_000, 32, 20_000, 100);
+        final LoadTestRig.SendResult result;
+        try (TraceFile trace = TraceFile.open(file))
+        {
+            result = loadTestRig.replayTrace(trace);
+        }
+
+        final long startTimeNs = MICROSECONDS.toNanos(1);
+        assertEquals(5, sends.size());
+        assertArrayEquals(new long[]{ 2, 32, startTimeNs }, sends.get(0));
+        assertArrayEquals(new long[]{ 1, 32, startTimeNs }, sends.get(1));
+        assertArrayEquals(new long[]{ 1, 64, startTimeNs }, sends.get(2));
+        assertArrayEquals(new long[]{ 2, 32, startTimeNs + 5_000 }, sends.get(3));
+        assertArrayEquals(new long[]{ 1, 100, startTimeNs + 20_000 }, sends.get(4));
+        assertEquals(7, result.scheduledMessages);
+        assertEquals(7, result.sentMessages);
+        assertEquals(7, result.receivedMessages);
+        assertEquals(OK, result.status());
+    }
+
+    @Test
+    void endToEndTestWithTraceReplay(final @TempDir Path tempDir) throws Exception
+    {
+        final Path file = TraceFileTest.writeTrace(
+            tempDir.resolve("trace.bin"), 0, 32, 0, 32, 1_000_000, 64, 2_000_000, 1024, 300_000_000, 128);
+        final Configuration configuration = new Configuration.Builder()
+            .warmupIterations(0)
+            .iterations(1)
+            .messageRate(1)
+            .traceFile(file)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .outputDirectory(tempDir)
+            .outputFileNamePrefix("test")
+            .build();
+        final LoadTestRig testRig = new LoadTestRig(configuration);
+
+        testRig.run();
+
+        final File[] files = tempDir.toFile().listFiles();
+        assertNotNull(files);
+        assertEquals(5, files.length);
+        assertEquals(2, Stream.of(files).filter((f) -> f.getName().endsWith(FILE_EXTENSION)).count());
+    }
+
     @Test
     void endToEndTest(final @TempDir Path tempDir) throws Exception
     {
@@ -355,8 +919,11 @@ class LoadTestRigTest
             () -> "Too long: duration=" + durationNs + " vs maxDurationNs=" + maxDurationNs);
         final File[] files = tempDir.toFile().listFiles();
         assertNotNull(files);
-        assertEquals(2, files.length);
-        assertEquals(1, Stream.of(files).filter((f) -> f.getName().endsWith(FILE_EXTENSION)).count());
+        assertEquals(4, files.length);
+        assertEquals(2, Stream.of(files).filter((f) -> f.getName().endsWith(FILE_EXTENSION)).count());
+        final String prefix = configuration.outputFileNamePrefix();
+        assertTrue(tempDir.resolve(prefix + SendLagResult.SEND_LAG_SUFFIX + FILE_EXTENSION).toFile().exists());
+        assertTrue(tempDir.resolve(prefix + SendLagResult.SEND_LAG_FILE_SUFFIX).toFile().exists());
         assertEquals(
             tempDir.resolve("logs").toFile(),
             Stream.of(files).filter(File::isDirectory).findFirst().orElse(null));
@@ -383,14 +950,183 @@ class LoadTestRigTest
 
         final File[] files = tempDir.toFile().listFiles();
         assertNotNull(files);
-        assertEquals(3, files.length);
-        assertEquals(1, Stream.of(files).filter((f) -> f.getName().endsWith(FILE_EXTENSION)).count());
+        assertEquals(5, files.length);
+        assertEquals(2, Stream.of(files).filter((f) -> f.getName().endsWith(FILE_EXTENSION)).count());
         assertEquals(1, Stream.of(files).filter((f) -> f.getName().endsWith(HISTORY_FILE_EXTENSION)).count());
         assertEquals(
             tempDir.resolve("logs").toFile(),
             Stream.of(files).filter(File::isDirectory).findFirst().orElse(null));
     }
 
+    @Test
+    void endToEndTestWithMultipleSenderThreads(final @TempDir Path tempDir) throws Exception
+    {
+        final Configuration configuration = new Configuration.Builder()
+            .warmupIterations(1)
+            .warmupMessageRate(100)
+            .iterations(2)
+            .messageRate(1001)
+            .messageLength(32)
+            .batchSize(3)
+            .senderThreads(2)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .outputDirectory(tempDir)
+            .outputFileNamePrefix("test")
+            .trackHistory(false)
+            .build();
+        final LoadTestRig testRig = new LoadTestRig(configuration);
+
+        testRig.run();
+
+        final String prefix = configuration.outputFileNamePrefix();
+        final File[] files = tempDir.toFile().listFiles();
+        assertNotNull(files);
+        assertEquals(6, files.length);
+        assertTrue(tempDir.resolve(prefix + "-sender-0" + FILE_EXTENSION).toFile().exists());
+        assertTrue(tempDir.resolve(prefix + "-sender-1" + FILE_EXTENSION).toFile().exists());
+        final Path mergedFile = tempDir.resolve(prefix + FILE_EXTENSION);
+        assertTrue(mergedFile.toFile().exists());
+        assertEquals(
+            configuration.iterations() * (long)configuration.messageRate(),
+            PersistedHistogramTest.readHistogram(mergedFile).getTotalCount());
+        assertTrue(tempDir.resolve(prefix + SendLagResult.SEND_LAG_SUFFIX + FILE_EXTENSION).toFile().exists());
+    }
+
+    @Test
+    void endToEndTestCollectsTheServiceTimeOfTheNodes(final @TempDir Path tempDir) throws Exception
+    {
+        final Path serviceTimeFile = tempDir.resolve("node")
+            .resolve("echo-node-0-service-time" + MappedPersistedHistogram.MAPPED_FILE_EXTENSION);
+        MappedPersistedHistogram.create(serviceTimeFile, HOURS.toNanos(1), 3).close();
+        final Configuration configuration = new Configuration.Builder()
+            .warmupIterations(0)
+            .iterations(1)
+            .messageRate(10)
+            .messageLength(32)
+            .serviceTimeFiles(serviceTimeFile)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .outputDirectory(tempDir)
+            .outputFileNamePrefix("test")
+            .build();
+        final LoadTestRig testRig = new LoadTestRig(configuration);
+
+        testRig.run();
+
+        final String prefix = configuration.outputFileNamePrefix();
+        assertTrue(tempDir.resolve(prefix + "-echo-node-0-service-time" + FILE_EXTENSION).toFile().exists());
+        assertTrue(serviceTimeFile.toFile().exists());
+    }
+
+    @Test
+    void endToEndTestWithStepRates(final @TempDir Path tempDir) throws Exception
+    {
+        final Configuration configuration = new Configuration.Builder()
+            .warmupIterations(0)
+            .iterations(1)
+            .messageRate(100)
+            .stepRates(100, 250)
+            .messageLength(32)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .outputDirectory(tempDir)
+            .outputFileNamePrefix("test")
+            .build();
+        final LoadTestRig testRig = new LoadTestRig(configuration);
+
+        testRig.run();
+
+        final String prefix = configuration.outputFileNamePrefix();
+        final File[] files = tempDir.toFile().listFiles();
+        assertNotNull(files);
+        assertEquals(4, files.length);
+        assertEquals(
+            100, PersistedHistogramTest.readHistogram(tempDir.resolve(prefix + "-step-100" + FILE_EXTENSION))
+            .getTotalCount());
+        assertEquals(
+            250, PersistedHistogramTest.readHistogram(tempDir.resolve(prefix + "-step-250" + FILE_EXTENSION))
+            .getTotalCount());
+        final List<String> summary = Files.readAllLines(tempDir.resolve(prefix + StepResult.STEPS_FILE_SUFFIX));
+        assertEquals(3, summary.size());
+        assertTrue(summary.get(1).startsWith("100,100,100,"));
+        assertTrue(summary.get(2).startsWith("250,250,250,"));
+    }
+
+    @Test
+    void endToEndTestWithSloMetAtMaximumRate(final @TempDir Path tempDir) throws Exception
+    {
+        final Configuration configuration = new Configuration.Builder()
+            .warmupIterations(0)
+            .messageRate(200)
+            .slo("p100<10s")
+            .sloSearchIterations(1)
+            .messageLength(32)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .outputDirectory(tempDir)
+            .outputFileNamePrefix("test")
+            .build();
+        final LoadTestRig testRig = new LoadTestRig(configuration);
+
+        testRig.run();
+
+        final List<String> probes = Files.readAllLines(
+            tempDir.resolve(configuration.outputFileNamePrefix() + LoadTestRig.SLO_SEARCH_FILE_SUFFIX));
+        assertEquals(2, probes.size());
+        assertTrue(probes.get(1).startsWith("200,200,200,"));
+    }
+
+    @Test
+    void endToEndTestWithSloNotMetAtMinimumRate(final @TempDir Path tempDir) throws Exception
+    {
+        final Configuration configuration = new Configuration.Builder()
+            .warmupIterations(0)
+            .messageRate(200)
+            .slo("p50<1ns")
+            .sloSearchMinRate(50)
+            .sloSearchIterations(1)
+            .messageLength(32)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .outputDirectory(tempDir)
+            .outputFileNamePrefix("test")
+            .build();
+        final LoadTestRig testRig = new LoadTestRig(configuration);
+
+        testRig.run();
+
+        final List<String> probes = Files.readAllLines(
+            tempDir.resolve(configuration.outputFileNamePrefix() + LoadTestRig.SLO_SEARCH_FILE_SUFFIX));
+        assertEquals(3, probes.size());
+        assertTrue(probes.get(1).startsWith("200,"));
+        assertTrue(probes.get(2).startsWith("50,"));
+    }
+
+    @Test
+    void rateShareDistributesRemainderAcrossFirstThreads()
+    {
+        assertEquals(334, LoadTestRig.rateShare(1001, 3, 0));
+        assertEquals(334, LoadTestRig.rateShare(1001, 3, 1));
+        assertEquals(333, LoadTestRig.rateShare(1001, 3, 2));
+        assertEquals(0, LoadTestRig.rateShare(2, 3, 2));
+    }
+
+    @Test
+    void throwsIllegalArgumentExceptionIfSenderThreadsUsedWithSuppliedMessageTransceiver()
+    {
+        final Configuration configuration = new Configuration.Builder()
+            .messageRate(10)
+            .senderThreads(2)
+            .messageTransceiverClass(InMemoryMessageTransceiver.class)
+            .outputDirectory(this.configuration.outputDirectory())
+            .outputFileNamePrefix("test")
+            .build();
+
+        assertThrows(IllegalArgumentException.class, () -> new LoadTestRig(
+            configuration,
+            messageTransceiver,
+            out,
+            clock,
+            persistedHistogram,
+            progressReporter));
+    }
+
     @Test
     void shouldCallDestroyOnMessageTransceiverIfInitFails() throws Exception
     {
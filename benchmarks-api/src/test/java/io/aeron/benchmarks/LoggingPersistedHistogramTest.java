@@ -25,9 +25,11 @@ import org.junit.jupiter.api.io.TempDir;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Random;
 
 import static io.aeron.benchmarks.PersistedHistogram.AGGREGATE_FILE_SUFFIX;
+import static io.aeron.benchmarks.PersistedHistogram.HISTORY_FILE_EXTENSION;
 import static io.aeron.benchmarks.PersistedHistogram.Status.OK;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -81,5 +83,11 @@ class LoggingPersistedHistogramTest
 
         // Number of files is not deterministic and varies with the speed of the system.
         assertTrue(5 <= histogramCount);
+
+        final List<String> history = Files.readAllLines(tempDir.resolve("loadtestrig" + HISTORY_FILE_EXTENSION));
+        assertEquals(histogramCount + 1, history.size());
+        assertTrue(history.get(0).endsWith(GcPauseTimeline.CSV_HEADER));
+        assertEquals(10, history.get(0).split(",").length);
+        assertEquals(10, history.get(history.size() - 1).split(",").length);
     }
 }
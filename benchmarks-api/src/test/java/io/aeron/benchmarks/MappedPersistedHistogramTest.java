@@ -0,0 +1,148 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogReader;
+import org.agrona.IoUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static io.aeron.benchmarks.PersistedHistogram.Status.OK;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MappedPersistedHistogramTest
+{
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 2, 3, 5 })
+    void recordsTheSameCountsAsHdrHistogram(final int significantDigits, final @TempDir Path tempDir)
+    {
+        final Histogram expected = new Histogram(HOURS.toNanos(1), significantDigits);
+        try (MappedPersistedHistogram histogram =
+            MappedPersistedHistogram.create(tempDir.resolve("rtt.hdrm"), HOURS.toNanos(1), significantDigits))
+        {
+            final Random random = new Random(42);
+            for (int i = 0; i < 10_000; i++)
+            {
+                final long value = (long)Math.pow(HOURS.toNanos(1), random.nextDouble());
+                histogram.recordValue(value);
+                expected.recordValue(value);
+            }
+            histogram.recordValueWithCount(0, 3);
+            expected.recordValueWithCount(0, 3);
+            histogram.recordValue(HOURS.toNanos(1));
+            expected.recordValue(HOURS.toNanos(1));
+
+            final Histogram snapshot = histogram.snapshot();
+            assertEquals(expected, snapshot);
+            assertEquals(expected.getTotalCount(), snapshot.getTotalCount());
+            assertEquals(expected.getMaxValue(), snapshot.getMaxValue());
+        }
+    }
+
+    @Test
+    void recordsFromAnotherMappingOfTheSameFile(final @TempDir Path tempDir)
+    {
+        final Path file = tempDir.resolve("service-time.hdrm");
+        try (MappedPersistedHistogram collector = MappedPersistedHistogram.create(file, HOURS.toNanos(1), 3);
+            MappedPersistedHistogram recorder = MappedPersistedHistogram.open(file))
+        {
+            recorder.valueRecorder().recordValue(1000);
+            recorder.valueRecorder().recordValueWithExpectedInterval(5000, 2000);
+
+            final Histogram snapshot = collector.snapshot();
+            assertEquals(3, snapshot.getTotalCount());
+            assertEquals(1, snapshot.getCountAtValue(1000));
+            assertEquals(1, snapshot.getCountAtValue(3000));
+            assertEquals(1, snapshot.getCountAtValue(5000));
+        }
+    }
+
+    @Test
+    void resetClearsTheCounts(final @TempDir Path tempDir)
+    {
+        try (MappedPersistedHistogram histogram =
+            MappedPersistedHistogram.create(tempDir.resolve("rtt.hdrm"), HOURS.toNanos(1), 3))
+        {
+            histogram.recordValue(100);
+            histogram.reset();
+            histogram.recordValue(200);
+
+            final Histogram snapshot = histogram.snapshot();
+            assertEquals(1, snapshot.getTotalCount());
+            assertEquals(200, snapshot.getMaxValue());
+        }
+    }
+
+    @Test
+    void throwsArrayIndexOutOfBoundsExceptionIfValueIsOutOfRange(final @TempDir Path tempDir)
+    {
+        try (MappedPersistedHistogram histogram =
+            MappedPersistedHistogram.create(tempDir.resolve("rtt.hdrm"), 1000, 3))
+        {
+            assertThrows(ArrayIndexOutOfBoundsException.class, () -> histogram.recordValue(-1));
+            assertThrows(ArrayIndexOutOfBoundsException.class, () -> histogram.recordValue(Long.MAX_VALUE));
+            assertEquals(0, histogram.snapshot().getTotalCount());
+        }
+    }
+
+    @Test
+    void throwsIllegalStateExceptionIfVersionDoesNotMatch(final @TempDir Path tempDir)
+    {
+        final Path file = tempDir.resolve("rtt.hdrm");
+        MappedPersistedHistogram.create(file, HOURS.toNanos(1), 3).close();
+
+        final MappedByteBuffer mappedBuffer = IoUtil.mapExistingFile(file.toFile(), "histogram");
+        new UnsafeBuffer(mappedBuffer).putInt(MappedPersistedHistogram.VERSION_OFFSET, 0);
+        IoUtil.unmap(mappedBuffer);
+
+        assertThrows(IllegalStateException.class, () -> MappedPersistedHistogram.open(file));
+    }
+
+    @Test
+    void savesSnapshotToFile(final @TempDir Path tempDir) throws IOException
+    {
+        try (MappedPersistedHistogram histogram =
+            MappedPersistedHistogram.create(tempDir.resolve("rtt.hdrm"), HOURS.toNanos(1), 3))
+        {
+            histogram.recordValue(12345);
+
+            final Path file = histogram.saveToFile(tempDir, "echo-node-0-service-time", OK);
+
+            assertEquals(tempDir.resolve("echo-node-0-service-time.hdr"), file);
+            assertEquals(1, readTotalCount(file));
+        }
+    }
+
+    private static long readTotalCount(final Path file) throws FileNotFoundException
+    {
+        try (HistogramLogReader reader = new HistogramLogReader(file.toFile()))
+        {
+            return ((Histogram)reader.nextIntervalHistogram()).getTotalCount();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageSizeDistributionTest
+{
+    @Test
+    void parseWeightedSizes()
+    {
+        final MessageSizeDistribution distribution = MessageSizeDistribution.parse(" 1024:0.3, 64:0.6,4096:0.1 ");
+
+        assertArrayEquals(new int[]{ 64, 1024, 4096 }, distribution.sizes());
+        assertEquals(4096, distribution.maxMessageLength());
+        assertEquals(0.6, distribution.probability(0), 1e-9);
+        assertEquals(0.3, distribution.probability(1), 1e-9);
+        assertEquals(0.1, distribution.probability(2), 1e-9);
+        assertEquals("1024:0.3, 64:0.6,4096:0.1", distribution.toString());
+    }
+
+    @Test
+    void parseEmpiricalSizeTable(final @TempDir Path tempDir) throws IOException
+    {
+        final Path file = tempDir.resolve("sizes.csv");
+        Files.write(file, List.of("# size,weight", "64", "", "128,3", "64", "256,0"));
+
+        final MessageSizeDistribution distribution = MessageSizeDistribution.parse("file:" + file);
+
+        assertArrayEquals(new int[]{ 64, 128, 256 }, distribution.sizes());
+        assertEquals(256, distribution.maxMessageLength());
+        assertEquals(0.4, distribution.probability(0), 1e-9);
+        assertEquals(0.6, distribution.probability(1), 1e-9);
+        assertEquals(0.0, distribution.probability(2), 1e-9);
+    }
+
+    @Test
+    void sampleFollowsWeights()
+    {
+        final MessageSizeDistribution distribution = MessageSizeDistribution.parse("32:1,64:0,128:3");
+        final SplittableRandom random = new SplittableRandom(42);
+
+        final int samples = 100_000;
+        int small = 0;
+        for (int i = 0; i < samples; i++)
+        {
+            final int size = distribution.sample(random);
+            assertNotEquals(64, size);
+            if (32 == size)
+            {
+                small++;
+            }
+        }
+
+        assertEquals(0.25, (double)small / samples, 0.01);
+    }
+
+    @Test
+    void sizeClassIndexRoundsUpToTheNextSizeClass()
+    {
+        final MessageSizeDistribution distribution = MessageSizeDistribution.parse("32,64,128");
+
+        assertEquals(0, distribution.sizeClassIndex(16));
+        assertEquals(0, distribution.sizeClassIndex(32));
+        assertEquals(1, distribution.sizeClassIndex(33));
+        assertEquals(2, distribution.sizeClassIndex(128));
+        assertEquals(2, distribution.sizeClassIndex(4096));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "64:", "abc:1", "64:1:2", "8:1", "64:-1", "64:0,128:0", "64:1,,128:1" })
+    void parseThrowsIllegalArgumentExceptionIfSpecIsInvalid(final String spec)
+    {
+        final IllegalArgumentException ex =
+            assertThrows(IllegalArgumentException.class, () -> MessageSizeDistribution.parse(spec));
+
+        assertTrue(ex.getMessage().startsWith("invalid message sizes '" + spec + "'"), ex.getMessage());
+    }
+}
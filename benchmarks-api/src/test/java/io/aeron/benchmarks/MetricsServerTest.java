@@ -0,0 +1,186 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MetricsServerTest
+{
+    private final PersistedHistogram persistedHistogram = mock(PersistedHistogram.class);
+    private final Configuration configuration = new Configuration.Builder()
+        .messageRate(100)
+        .messageTransceiverClass(InMemoryMessageTransceiver.class)
+        .outputFileNamePrefix("live")
+        .build();
+    private final RigCounters rigCounters = RigCounters.newInstance(null);
+    private final RigCounters.SenderCounters[] senderCounters = {
+        rigCounters.newSenderCounters("sender-0"), rigCounters.newSenderCounters("sender-1") };
+    private final MetricsServer metricsServer =
+        new MetricsServer(0, PersistedHistogramSet.wrap(configuration, persistedHistogram), senderCounters);
+
+    @AfterEach
+    void after()
+    {
+        metricsServer.close();
+        rigCounters.close();
+    }
+
+    @Test
+    void scrapeExposesTheTotalsOfAllSenders() throws IOException
+    {
+        when(persistedHistogram.loggedCount()).thenReturn(-1L);
+        metricsServer.start();
+        senderCounters[0].sentMessages.setRelease(1000);
+        senderCounters[1].sentMessages.setRelease(500);
+        senderCounters[0].receivedMessages.setRelease(900);
+        senderCounters[1].receivedMessages.setRelease(400);
+        senderCounters[1].backPressureEvents.setRelease(2);
+        senderCounters[0].fallingBehindCount.setRelease(1);
+        senderCounters[1].fallingBehindCount.setRelease(3);
+        senderCounters[0].maxSendLagNs.setRelease(1_000_000);
+        senderCounters[1].maxSendLagNs.setRelease(2_000_000);
+
+        final String metrics = metricsServer.scrape();
+
+        assertTrue(metrics.contains("aeron_benchmarks_sent_messages_total 1500\n"), metrics);
+        assertTrue(metrics.contains("aeron_benchmarks_received_messages_total 1300\n"), metrics);
+        assertTrue(metrics.contains("aeron_benchmarks_back_pressure_events_total 2\n"), metrics);
+        assertTrue(metrics.contains("aeron_benchmarks_falling_behind_total 4\n"), metrics);
+        assertTrue(metrics.contains("aeron_benchmarks_send_lag_max_seconds 0.002\n"), metrics);
+    }
+
+    @Test
+    void scrapeExportsEveryKindOfHistogramAsItsOwnMetric() throws IOException
+    {
+        final Histogram interval = new Histogram(3);
+        interval.recordValue(MICROSECONDS.toNanos(10));
+        final Map<String, PersistedHistogram> histograms = new LinkedHashMap<>();
+        for (final String name : new String[]{
+            "live", "live-hiccup", "live-client-to-server", "live-server-processing", "live-server-to-client" })
+        {
+            final PersistedHistogram histogram = mock(PersistedHistogram.class);
+            when(histogram.lastIntervalHistogram()).thenReturn(interval);
+            when(histogram.loggedCount()).thenReturn(1L);
+            histograms.put(name, histogram);
+        }
+        final PersistedHistogramSet histogramSet = mock(PersistedHistogramSet.class);
+        when(histogramSet.histograms()).thenReturn(histograms);
+
+        final MetricsServer metricsServer = new MetricsServer(0, histogramSet, senderCounters);
+        try
+        {
+            metricsServer.start();
+            final String metrics = metricsServer.scrape();
+
+            assertTrue(metrics.contains("aeron_benchmarks_rtt_seconds_count{histogram=\"live\"} 1\n"), metrics);
+            assertFalse(metrics.contains("aeron_benchmarks_rtt_seconds_count{histogram=\"live-"), metrics);
+            assertTrue(metrics.contains("# TYPE aeron_benchmarks_hiccup_seconds summary\n"), metrics);
+            assertTrue(
+                metrics.contains("aeron_benchmarks_hiccup_seconds_count{histogram=\"live-hiccup\"} 1\n"), metrics);
+            assertTrue(metrics.contains(
+                "aeron_benchmarks_client_to_server_seconds_count{histogram=\"live-client-to-server\"} 1\n"), metrics);
+            assertTrue(metrics.contains(
+                "aeron_benchmarks_server_processing_seconds_count{histogram=\"live-server-processing\"} 1\n"),
+                metrics);
+            assertTrue(metrics.contains(
+                "aeron_benchmarks_server_to_client_seconds_count{histogram=\"live-server-to-client\"} 1\n"), metrics);
+        }
+        finally
+        {
+            metricsServer.close();
+        }
+    }
+
+    @Test
+    void scrapeSkipsHistogramsWhichDoNotTrackHistory() throws IOException
+    {
+        when(persistedHistogram.loggedCount()).thenReturn(-1L);
+        metricsServer.start();
+
+        final String metrics = metricsServer.scrape();
+
+        assertFalse(metrics.contains("histogram=\"live\""), metrics);
+        assertTrue(metrics.contains("aeron_benchmarks_sent_messages_total 0\n"), metrics);
+    }
+
+    @Test
+    void scrapeExposesLastIntervalPercentilesAndSendCounters() throws IOException
+    {
+        final Histogram interval = new Histogram(3);
+        for (int i = 1; i <= 100; i++)
+        {
+            interval.recordValue(MICROSECONDS.toNanos(i));
+        }
+        when(persistedHistogram.lastIntervalHistogram()).thenReturn(interval);
+        when(persistedHistogram.loggedCount()).thenReturn(250L);
+        metricsServer.start();
+
+        senderCounters[0].sentMessages.setRelease(1000);
+        senderCounters[0].fallingBehindCount.setRelease(3);
+        senderCounters[0].maxSendLagNs.setRelease(2_000_000);
+        final String metrics = metricsServer.scrape();
+
+        assertTrue(metrics.contains("# TYPE aeron_benchmarks_rtt_seconds summary\n"), metrics);
+        assertTrue(metrics.contains("aeron_benchmarks_rtt_seconds{histogram=\"live\",quantile=\"0.5\"} " +
+            interval.getValueAtPercentile(50) / 1e9 + "\n"), metrics);
+        assertTrue(metrics.contains("aeron_benchmarks_rtt_seconds{histogram=\"live\",quantile=\"1.0\"} " +
+            interval.getMaxValue() / 1e9 + "\n"), metrics);
+        assertTrue(metrics.contains("aeron_benchmarks_rtt_seconds_count{histogram=\"live\"} 250\n"), metrics);
+        assertTrue(metrics.contains("aeron_benchmarks_sent_messages_total 1000\n"), metrics);
+        assertTrue(metrics.contains("aeron_benchmarks_falling_behind_total 3\n"), metrics);
+        assertTrue(metrics.contains("aeron_benchmarks_send_lag_max_seconds 0.002\n"), metrics);
+    }
+
+    @Test
+    void servesMetricsOverHttp() throws IOException
+    {
+        when(persistedHistogram.loggedCount()).thenReturn(7L);
+        metricsServer.start();
+        senderCounters[0].sentMessages.setRelease(42);
+
+        final URL url = new URL(
+            "http", InetAddress.getLoopbackAddress().getHostAddress(), metricsServer.port(), MetricsServer.PATH);
+        final HttpURLConnection connection = (HttpURLConnection)url.openConnection();
+        try
+        {
+            assertEquals(200, connection.getResponseCode());
+            assertEquals(MetricsServer.CONTENT_TYPE, connection.getContentType());
+            try (InputStream in = connection.getInputStream())
+            {
+                assertEquals(metricsServer.scrape(), new String(in.readAllBytes(), UTF_8));
+            }
+        }
+        finally
+        {
+            connection.disconnect();
+        }
+    }
+}
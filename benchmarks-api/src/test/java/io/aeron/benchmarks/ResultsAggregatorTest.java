@@ -29,10 +29,16 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 
+import static java.nio.charset.StandardCharsets.US_ASCII;
 import static java.nio.file.Files.*;
 import static java.nio.file.StandardOpenOption.CREATE_NEW;
 import static java.util.Arrays.sort;
+import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.*;
 import static io.aeron.benchmarks.PersistedHistogram.*;
 
@@ -140,6 +146,151 @@ class ResultsAggregatorTest
             readAllBytes(tempDir.resolve("other-report.hgrm")));
     }
 
+    @Test
+    void hiccupHistogramsAreAggregatedSeparatelyFromRttHistograms() throws IOException
+    {
+        createDirectories(tempDir.resolve("run-0/logs"));
+        createDirectories(tempDir.resolve("run-1/logs"));
+        saveToDisk("run-0/my.hdr", createHistogram(10, 25, 100, 555));
+        saveToDisk("run-1/my.hdr", createHistogram(30, 45, 777));
+        saveToDisk("run-0/my" + HiccupMeter.HICCUP_NAME_SUFFIX + ".hdr", createHistogram(10, 25, 1, 2));
+        saveToDisk("run-1/my" + HiccupMeter.HICCUP_NAME_SUFFIX + ".hdr", createHistogram(30, 45, 3000));
+        saveToDisk("run-0/logs/echo-node-0" + HiccupMeter.HICCUP_NAME_SUFFIX + ".hdr", createHistogram(10, 25, 5));
+        saveToDisk("run-1/logs/echo-node-0" + HiccupMeter.HICCUP_NAME_SUFFIX + ".hdr", createHistogram(30, 45, 6));
+
+        final ResultsAggregator aggregator = new ResultsAggregator(tempDir, 1000.0);
+
+        aggregator.run();
+
+        final String[] aggregateFiles = tempDir.toFile().list((dir, name) -> name.endsWith(AGGREGATE_FILE_SUFFIX));
+        assertNotNull(aggregateFiles);
+        sort(aggregateFiles);
+        assertArrayEquals(
+            new String[]{ "echo-node-0-hiccup-combined.hdr", "my-combined.hdr", "my-hiccup-combined.hdr" },
+            aggregateFiles);
+        assertEquals(createHistogram(10, 45, 100, 555, 777), loadFromDisk("my-combined.hdr"));
+        assertEquals(createHistogram(10, 45, 1, 2, 3000), loadFromDisk("my-hiccup-combined.hdr"));
+        assertEquals(createHistogram(10, 45, 5, 6), loadFromDisk("echo-node-0-hiccup-combined.hdr"));
+        assertTrue(exists(tempDir.resolve("my-hiccup-report.hgrm")));
+    }
+
+    @Test
+    void parallelAggregationIsIdenticalToAddingTheFilesOneAfterAnother() throws IOException
+    {
+        final Random random = new Random(42);
+        for (int run = 0; run < 64; run++)
+        {
+            createDirectories(tempDir.resolve("run-" + run));
+            for (final String prefix : new String[]{ "a", "b", "c" })
+            {
+                final long[] values = new long[1 + random.nextInt(1000)];
+                for (int i = 0; i < values.length; i++)
+                {
+                    values[i] = 1 + random.nextInt(random.nextBoolean() ? 1000 : 100_000_000);
+                }
+                saveToDisk("run-" + run + "/" + prefix + ".hdr", createHistogram(run * 10L, run * 10L + 5, values));
+            }
+        }
+
+        Histogram expected = null;
+        try (Stream<Path> files = walk(tempDir))
+        {
+            for (final Path file : files.filter((path) -> path.endsWith("a.hdr")).collect(toList()))
+            {
+                final Histogram histogram = loadFromDisk(tempDir.relativize(file).toString());
+                if (null == expected)
+                {
+                    expected = histogram;
+                }
+                else
+                {
+                    expected.add(histogram);
+                }
+            }
+        }
+        assertNotNull(expected);
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            new ResultsAggregator(tempDir, 1000.0, pool).run();
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+
+        final Path expectedFile = saveToFile(expected, tempDir.resolve("expected.out"));
+        assertArrayEquals(readAllBytes(expectedFile), readAllBytes(tempDir.resolve("a-combined.hdr")));
+        assertArrayEquals(outputPercentileDistribution(expected, 1000.0),
+            readAllBytes(tempDir.resolve("a-report.hgrm")));
+        assertTrue(exists(tempDir.resolve("b-combined.hdr")));
+        assertTrue(exists(tempDir.resolve("c-combined.hdr")));
+    }
+
+    @Test
+    void rerunOnlyAggregatesThePrefixesWhoseInputsChanged() throws IOException
+    {
+        createDirectories(tempDir.resolve("run-0"));
+        createDirectories(tempDir.resolve("run-1"));
+        saveToDisk("run-0/my.hdr", createHistogram(10, 25, 100, 555));
+        saveToDisk("run-0/other.hdr", createHistogram(10, 25, 7));
+
+        new ResultsAggregator(tempDir, 1000.0).run();
+
+        assertTrue(exists(tempDir.resolve(AggregationIndex.FILE_NAME)));
+        assertEquals(createHistogram(10, 25, 100, 555), loadFromDisk("my-combined.hdr"));
+        final byte[] otherAggregate = readAllBytes(tempDir.resolve("other-combined.hdr"));
+
+        final Path otherInput = tempDir.resolve("run-0/other.hdr");
+        final FileTime otherLastModified = getLastModifiedTime(otherInput);
+        write(otherInput, new byte[(int)size(otherInput)]);
+        setLastModifiedTime(otherInput, otherLastModified);
+        saveToDisk("run-1/my.hdr", createHistogram(30, 45, 777));
+
+        new ResultsAggregator(tempDir, 1000.0).run();
+
+        assertEquals(createHistogram(10, 45, 100, 555, 777), loadFromDisk("my-combined.hdr"));
+        assertArrayEquals(otherAggregate, readAllBytes(tempDir.resolve("other-combined.hdr")));
+
+        new ResultsAggregator(tempDir, 1000.0).run();
+
+        assertEquals(createHistogram(10, 45, 100, 555, 777), loadFromDisk("my-combined.hdr"));
+    }
+
+    @Test
+    void staleOutputIsDeletedWhenThePrefixFails() throws IOException
+    {
+        createDirectories(tempDir.resolve("run-0"));
+        createDirectories(tempDir.resolve("run-1"));
+        saveToDisk("run-0/my.hdr", createHistogram(10, 25, 100));
+
+        new ResultsAggregator(tempDir, 1000.0).run();
+
+        assertTrue(exists(tempDir.resolve("my-combined.hdr")));
+        assertTrue(exists(tempDir.resolve("my-report.hgrm")));
+
+        saveToDisk("run-1/my.hdr.FAIL", createHistogram(30, 45, 200));
+
+        new ResultsAggregator(tempDir, 1000.0).run();
+
+        assertFalse(exists(tempDir.resolve("my-combined.hdr")));
+        assertFalse(exists(tempDir.resolve("my-report.hgrm")));
+        assertEquals(createHistogram(10, 45, 100, 200), loadFromDisk("my-combined.hdr.FAIL"));
+        assertTrue(exists(tempDir.resolve("my-report.hgrm.FAIL")));
+    }
+
+    @Test
+    void invalidIndexIsIgnored() throws IOException
+    {
+        saveToDisk("my.hdr", createHistogram(10, 25, 100));
+        write(tempDir.resolve(AggregationIndex.FILE_NAME), "not an index".getBytes(US_ASCII));
+
+        new ResultsAggregator(tempDir, 1000.0).run();
+
+        assertEquals(createHistogram(10, 25, 100), loadFromDisk("my-combined.hdr"));
+    }
+
     private byte[] outputPercentileDistribution(final Histogram histogram, final double outputValueUnitScalingRatio)
     {
         final ByteArrayOutputStream bos = new ByteArrayOutputStream();
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.agrona.concurrent.status.CountersReader;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RigCountersTest
+{
+    @Test
+    void allocatesPhaseAndSenderCounters()
+    {
+        try (RigCounters rigCounters = RigCounters.newInstance(null))
+        {
+            final RigCounters.SenderCounters counters = rigCounters.newSenderCounters("sender-0");
+            rigCounters.phase(RigCounters.Phase.MEASUREMENT);
+            counters.sentMessages.getAndAddRelease(10);
+            counters.receivedMessages.setRelease(7);
+            counters.backPressureEvents.incrementRelease();
+            counters.fallingBehindCount.incrementRelease();
+
+            final CountersReader reader = rigCounters.reader();
+            assertEquals("phase", reader.getCounterLabel(0));
+            assertEquals(RigCounters.PHASE_TYPE_ID, reader.getCounterTypeId(0));
+            assertEquals(RigCounters.Phase.MEASUREMENT.ordinal(), reader.getCounterValue(0));
+            assertEquals("sender-0: sent messages", reader.getCounterLabel(counters.sentMessages.id()));
+            assertEquals(RigCounters.SENDER_TYPE_ID, reader.getCounterTypeId(counters.sentMessages.id()));
+            assertEquals(10, reader.getCounterValue(counters.sentMessages.id()));
+            assertEquals(7, reader.getCounterValue(counters.receivedMessages.id()));
+            assertEquals(1, reader.getCounterValue(counters.backPressureEvents.id()));
+            assertEquals(1, reader.getCounterValue(counters.fallingBehindCount.id()));
+        }
+    }
+
+    @Test
+    void resetSetsSenderCountersToZero()
+    {
+        try (RigCounters rigCounters = RigCounters.newInstance(null))
+        {
+            final RigCounters.SenderCounters counters = rigCounters.newSenderCounters("sender-0");
+            counters.sentMessages.getAndAddRelease(10);
+            counters.receivedMessages.setRelease(7);
+            counters.backPressureEvents.incrementRelease();
+            counters.fallingBehindCount.incrementRelease();
+            counters.maxSendLagNs.setRelease(1000);
+
+            counters.reset();
+
+            assertEquals(0, counters.sentMessages.get());
+            assertEquals(0, counters.receivedMessages.get());
+            assertEquals(0, counters.backPressureEvents.get());
+            assertEquals(0, counters.fallingBehindCount.get());
+            assertEquals(0, counters.maxSendLagNs.get());
+        }
+    }
+}
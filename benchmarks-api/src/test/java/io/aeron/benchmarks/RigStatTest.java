@@ -0,0 +1,80 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RigStatTest
+{
+    @Test
+    void printsCountersWrittenByAnotherMapping(final @TempDir Path tempDir)
+    {
+        final Path file = tempDir.resolve("counters").resolve("rig-counters.dat");
+        try (RigCounters rigCounters = RigCounters.newInstance(file);
+            RigStat rigStat = RigStat.open(file))
+        {
+            final RigCounters.SenderCounters counters = rigCounters.newSenderCounters("sender-0");
+            rigCounters.phase(RigCounters.Phase.WARMUP);
+            counters.sentMessages.getAndAddRelease(12_345);
+            counters.receivedMessages.setRelease(12_000);
+            counters.backPressureEvents.incrementRelease();
+
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            rigStat.print(new PrintStream(bytes, true, US_ASCII));
+            final String output = bytes.toString(US_ASCII);
+
+            assertEquals(ProcessHandle.current().pid(), rigStat.pid());
+            assertTrue(output.contains(String.format("%3d: %20s - phase%n", 0, "WARMUP")), output);
+            assertTrue(output.contains(String.format("%3d: %,20d - sender-0: sent messages%n", 1, 12_345)), output);
+            assertTrue(output.contains(
+                String.format("%3d: %,20d - sender-0: received messages%n", 2, 12_000)), output);
+            assertTrue(output.contains(
+                String.format("%3d: %,20d - sender-0: back pressure events%n", 3, 1)), output);
+            assertTrue(output.contains(
+                String.format("%3d: %,20d - sender-0: falling behind count%n", 4, 0)), output);
+        }
+    }
+
+    @Test
+    void throwsIllegalStateExceptionIfFileIsNotInitialised(final @TempDir Path tempDir) throws IOException
+    {
+        final Path file = Files.write(tempDir.resolve("rig-counters.dat"), new byte[RigCounters.HEADER_LENGTH]);
+
+        final IllegalStateException ex = assertThrows(IllegalStateException.class, () -> RigStat.open(file));
+
+        assertEquals("unsupported counters file version 0, expected 1: " + file, ex.getMessage());
+    }
+
+    @Test
+    void throwsIllegalStateExceptionIfFileIsTooShort(final @TempDir Path tempDir) throws IOException
+    {
+        final Path file = Files.write(tempDir.resolve("rig-counters.dat"), new byte[8]);
+
+        final IllegalStateException ex = assertThrows(IllegalStateException.class, () -> RigStat.open(file));
+
+        assertEquals("counters file is too short: " + file, ex.getMessage());
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class SendLagResultTest
+{
+    @Test
+    void writeCsv(final @TempDir Path tempDir) throws Exception
+    {
+        final Histogram histogram = new Histogram(3);
+        histogram.recordValue(1_000);
+        histogram.recordValue(2_000);
+        final SendLagResult result = new SendLagResult(histogram, 5);
+        final Path file = tempDir.resolve("test" + SendLagResult.SEND_LAG_FILE_SUFFIX);
+
+        result.writeCsv(file, MICROSECONDS);
+
+        assertEquals(
+            List.of(
+                "bursts,falling behind,50.0,99.0,99.9,99.99,100.0,time unit",
+                "2,5,1.0,2.0,2.0,2.0,2.0,MICROSECONDS"),
+            Files.readAllLines(file));
+    }
+
+    @Test
+    void doesNotWarnIfSenderDidNotFallBehind()
+    {
+        final PrintStream out = mock(PrintStream.class);
+        final SendLagResult result = new SendLagResult(new Histogram(3), 0);
+
+        result.warnIfFellBehind(out, MICROSECONDS);
+
+        verifyNoInteractions(out);
+    }
+}
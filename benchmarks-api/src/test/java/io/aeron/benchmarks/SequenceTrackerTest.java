@@ -0,0 +1,118 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SequenceTrackerTest
+{
+    private final SequenceTracker sequenceTracker = new SequenceTracker();
+
+    @Test
+    void inOrderSequencesAreNeitherLostNorReordered()
+    {
+        for (int sequence = 0; sequence < 1000; sequence++)
+        {
+            sequenceTracker.onSequence(sequence);
+        }
+
+        assertEquals(1000, sequenceTracker.trackedMessages());
+        assertEquals(0, sequenceTracker.lostMessages());
+        assertEquals(0, sequenceTracker.duplicatedMessages());
+        assertEquals(0, sequenceTracker.reorderedMessages());
+        assertEquals(0, sequenceTracker.maxReorderDistance());
+    }
+
+    @Test
+    void detectsLostDuplicatedAndReorderedSequences()
+    {
+        sequenceTracker.onSequence(0);
+        sequenceTracker.onSequence(1);
+        sequenceTracker.onSequence(4);
+        sequenceTracker.onSequence(2);
+        sequenceTracker.onSequence(4);
+        sequenceTracker.onSequence(7);
+        sequenceTracker.onSequence(1);
+
+        assertEquals(5, sequenceTracker.trackedMessages());
+        assertEquals(3, sequenceTracker.lostMessages());
+        assertEquals(2, sequenceTracker.duplicatedMessages());
+        assertEquals(1, sequenceTracker.reorderedMessages());
+        assertEquals(2, sequenceTracker.maxReorderDistance());
+    }
+
+    @Test
+    void reorderedSequenceIsNoLongerLost()
+    {
+        sequenceTracker.onSequence(10);
+        sequenceTracker.onSequence(12);
+        assertEquals(1, sequenceTracker.lostMessages());
+
+        sequenceTracker.onSequence(11);
+
+        assertEquals(0, sequenceTracker.lostMessages());
+        assertEquals(1, sequenceTracker.reorderedMessages());
+        assertEquals(1, sequenceTracker.maxReorderDistance());
+    }
+
+    @Test
+    void sequencesOlderThanTheWindowAreCountedAsReordered()
+    {
+        sequenceTracker.onSequence(0);
+        sequenceTracker.onSequence(SequenceTracker.WINDOW_LENGTH + 5);
+        sequenceTracker.onSequence(0);
+        sequenceTracker.onSequence(3);
+
+        assertEquals(4, sequenceTracker.trackedMessages());
+        assertEquals(0, sequenceTracker.duplicatedMessages());
+        assertEquals(2, sequenceTracker.reorderedMessages());
+        assertEquals(SequenceTracker.WINDOW_LENGTH + 5, sequenceTracker.maxReorderDistance());
+    }
+
+    @Test
+    void sequencesWrapAround()
+    {
+        sequenceTracker.onSequence(Integer.MAX_VALUE - 1);
+        sequenceTracker.onSequence(Integer.MAX_VALUE);
+        sequenceTracker.onSequence(Integer.MIN_VALUE + 1);
+        sequenceTracker.onSequence(Integer.MIN_VALUE);
+
+        assertEquals(4, sequenceTracker.trackedMessages());
+        assertEquals(0, sequenceTracker.lostMessages());
+        assertEquals(0, sequenceTracker.duplicatedMessages());
+        assertEquals(1, sequenceTracker.reorderedMessages());
+        assertEquals(1, sequenceTracker.maxReorderDistance());
+    }
+
+    @Test
+    void resetIgnoresSequencesSentBeforeIt()
+    {
+        sequenceTracker.onSequence(0);
+        sequenceTracker.onSequence(2);
+
+        sequenceTracker.reset();
+        sequenceTracker.onSequence(5);
+        sequenceTracker.onSequence(1);
+        sequenceTracker.onSequence(6);
+
+        assertEquals(2, sequenceTracker.trackedMessages());
+        assertEquals(0, sequenceTracker.lostMessages());
+        assertEquals(0, sequenceTracker.duplicatedMessages());
+        assertEquals(0, sequenceTracker.reorderedMessages());
+    }
+}
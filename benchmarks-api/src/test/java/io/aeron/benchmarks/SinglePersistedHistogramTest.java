@@ -70,4 +70,20 @@ class SinglePersistedHistogramTest
         assertEquals(histogram.getStartTimeStamp(), savedHistogram.getStartTimeStamp());
         assertEquals(histogram.getEndTimeStamp(), savedHistogram.getEndTimeStamp());
     }
+
+    @Test
+    void snapshotReturnsCopyOfRecordedValues()
+    {
+        final Histogram histogram = new Histogram(3);
+        histogram.recordValue(42);
+        histogram.recordValue(555);
+        final SinglePersistedHistogram singlePersistedHistogram = new SinglePersistedHistogram(histogram);
+
+        final Histogram snapshot = singlePersistedHistogram.snapshot();
+        histogram.recordValue(1000);
+
+        assertNotSame(histogram, snapshot);
+        assertEquals(2, snapshot.getTotalCount());
+        assertEquals(555, snapshot.getMaxValue(), 1);
+    }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+import static io.aeron.benchmarks.PersistedHistogram.Status.FAIL;
+import static io.aeron.benchmarks.PersistedHistogram.Status.OK;
+
+class StepResultTest
+{
+    @Test
+    void ratesArePerIteration()
+    {
+        final StepResult result = new StepResult(1000, 5, 4000, 3500, new Histogram(3), FAIL);
+
+        assertEquals(800, result.sendRate());
+        assertEquals(700, result.receiveRate());
+        assertFalse(result.isOk());
+    }
+
+    @Test
+    void writeCsvWritesOneRowPerStep(final @TempDir Path tempDir) throws IOException
+    {
+        final Histogram histogram = new Histogram(3);
+        histogram.recordValue(2000);
+        histogram.recordValue(4000);
+        final List<StepResult> results = List.of(
+            new StepResult(10, 2, 20, 20, histogram, OK),
+            new StepResult(20, 2, 30, 28, new Histogram(3), FAIL));
+        final Path file = tempDir.resolve("test" + StepResult.STEPS_FILE_SUFFIX);
+
+        StepResult.writeCsv(file, results, MICROSECONDS);
+
+        final List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+        assertEquals("target rate,sent rate,received rate,50.0,99.0,99.9,99.99,100.0,status,time unit", lines.get(0));
+        assertEquals("10,10,10,2.0,4.001,4.001,4.001,4.001,OK,MICROSECONDS", lines.get(1));
+        assertEquals("20,15,14,0.0,0.0,0.0,0.0,0.0,FAIL,MICROSECONDS", lines.get(2));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StripedRecorderTest
+{
+    private final StripedRecorder recorder = new StripedRecorder(3);
+
+    @Test
+    void mergesTheValuesRecordedByMultipleThreads() throws InterruptedException
+    {
+        final Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++)
+        {
+            threads[i] = new Thread(() ->
+            {
+                for (int value = 1; value <= 10_000; value++)
+                {
+                    recorder.recordValue(value);
+                }
+            });
+            threads[i].start();
+        }
+
+        for (final Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        assertEquals(threads.length, recorder.shardCount());
+        assertEquals(40_000, recorder.recordedValues());
+
+        final Histogram histogram = recorder.getIntervalHistogram();
+        assertEquals(40_000, histogram.getTotalCount());
+        assertEquals(1, histogram.getMinValue());
+        assertEquals(histogram.highestEquivalentValue(10_000), histogram.getMaxValue());
+        assertEquals(4, histogram.getCountAtValue(1));
+    }
+
+    @Test
+    void intervalHistogramOnlyContainsTheValuesRecordedSinceThePreviousInterval()
+    {
+        recorder.recordValue(100);
+        recorder.recordValueWithCount(200, 3);
+
+        final Histogram first = recorder.getIntervalHistogram();
+        assertEquals(4, first.getTotalCount());
+
+        recorder.recordValue(300);
+        final Histogram second = recorder.getIntervalHistogram(first);
+
+        assertSame(first, second);
+        assertEquals(1, second.getTotalCount());
+        assertEquals(second.highestEquivalentValue(300), second.getMaxValue());
+        assertEquals(5, recorder.recordedValues());
+    }
+
+    @Test
+    void intervalsAreContiguous()
+    {
+        final Histogram first = recorder.getIntervalHistogram();
+        final Histogram second = recorder.getIntervalHistogram();
+
+        assertTrue(first.getStartTimeStamp() <= first.getEndTimeStamp());
+        assertEquals(first.getEndTimeStamp(), second.getStartTimeStamp());
+    }
+
+    @Test
+    void resetDiscardsTheValuesAndTheCount()
+    {
+        recorder.recordValue(5);
+        recorder.recordValueWithExpectedInterval(1000, 100);
+        assertEquals(2, recorder.recordedValues());
+
+        recorder.reset();
+
+        assertEquals(0, recorder.recordedValues());
+        assertEquals(0, recorder.getIntervalHistogram().getTotalCount());
+
+        recorder.recordValue(7);
+
+        assertEquals(1, recorder.recordedValues());
+        assertEquals(1, recorder.getIntervalHistogram().getTotalCount());
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ThreadAffinityTest
+{
+    @ParameterizedTest
+    @ValueSource(strings = { "", " ", ";" })
+    void emptyLayout(final String value)
+    {
+        assertTrue(ThreadAffinity.parseLayout(value).isEmpty());
+    }
+
+    @Test
+    void noLayoutIfNotSet()
+    {
+        assertTrue(ThreadAffinity.parseLayout(null).isEmpty());
+    }
+
+    @Test
+    void parseLayout()
+    {
+        final Map<String, String> layout =
+            ThreadAffinity.parseLayout("load-test-rig=2; sender = 4-5, 7;echo-0=1;");
+
+        assertEquals(Map.of("load-test-rig", "2", "sender", "4-5,7", "echo-0", "1"), layout);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "load-test-rig", "=2", "sender=", "sender=a", "sender=1-", "sender=1;sender=2" })
+    void throwsIllegalArgumentExceptionIfLayoutIsInvalid(final String value)
+    {
+        final IllegalArgumentException ex =
+            assertThrows(IllegalArgumentException.class, () -> ThreadAffinity.parseLayout(value));
+        assertTrue(ex.getMessage().contains(ThreadAffinity.AFFINITY_PROP_NAME));
+    }
+
+    @Test
+    void unconfiguredRoleIsNotResetToTheCpusOfAPinnedThread() throws InterruptedException
+    {
+        final String processCpus = ThreadAffinity.processCpus();
+        assumeTrue(null != processCpus && !processCpus.matches("\\d+"), "requires Linux and more than one CPU");
+        final String pinnedCpu = processCpus.split("[-,]")[0];
+
+        final AtomicReference<String> pinnedCpus = new AtomicReference<>();
+        final AtomicReference<String> resetCpus = new AtomicReference<>();
+        final String layout = System.getProperty(ThreadAffinity.AFFINITY_PROP_NAME);
+        System.setProperty(ThreadAffinity.AFFINITY_PROP_NAME, ThreadAffinity.LOAD_TEST_RIG_ROLE + "=" + pinnedCpu);
+        try
+        {
+            final Thread thread = new Thread(() ->
+            {
+                ThreadAffinity.pinCurrentThread(ThreadAffinity.LOAD_TEST_RIG_ROLE);
+                pinnedCpus.set(ThreadAffinity.currentThreadCpus());
+                ThreadAffinity.pinCurrentThread("not-configured");
+                resetCpus.set(ThreadAffinity.currentThreadCpus());
+            });
+            thread.start();
+            thread.join();
+        }
+        finally
+        {
+            if (null == layout)
+            {
+                System.clearProperty(ThreadAffinity.AFFINITY_PROP_NAME);
+            }
+            else
+            {
+                System.setProperty(ThreadAffinity.AFFINITY_PROP_NAME, layout);
+            }
+        }
+
+        assumeTrue(pinnedCpu.equals(pinnedCpus.get()), "requires taskset");
+        assertEquals(processCpus, resetCpus.get());
+        assertNotEquals(pinnedCpu, resetCpus.get());
+    }
+
+    @Test
+    void threadFactoryRunsTheTask() throws InterruptedException
+    {
+        final AtomicBoolean ran = new AtomicBoolean();
+        final Thread thread = ThreadAffinity.threadFactory("not-configured").newThread(() -> ran.set(true));
+
+        thread.start();
+        thread.join();
+
+        assertTrue(ran.get());
+    }
+}
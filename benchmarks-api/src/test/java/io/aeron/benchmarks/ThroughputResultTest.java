@@ -0,0 +1,49 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ThroughputResultTest
+{
+    @Test
+    void computesRates()
+    {
+        final ThroughputResult result = new ThroughputResult(8, new long[]{ 1000, 1500, 800 });
+
+        assertEquals(1100, result.averageRate());
+        assertEquals(800, result.minRate());
+        assertEquals(1500, result.maxRate());
+    }
+
+    @Test
+    void writeCsv(final @TempDir Path tempDir) throws Exception
+    {
+        final ThroughputResult result = new ThroughputResult(8, new long[]{ 1000, 1500 });
+        final Path file = tempDir.resolve("test" + ThroughputResult.THROUGHPUT_FILE_SUFFIX);
+
+        result.writeCsv(file);
+
+        assertEquals(List.of("second,messages", "1,1000", "2,1500"), Files.readAllLines(file));
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TraceFileTest
+{
+    @Test
+    void readsRecordsAcrossMappingWindows(final @TempDir Path tempDir) throws IOException
+    {
+        final Path file = writeTrace(tempDir.resolve("trace.bin"), 0, 32, 0, 64, 1_000, 100, 2_500, 16, 7_000, 4096);
+
+        try (TraceFile trace = TraceFile.open(file, 2))
+        {
+            assertEquals(5, trace.recordCount());
+            assertEquals(7_000, trace.durationNs());
+
+            final long[] offsets = { 0, 0, 1_000, 2_500, 7_000 };
+            final int[] lengths = { 32, 64, 100, 16, 4096 };
+            for (int i = 0; i < offsets.length; i++)
+            {
+                assertEquals(offsets[i], trace.offsetNs(i));
+                assertEquals(lengths[i], trace.messageLength(i));
+            }
+
+            assertEquals(32, trace.messageLength(0));
+            assertEquals(4096, trace.validate(Configuration.MIN_MESSAGE_LENGTH));
+        }
+    }
+
+    @Test
+    void emptyTrace(final @TempDir Path tempDir) throws IOException
+    {
+        final Path file = writeTrace(tempDir.resolve("trace.bin"));
+
+        try (TraceFile trace = TraceFile.open(file))
+        {
+            assertEquals(0, trace.recordCount());
+            assertEquals(0, trace.durationNs());
+            assertEquals(Configuration.MIN_MESSAGE_LENGTH, trace.validate(Configuration.MIN_MESSAGE_LENGTH));
+        }
+    }
+
+    @Test
+    void throwsIllegalArgumentExceptionIfLengthIsNotMultipleOfRecordLength(final @TempDir Path tempDir)
+        throws IOException
+    {
+        final Path file = tempDir.resolve("trace.bin");
+        Files.write(file, new byte[TraceFile.RECORD_LENGTH + 1]);
+
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> TraceFile.open(file));
+
+        assertEquals("invalid trace file '" + file + "': length 13 is not a multiple of 12 bytes", ex.getMessage());
+    }
+
+    @Test
+    void validateThrowsIllegalArgumentExceptionIfOffsetDecreases(final @TempDir Path tempDir) throws IOException
+    {
+        final Path file = writeTrace(tempDir.resolve("trace.bin"), 0, 32, 500, 32, 400, 32);
+
+        try (TraceFile trace = TraceFile.open(file))
+        {
+            final IllegalArgumentException ex = assertThrows(
+                IllegalArgumentException.class, () -> trace.validate(Configuration.MIN_MESSAGE_LENGTH));
+
+            assertEquals("invalid trace file '" + file + "': record 2 offset 400ns is less than the previous " +
+                "offset 500ns", ex.getMessage());
+        }
+    }
+
+    @Test
+    void validateThrowsIllegalArgumentExceptionIfMessageIsTooShort(final @TempDir Path tempDir) throws IOException
+    {
+        final Path file = writeTrace(tempDir.resolve("trace.bin"), 0, 32, 10, 8);
+
+        try (TraceFile trace = TraceFile.open(file))
+        {
+            final IllegalArgumentException ex = assertThrows(
+                IllegalArgumentException.class, () -> trace.validate(Configuration.MIN_MESSAGE_LENGTH));
+
+            assertEquals("invalid trace file '" + file + "': record 1 message length 8 is less than " +
+                Configuration.MIN_MESSAGE_LENGTH, ex.getMessage());
+        }
+    }
+
+    static Path writeTrace(final Path file, final long... offsetAndLengthPairs) throws IOException
+    {
+        final int recordCount = offsetAndLengthPairs.length / 2;
+        final ByteBuffer buffer = ByteBuffer.allocate(recordCount * TraceFile.RECORD_LENGTH).order(LITTLE_ENDIAN);
+        for (int i = 0; i < recordCount; i++)
+        {
+            buffer.putLong(offsetAndLengthPairs[2 * i]);
+            buffer.putInt((int)offsetAndLengthPairs[2 * i + 1]);
+        }
+
+        return Files.write(file, buffer.array());
+    }
+}
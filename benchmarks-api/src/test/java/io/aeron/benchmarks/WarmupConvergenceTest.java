@@ -0,0 +1,77 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.benchmarks;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WarmupConvergenceTest
+{
+    private final long[] compilationTimeMs = { 1_000 };
+    private final WarmupConvergence convergence = new WarmupConvergence(10, () -> compilationTimeMs[0]);
+
+    @Test
+    void convergesAfterConsecutiveStableWindows()
+    {
+        assertFalse(convergence.onWindow(window(5_000, 50_000)));
+        assertFalse(convergence.onWindow(window(4_800, 52_000)));
+        assertTrue(convergence.onWindow(window(5_100, 49_000)));
+    }
+
+    @Test
+    void unstablePercentileRestartsConvergence()
+    {
+        assertFalse(convergence.onWindow(window(5_000, 50_000)));
+        assertFalse(convergence.onWindow(window(5_000, 50_000)));
+        assertFalse(convergence.onWindow(window(5_000, 80_000)));
+        assertFalse(convergence.onWindow(window(5_000, 80_000)));
+        assertTrue(convergence.onWindow(window(5_000, 80_000)));
+    }
+
+    @Test
+    void compilationActivityRestartsConvergence()
+    {
+        assertFalse(convergence.onWindow(window(5_000, 50_000)));
+        assertFalse(convergence.onWindow(window(5_000, 50_000)));
+        compilationTimeMs[0] += WarmupConvergence.QUIET_COMPILATION_TIME_MS + 1;
+        assertFalse(convergence.onWindow(window(5_000, 50_000)));
+        compilationTimeMs[0] += WarmupConvergence.QUIET_COMPILATION_TIME_MS;
+        assertFalse(convergence.onWindow(window(5_000, 50_000)));
+        assertTrue(convergence.onWindow(window(5_000, 50_000)));
+    }
+
+    @Test
+    void emptyWindowIsNeverStable()
+    {
+        assertFalse(convergence.onWindow(window(5_000, 50_000)));
+        assertFalse(convergence.onWindow(window(5_000, 50_000)));
+        assertFalse(convergence.onWindow(new Histogram(3)));
+        assertFalse(convergence.onWindow(window(5_000, 50_000)));
+        assertFalse(convergence.onWindow(window(5_000, 50_000)));
+        assertTrue(convergence.onWindow(window(5_000, 50_000)));
+    }
+
+    private static Histogram window(final long p50, final long p99)
+    {
+        final Histogram histogram = new Histogram(3);
+        histogram.recordValueWithCount(p50, 90);
+        histogram.recordValueWithCount(p99, 10);
+        return histogram;
+    }
+}
@@ -15,14 +15,17 @@
  */
 package io.aeron.benchmarks.grpc;
 
+import io.aeron.benchmarks.Configuration;
 import io.grpc.stub.StreamObserver;
 import org.agrona.LangUtil;
 
 class EchoService extends EchoBenchmarksGrpc.EchoBenchmarksImplBase
 {
+    private final boolean hopTimestamps = Configuration.resolveHopTimestamps();
+
     public void echo(final EchoMessage request, final StreamObserver<EchoMessage> responseObserver)
     {
-        responseObserver.onNext(request);
+        responseObserver.onNext(reply(request));
         responseObserver.onCompleted();
     }
 
@@ -32,7 +35,7 @@ class EchoService extends EchoBenchmarksGrpc.EchoBenchmarksImplBase
         {
             public void onNext(final EchoMessage message)
             {
-                responseObserver.onNext(message);
+                responseObserver.onNext(reply(message));
             }
 
             public void onError(final Throwable t)
@@ -48,4 +51,25 @@ class EchoService extends EchoBenchmarksGrpc.EchoBenchmarksImplBase
             }
         };
     }
+
+    /**
+     * Stamp the hop timestamps into the reply. The messages are immutable, so the send timestamp is the last thing set
+     * before the reply is built and handed to the transport. The server processing segment of gRPC therefore covers
+     * only the copy of the request into the reply; the deserialization of the request happens before the service is
+     * called and the serialization and flow control of the reply after it, so they are part of the client to server
+     * and server to client segments.
+     *
+     * @param message received from the client.
+     * @return the reply to send.
+     */
+    private EchoMessage reply(final EchoMessage message)
+    {
+        if (hopTimestamps)
+        {
+            final EchoMessage.Builder builder = message.toBuilder().setServerReceiveTimestamp(System.nanoTime());
+            return builder.setServerSendTimestamp(System.nanoTime()).build();
+        }
+
+        return message;
+    }
 }
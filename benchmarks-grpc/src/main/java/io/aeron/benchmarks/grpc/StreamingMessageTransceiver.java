@@ -68,7 +68,10 @@ public class StreamingMessageTransceiver extends MessageTransceiver
         {
             public void onNext(final EchoMessage response)
             {
-                onMessageReceived(response.getTimestamp(), response.getChecksum());
+                onMessageReceived(
+                    response.getTimestamp(), response.getChecksum(), response.getPayload().size() + MIN_MESSAGE_LENGTH);
+                onMessageHopTimestamps(
+                    response.getTimestamp(), response.getServerReceiveTimestamp(), response.getServerSendTimestamp());
             }
 
             public void onError(final Throwable t)
@@ -86,7 +89,7 @@ public class StreamingMessageTransceiver extends MessageTransceiver
         requestObserver = (ClientCallStreamObserver<EchoMessage>)asyncClient.echoStream(responseObserver);
 
         messageBuilder = EchoMessage.newBuilder();
-        final int payloadLength = configuration.messageLength() - MIN_MESSAGE_LENGTH;
+        final int payloadLength = configuration.maxMessageLength() - MIN_MESSAGE_LENGTH;
         if (payloadLength == 0)
         {
             payload = ByteString.EMPTY;
@@ -127,7 +130,9 @@ public class StreamingMessageTransceiver extends MessageTransceiver
     {
         final ClientCallStreamObserver<EchoMessage> requestObserver = this.requestObserver;
         final EchoMessage.Builder messageBuilder = this.messageBuilder;
-        final ByteString payload = this.payload;
+        final int payloadLength = length - MIN_MESSAGE_LENGTH;
+        final ByteString payload = payloadLength == this.payload.size() ?
+            this.payload : this.payload.substring(0, payloadLength);
         int count = 0;
 
         for (int i = 0; i < numberOfMessages && requestObserver.isReady(); i++)
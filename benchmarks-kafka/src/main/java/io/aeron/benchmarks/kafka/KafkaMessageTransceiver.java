@@ -32,6 +32,7 @@ import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.TopicPartition;
 
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
@@ -109,7 +110,7 @@ public class KafkaMessageTransceiver extends MessageTransceiver
                 break;
         }
 
-        final int payloadLength = configuration.messageLength();
+        final int payloadLength = configuration.maxMessageLength();
         sendBuffer = new UnsafeBuffer(new byte[payloadLength]);
         receiverBuffer = new UnsafeBuffer(new byte[payloadLength]);
     }
@@ -193,7 +194,7 @@ public class KafkaMessageTransceiver extends MessageTransceiver
                 topic,
                 partition,
                 null != key ? key.clone() : null,
-                messagePayload.clone());
+                Arrays.copyOf(messagePayload, messageLength));
             producer.send(record, callback);
             sent++;
         }
@@ -243,7 +244,8 @@ public class KafkaMessageTransceiver extends MessageTransceiver
             buffer.wrap(value);
             onMessageReceived(
                 buffer.getLong(0, LITTLE_ENDIAN),
-                buffer.getLong(value.length - SIZE_OF_LONG, LITTLE_ENDIAN));
+                buffer.getLong(value.length - SIZE_OF_LONG, LITTLE_ENDIAN),
+                value.length);
         }
     }
 }